@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+#
+# Benchmark do formato de armazenamento da categoria (db/categoria_smallint.sql).
+#
+# Cria, em um schema temporário, duas cópias da tabela de produtos com os mesmos registros e índices:
+#   - texto:  categoria varchar com o nome da constante do enum (formato anterior)
+#   - codigo: categoria smallint com o código da categoria (formato atual)
+# e imprime, para cada uma, o tamanho da tabela, o tamanho de cada índice que inclui a categoria e a
+# mediana do tempo de execução (EXPLAIN ANALYZE) de uma leitura completa da tabela e de uma leitura
+# pelo índice (categoria, preco, id). O schema é removido ao final.
+#
+# Uso (a partir da pasta Gerenciador_De_Produtos_BackEnd):
+#   ./benchmark/armazenamento.sh [produtos] [execucoes]
+#
+# Requer psql e um Postgres acessível. Variáveis opcionais: PGHOST, PGPORT, PGUSER, PGPASSWORD, PGDATABASE.
+# Com o docker-compose do projeto em execução:
+#   PGHOST=localhost PGUSER=postgres PGPASSWORD=admin PGDATABASE=gerenciadordb ./benchmark/armazenamento.sh
+
+set -euo pipefail
+
+PRODUTOS="${1:-1000000}"
+EXECUCOES="${2:-7}"
+SCHEMA=benchmark_armazenamento
+
+sql() {
+  psql -X -q -v ON_ERROR_STOP=1 -At -c "$1"
+}
+
+# Imprime a mediana de uma lista de números
+mediana() {
+  sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# Executa uma consulta com EXPLAIN ANALYZE e imprime o tempo de execução em ms
+tempo_execucao() {
+  sql "EXPLAIN (ANALYZE, TIMING OFF) $1" | sed -n 's/^Execution Time: \([0-9.]*\) ms$/\1/p'
+}
+
+# Imprime a mediana do tempo de execução de uma consulta, após uma execução de aquecimento
+medir() {
+  local consulta="$1"
+  tempo_execucao "$consulta" > /dev/null
+  for i in $(seq 1 "$EXECUCOES"); do
+    tempo_execucao "$consulta"
+  done | mediana
+}
+
+tamanho() {
+  sql "SELECT pg_size_pretty($1('$SCHEMA.$2'))"
+}
+
+trap 'sql "DROP SCHEMA IF EXISTS $SCHEMA CASCADE" > /dev/null' EXIT
+
+echo "Criando $PRODUTOS produtos em cada formato..." >&2
+sql "DROP SCHEMA IF EXISTS $SCHEMA CASCADE; CREATE SCHEMA $SCHEMA"
+for formato in texto codigo; do
+  if [ "$formato" = texto ]; then
+    tipo="varchar(255)"
+    valor="(ARRAY['SHOES', 'CLOTHES', 'UNDERWEAR', 'ACCESSORIES'])[s.i % 4 + 1]"
+  else
+    tipo="smallint"
+    valor="CAST(s.i % 4 + 1 AS smallint)"
+  fi
+  sql "
+    CREATE TABLE $SCHEMA.produtos_$formato (
+        id         bigint PRIMARY KEY,
+        nome       varchar(150) NOT NULL,
+        preco      integer NOT NULL,
+        categoria  $tipo NOT NULL,
+        created_at timestamp(6) with time zone,
+        updated_at timestamp(6) with time zone,
+        deleted_at timestamp(6) with time zone,
+        apagado    boolean NOT NULL DEFAULT false,
+        sequencia  bigint
+    );
+    INSERT INTO $SCHEMA.produtos_$formato
+    SELECT s.i, 'Produto ' || s.i, 100 + CAST(s.i AS bigint) * 7919 % 100000, $valor,
+           s.criado, s.criado, CASE WHEN s.i % 10 = 0 THEN s.criado + interval '1 day' END, s.i % 10 = 0, s.i
+    FROM (SELECT i, now() - make_interval(days => i % 1095, hours => i % 24) AS criado
+          FROM generate_series(1, $PRODUTOS) AS i) s;
+    CREATE INDEX ${formato}_categoria_preco ON $SCHEMA.produtos_$formato (categoria, preco, id) WHERE apagado = false AND deleted_at IS NULL;
+    CREATE INDEX ${formato}_categoria_criacao ON $SCHEMA.produtos_$formato (categoria, created_at, id) WHERE deleted_at IS NULL;
+    CREATE INDEX ${formato}_criacao ON $SCHEMA.produtos_$formato (created_at, categoria, preco);
+    CREATE INDEX ${formato}_exclusao ON $SCHEMA.produtos_$formato (deleted_at, categoria) WHERE apagado = true;
+    VACUUM ANALYZE $SCHEMA.produtos_$formato;"
+done
+
+printf '%-7s | %-10s | %-10s | %-10s | %-10s | %-10s | %-10s | %-12s | %-12s\n' \
+  formato tabela indices cat_preco cat_criacao criacao exclusao "leitura (ms)" "indice (ms)"
+for formato in texto codigo; do
+  if [ "$formato" = texto ]; then categoria="'UNDERWEAR'"; else categoria="3"; fi
+  completa=$(medir "SELECT categoria, count(*), avg(preco) FROM $SCHEMA.produtos_$formato GROUP BY categoria")
+  indice=$(medir "SELECT count(*) FROM $SCHEMA.produtos_$formato
+                  WHERE apagado = false AND deleted_at IS NULL AND categoria = $categoria AND preco BETWEEN 1000 AND 20000")
+  printf '%-7s | %-10s | %-10s | %-10s | %-10s | %-10s | %-10s | %-12s | %-12s\n' "$formato" \
+    "$(tamanho pg_table_size "produtos_$formato")" \
+    "$(tamanho pg_indexes_size "produtos_$formato")" \
+    "$(tamanho pg_relation_size "${formato}_categoria_preco")" \
+    "$(tamanho pg_relation_size "${formato}_categoria_criacao")" \
+    "$(tamanho pg_relation_size "${formato}_criacao")" \
+    "$(tamanho pg_relation_size "${formato}_exclusao")" \
+    "$completa" "$indice"
+done
@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+#
+# Benchmark de inicialização do backend.
+#
+# Mede, para cada execução, o tempo de subida reportado pelo Spring ("Started ... in X seconds")
+# e o tempo até a primeira resposta de GET /produtos (time-to-first-request), comparando:
+#   - padrao:    java -jar (sem AOT e sem CDS), com o perfil padrão
+#   - otimizado: entrypoint da imagem (AOT + CDS), com o perfil "startup"
+#
+# Uso (a partir da pasta Gerenciador_De_Produtos_BackEnd):
+#   ./benchmark/startup.sh [execucoes]
+#
+# Requer docker, curl e um Postgres acessível pelos containers com o schema já criado.
+# Variáveis opcionais: IMAGEM, REDE, DATASOURCE_URL, DATASOURCE_USERNAME, DATASOURCE_PASSWORD.
+# Com o docker-compose do projeto em execução, os valores padrão já apontam para o banco dele.
+
+set -euo pipefail
+
+EXECUCOES="${1:-10}"
+IMAGEM="${IMAGEM:-gerenciador-backend-startup}"
+REDE="${REDE:-gerenciador_de_produtos_gerenciador_network}"
+DATASOURCE_URL="${DATASOURCE_URL:-jdbc:postgresql://gerenciador-postgres:5432/gerenciadordb}"
+DATASOURCE_USERNAME="${DATASOURCE_USERNAME:-postgres}"
+DATASOURCE_PASSWORD="${DATASOURCE_PASSWORD:-admin}"
+PORTA=18080
+
+docker build -q -t "$IMAGEM" "$(dirname "$0")/.." > /dev/null
+
+agora_ms() {
+  date +%s%3N
+}
+
+# Executa uma subida e imprime "<tempo reportado pelo Spring em s> <time-to-first-request em ms>"
+medir() {
+  local perfil="$1"
+  shift
+  local inicio container
+  inicio=$(agora_ms)
+  container=$(docker run -d --rm --network "$REDE" -p "$PORTA:8080" \
+    -e DATASOURCE_URL="$DATASOURCE_URL" \
+    -e DATASOURCE_USERNAME="$DATASOURCE_USERNAME" \
+    -e DATASOURCE_PASSWORD="$DATASOURCE_PASSWORD" \
+    -e SPRING_PROFILES_ACTIVE="$perfil" \
+    "$@")
+
+  until curl -sf -o /dev/null "http://localhost:$PORTA/produtos?size=1"; do
+    sleep 0.05
+  done
+  local primeira_requisicao=$(( $(agora_ms) - inicio ))
+  local spring
+  spring=$(docker logs "$container" 2>&1 | sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p')
+
+  docker stop -t 2 "$container" > /dev/null
+  echo "$spring $primeira_requisicao"
+}
+
+# Imprime a mediana de uma lista de números
+mediana() {
+  sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+executar() {
+  local nome="$1"
+  shift
+  local resultados=()
+  for i in $(seq 1 "$EXECUCOES"); do
+    resultados+=("$(medir "$@")")
+    echo "  [$nome] execução $i: ${resultados[-1]}" >&2
+  done
+  local spring ttfr
+  spring=$(printf '%s\n' "${resultados[@]}" | cut -d' ' -f1 | mediana)
+  ttfr=$(printf '%s\n' "${resultados[@]}" | cut -d' ' -f2 | mediana)
+  printf '%-10s | subida (Spring): %6ss | primeira requisição: %6sms\n' "$nome" "$spring" "$ttfr"
+}
+
+echo "Executando $EXECUCOES subidas de cada variante (mediana)..." >&2
+executar padrao default --entrypoint java "$IMAGEM" -jar extraido/app.jar
+executar otimizado startup "$IMAGEM"
@@ -0,0 +1,53 @@
+-- =====================================================================================
+-- Conversão da coluna "categoria" de varchar (nome da constante do enum, ex: 'ACCESSORIES')
+-- para smallint (código da categoria, ver Categorias#getCodigo), nas tabelas "produtos"
+-- e "produtos_arquivados".
+--
+-- O código ocupa 2 bytes, contra até 12 bytes do nome, em cada registro e em cada entrada dos índices
+-- que incluem a categoria (idx_produtos_ativos_categoria_preco_id, idx_produtos_apagados_categoria_preco_id,
+-- idx_produtos_categoria_criacao, idx_produtos_criacao e idx_produtos_exclusao).
+--
+-- As datas (created_at, updated_at, deleted_at) já são timestamp with time zone, que guarda apenas
+-- o instante (8 bytes) e não precisa de conversão.
+--
+-- A conversão reescreve as tabelas e recria os seus índices sob lock exclusivo: leituras e gravações
+-- aguardam até o COMMIT. Execute com a aplicação parada, antes de subir a versão que grava o código
+-- (a versão anterior não funciona com a coluna convertida, e a nova não funciona sem a conversão):
+--   psql -v ON_ERROR_STOP=1 -d gerenciadordb -f db/categoria_smallint.sql
+--
+-- Para medir o ganho de espaço e de tempo de leitura antes de converter: benchmark/armazenamento.sh.
+-- =====================================================================================
+
+-- Desiste em vez de ficar na fila do lock atrás de uma transação longa
+SET lock_timeout = '10s';
+
+BEGIN;
+
+-- Restrições geradas pelo Hibernate (EnumType.STRING) e pelo script de particionamento
+ALTER TABLE produtos DROP CONSTRAINT IF EXISTS produtos_categoria_check;
+ALTER TABLE produtos DROP CONSTRAINT IF EXISTS produtos_particionada_categoria_check;
+
+-- Um nome desconhecido resulta em NULL e interrompe a conversão (coluna NOT NULL)
+ALTER TABLE produtos
+    ALTER COLUMN categoria TYPE smallint
+    USING CASE categoria
+              WHEN 'SHOES' THEN 1
+              WHEN 'CLOTHES' THEN 2
+              WHEN 'UNDERWEAR' THEN 3
+              WHEN 'ACCESSORIES' THEN 4
+          END;
+
+ALTER TABLE IF EXISTS produtos_arquivados
+    ALTER COLUMN categoria TYPE smallint
+    USING CASE categoria
+              WHEN 'SHOES' THEN 1
+              WHEN 'CLOTHES' THEN 2
+              WHEN 'UNDERWEAR' THEN 3
+              WHEN 'ACCESSORIES' THEN 4
+          END;
+
+COMMIT;
+
+-- Estatísticas das tabelas reescritas, para os planos de execução
+ANALYZE produtos;
+ANALYZE produtos_arquivados;
@@ -0,0 +1,52 @@
+-- =====================================================================================
+-- Índices da tabela "produtos" em um banco existente, sem bloquear as gravações.
+--
+-- O schema.sql só cria os índices ausentes e é pensado para um banco novo, com a tabela vazia: em uma tabela
+-- populada, o CREATE INDEX comum bloquearia as gravações durante toda a construção. Este script cria os mesmos
+-- índices com CREATE INDEX CONCURRENTLY e remove, também sem bloquear as gravações, os índices
+-- (categoria, preco) WHERE deleted_at IS [NOT] NULL das versões anteriores, substituídos pelos índices
+-- (categoria, preco, id) com o predicado de "apagado". As colunas usadas pelos índices são criadas antes,
+-- como o Hibernate as criaria: sem valor padrão volátil, a criação só altera o catálogo, sem reescrever a tabela.
+--
+-- Pré-requisitos: tabela "produtos" ainda não particionada (a tabela particionada já recebe todos os índices
+-- em db/particionar_produtos.sql, e CREATE INDEX CONCURRENTLY não é aceito nela). Execute com psql, fora de
+-- uma transação, antes de subir a nova versão:
+--   psql -v ON_ERROR_STOP=1 -d gerenciadordb -f db/indices_produtos.sql
+--
+-- Se a construção de um índice for interrompida, o índice fica inválido e o IF NOT EXISTS passa a ignorá-lo.
+-- Verifique com: SELECT indexrelid::regclass FROM pg_index WHERE NOT indisvalid;
+-- Remova o índice inválido com DROP INDEX CONCURRENTLY e execute o script novamente.
+-- =====================================================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE produtos
+    ADD COLUMN IF NOT EXISTS apagado boolean NOT NULL DEFAULT false,
+    ADD COLUMN IF NOT EXISTS sequencia bigint,
+    ADD COLUMN IF NOT EXISTS transacao bigint;
+CREATE SEQUENCE IF NOT EXISTS produtos_sequencia_seq;
+
+-- Busca textual por nome
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_nome_trgm ON produtos USING gin (nome gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+-- Filtro por faixa de preço, histograma de preços e destaques por categoria.
+-- Os novos índices são criados antes da remoção dos antigos, para que as consultas nunca fiquem sem índice.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_ativos_categoria_preco_id ON produtos (categoria, preco, id)
+    WHERE apagado = false AND deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_apagados_categoria_preco_id ON produtos (categoria, preco, id)
+    WHERE apagado = true AND deleted_at IS NOT NULL;
+DROP INDEX CONCURRENTLY IF EXISTS idx_produtos_categoria_preco;
+DROP INDEX CONCURRENTLY IF EXISTS idx_produtos_apagados_categoria_preco;
+
+-- Produtos mais recentes de cada categoria
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_categoria_criacao ON produtos (categoria, created_at, id)
+    WHERE deleted_at IS NULL;
+
+-- Feed de alterações
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_sequencia ON produtos (sequencia);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_transacao ON produtos (transacao, sequencia);
+
+-- Séries temporais de estatísticas
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_criacao ON produtos (created_at, categoria, preco);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_exclusao ON produtos (deleted_at, categoria) WHERE apagado = true;
@@ -0,0 +1,155 @@
+-- =====================================================================================
+-- Conversão da tabela "produtos" em uma tabela particionada por "apagado"
+-- (partição produtos_ativos: apagado = false | partição produtos_apagados: apagado = true).
+--
+-- A conversão é feita sem indisponibilidade prolongada:
+--   1. cria a nova tabela particionada e os seus índices;
+--   2. mantém a nova tabela sincronizada com a antiga por meio de um trigger;
+--   3. copia os registros existentes em lotes pequenos, com COMMIT a cada lote;
+--   4. troca as tabelas em uma transação curta (único momento com lock exclusivo).
+--
+-- Pré-requisitos: Postgres 13+, aplicação já na versão que grava a coluna "apagado"
+-- (o Hibernate cria a coluna com default false) e coluna categoria já convertida para o código
+-- da categoria (db/categoria_smallint.sql). Execute com psql, fora de uma transação:
+--   psql -v ON_ERROR_STOP=1 -d gerenciadordb -f db/particionar_produtos.sql
+--
+-- Após validar a aplicação, remova a tabela antiga: DROP TABLE produtos_antiga;
+--
+-- Depois da conversão, a estrutura particionada passa a ser mantida por scripts como este, e não pelo Hibernate:
+-- suba a aplicação com DDL_AUTO=validate (spring.jpa.hibernate.ddl-auto), que só confere o mapeamento, ou com o
+-- perfil "startup" (ddl-auto=none). Com ddl-auto=update, uma alteração no mapeamento viraria DDL na tabela
+-- particionada durante a subida, sem as restrições do particionamento (ex: uma restrição única sem "apagado").
+--
+-- A chave primária passa a ser (id, apagado), enquanto o Produto continua mapeado apenas pelo id. O mapeamento
+-- continua correto porque o id vem de uma única sequência e, portanto, segue único entre as partições; a
+-- unicidade do id, porém, deixa de ser garantida pelo banco e não pode haver inserção com id explícito.
+-- O ParticionamentoIT executa este script no Postgres embutido e sobe a aplicação com ddl-auto=validate.
+--
+-- Subparticionamento por categoria não foi aplicado: com apenas quatro categorias e os índices
+-- (categoria, preco, id) já existentes, ele multiplicaria as partições sem ganho relevante de pruning.
+-- =====================================================================================
+
+-- 1. Nova tabela particionada. A chave primária precisa conter a chave de particionamento.
+--    O ID continua vindo da mesma sequência da tabela atual (ver passo 4).
+CREATE SEQUENCE IF NOT EXISTS produtos_id_seq_particionada;
+
+CREATE TABLE produtos_particionada (
+    id         bigint                   NOT NULL DEFAULT nextval('produtos_id_seq_particionada'),
+    nome       varchar(150)             NOT NULL,
+    preco      integer                  NOT NULL,
+    categoria  smallint                 NOT NULL,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    deleted_at timestamp(6) with time zone,
+    apagado    boolean                  NOT NULL DEFAULT false,
+    sequencia  bigint,
+    transacao  bigint,
+    CONSTRAINT produtos_particionada_pkey PRIMARY KEY (id, apagado)
+) PARTITION BY LIST (apagado);
+
+CREATE TABLE produtos_ativos PARTITION OF produtos_particionada FOR VALUES IN (false);
+CREATE TABLE produtos_apagados PARTITION OF produtos_particionada FOR VALUES IN (true);
+
+-- Índices criados com a tabela vazia (barato) e renomeados na troca
+CREATE INDEX idx_produtos_particionada_nome_trgm ON produtos_particionada USING gin (nome gin_trgm_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_produtos_particionada_ativos_categoria_preco_id ON produtos_particionada (categoria, preco, id)
+    WHERE apagado = false AND deleted_at IS NULL;
+CREATE INDEX idx_produtos_particionada_apagados_categoria_preco_id ON produtos_particionada (categoria, preco, id)
+    WHERE apagado = true AND deleted_at IS NOT NULL;
+CREATE INDEX idx_produtos_particionada_categoria_criacao ON produtos_particionada (categoria, created_at, id)
+    WHERE deleted_at IS NULL;
+CREATE INDEX idx_produtos_particionada_sequencia ON produtos_particionada (sequencia);
+CREATE INDEX idx_produtos_particionada_transacao ON produtos_particionada (transacao, sequencia);
+CREATE INDEX idx_produtos_particionada_criacao ON produtos_particionada (created_at, categoria, preco);
+CREATE INDEX idx_produtos_particionada_exclusao ON produtos_particionada (deleted_at, categoria) WHERE apagado = true;
+
+-- 2. Sincronização: toda alteração na tabela antiga é replicada na nova.
+--    UPDATE é feito como DELETE + INSERT porque o registro pode mudar de partição.
+CREATE OR REPLACE FUNCTION produtos_sincronizar_particionada() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM produtos_particionada WHERE id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO produtos_particionada (id, nome, preco, categoria, created_at, updated_at, deleted_at, apagado,
+                                           sequencia, transacao)
+        VALUES (NEW.id, NEW.nome, NEW.preco, NEW.categoria, NEW.created_at, NEW.updated_at, NEW.deleted_at,
+                NEW.deleted_at IS NOT NULL, NEW.sequencia, NEW.transacao);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_produtos_sincronizar_particionada
+    AFTER INSERT OR UPDATE OR DELETE ON produtos
+    FOR EACH ROW EXECUTE FUNCTION produtos_sincronizar_particionada();
+
+-- 3. Cópia em lotes ordenados por ID. A coluna apagado é derivada de deleted_at, como no trigger, sem
+--    depender do preenchimento da tabela antiga. FOR SHARE impede que um registro do lote seja alterado
+--    antes do COMMIT do lote; a alteração aguarda e, em seguida, o trigger a replica corretamente.
+CREATE OR REPLACE PROCEDURE produtos_copiar_para_particionada(tamanho_lote integer DEFAULT 5000,
+                                                              pausa_segundos double precision DEFAULT 0.05)
+LANGUAGE plpgsql AS $$
+DECLARE
+    ultimo_id bigint := 0;
+    copiados  integer;
+BEGIN
+    LOOP
+        WITH lote AS (
+            SELECT * FROM produtos WHERE id > ultimo_id ORDER BY id LIMIT tamanho_lote FOR SHARE
+        ), inseridos AS (
+            INSERT INTO produtos_particionada (id, nome, preco, categoria, created_at, updated_at, deleted_at, apagado,
+                                               sequencia, transacao)
+            SELECT id, nome, preco, categoria, created_at, updated_at, deleted_at, deleted_at IS NOT NULL, sequencia,
+                   transacao
+            FROM lote
+            WHERE NOT EXISTS (SELECT 1 FROM produtos_particionada n WHERE n.id = lote.id)
+        )
+        SELECT count(*), max(id) INTO copiados, ultimo_id FROM lote;
+
+        EXIT WHEN copiados = 0;
+        COMMIT;
+        RAISE NOTICE 'Copiados até o ID %', ultimo_id;
+        PERFORM pg_sleep(pausa_segundos);
+    END LOOP;
+END;
+$$;
+
+CALL produtos_copiar_para_particionada();
+
+-- 4. Troca das tabelas (lock exclusivo apenas durante esta transação curta)
+BEGIN;
+LOCK TABLE produtos IN ACCESS EXCLUSIVE MODE;
+
+DROP TRIGGER trg_produtos_sincronizar_particionada ON produtos;
+
+ALTER TABLE produtos RENAME TO produtos_antiga;
+ALTER TABLE produtos_antiga RENAME CONSTRAINT produtos_pkey TO produtos_antiga_pkey;
+ALTER TABLE produtos_particionada RENAME TO produtos;
+ALTER TABLE produtos RENAME CONSTRAINT produtos_particionada_pkey TO produtos_pkey;
+
+ALTER INDEX IF EXISTS idx_produtos_nome_trgm RENAME TO idx_produtos_antiga_nome_trgm;
+ALTER INDEX IF EXISTS idx_produtos_ativos_categoria_preco_id RENAME TO idx_produtos_antiga_ativos_categoria_preco_id;
+ALTER INDEX IF EXISTS idx_produtos_apagados_categoria_preco_id RENAME TO idx_produtos_antiga_apagados_categoria_preco_id;
+ALTER INDEX IF EXISTS idx_produtos_categoria_criacao RENAME TO idx_produtos_antiga_categoria_criacao;
+ALTER INDEX IF EXISTS idx_produtos_sequencia RENAME TO idx_produtos_antiga_sequencia;
+ALTER INDEX IF EXISTS idx_produtos_transacao RENAME TO idx_produtos_antiga_transacao;
+ALTER INDEX IF EXISTS idx_produtos_criacao RENAME TO idx_produtos_antiga_criacao;
+ALTER INDEX IF EXISTS idx_produtos_exclusao RENAME TO idx_produtos_antiga_exclusao;
+ALTER INDEX idx_produtos_particionada_nome_trgm RENAME TO idx_produtos_nome_trgm;
+ALTER INDEX idx_produtos_particionada_ativos_categoria_preco_id RENAME TO idx_produtos_ativos_categoria_preco_id;
+ALTER INDEX idx_produtos_particionada_apagados_categoria_preco_id RENAME TO idx_produtos_apagados_categoria_preco_id;
+ALTER INDEX idx_produtos_particionada_categoria_criacao RENAME TO idx_produtos_categoria_criacao;
+ALTER INDEX idx_produtos_particionada_sequencia RENAME TO idx_produtos_sequencia;
+ALTER INDEX idx_produtos_particionada_transacao RENAME TO idx_produtos_transacao;
+ALTER INDEX idx_produtos_particionada_criacao RENAME TO idx_produtos_criacao;
+ALTER INDEX idx_produtos_particionada_exclusao RENAME TO idx_produtos_exclusao;
+
+-- Novos IDs continuam a partir do maior ID existente
+SELECT setval('produtos_id_seq_particionada', (SELECT COALESCE(max(id), 0) + 1 FROM produtos), false);
+ALTER SEQUENCE produtos_id_seq_particionada OWNED BY produtos.id;
+
+COMMIT;
+
+DROP PROCEDURE produtos_copiar_para_particionada(integer, double precision);
+DROP FUNCTION produtos_sincronizar_particionada();
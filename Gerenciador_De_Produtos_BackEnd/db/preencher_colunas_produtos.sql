@@ -0,0 +1,53 @@
+-- =====================================================================================
+-- Preenchimento das colunas criadas pelas versões mais recentes nos registros já existentes em "produtos":
+--   apagado: chave de particionamento, consistente com deleted_at;
+--   sequencia: posição no feed de alterações, tirada da sequência global produtos_sequencia_seq;
+--   transacao: transação 0, para que os registros antigos fiquem antes de qualquer alteração nova no feed de
+--              alterações confirmadas, em ordem de sequência.
+--
+-- As colunas são criadas por db/indices_produtos.sql (ou pelo Hibernate, com ddl-auto=update), e a nova versão
+-- da aplicação as grava em todo registro novo ou alterado. Os registros anteriores são atualizados aqui em lotes
+-- pequenos por faixa de ID, com COMMIT a cada lote, para que nenhuma transação longa bloqueie as gravações.
+--
+-- Execute com psql, fora de uma transação, depois que todas as instâncias estiverem na nova versão:
+--   psql -v ON_ERROR_STOP=1 -d gerenciadordb -f db/preencher_colunas_produtos.sql
+-- O script pode ser executado novamente: registros já preenchidos não são alterados.
+-- =====================================================================================
+
+CREATE SEQUENCE IF NOT EXISTS produtos_sequencia_seq;
+
+CREATE OR REPLACE PROCEDURE produtos_preencher_colunas(tamanho_lote integer DEFAULT 5000,
+                                                       pausa_segundos double precision DEFAULT 0.05)
+LANGUAGE plpgsql AS $$
+DECLARE
+    ultimo_id  bigint := 0;
+    proximo_id bigint;
+    maior_id   bigint;
+    alterados  integer;
+BEGIN
+    -- Registros criados depois desta leitura já são gravados com as colunas preenchidas
+    SELECT COALESCE(max(id), 0) INTO maior_id FROM produtos;
+
+    WHILE ultimo_id < maior_id LOOP
+        proximo_id := LEAST(ultimo_id + tamanho_lote, maior_id);
+        UPDATE produtos
+        SET apagado   = apagado OR deleted_at IS NOT NULL,
+            sequencia = COALESCE(sequencia, nextval('produtos_sequencia_seq')),
+            transacao = COALESCE(transacao, 0)
+        WHERE id > ultimo_id AND id <= proximo_id
+          AND ((apagado = false AND deleted_at IS NOT NULL) OR sequencia IS NULL OR transacao IS NULL);
+        GET DIAGNOSTICS alterados = ROW_COUNT;
+
+        ultimo_id := proximo_id;
+        COMMIT;
+        IF alterados > 0 THEN
+            RAISE NOTICE 'Preenchidos % registros até o ID %', alterados, ultimo_id;
+            PERFORM pg_sleep(pausa_segundos);
+        END IF;
+    END LOOP;
+END;
+$$;
+
+CALL produtos_preencher_colunas();
+
+DROP PROCEDURE produtos_preencher_colunas(integer, double precision);
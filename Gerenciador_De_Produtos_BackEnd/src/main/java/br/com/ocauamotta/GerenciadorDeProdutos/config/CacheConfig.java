@@ -0,0 +1,14 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Classe de configuração do cache da aplicação.
+ * Habilita o suporte às anotações {@code @Cacheable} e {@code @CacheEvict}.
+ * Os caches e as políticas de expiração (Caffeine) são definidos no {@code application.properties}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
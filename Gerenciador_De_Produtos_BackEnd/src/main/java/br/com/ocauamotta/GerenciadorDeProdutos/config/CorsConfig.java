@@ -29,7 +29,8 @@ public class CorsConfig {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**")
                         .allowedOrigins("http://localhost:5173", "http://localhost:3000", "http://localhost:4173/")
-                        .allowedMethods("GET","POST","PUT","DELETE");
+                        .allowedMethods("GET","POST","PUT","DELETE")
+                        .allowCredentials(true);
             }
         };
     }
@@ -0,0 +1,106 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe de configuração do acesso ao banco de dados com roteamento de leituras para réplicas.
+ *
+ * <p>O banco primário continua sendo o definido em {@code DATASOURCE_URL}. Quando
+ * {@code DATASOURCE_REPLICA_URLS} informa uma ou mais URLs JDBC de réplicas (separadas por vírgula),
+ * as transações somente leitura ({@code readOnly = true}, padrão das consultas dos repositórios do
+ * Spring Data) passam a usar as réplicas, e as demais continuam no primário.</p>
+ *
+ * <p>A escolha do banco é adiada pelo {@code LazyConnectionDataSourceProxy} até o primeiro comando da
+ * transação, quando o flag de somente leitura já é conhecido. Sem réplicas configuradas, o pool do
+ * primário é usado diretamente.</p>
+ *
+ * <p>O {@code DataSource} da aplicação aplica a cada comando JDBC o prazo da requisição atual
+ * ({@code PrazoDataSource}). Não há {@code statement_timeout} global nas conexões: as tarefas fora de uma
+ * requisição (expurgo, recargas do catálogo em memória, aquecimento) definem o próprio prazo com
+ * {@code PrazoRequisicaoInterceptor.propagar}, que o {@code PrazoDataSource} aplica da mesma forma.</p>
+ */
+@Configuration
+public class DataSourceConfig {
+    /**
+     * Cria o pool de conexões do banco primário a partir das propriedades {@code spring.datasource.*}.
+     * As propriedades {@code spring.datasource.hikari.*} continuam sendo aplicadas a este pool.
+     *
+     * @param properties As propriedades de conexão do banco primário.
+     * @return O {@code HikariDataSource} do banco primário.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    /**
+     * Cria o roteador de leituras entre as réplicas configuradas, com verificação periódica de saúde
+     * e retorno ao primário quando nenhuma réplica estiver disponível. O tempo de espera por conexão
+     * das réplicas é curto (1s) para que uma réplica fora do ar não atrase a leitura.
+     *
+     * @param properties As propriedades de conexão do banco primário, cujas credenciais são reaproveitadas.
+     * @param primarioDataSource O pool do banco primário, usado como alternativa quando as réplicas falham.
+     * @param urls As URLs JDBC das réplicas, separadas por vírgula.
+     * @param tamanhoPool O tamanho máximo do pool de cada réplica.
+     * @return O {@code ReplicasDataSource} com um pool por réplica.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicasDataSource replicasDataSource(DataSourceProperties properties,
+                                                 @Qualifier("primarioDataSource") HikariDataSource primarioDataSource,
+                                                 @Value("${app.datasource.replicas.urls:}") String urls,
+                                                 @Value("${app.datasource.replicas.tamanho-pool:10}") int tamanhoPool) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<String> enderecos = Arrays.stream(urls.split(",")).map(String::trim).filter(u -> !u.isEmpty()).toList();
+
+        for (int i = 0; i < enderecos.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(enderecos.get(i));
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(tamanhoPool);
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(1000);
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionInitSql(primarioDataSource.getConnectionInitSql());
+            replicas.add(replica);
+        }
+        return new ReplicasDataSource(primarioDataSource, replicas);
+    }
+
+    /**
+     * Define o {@code DataSource} usado pela aplicação (JPA e inicialização do schema), que aplica o prazo
+     * da requisição atual aos comandos. Com réplicas configuradas, encaminha as transações somente leitura
+     * ao {@code ReplicasDataSource}.
+     *
+     * @param primarioDataSource O pool do banco primário.
+     * @param replicasDataSource O roteador de leituras entre as réplicas.
+     * @return O {@code DataSource} principal da aplicação.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primarioDataSource") HikariDataSource primarioDataSource,
+                                 ReplicasDataSource replicasDataSource) {
+        if (!replicasDataSource.possuiReplicas()) return new PrazoDataSource(primarioDataSource);
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primarioDataSource);
+        proxy.setReadOnlyDataSource(replicasDataSource);
+        return new PrazoDataSource(proxy);
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Classe de configuração dos executores utilizados pela aplicação.
+ */
+@Configuration
+public class ExecutorConfig {
+    /**
+     * Executor usado para disparar consultas ao banco em paralelo à consulta principal
+     * de uma requisição (ex: contagens por categoria junto com a página de produtos).
+     * Utiliza virtual threads, já que as tarefas passam a maior parte do tempo aguardando o banco.
+     *
+     * @return Um {@code ExecutorService} que cria uma virtual thread por tarefa.
+     */
+    @Bean(name = "consultasExecutor", destroyMethod = "close")
+    public ExecutorService consultasExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
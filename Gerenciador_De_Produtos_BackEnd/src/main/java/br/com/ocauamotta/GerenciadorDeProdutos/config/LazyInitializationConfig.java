@@ -0,0 +1,43 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+
+/**
+ * Classe de configuração da inicialização tardia (lazy) de beans.
+ * Só tem efeito quando {@code spring.main.lazy-initialization=true} (perfil "startup").
+ *
+ * <p>Os beans com métodos {@code @Scheduled} (ex: o {@code ExpurgoProdutosService}, que nenhuma requisição usa)
+ * não precisam ser excluídos aqui: o Spring Boot já os mantém com criação antecipada
+ * ({@code ScheduledBeanLazyInitializationExcludeFilter}, registrado pela {@code TaskSchedulingAutoConfiguration}
+ * junto com o {@code @EnableScheduling}), e os {@code SchedulingConfigurer} são criados pelo próprio registro das
+ * tarefas na subida. Sem isso, as tarefas só seriam agendadas quando o bean fosse usado pela primeira vez.
+ * O {@code LazyInitializationConfigIT} sobe a aplicação com a inicialização tardia e verifica as tarefas
+ * agendadas.</p>
+ */
+@Configuration
+public class LazyInitializationConfig {
+    /**
+     * Mantém a criação antecipada dos beans usados por toda requisição: o acesso a dados
+     * ({@code DataSource} e {@code EntityManagerFactory}), os controllers e o tratamento de exceções.
+     * Assim, a inicialização tardia reduz o tempo de subida sem deslocar esse custo para a primeira requisição.
+     *
+     * @return O filtro que exclui esses beans da inicialização tardia.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter beansDoCaminhoDeRequisicao() {
+        return (beanName, beanDefinition, beanType) ->
+                DataSource.class.isAssignableFrom(beanType)
+                        || EntityManagerFactory.class.isAssignableFrom(beanType)
+                        || AbstractEntityManagerFactoryBean.class.isAssignableFrom(beanType)
+                        || beanType.isAnnotationPresent(RestController.class)
+                        || beanType.isAnnotationPresent(ControllerAdvice.class);
+    }
+}
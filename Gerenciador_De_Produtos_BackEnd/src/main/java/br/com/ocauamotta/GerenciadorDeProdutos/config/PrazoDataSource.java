@@ -0,0 +1,95 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * {@code DataSource} que aplica o prazo da requisição atual a cada comando JDBC.
+ *
+ * <p>Cada {@code Statement} criado nas conexões entregues recebe como {@code queryTimeout} o tempo que ainda resta
+ * até o prazo definido pelo {@code PrazoRequisicaoInterceptor}, arredondado para cima em segundos (a resolução do
+ * JDBC). Ao atingir o timeout, o driver do Postgres envia o cancelamento da consulta ao servidor, liberando a conexão
+ * e o processo do banco. Um comando criado após o prazo falha imediatamente com {@code SQLTimeoutException}, sem ir
+ * ao banco. Comandos fora de uma requisição só recebem um prazo quando executados por
+ * {@code PrazoRequisicaoInterceptor.propagar} (ex: expurgo, catálogo em memória, aquecimento); os demais
+ * (ex: inicialização do schema) não são alterados.</p>
+ */
+public class PrazoDataSource extends DelegatingDataSource {
+
+    private static final Set<String> CRIACAO_DE_COMANDOS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    /**
+     * Cria o {@code DataSource} com prazo sobre o {@code DataSource} informado.
+     *
+     * @param alvo O {@code DataSource} que fornece as conexões.
+     */
+    public PrazoDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolver(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return envolver(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Aplica o prazo restante da requisição atual ao comando.
+     *
+     * @param statement O comando recém-criado.
+     * @throws SQLTimeoutException Se o prazo da requisição já tiver passado.
+     */
+    static void aplicarPrazo(Statement statement) throws SQLException {
+        long restante = PrazoRequisicaoInterceptor.restanteNanos();
+        if (restante == Long.MAX_VALUE) return;
+
+        if (restante <= 0) {
+            statement.close();
+            throw new SQLTimeoutException("O prazo da requisição se esgotou antes da consulta.", "57014");
+        }
+        statement.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, (restante + 999_999_999L) / 1_000_000_000L));
+    }
+
+    /**
+     * Método auxiliar privado que envolve a conexão para interceptar a criação dos comandos.
+     * As demais chamadas, inclusive {@code unwrap}, são repassadas à conexão original.
+     *
+     * @param conexao A conexão original.
+     * @return A conexão envolvida.
+     */
+    private static Connection envolver(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(PrazoDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("equals")) return proxy == argumentos[0];
+                    if (metodo.getName().equals("hashCode")) return System.identityHashCode(proxy);
+
+                    Object resultado = invocar(conexao, metodo, argumentos);
+                    if (resultado instanceof Statement statement && CRIACAO_DE_COMANDOS.contains(metodo.getName())) {
+                        aplicarPrazo(statement);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Object invocar(Connection conexao, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(conexao, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
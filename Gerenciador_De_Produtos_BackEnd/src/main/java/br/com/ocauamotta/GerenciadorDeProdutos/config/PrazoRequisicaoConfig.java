@@ -0,0 +1,35 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Classe de configuração dos prazos das requisições.
+ * Registra o {@code PrazoRequisicaoInterceptor} para os endpoints de {@code /produtos}.
+ */
+@Configuration
+public class PrazoRequisicaoConfig implements WebMvcConfigurer {
+
+    private final PrazoRequisicaoInterceptor interceptor;
+
+    /**
+     * Construtor para injeção do interceptador de prazos.
+     *
+     * @param interceptor O interceptador que define o prazo de cada requisição.
+     */
+    public PrazoRequisicaoConfig(PrazoRequisicaoInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    /**
+     * Adiciona o interceptador de prazos aos endpoints de produtos.
+     *
+     * @param registry O registro de interceptadores do Spring MVC.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/produtos", "/produtos/**");
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.LeituraPrimariaFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code DataSource} de leitura que distribui as conexões entre as réplicas saudáveis (round-robin).
+ *
+ * <p>Uma réplica que falha ao fornecer uma conexão é marcada como indisponível e só volta a receber
+ * leituras quando a verificação periódica ({@link #verificarReplicas()}) confirmar que ela responde.
+ * Quando nenhuma réplica está disponível, ou quando a requisição atual está fixada no primário logo após
+ * uma escrita ({@link LeituraPrimariaFilter}), a conexão é obtida do banco primário.</p>
+ */
+public class ReplicasDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicasDataSource.class);
+    private static final int TIMEOUT_VERIFICACAO_SEGUNDOS = 2;
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    /**
+     * Cria o roteador de leituras.
+     *
+     * @param primario O {@code DataSource} do banco primário, usado como alternativa.
+     * @param replicas Os {@code DataSource}s das réplicas de leitura.
+     */
+    public ReplicasDataSource(DataSource primario, List<? extends DataSource> replicas) {
+        this.primario = primario;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+    }
+
+    /**
+     * Indica se há ao menos uma réplica configurada.
+     *
+     * @return {@code true} se houver réplicas configuradas.
+     */
+    public boolean possuiReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * Obtém uma conexão de leitura da próxima réplica disponível, ou do primário quando a requisição
+     * está fixada nele ou nenhuma réplica consegue fornecer a conexão.
+     *
+     * @return Uma conexão de leitura.
+     * @throws SQLException Se nem o primário conseguir fornecer a conexão.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return rotear(DataSource::getConnection);
+    }
+
+    /**
+     * Obtém uma conexão de leitura com as credenciais informadas, com o mesmo roteamento de {@link #getConnection()}.
+     * Pools que não aceitam credenciais por conexão (ex: Hikari) lançam {@code SQLFeatureNotSupportedException},
+     * que é repassada sem marcar a réplica como indisponível.
+     *
+     * @param username O usuário do banco.
+     * @param password A senha do usuário.
+     * @return Uma conexão de leitura.
+     * @throws SQLException Se nem o primário conseguir fornecer a conexão.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return rotear(ds -> ds.getConnection(username, password));
+    }
+
+    /**
+     * Método auxiliar privado que obtém a conexão da próxima réplica disponível, ou do primário quando a
+     * requisição está fixada nele ou nenhuma réplica consegue fornecê-la.
+     *
+     * @param conector Como obter a conexão de um {@code DataSource}.
+     * @return Uma conexão de leitura.
+     * @throws SQLException Se nem o primário conseguir fornecer a conexão.
+     */
+    private Connection rotear(Conector conector) throws SQLException {
+        if (LeituraPrimariaFilter.leituraNoPrimario() || replicas.isEmpty()) return conector.conectar(primario);
+
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (!replica.disponivel) continue;
+            try {
+                return conector.conectar(replica.dataSource);
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e;
+            } catch (SQLException e) {
+                replica.marcarIndisponivel(e);
+            }
+        }
+        return conector.conectar(primario);
+    }
+
+    /**
+     * Verifica periodicamente cada réplica, marcando-a como disponível ou indisponível
+     * conforme ela responda a uma validação de conexão.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.intervalo-verificacao:5000}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection conexao = replica.dataSource.getConnection()) {
+                if (conexao.isValid(TIMEOUT_VERIFICACAO_SEGUNDOS)) replica.marcarDisponivel();
+                else replica.marcarIndisponivel(null);
+            } catch (SQLException e) {
+                replica.marcarIndisponivel(e);
+            }
+        }
+    }
+
+    /**
+     * Fecha os pools de conexões das réplicas no desligamento da aplicação.
+     */
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource hikari) hikari.close();
+        }
+    }
+
+    /**
+     * Forma de obter uma conexão de um {@code DataSource}, com ou sem credenciais.
+     */
+    @FunctionalInterface
+    private interface Conector {
+        Connection conectar(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * Representa uma réplica de leitura e seu estado de saúde.
+     */
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean disponivel = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void marcarDisponivel() {
+            if (!disponivel) log.info("Réplica {} voltou a responder e recebe leituras novamente.", nome());
+            disponivel = true;
+        }
+
+        private void marcarIndisponivel(SQLException causa) {
+            if (disponivel) log.warn("Réplica {} indisponível, leituras redirecionadas.", nome(), causa);
+            disponivel = false;
+        }
+
+        private String nome() {
+            return dataSource instanceof HikariDataSource hikari ? hikari.getPoolName() : dataSource.toString();
+        }
+    }
+}
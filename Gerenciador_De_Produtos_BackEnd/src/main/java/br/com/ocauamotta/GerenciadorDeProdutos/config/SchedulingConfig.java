@@ -0,0 +1,13 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Classe de configuração das tarefas agendadas da aplicação.
+ * Habilita o suporte à anotação {@code @Scheduled}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
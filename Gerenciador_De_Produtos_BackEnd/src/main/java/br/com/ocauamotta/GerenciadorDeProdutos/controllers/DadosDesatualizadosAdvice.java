@@ -0,0 +1,49 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.controllers;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.services.LeiturasResilientes;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Adiciona às respostas atendidas com valores desatualizados (banco de dados indisponível) os cabeçalhos
+ * {@code Age}, com a idade em segundos do valor mais antigo usado, e {@code X-Dados-Desatualizados: true}.
+ * A marcação é feita na requisição pela {@code LeiturasResilientes}.
+ */
+@ControllerAdvice
+public class DadosDesatualizadosAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String CABECALHO_DESATUALIZADO = "X-Dados-Desatualizados";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Adiciona os cabeçalhos de desatualização quando a requisição foi marcada pela {@code LeiturasResilientes}.
+     *
+     * @return O corpo da resposta, sem alterações.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(LeiturasResilientes.ATRIBUTO_DESATUALIZADO_DESDE) instanceof Instant desde) {
+            long idade = Math.max(0L, Duration.between(desde, Instant.now()).toSeconds());
+            response.getHeaders().set(HttpHeaders.AGE, String.valueOf(idade));
+            response.getHeaders().set(CABECALHO_DESATUALIZADO, "true");
+        }
+        return body;
+    }
+}
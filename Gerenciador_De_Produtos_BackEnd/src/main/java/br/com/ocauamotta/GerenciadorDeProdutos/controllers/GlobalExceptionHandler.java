@@ -3,8 +3,14 @@ package br.com.ocauamotta.GerenciadorDeProdutos.controllers;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ErrorResponse;
 import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.BadRequestException;
 import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.EntityNotFoundException;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.ServicoIndisponivelException;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.TempoEsgotadoException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
@@ -57,6 +63,91 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Trata a exceção {@code TempoEsgotadoException}, lançada quando uma operação
+     * não é concluída dentro do tempo máximo permitido.
+     * Retorna um status HTTP 504 GATEWAY TIMEOUT.
+     *
+     * @param ex A exceção {@code TempoEsgotadoException} capturada.
+     * @param request O contexto da requisição web.
+     * @return {@code ResponseEntity} contendo o status 504 e um {@code ErrorResponse} detalhado.
+     */
+    @ExceptionHandler(TempoEsgotadoException.class)
+    public ResponseEntity<ErrorResponse> handleTempoEsgotado(TempoEsgotadoException ex, WebRequest request) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                HttpStatus.GATEWAY_TIMEOUT.getReasonPhrase(),
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
+    /**
+     * Trata a exceção {@code QueryTimeoutException}, lançada quando uma consulta é cancelada por exceder
+     * o prazo da requisição.
+     * Retorna um status HTTP 504 GATEWAY TIMEOUT, sem expor o comando SQL.
+     *
+     * @param ex A exceção {@code QueryTimeoutException} capturada.
+     * @param request O contexto da requisição web.
+     * @return {@code ResponseEntity} contendo o status 504 e um {@code ErrorResponse} detalhado.
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleQueryTimeout(QueryTimeoutException ex, WebRequest request) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                HttpStatus.GATEWAY_TIMEOUT.getReasonPhrase(),
+                "A consulta excedeu o prazo da requisição.",
+                request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
+    /**
+     * Trata as exceções lançadas quando não é possível obter uma conexão com o banco de dados a tempo
+     * ({@code CannotGetJdbcConnectionException} e {@code CannotCreateTransactionException}), como quando
+     * o pool de conexões está esgotado.
+     * Retorna um status HTTP 503 SERVICE UNAVAILABLE com o cabeçalho {@code Retry-After}.
+     *
+     * @param ex A exceção capturada.
+     * @param request O contexto da requisição web.
+     * @return {@code ResponseEntity} contendo o status 503 e um {@code ErrorResponse} detalhado.
+     */
+    @ExceptionHandler({CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ErrorResponse> handleConexaoIndisponivel(RuntimeException ex, WebRequest request) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "Não foi possível obter uma conexão com o banco de dados a tempo.",
+                request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * Trata a exceção {@code ServicoIndisponivelException}, lançada quando o banco de dados está indisponível
+     * e não há um valor conhecido que possa ser servido no lugar da consulta.
+     * Retorna um status HTTP 503 SERVICE UNAVAILABLE com o cabeçalho {@code Retry-After}.
+     *
+     * @param ex A exceção {@code ServicoIndisponivelException} capturada.
+     * @param request O contexto da requisição web.
+     * @return {@code ResponseEntity} contendo o status 503 e um {@code ErrorResponse} detalhado.
+     */
+    @ExceptionHandler(ServicoIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleServicoIndisponivel(ServicoIndisponivelException ex, WebRequest request) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSegundos()))
+                .body(response);
+    }
+
     /**
      * Trata quaisquer exceções de ({@code RuntimeException}) que não foram tratadas
      * especificamente por outras exceptions.
@@ -1,13 +1,32 @@
 package br.com.ocauamotta.GerenciadorDeProdutos.controllers;
 
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.AlteracoesDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.FragmentoJson;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.HistogramaPrecoDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PaginaCursorDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PainelDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoPorIdDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoRequestDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutosComFacetasDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.SerieEstatisticasDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.TotalProdutosDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.CacheJsonProdutos;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.EstatisticasService;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.PainelService;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.ProdutoEventosService;
 import br.com.ocauamotta.GerenciadorDeProdutos.services.ProdutoService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST para gerenciar operações relacionadas a Produtos.
@@ -19,14 +38,27 @@ import org.springframework.web.bind.annotation.*;
 public class ProdutoController {
 
     private final ProdutoService service;
+    private final ProdutoEventosService eventosService;
+    private final CacheJsonProdutos cacheJson;
+    private final EstatisticasService estatisticasService;
+    private final PainelService painelService;
 
     /**
      * Construtor para injeção de dependência do serviço de produtos.
      *
      * @param service O serviço que contém a lógica de negócio para a entidade Produto.
+     * @param eventosService O serviço responsável pelo stream de eventos de alterações de produtos.
+     * @param cacheJson O cache do JSON pré-serializado dos produtos, usado nas listagens e na busca por ID.
+     * @param estatisticasService O serviço responsável pelas séries temporais de estatísticas dos produtos.
+     * @param painelService O serviço que monta o painel da tela inicial.
      */
-    public ProdutoController(ProdutoService service) {
+    public ProdutoController(ProdutoService service, ProdutoEventosService eventosService, CacheJsonProdutos cacheJson,
+                             EstatisticasService estatisticasService, PainelService painelService) {
         this.service = service;
+        this.eventosService = eventosService;
+        this.cacheJson = cacheJson;
+        this.estatisticasService = estatisticasService;
+        this.painelService = painelService;
     }
 
     /**
@@ -35,19 +67,24 @@ public class ProdutoController {
      *
      * <p>Exemplo de requisição sem filtro: {@code GET /produtos?page=0&size=10}</p>
      * <p>Exemplo de requisição com filtro e ordenação customizada: {@code GET /produtos?categoria=roupas&sort=preco,desc&size=5}</p>
+     * <p>Exemplo de requisição com faixa de preço: {@code GET /produtos?categoria=roupas&precoMin=1000&precoMax=5000}</p>
      *
      * @param categoria (Opcional) O nome da categoria a ser filtrada.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
      * @param sort (Opcional, Padrão: "id,asc") Define os campos e a direção da ordenação (ex: "preco,asc" ou "preco,desc").
      * @param pageable Objeto que contém informações de paginação.
-     * @return {@code ResponseEntity} contendo um {@code Page} de {@code ProdutoResponseDTO} dos produtos ativos.
+     * @return {@code ResponseEntity} contendo um {@code Page} com o JSON pré-serializado dos produtos ativos.
      */
     @GetMapping
-    public ResponseEntity<Page<ProdutoResponseDTO>> findAllActive(
+    public ResponseEntity<Page<FragmentoJson>> findAllActive(
             @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Integer precoMin,
+            @RequestParam(required = false) Integer precoMax,
             @RequestParam(required = false, defaultValue = "id,asc") String sort,
             Pageable pageable
             ) {
-        return ResponseEntity.ok(service.findAllActive(categoria, sort, pageable));
+        return ResponseEntity.ok(cacheJson.pagina(service.findAllActive(categoria, precoMin, precoMax, sort, pageable)));
     }
 
     /**
@@ -56,19 +93,153 @@ public class ProdutoController {
      *
      * <p>Exemplo de requisição sem filtro: {@code GET /produtos/apagados?page=0&size=10}</p>
      * <p>Exemplo de requisição com filtro e ordenação customizada: {@code GET /produtos/apagados?categoria=roupas&sort=preco,desc&size=5}</p>
+     * <p>Exemplo de requisição com faixa de preço: {@code GET /produtos/apagados?precoMin=1000&precoMax=5000}</p>
      *
      * @param categoria (Opcional) O nome da categoria a ser filtrada.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
      * @param sort (Opcional, Padrão: "id,asc") Define os campos e a direção da ordenação (ex: "preco,asc" ou "preco,desc").
      * @param pageable Objeto que contém informações de paginação.
-     * @return {@code ResponseEntity} contendo um {@code Page} de {@code ProdutoResponseDTO} dos produtos apagados.
+     * @return {@code ResponseEntity} contendo um {@code Page} com o JSON pré-serializado dos produtos apagados.
      */
     @GetMapping(value = "/apagados")
-    public ResponseEntity<Page<ProdutoResponseDTO>> findAllDeleted(
+    public ResponseEntity<Page<FragmentoJson>> findAllDeleted(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Integer precoMin,
+            @RequestParam(required = false) Integer precoMax,
+            @RequestParam(required = false, defaultValue = "id,asc") String sort,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(cacheJson.pagina(service.findAllDeleted(categoria, precoMin, precoMax, sort, pageable)));
+    }
+
+    /**
+     * Variante de {@link #findAllActive} usada quando o parâmetro {@code facets} é informado.
+     * Retorna, junto com a página de produtos ativos, a quantidade de produtos ativos de cada categoria
+     * que atendem à faixa de preço informada, evitando uma chamada a {@code /calcular_total} por categoria.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos?facets=categoria&categoria=roupas&size=10}</p>
+     *
+     * @param facets As facetas solicitadas (atualmente apenas "categoria").
+     * @param categoria (Opcional) O nome da categoria a ser filtrada na página.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
+     * @param sort (Opcional, Padrão: "id,asc") Define os campos e a direção da ordenação.
+     * @param pageable Objeto que contém informações de paginação.
+     * @return {@code ResponseEntity} contendo o {@code ProdutosComFacetasDTO} com a página e as contagens por categoria.
+     */
+    @GetMapping(params = "facets")
+    public ResponseEntity<ProdutosComFacetasDTO> findAllActiveComFacetas(
+            @RequestParam String facets,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Integer precoMin,
+            @RequestParam(required = false) Integer precoMax,
+            @RequestParam(required = false, defaultValue = "id,asc") String sort,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.findAllActiveComFacetas(categoria, facets, precoMin, precoMax, sort, pageable));
+    }
+
+    /**
+     * Variante de {@link #findAllDeleted} usada quando o parâmetro {@code facets} é informado.
+     * Retorna, junto com a página de produtos apagados, a quantidade de produtos apagados de cada categoria
+     * que atendem à faixa de preço informada.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/apagados?facets=categoria&size=10}</p>
+     *
+     * @param facets As facetas solicitadas (atualmente apenas "categoria").
+     * @param categoria (Opcional) O nome da categoria a ser filtrada na página.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
+     * @param sort (Opcional, Padrão: "id,asc") Define os campos e a direção da ordenação.
+     * @param pageable Objeto que contém informações de paginação.
+     * @return {@code ResponseEntity} contendo o {@code ProdutosComFacetasDTO} com a página e as contagens por categoria.
+     */
+    @GetMapping(value = "/apagados", params = "facets")
+    public ResponseEntity<ProdutosComFacetasDTO> findAllDeletedComFacetas(
+            @RequestParam String facets,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Integer precoMin,
+            @RequestParam(required = false) Integer precoMax,
+            @RequestParam(required = false, defaultValue = "id,asc") String sort,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.findAllDeletedComFacetas(categoria, facets, precoMin, precoMax, sort, pageable));
+    }
+
+    /**
+     * Variante de {@link #findAllActive} usada quando o parâmetro {@code fields} é informado.
+     * Retorna apenas os campos solicitados de cada produto, e apenas eles são lidos do banco.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos?fields=id,nome,preco&categoria=roupas&size=10}</p>
+     *
+     * @param fields Os campos desejados, separados por vírgula (id, nome, preco, categoria, createdAt, updatedAt, deletedAt).
+     * @param categoria (Opcional) O nome da categoria a ser filtrada.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
+     * @param sort (Opcional, Padrão: "id,asc") Define os campos e a direção da ordenação.
+     * @param pageable Objeto que contém informações de paginação.
+     * @return {@code ResponseEntity} contendo um {@code Page} com os campos solicitados dos produtos ativos.
+     */
+    @GetMapping(params = {"fields", "!facets", "!ids"})
+    public ResponseEntity<Page<Map<String, Object>>> findAllActiveComCampos(
+            @RequestParam String fields,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Integer precoMin,
+            @RequestParam(required = false) Integer precoMax,
+            @RequestParam(required = false, defaultValue = "id,asc") String sort,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(service.findAllActiveComCampos(fields, categoria, precoMin, precoMax, sort, pageable));
+    }
+
+    /**
+     * Variante de {@link #findAllDeleted} usada quando o parâmetro {@code fields} é informado.
+     * Retorna apenas os campos solicitados de cada produto apagado.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/apagados?fields=id,nome,deletedAt&size=10}</p>
+     *
+     * @param fields Os campos desejados, separados por vírgula.
+     * @param categoria (Opcional) O nome da categoria a ser filtrada.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
+     * @param sort (Opcional, Padrão: "id,asc") Define os campos e a direção da ordenação.
+     * @param pageable Objeto que contém informações de paginação.
+     * @return {@code ResponseEntity} contendo um {@code Page} com os campos solicitados dos produtos apagados.
+     */
+    @GetMapping(value = "/apagados", params = {"fields", "!facets"})
+    public ResponseEntity<Page<Map<String, Object>>> findAllDeletedComCampos(
+            @RequestParam String fields,
             @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Integer precoMin,
+            @RequestParam(required = false) Integer precoMax,
             @RequestParam(required = false, defaultValue = "id,asc") String sort,
             Pageable pageable
     ) {
-        return ResponseEntity.ok(service.findAllDeleted(categoria, sort, pageable));
+        return ResponseEntity.ok(service.findAllDeletedComCampos(fields, categoria, precoMin, precoMax, sort, pageable));
+    }
+
+    /**
+     * Busca produtos ativos pelo nome, aceitando trechos do nome e pequenas variações de escrita.
+     * Os resultados vêm ordenados por relevância e paginados por cursor.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/busca?q=camisa&categoria=roupas&size=20}</p>
+     * <p>Próxima página: {@code GET /produtos/busca?q=camisa&categoria=roupas&size=20&cursor=<proximoCursor>}</p>
+     *
+     * @param q O termo a ser buscado (mínimo de 3 caracteres).
+     * @param categoria (Opcional) O nome da categoria a ser filtrada.
+     * @param cursor (Opcional) O cursor retornado na página anterior.
+     * @param size (Opcional, Padrão: 20) A quantidade de produtos por página.
+     * @return {@code ResponseEntity} contendo um {@code PaginaCursorDTO} de {@code ProdutoResponseDTO}.
+     */
+    @GetMapping(value = "/busca")
+    public ResponseEntity<PaginaCursorDTO<ProdutoResponseDTO>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(service.buscarPorNome(q, categoria, cursor, size));
     }
 
     /**
@@ -83,15 +254,190 @@ public class ProdutoController {
         return ResponseEntity.ok(service.calcularTotalDeProdutos(categoria));
     }
 
+    /**
+     * Retorna, em uma única chamada, os dados da tela inicial: a primeira página de produtos ativos, a primeira
+     * página de produtos apagados, os totais por categoria e as alterações recentes.
+     * As partes são consultadas em paralelo; as que falharem ou excederem o tempo limite voltam como {@code null}
+     * e são listadas em {@code partesIndisponiveis}.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/painel}</p>
+     *
+     * @return {@code ResponseEntity} contendo o {@code PainelDTO} com as partes do painel.
+     */
+    @GetMapping(value = "/painel")
+    public ResponseEntity<PainelDTO> painel() {
+        return ResponseEntity.ok(painelService.montar());
+    }
+
+    /**
+     * Retorna a distribuição de preços dos produtos ativos em faixas de mesmo tamanho,
+     * para a montagem de gráficos e filtros por faixa de preço.
+     * Se a faixa de preço não for informada, as faixas vão do menor ao maior preço cadastrado.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/histograma?categoria=roupas&precoMin=0&precoMax=10000&faixas=10}</p>
+     *
+     * @param categoria (Opcional) O nome da categoria a ser filtrada.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
+     * @param faixas (Opcional, Padrão: 10) A quantidade de faixas do histograma.
+     * @return {@code ResponseEntity} contendo o {@code HistogramaPrecoDTO} com a quantidade de produtos por faixa.
+     */
+    @GetMapping(value = "/histograma")
+    public ResponseEntity<HistogramaPrecoDTO> histograma(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Integer precoMin,
+            @RequestParam(required = false) Integer precoMax,
+            @RequestParam(required = false, defaultValue = "10") int faixas
+    ) {
+        return ResponseEntity.ok(service.calcularHistogramaDePrecos(categoria, precoMin, precoMax, faixas));
+    }
+
+    /**
+     * Retorna os primeiros produtos ativos de cada categoria: os mais baratos, os mais caros ou os mais recentes.
+     * Categorias sem produtos ativos são retornadas com a lista vazia.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/top?n=5&ordem=menor_preco}</p>
+     *
+     * @param n (Opcional, Padrão: 5) A quantidade de produtos de cada categoria, entre 1 e 50.
+     * @param ordem (Opcional, Padrão: "menor_preco") A ordem dos produtos: menor_preco, maior_preco ou mais_recentes.
+     * @return {@code ResponseEntity} contendo um {@code Map} com a lista de produtos de cada categoria.
+     */
+    @GetMapping(value = "/top")
+    public ResponseEntity<Map<Categorias, List<ProdutoResponseDTO>>> top(
+            @RequestParam(required = false, defaultValue = "5") int n,
+            @RequestParam(required = false, defaultValue = "menor_preco") String ordem
+    ) {
+        return ResponseEntity.ok(service.buscarTopPorCategoria(n, ordem));
+    }
+
+    /**
+     * Retorna a série temporal da quantidade de produtos criados e apagados e do preço médio dos produtos criados,
+     * agrupados por hora, dia, semana ou mês no fuso {@code America/Sao_Paulo}. A série termina no período atual
+     * e inclui os períodos sem produtos.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/estatisticas/serie?intervalo=dia&categoria=roupas&periodos=30}</p>
+     *
+     * @param intervalo (Opcional, Padrão: "dia") O intervalo de cada período: hora, dia, semana ou mes.
+     * @param categoria (Opcional) O nome da categoria a ser filtrada.
+     * @param periodos (Opcional, Padrão: 30) A quantidade de períodos da série, entre 1 e 366.
+     * @return {@code ResponseEntity} contendo o {@code SerieEstatisticasDTO} com os valores de cada período.
+     */
+    @GetMapping(value = "/estatisticas/serie")
+    public ResponseEntity<SerieEstatisticasDTO> serieEstatisticas(
+            @RequestParam(required = false, defaultValue = "dia") String intervalo,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false, defaultValue = "30") int periodos
+    ) {
+        return ResponseEntity.ok(estatisticasService.calcularSerie(intervalo, categoria, periodos));
+    }
+
+    /**
+     * Retorna, em lotes e em ordem, os produtos criados, atualizados, apagados ou restaurados
+     * após o cursor informado, para sincronização incremental do catálogo.
+     *
+     * <p>Primeira chamada: {@code GET /produtos/alteracoes?limite=500}</p>
+     * <p>Chamadas seguintes: {@code GET /produtos/alteracoes?desde=<cursor>&limite=500}, repetindo
+     * imediatamente enquanto {@code temMais} for {@code true}.</p>
+     *
+     * @param desde (Opcional) O cursor retornado pela chamada anterior.
+     * @param limite (Opcional, Padrão: 100) A quantidade máxima de produtos do lote.
+     * @return {@code ResponseEntity} contendo o {@code AlteracoesDTO} com as alterações e o próximo cursor.
+     */
+    @GetMapping(value = "/alteracoes")
+    public ResponseEntity<AlteracoesDTO> alteracoes(
+            @RequestParam(required = false) String desde,
+            @RequestParam(required = false, defaultValue = "100") int limite
+    ) {
+        return ResponseEntity.ok(service.buscarAlteracoes(desde, limite));
+    }
+
+    /**
+     * Abre um stream de Server-Sent Events com as alterações de produtos (criação, atualização, exclusão e restauração),
+     * substituindo a consulta periódica das listagens e do {@code calcular_total}.
+     * Cada evento tem como nome o tipo da alteração ({@code criado}, {@code atualizado}, {@code apagado} ou
+     * {@code restaurado}), como ID a sequência da alteração e como dados o produto alterado.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/eventos?categoria=roupas}</p>
+     * <p>Ao reconectar, o {@code EventSource} do navegador envia automaticamente o cabeçalho {@code Last-Event-ID},
+     * e os eventos perdidos durante a desconexão são reenviados. Se não for possível reenviá-los, é enviado um
+     * evento {@code reiniciar} e o cliente deve recarregar os dados.</p>
+     *
+     * @param categoria (Opcional) O nome da categoria a ser filtrada.
+     * @param ultimoEventoId (Opcional) O ID do último evento recebido, informado no cabeçalho {@code Last-Event-ID}.
+     * @return O {@code SseEmitter} da conexão.
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(
+            @RequestParam(required = false) String categoria,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId
+    ) {
+        return eventosService.assinar(categoria, ultimoEventoId);
+    }
+
     /**
      * Busca um produto específico pelo seu ID.
+     * O JSON do produto vem do cache de respostas pré-serializadas e é enviado compactado com gzip
+     * quando o cliente o aceita.
      *
      * @param id O ID do produto a ser buscado.
-     * @return {@code ResponseEntity} contendo o {@code ProdutoResponseDTO} correspondente ao ID.
+     * @param acceptEncoding (Opcional) O cabeçalho {@code Accept-Encoding} da requisição.
+     * @return {@code ResponseEntity} contendo o JSON do produto correspondente ao ID.
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ProdutoResponseDTO> findById(@PathVariable(value = "id") Long id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<byte[]> findById(@PathVariable(value = "id") Long id,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ProdutoResponseDTO produto = service.findById(id);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (cacheJson.aceitaGzip(acceptEncoding))
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cacheJson.gzip(produto));
+        return resposta.body(cacheJson.json(produto).asUnquotedUTF8());
+    }
+
+    /**
+     * Variante de {@link #findById} usada quando o parâmetro {@code fields} é informado.
+     * Retorna apenas os campos solicitados do produto.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos/42?fields=nome,preco}</p>
+     *
+     * @param id O ID do produto a ser buscado.
+     * @param fields Os campos desejados, separados por vírgula.
+     * @return {@code ResponseEntity} contendo os campos solicitados do produto.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> findByIdComCampos(@PathVariable(value = "id") Long id,
+                                                                 @RequestParam String fields) {
+        return ResponseEntity.ok(service.findByIdComCampos(id, fields));
+    }
+
+    /**
+     * Busca vários produtos pelos seus IDs em uma única requisição e uma única consulta ao banco.
+     * A resposta segue a ordem dos IDs informados, e os IDs inexistentes vêm com {@code encontrado = false}.
+     *
+     * <p>Exemplo de requisição: {@code GET /produtos?ids=3,1,42}</p>
+     *
+     * @param ids Os IDs dos produtos, separados por vírgula.
+     * @return {@code ResponseEntity} contendo uma lista de {@code ProdutoPorIdDTO}, um item por ID.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProdutoPorIdDTO>> findAllByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(service.findAllByIds(ids));
+    }
+
+    /**
+     * Variante de {@link #findAllByIds} que recebe os IDs no corpo da requisição,
+     * para listas que não cabem confortavelmente na URL.
+     *
+     * <p>Exemplo de requisição: {@code POST /produtos/buscar-ids} com o corpo {@code [3, 1, 42]}</p>
+     *
+     * @param ids Os IDs dos produtos.
+     * @return {@code ResponseEntity} contendo uma lista de {@code ProdutoPorIdDTO}, um item por ID.
+     */
+    @PostMapping(value = "/buscar-ids")
+    public ResponseEntity<List<ProdutoPorIdDTO>> buscarPorIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(service.findAllByIds(ids));
     }
 
     /**
@@ -119,6 +465,17 @@ public class ProdutoController {
         return ResponseEntity.ok(service.update(id, produtoRequestDTO));
     }
 
+    /**
+     * Restaura um produto logicamente excluído através do ID.
+     *
+     * @param id O ID do produto a ser restaurado.
+     * @return {@code ResponseEntity} contendo o {@code ProdutoResponseDTO} do produto restaurado.
+     */
+    @PutMapping(value = "/{id}/restaurar")
+    public ResponseEntity<ProdutoResponseDTO> restaurar(@PathVariable(value = "id") Long id) {
+        return ResponseEntity.ok(service.restaurar(id));
+    }
+
     /**
      * Atualiza o status de deletado a um produto do sistema através do ID.
      *
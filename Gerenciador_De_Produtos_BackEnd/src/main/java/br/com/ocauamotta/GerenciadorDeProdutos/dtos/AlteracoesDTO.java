@@ -0,0 +1,19 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+import java.util.List;
+
+/**
+ * DTO de resposta do feed de alterações de produtos, usado para sincronização incremental.
+ *
+ * @param alteracoes Os produtos criados, atualizados, apagados ou restaurados após o cursor informado,
+ *                   em ordem de confirmação. Produtos apagados possuem {@code deletedAt} preenchido.
+ * @param cursor O cursor opaco a ser enviado na próxima chamada ({@code desde}). Quando não há alterações,
+ *               é o próprio cursor recebido.
+ * @param temMais Indica se já existem mais alterações disponíveis além deste lote.
+ */
+public record AlteracoesDTO(
+        List<ProdutoResponseDTO> alteracoes,
+        String cursor,
+        boolean temMais
+) {
+}
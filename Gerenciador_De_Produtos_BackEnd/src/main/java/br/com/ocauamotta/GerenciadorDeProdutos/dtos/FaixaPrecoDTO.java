@@ -0,0 +1,15 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+/**
+ * DTO que representa uma faixa do histograma de preços.
+ *
+ * @param precoInicial O preço inicial da faixa (inclusivo), em centavos.
+ * @param precoFinal O preço final da faixa (exclusivo), em centavos.
+ * @param quantidade A quantidade de produtos ativos cujo preço está na faixa.
+ */
+public record FaixaPrecoDTO(
+        Integer precoInicial,
+        Integer precoFinal,
+        Long quantidade
+) {
+}
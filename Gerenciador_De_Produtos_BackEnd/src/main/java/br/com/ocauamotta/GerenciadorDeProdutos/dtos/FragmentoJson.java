@@ -0,0 +1,154 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Trecho de JSON já serializado em UTF-8, usado para incluir produtos pré-serializados em uma resposta.
+ *
+ * <p>Ao ser serializado pelo Jackson, o conteúdo é copiado sem alterações para o buffer de saída
+ * ({@code writeRawValue}), sem passar novamente pela serialização do {@code ProdutoResponseDTO}.
+ * Os métodos que tratam o conteúdo como uma {@code String} entre aspas existem apenas para cumprir
+ * o contrato de {@code SerializableString}.</p>
+ */
+@JsonSerialize(using = FragmentoJson.Serializador.class)
+public final class FragmentoJson implements SerializableString {
+
+    private final byte[] utf8;
+    private String valor;
+
+    /**
+     * Cria o trecho a partir do JSON já codificado em UTF-8.
+     *
+     * @param utf8 Os bytes do JSON. Não devem ser alterados após a criação.
+     */
+    public FragmentoJson(byte[] utf8) {
+        this.utf8 = utf8;
+    }
+
+    /**
+     * Retorna o tamanho do JSON, em bytes.
+     *
+     * @return A quantidade de bytes do trecho.
+     */
+    public int tamanho() {
+        return utf8.length;
+    }
+
+    @Override
+    public String getValue() {
+        String atual = valor;
+        if (atual == null) valor = atual = new String(utf8, StandardCharsets.UTF_8);
+        return atual;
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        return JsonStringEncoder.getInstance().quoteAsString(getValue());
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        return utf8;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        return copiar(asQuotedUTF8(), buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        return copiar(asQuotedChars(), buffer, offset);
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        return copiar(utf8, buffer, offset);
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        return copiar(getValue().toCharArray(), buffer, offset);
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) throws IOException {
+        byte[] quoted = asQuotedUTF8();
+        out.write(quoted);
+        return quoted.length;
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        out.write(utf8);
+        return utf8.length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) {
+        return colocar(asQuotedUTF8(), buffer);
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) {
+        return colocar(utf8, buffer);
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    private static int copiar(byte[] origem, byte[] destino, int offset) {
+        if (origem.length > destino.length - offset) return -1;
+        System.arraycopy(origem, 0, destino, offset, origem.length);
+        return origem.length;
+    }
+
+    private static int copiar(char[] origem, char[] destino, int offset) {
+        if (origem.length > destino.length - offset) return -1;
+        System.arraycopy(origem, 0, destino, offset, origem.length);
+        return origem.length;
+    }
+
+    private static int colocar(byte[] origem, ByteBuffer destino) {
+        if (origem.length > destino.remaining()) return -1;
+        destino.put(origem);
+        return origem.length;
+    }
+
+    /**
+     * Serializador que escreve o trecho como um valor JSON bruto.
+     */
+    public static final class Serializador extends StdSerializer<FragmentoJson> {
+
+        public Serializador() {
+            super(FragmentoJson.class);
+        }
+
+        @Override
+        public void serialize(FragmentoJson fragmento, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            gerador.writeRawValue(fragmento);
+        }
+    }
+}
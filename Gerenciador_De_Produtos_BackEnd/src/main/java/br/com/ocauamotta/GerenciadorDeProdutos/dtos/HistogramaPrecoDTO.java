@@ -0,0 +1,17 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+import java.util.List;
+
+/**
+ * DTO usado para transportar a distribuição de preços dos produtos ativos.
+ *
+ * @param precoMin O menor preço considerado no histograma, ou {@code null} se não houver produtos.
+ * @param precoMax O maior preço considerado no histograma, ou {@code null} se não houver produtos.
+ * @param faixas As faixas de preço, em ordem crescente, com a quantidade de produtos de cada uma.
+ */
+public record HistogramaPrecoDTO(
+        Integer precoMin,
+        Integer precoMax,
+        List<FaixaPrecoDTO> faixas
+) {
+}
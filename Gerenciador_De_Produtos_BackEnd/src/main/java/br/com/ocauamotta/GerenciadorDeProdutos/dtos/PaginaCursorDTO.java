@@ -0,0 +1,19 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+import java.util.List;
+
+/**
+ * DTO genérico para respostas paginadas por cursor (keyset pagination).
+ *
+ * <p>Diferente de {@code Page}, não executa {@code COUNT} nem usa {@code OFFSET}:
+ * o cliente envia o {@code proximoCursor} recebido para obter a página seguinte.</p>
+ *
+ * @param conteudo Os itens da página atual.
+ * @param proximoCursor O cursor opaco da próxima página, ou {@code null} se não houver mais resultados.
+ * @param <T> O tipo dos itens da página.
+ */
+public record PaginaCursorDTO<T>(
+        List<T> conteudo,
+        String proximoCursor
+) {
+}
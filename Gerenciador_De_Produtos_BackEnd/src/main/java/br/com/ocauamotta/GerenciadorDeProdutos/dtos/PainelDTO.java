@@ -0,0 +1,28 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de resposta do painel ({@code GET /produtos/painel}), que reúne em uma única chamada os dados
+ * da tela inicial. Cada parte é consultada em paralelo; uma parte que falhou ou excedeu o seu tempo
+ * limite é retornada como {@code null} e listada em {@code partesIndisponiveis}.
+ *
+ * @param ativos A primeira página de produtos ativos, ordenada por ID.
+ * @param apagados A primeira página de produtos apagados, ordenada por ID.
+ * @param totaisPorCategoria A quantidade e o preço médio dos produtos ativos de cada categoria.
+ * @param alteracoesRecentes Os produtos alterados mais recentemente, do mais recente para o mais antigo.
+ * @param partesIndisponiveis Os nomes das partes que não puderam ser consultadas
+ *                            ({@code ativos}, {@code apagados}, {@code totaisPorCategoria} ou {@code alteracoesRecentes}).
+ */
+public record PainelDTO(
+        Page<ProdutoResponseDTO> ativos,
+        Page<ProdutoResponseDTO> apagados,
+        Map<Categorias, TotalProdutosDTO> totaisPorCategoria,
+        List<ProdutoResponseDTO> alteracoesRecentes,
+        List<String> partesIndisponiveis
+) {
+}
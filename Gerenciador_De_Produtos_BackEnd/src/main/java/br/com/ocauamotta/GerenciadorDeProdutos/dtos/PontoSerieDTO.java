@@ -0,0 +1,19 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+import java.time.ZonedDateTime;
+
+/**
+ * DTO que representa um período de uma série temporal de estatísticas de produtos.
+ *
+ * @param inicio O início do período.
+ * @param criados A quantidade de produtos criados no período.
+ * @param apagados A quantidade de produtos apagados no período (e ainda não restaurados).
+ * @param precoMedio O preço médio dos produtos criados no período, ou {@code null} se nenhum foi criado.
+ */
+public record PontoSerieDTO(
+        ZonedDateTime inicio,
+        Long criados,
+        Long apagados,
+        Integer precoMedio
+) {
+}
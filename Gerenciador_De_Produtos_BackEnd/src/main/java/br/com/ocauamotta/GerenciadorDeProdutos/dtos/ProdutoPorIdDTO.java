@@ -0,0 +1,16 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+/**
+ * DTO de resposta da busca de vários produtos por ID.
+ * Cada item corresponde a um ID solicitado, na mesma ordem da requisição.
+ *
+ * @param id O ID solicitado.
+ * @param encontrado Indica se existe um produto com o ID solicitado.
+ * @param produto O produto encontrado, ou {@code null} quando {@code encontrado} for {@code false}.
+ */
+public record ProdutoPorIdDTO(
+        Long id,
+        boolean encontrado,
+        ProdutoResponseDTO produto
+) {
+}
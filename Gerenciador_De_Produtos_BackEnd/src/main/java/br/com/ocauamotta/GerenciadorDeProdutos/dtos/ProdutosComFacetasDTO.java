@@ -0,0 +1,19 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * DTO usado nas listagens de produtos quando o cliente solicita facetas ({@code facets=categoria}).
+ *
+ * @param pagina A página de produtos solicitada.
+ * @param facetas A quantidade de produtos de cada categoria que atendem aos demais filtros
+ *                da listagem (situação e faixa de preço), independente do filtro de categoria.
+ */
+public record ProdutosComFacetasDTO(
+        Page<ProdutoResponseDTO> pagina,
+        Map<Categorias, Long> facetas
+) {
+}
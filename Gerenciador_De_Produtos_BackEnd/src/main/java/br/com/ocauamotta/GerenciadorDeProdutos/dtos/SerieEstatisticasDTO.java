@@ -0,0 +1,17 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.dtos;
+
+import java.util.List;
+
+/**
+ * DTO usado para transportar uma série temporal de estatísticas de produtos.
+ *
+ * @param intervalo O intervalo de cada período da série (hora, dia, semana ou mês).
+ * @param categoria A categoria filtrada, ou {@code null} para todas as categorias.
+ * @param pontos Os períodos da série, em ordem crescente, incluindo os períodos sem produtos e o período atual.
+ */
+public record SerieEstatisticasDTO(
+        String intervalo,
+        String categoria,
+        List<PontoSerieDTO> pontos
+) {
+}
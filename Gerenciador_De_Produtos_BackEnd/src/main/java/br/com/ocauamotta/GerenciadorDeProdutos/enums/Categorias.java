@@ -2,24 +2,42 @@ package br.com.ocauamotta.GerenciadorDeProdutos.enums;
 
 /**
  * Este enum define as categorias de produtos disponíveis.
+ *
+ * <p>No banco, cada categoria é gravada pelo seu código ({@code smallint}), por meio do
+ * {@code CategoriasConverter}. Os códigos só podem ser acrescentados: nunca são alterados, reordenados nem
+ * reaproveitados, já que estão gravados em todos os registros de {@code produtos} e {@code produtos_arquivados}.
+ * Uma nova categoria é declarada no fim do enum, com o próximo código livre. Nenhuma ordenação depende do
+ * valor dos códigos: o {@code CatalogoEmMemoria} ordena as categorias pelo nome da constante.</p>
  */
 public enum Categorias {
-    SHOES("calcados"),
-    CLOTHES("roupas"),
-    UNDERWEAR("roupas_intimas"),
-    ACCESSORIES("acessorios");
+    SHOES((short) 1, "calcados"),
+    CLOTHES((short) 2, "roupas"),
+    UNDERWEAR((short) 3, "roupas_intimas"),
+    ACCESSORIES((short) 4, "acessorios");
 
+    private final short codigo;
     private final String categoria;
 
     /**
-     * Construtor privado para associar o valor de string a cada constante do enum.
+     * Construtor privado para associar o código gravado no banco e o valor de string a cada constante do enum.
      *
+     * @param codigo O código da categoria no banco de dados.
      * @param categoria A representação em {@code String} da categoria.
      */
-    Categorias(String categoria) {
+    Categorias(short codigo, String categoria) {
+        this.codigo = codigo;
         this.categoria = categoria;
     }
 
+    /**
+     * Retorna o código da categoria no banco de dados.
+     *
+     * @return O código da categoria.
+     */
+    public short getCodigo() {
+        return codigo;
+    }
+
     /**
      * Retorna a representação em {@code String} da categoria.
      *
@@ -43,4 +61,18 @@ public enum Categorias {
         }
         throw new IllegalArgumentException("Categoria inválida: " + categoria);
     }
+
+    /**
+     * Converte o código gravado no banco de dados para o valor correspondente do enum {@code Categorias}.
+     *
+     * @param codigo O código da categoria.
+     * @return A constante {@code Categorias} correspondente.
+     * @throws IllegalArgumentException Se o código não corresponder a nenhuma categoria.
+     */
+    public static Categorias fromCodigo(short codigo) {
+        for (Categorias cat : values()) {
+            if (cat.getCodigo() == codigo) return cat;
+        }
+        throw new IllegalArgumentException("Código de categoria inválido: " + codigo);
+    }
 }
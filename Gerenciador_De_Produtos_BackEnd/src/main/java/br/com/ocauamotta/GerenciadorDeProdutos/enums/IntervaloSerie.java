@@ -0,0 +1,94 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.enums;
+
+import java.time.DayOfWeek;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Este enum define os intervalos disponíveis para as séries temporais de estatísticas de produtos.
+ * Cada intervalo corresponde a uma unidade do {@code date_trunc} do Postgres.
+ */
+public enum IntervaloSerie {
+    HORA("hora", "hour", ChronoUnit.HOURS),
+    DIA("dia", "day", ChronoUnit.DAYS),
+    SEMANA("semana", "week", ChronoUnit.WEEKS),
+    MES("mes", "month", ChronoUnit.MONTHS);
+
+    private final String intervalo;
+    private final String unidadeBanco;
+    private final ChronoUnit unidade;
+
+    /**
+     * Construtor privado para associar a representação do intervalo na API e no banco.
+     *
+     * @param intervalo A representação em {@code String} do intervalo na API.
+     * @param unidadeBanco A unidade correspondente do {@code date_trunc}.
+     * @param unidade A unidade de tempo usada para avançar e recuar entre os períodos.
+     */
+    IntervaloSerie(String intervalo, String unidadeBanco, ChronoUnit unidade) {
+        this.intervalo = intervalo;
+        this.unidadeBanco = unidadeBanco;
+        this.unidade = unidade;
+    }
+
+    /**
+     * Retorna a representação em {@code String} do intervalo.
+     *
+     * @return A {@code String} do intervalo.
+     */
+    public String getIntervalo() {
+        return intervalo;
+    }
+
+    /**
+     * Retorna a unidade do {@code date_trunc} correspondente ao intervalo.
+     *
+     * @return A unidade usada no banco.
+     */
+    public String getUnidadeBanco() {
+        return unidadeBanco;
+    }
+
+    /**
+     * Calcula o início do período que contém a data informada, com as mesmas regras do {@code date_trunc}
+     * (as semanas começam na segunda-feira).
+     *
+     * @param data A data de referência.
+     * @return O início do período, no fuso da data informada.
+     */
+    public ZonedDateTime inicioDoPeriodo(ZonedDateTime data) {
+        return switch (this) {
+            case HORA -> data.truncatedTo(ChronoUnit.HOURS);
+            case DIA -> data.truncatedTo(ChronoUnit.DAYS);
+            case SEMANA -> data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).truncatedTo(ChronoUnit.DAYS);
+            case MES -> data.with(TemporalAdjusters.firstDayOfMonth()).truncatedTo(ChronoUnit.DAYS);
+        };
+    }
+
+    /**
+     * Desloca o início de um período pela quantidade de períodos informada.
+     *
+     * @param inicio O início de um período.
+     * @param periodos A quantidade de períodos (negativa para recuar).
+     * @return O início do período deslocado.
+     */
+    public ZonedDateTime deslocar(ZonedDateTime inicio, long periodos) {
+        return inicioDoPeriodo(inicio.plus(periodos, unidade));
+    }
+
+    /**
+     * Converte uma {@code String} para o valor correspondente do enum {@code IntervaloSerie}.
+     * A comparação não diferencia maiúsculas e minúsculas.
+     *
+     * @param intervalo A {@code String} do intervalo a ser convertida.
+     * @return A constante {@code IntervaloSerie} correspondente.
+     * @throws IllegalArgumentException Se a {@code String} fornecida não corresponder a nenhum intervalo.
+     */
+    public static IntervaloSerie fromString(String intervalo) {
+        for (IntervaloSerie valor : values()) {
+            if (valor.getIntervalo().equalsIgnoreCase(intervalo)) return valor;
+        }
+        throw new IllegalArgumentException("Intervalo inválido: " + intervalo);
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.enums;
+
+/**
+ * Este enum define as ordens disponíveis para os primeiros produtos de cada categoria ({@code GET /produtos/top}).
+ */
+public enum OrdemTopProdutos {
+    MENOR_PRECO("menor_preco"),
+    MAIOR_PRECO("maior_preco"),
+    MAIS_RECENTES("mais_recentes");
+
+    private final String ordem;
+
+    /**
+     * Construtor privado para associar a representação da ordem na API.
+     *
+     * @param ordem A representação em {@code String} da ordem.
+     */
+    OrdemTopProdutos(String ordem) {
+        this.ordem = ordem;
+    }
+
+    /**
+     * Retorna a representação em {@code String} da ordem.
+     *
+     * @return A {@code String} da ordem.
+     */
+    public String getOrdem() {
+        return ordem;
+    }
+
+    /**
+     * Converte uma {@code String} para o valor correspondente do enum {@code OrdemTopProdutos}.
+     * A comparação não diferencia maiúsculas e minúsculas.
+     *
+     * @param ordem A {@code String} da ordem a ser convertida.
+     * @return A constante {@code OrdemTopProdutos} correspondente.
+     * @throws IllegalArgumentException Se a {@code String} fornecida não corresponder a nenhuma ordem.
+     */
+    public static OrdemTopProdutos fromString(String ordem) {
+        for (OrdemTopProdutos valor : values()) {
+            if (valor.getOrdem().equalsIgnoreCase(ordem)) return valor;
+        }
+        throw new IllegalArgumentException("Ordem inválida: " + ordem);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.enums;
+
+/**
+ * Este enum define os tipos de alteração que um produto pode sofrer.
+ * O nome em minúsculas é usado como nome do evento no stream de eventos de produtos.
+ */
+public enum TipoAlteracao {
+    CRIADO,
+    ATUALIZADO,
+    APAGADO,
+    RESTAURADO
+}
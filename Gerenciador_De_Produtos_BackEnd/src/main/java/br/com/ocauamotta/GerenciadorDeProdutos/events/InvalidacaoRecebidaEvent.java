@@ -0,0 +1,35 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.events;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+
+import java.util.Set;
+
+/**
+ * Evento de aplicação publicado pela {@code InvalidacaoDistribuida} com as alterações feitas por outras instâncias,
+ * agrupadas em lote, para que os caches locais descartem ou recarreguem os valores afetados.
+ *
+ * @param ids Os IDs dos produtos alterados.
+ * @param categorias As categorias afetadas (antes e depois das alterações).
+ * @param geracao A maior sequência de alteração do lote, ou {@code 0} se nenhuma mensagem a informou.
+ * @param historico Indica se alguma alteração pode ter mudado valores de períodos já encerrados
+ *                  (atualizações e restaurações).
+ * @param completa Indica que mensagens podem ter sido perdidas (ex: após uma reconexão), e que todos os
+ *                 caches locais devem ser descartados.
+ */
+public record InvalidacaoRecebidaEvent(
+        Set<Long> ids,
+        Set<Categorias> categorias,
+        long geracao,
+        boolean historico,
+        boolean completa
+) {
+
+    /**
+     * Cria o evento de invalidação completa dos caches locais.
+     *
+     * @return O evento de invalidação completa.
+     */
+    public static InvalidacaoRecebidaEvent todos() {
+        return new InvalidacaoRecebidaEvent(Set.of(), Set.of(), 0L, true, true);
+    }
+}
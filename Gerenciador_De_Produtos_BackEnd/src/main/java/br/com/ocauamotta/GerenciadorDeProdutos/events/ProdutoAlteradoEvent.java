@@ -0,0 +1,23 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.events;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+
+/**
+ * Evento de aplicação publicado pelo {@code ProdutoService} a cada criação, atualização,
+ * exclusão ou restauração de um produto.
+ *
+ * @param sequencia O valor da coluna {@code sequencia} gravado na alteração, usado como ID do evento.
+ * @param tipo O tipo da alteração.
+ * @param produto O estado do produto após a alteração.
+ * @param categoriaAnterior A categoria do produto antes da alteração. Difere de {@code produto.categoria()}
+ *                          apenas quando a atualização troca a categoria do produto.
+ */
+public record ProdutoAlteradoEvent(
+        Long sequencia,
+        TipoAlteracao tipo,
+        ProdutoResponseDTO produto,
+        Categorias categoriaAnterior
+) {
+}
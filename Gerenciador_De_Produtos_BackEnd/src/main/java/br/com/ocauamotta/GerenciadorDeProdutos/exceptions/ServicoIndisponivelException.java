@@ -0,0 +1,24 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.exceptions;
+
+/**
+ * Exception personalizada lançada quando o banco de dados está indisponível
+ * e não há um valor conhecido que possa ser servido no lugar da consulta.
+ */
+public class ServicoIndisponivelException extends RuntimeException {
+
+    private final long retryAfterSegundos;
+
+    public ServicoIndisponivelException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    /**
+     * Retorna em quantos segundos o cliente pode tentar novamente.
+     *
+     * @return Os segundos informados no cabeçalho {@code Retry-After}.
+     */
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
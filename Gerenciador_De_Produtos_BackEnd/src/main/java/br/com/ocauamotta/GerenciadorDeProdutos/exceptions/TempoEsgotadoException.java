@@ -0,0 +1,11 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.exceptions;
+
+/**
+ * Exception personalizada lançada quando uma operação não é concluída
+ * dentro do tempo máximo permitido.
+ */
+public class TempoEsgotadoException extends RuntimeException {
+    public TempoEsgotadoException(String message) {
+        super(message);
+    }
+}
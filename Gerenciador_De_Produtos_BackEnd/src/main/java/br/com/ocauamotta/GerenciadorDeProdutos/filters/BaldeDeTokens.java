@@ -0,0 +1,57 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.filters;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Balde de tokens (token bucket) de um cliente, usado na limitação de taxa de requisições.
+ *
+ * <p>O balde começa cheio, com capacidade para uma rajada de requisições, e é reabastecido continuamente
+ * à taxa configurada. O estado (tokens e instante da última atualização) é imutável e substituído por
+ * compare-and-set, de modo que requisições concorrentes do mesmo cliente não precisam de bloqueio.</p>
+ */
+public class BaldeDeTokens {
+
+    private static final double NANOS_POR_SEGUNDO = 1_000_000_000d;
+
+    private final double capacidade;
+    private final double tokensPorNano;
+    private final AtomicReference<Estado> estado;
+
+    /**
+     * Cria um balde cheio.
+     *
+     * @param capacidade A quantidade máxima de tokens (tamanho da rajada permitida).
+     * @param tokensPorSegundo A taxa de reabastecimento do balde.
+     * @param agoraNanos O instante atual, em nanossegundos ({@code System.nanoTime()}).
+     */
+    public BaldeDeTokens(double capacidade, double tokensPorSegundo, long agoraNanos) {
+        this.capacidade = capacidade;
+        this.tokensPorNano = tokensPorSegundo / NANOS_POR_SEGUNDO;
+        this.estado = new AtomicReference<>(new Estado(capacidade, agoraNanos));
+    }
+
+    /**
+     * Tenta consumir um token do balde.
+     *
+     * @param agoraNanos O instante atual, em nanossegundos ({@code System.nanoTime()}).
+     * @return {@code 0} se o token foi consumido, ou o tempo em nanossegundos até haver um token disponível.
+     */
+    public long tentarConsumir(long agoraNanos) {
+        while (true) {
+            Estado atual = estado.get();
+            double tokens = Math.min(capacidade, atual.tokens() + Math.max(0, agoraNanos - atual.instante()) * tokensPorNano);
+
+            if (tokens < 1) return (long) Math.ceil((1 - tokens) / tokensPorNano);
+            if (estado.compareAndSet(atual, new Estado(tokens - 1, Math.max(agoraNanos, atual.instante())))) return 0;
+        }
+    }
+
+    /**
+     * Estado imutável do balde.
+     *
+     * @param tokens A quantidade de tokens disponíveis.
+     * @param instante O instante da última atualização, em nanossegundos.
+     */
+    private record Estado(double tokens, long instante) {
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.filters;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro de controle de admissão das requisições de {@code /produtos}.
+ *
+ * <p>Aplica, nesta ordem:</p>
+ * <ul>
+ *     <li>Limitação de taxa por cliente (endereço remoto), com um {@code BaldeDeTokens} por cliente mantido em um
+ *     cache Caffeine, cuja estrutura interna é particionada e não bloqueia leituras concorrentes. Clientes acima da
+ *     taxa recebem {@code 429 Too Many Requests} com {@code Retry-After}.</li>
+ *     <li>Descarte adaptativo de carga, com um {@code LimiteConcorrenciaAdaptativo} que acompanha a latência observada.
+ *     Requisições acima do limite recebem {@code 503 Service Unavailable} com {@code Retry-After}, em vez de aguardar
+ *     nas filas do Tomcat e do pool de conexões. As consultas caras (listagens, buscas, painel e agregações, incluindo
+ *     a busca por IDs via {@code POST /produtos/buscar-ids}) só ocupam uma fração do limite e são recusadas primeiro.</li>
+ * </ul>
+ *
+ * <p>O stream de eventos ({@code /produtos/eventos}) passa apenas pela limitação de taxa, já que suas conexões
+ * ficam abertas por muito tempo e não representam carga no banco.</p>
+ *
+ * <p>O cliente é identificado por {@code getRemoteAddr()}. Atrás de um proxy reverso ou balanceador, esse seria o
+ * endereço do proxy, e todos os clientes dividiriam o mesmo balde. Por isso a aplicação usa
+ * {@code server.forward-headers-strategy=native}: o {@code RemoteIpValve} do Tomcat substitui o endereço remoto
+ * pelo cliente informado em {@code X-Forwarded-For}, mas apenas quando a conexão vem de um proxy confiável
+ * ({@code server.tomcat.remoteip.internal-proxies}, por padrão as redes privadas e o loopback). Conexões diretas de
+ * outros endereços mantêm o próprio endereço, de modo que um cliente não escapa do limite forjando o cabeçalho.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ControleAdmissaoFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "/produtos";
+    private static final String CAMINHO_EVENTOS = "/produtos/eventos";
+    private static final String CAMINHO_BUSCAR_IDS = "/produtos/buscar-ids";
+    private static final Set<String> CONSULTAS_CARAS = Set.of(
+            "/produtos", "/produtos/apagados", "/produtos/busca", "/produtos/calcular_total", "/produtos/painel",
+            "/produtos/histograma", "/produtos/top", "/produtos/alteracoes", "/produtos/estatisticas/serie",
+            CAMINHO_BUSCAR_IDS);
+    private static final long RETRY_AFTER_SOBRECARGA_SEGUNDOS = 1;
+
+    private final ObjectMapper objectMapper;
+    private final LimiteConcorrenciaAdaptativo limite;
+    private final Cache<String, BaldeDeTokens> baldes;
+    private final double rajadaPorCliente;
+    private final double taxaPorCliente;
+
+    /**
+     * Construtor para injeção das configurações de admissão.
+     *
+     * @param objectMapper O {@code ObjectMapper} usado para escrever o corpo das respostas de erro.
+     * @param taxaPorCliente A quantidade de requisições por segundo permitida para cada cliente.
+     * @param rajadaPorCliente A quantidade de requisições que um cliente pode fazer de uma vez, acima da taxa.
+     * @param limiteInicial O limite inicial de requisições simultâneas.
+     * @param limiteMinimo O menor limite de requisições simultâneas.
+     * @param limiteMaximo O maior limite de requisições simultâneas.
+     * @param fracaoConsultasCaras A fração do limite que as consultas caras podem ocupar.
+     */
+    public ControleAdmissaoFilter(ObjectMapper objectMapper,
+                                  @Value("${app.admissao.taxa-por-cliente:50}") double taxaPorCliente,
+                                  @Value("${app.admissao.rajada-por-cliente:100}") double rajadaPorCliente,
+                                  @Value("${app.admissao.limite-inicial:40}") int limiteInicial,
+                                  @Value("${app.admissao.limite-minimo:8}") int limiteMinimo,
+                                  @Value("${app.admissao.limite-maximo:400}") int limiteMaximo,
+                                  @Value("${app.admissao.fracao-consultas-caras:0.5}") double fracaoConsultasCaras) {
+        this.objectMapper = objectMapper;
+        this.taxaPorCliente = taxaPorCliente;
+        this.rajadaPorCliente = rajadaPorCliente;
+        this.limite = new LimiteConcorrenciaAdaptativo(limiteInicial, limiteMinimo, limiteMaximo, fracaoConsultasCaras);
+        this.baldes = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Retorna a ocupação atual do limite de concorrência: a fração do limite ocupada pelas requisições em andamento.
+     * Usado para que tarefas opcionais (ex: o pré-carregamento de páginas) só ocupem a capacidade que está sobrando.
+     *
+     * @return A ocupação do limite, entre {@code 0} e {@code 1} (ou acima, momentaneamente, antes de uma recusa).
+     */
+    public double ocupacao() {
+        return (double) limite.getEmAndamento() / Math.max(1, limite.getLimite());
+    }
+
+    /**
+     * Aplica o filtro apenas aos endpoints de produtos.
+     *
+     * @param request A requisição HTTP.
+     * @return {@code true} se a requisição não for de {@code /produtos}.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PREFIXO);
+    }
+
+    /**
+     * Admite ou recusa a requisição conforme a taxa do cliente e o limite de concorrência atual.
+     *
+     * @param request A requisição HTTP.
+     * @param response A resposta HTTP.
+     * @param filterChain A cadeia de filtros.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long agora = System.nanoTime();
+        String caminho = request.getRequestURI();
+
+        BaldeDeTokens balde = baldes.get(request.getRemoteAddr(), c -> new BaldeDeTokens(rajadaPorCliente, taxaPorCliente, agora));
+        long espera = balde.tentarConsumir(agora);
+        if (espera > 0) {
+            long retryAfter = Math.max(1, (espera + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            recusar(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+                    "Limite de requisições excedido. Tente novamente em instantes.");
+            return;
+        }
+
+        if (caminho.equals(CAMINHO_EVENTOS)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean consultaCara = CONSULTAS_CARAS.contains(caminho)
+                && (HttpMethod.GET.matches(request.getMethod()) || caminho.equals(CAMINHO_BUSCAR_IDS));
+        if (!limite.tentarAdquirir(consultaCara)) {
+            recusar(request, response, HttpStatus.SERVICE_UNAVAILABLE, RETRY_AFTER_SOBRECARGA_SEGUNDOS,
+                    "Servidor sobrecarregado. Tente novamente em instantes.");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limite.liberar(consultaCara, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que escreve a resposta de recusa no mesmo formato de {@code ErrorResponse}
+     * usado pelo {@code GlobalExceptionHandler}, com o cabeçalho {@code Retry-After}.
+     *
+     * @param request A requisição HTTP recusada.
+     * @param response A resposta HTTP.
+     * @param status O status da recusa (429 ou 503).
+     * @param retryAfterSegundos O tempo sugerido para uma nova tentativa, em segundos.
+     * @param mensagem A mensagem de erro.
+     */
+    private void recusar(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                         long retryAfterSegundos, String mensagem) throws IOException {
+        ErrorResponse erro = new ErrorResponse(status.value(), status.getReasonPhrase(), mensagem, request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.filters;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Filtro que garante a leitura das próprias escritas (read-your-writes) quando há réplicas de leitura.
+ *
+ * <p>Ao receber uma escrita ({@code POST}, {@code PUT}, {@code PATCH} ou {@code DELETE}, exceto as consultas
+ * feitas via {@code POST}, como {@code /produtos/buscar-ids}), o filtro devolve
+ * ao cliente o cookie {@code ler-primario}, válido pela janela configurada em
+ * {@code app.datasource.replicas.janela-leitura-primario}. Enquanto o cookie existir, as leituras desse cliente
+ * são feitas no banco primário, evitando que ele deixe de ver uma alteração que ainda não chegou à réplica.</p>
+ *
+ * <p>A marcação vale para a thread da requisição. Consultas auxiliares disparadas em paralelo pelo
+ * {@code consultasExecutor} (ex: contagens por categoria) podem ser atendidas pelas réplicas, exceto quando
+ * envolvidas por {@link #propagar} (ex: as partes do painel).</p>
+ */
+@Component
+public class LeituraPrimariaFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_LEITURA_PRIMARIO = "ler-primario";
+
+    private static final ThreadLocal<Boolean> LEITURA_NO_PRIMARIO = new ThreadLocal<>();
+    private static final Set<String> METODOS_DE_ESCRITA = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+    private static final Set<String> CONSULTAS_VIA_POST = Set.of("/produtos/buscar-ids");
+
+    private final Duration janela;
+
+    /**
+     * Construtor para injeção da janela de leitura no primário após uma escrita.
+     *
+     * @param janela O tempo durante o qual o cliente lê do primário após uma escrita. {@code 0} desativa a fixação.
+     */
+    public LeituraPrimariaFilter(@Value("${app.datasource.replicas.janela-leitura-primario:5s}") Duration janela) {
+        this.janela = janela;
+    }
+
+    /**
+     * Indica se as leituras da requisição atual devem ser feitas no banco primário.
+     *
+     * @return {@code true} se o cliente escreveu dentro da janela configurada.
+     */
+    public static boolean leituraNoPrimario() {
+        return Boolean.TRUE.equals(LEITURA_NO_PRIMARIO.get());
+    }
+
+    /**
+     * Envolve uma tarefa para que ela seja executada, em outra thread, com a marcação de leitura no primário
+     * da requisição atual.
+     *
+     * @param tarefa A tarefa a ser executada em paralelo.
+     * @param <T> O tipo do resultado da tarefa.
+     * @return A tarefa com a marcação da requisição atual.
+     */
+    public static <T> Supplier<T> propagar(Supplier<T> tarefa) {
+        if (!leituraNoPrimario()) return tarefa;
+
+        return () -> {
+            Boolean anterior = LEITURA_NO_PRIMARIO.get();
+            LEITURA_NO_PRIMARIO.set(true);
+            try {
+                return tarefa.get();
+            } finally {
+                if (anterior != null) LEITURA_NO_PRIMARIO.set(anterior);
+                else LEITURA_NO_PRIMARIO.remove();
+            }
+        };
+    }
+
+    /**
+     * Marca a requisição para leitura no primário quando ela é uma escrita ou traz o cookie de uma escrita recente.
+     *
+     * @param request A requisição HTTP.
+     * @param response A resposta HTTP.
+     * @param filterChain A cadeia de filtros.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (janela.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean escrita = METODOS_DE_ESCRITA.contains(request.getMethod())
+                && !CONSULTAS_VIA_POST.contains(request.getRequestURI());
+        if (escrita) {
+            Cookie cookie = new Cookie(COOKIE_LEITURA_PRIMARIO, "1");
+            cookie.setMaxAge((int) Math.max(janela.toSeconds(), 1));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+
+        LEITURA_NO_PRIMARIO.set(escrita || possuiCookie(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            LEITURA_NO_PRIMARIO.remove();
+        }
+    }
+
+    /**
+     * Método auxiliar privado que verifica se a requisição traz o cookie de leitura no primário.
+     *
+     * @param request A requisição HTTP.
+     * @return {@code true} se o cookie estiver presente.
+     */
+    private boolean possuiCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        return cookies != null && Arrays.stream(cookies).anyMatch(c -> COOKIE_LEITURA_PRIMARIO.equals(c.getName()));
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.filters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência observada, no estilo do algoritmo Gradient2.
+ *
+ * <p>O limitador mantém duas médias do tempo de resposta: uma de longo prazo, que representa a latência
+ * sem fila, e uma de curto prazo, que reflete o momento atual. Quando a latência de curto prazo cresce
+ * em relação à de longo prazo, sinal de que as requisições estão enfileirando no pool de conexões ou no banco,
+ * o limite é reduzido proporcionalmente. Quando a latência está estável, o limite cresce aos poucos.
+ * Requisições acima do limite devem ser recusadas imediatamente, mantendo baixa a latência das admitidas.</p>
+ *
+ * <p>As consultas caras (listagens, buscas e agregações) só podem ocupar uma fração do limite. Assim, sob carga,
+ * elas são recusadas primeiro e a capacidade restante continua disponível para as operações leves,
+ * como a busca por ID e as escritas.</p>
+ */
+public class LimiteConcorrenciaAdaptativo {
+
+    private static final double TOLERANCIA = 1.5;
+    private static final double SUAVIZACAO = 0.2;
+    private static final double PESO_CURTO_PRAZO = 0.1;
+    private static final double PESO_LONGO_PRAZO = 0.002;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double fracaoConsultasCaras;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicInteger consultasCarasEmAndamento = new AtomicInteger();
+    private volatile double limite;
+    private double rttCurtoPrazo;
+    private double rttLongoPrazo;
+
+    /**
+     * Cria o limitador.
+     *
+     * @param limiteInicial O limite de requisições simultâneas antes das primeiras medições.
+     * @param limiteMinimo O menor limite permitido.
+     * @param limiteMaximo O maior limite permitido.
+     * @param fracaoConsultasCaras A fração do limite que as consultas caras podem ocupar (entre {@code 0} e {@code 1}).
+     */
+    public LimiteConcorrenciaAdaptativo(int limiteInicial, int limiteMinimo, int limiteMaximo, double fracaoConsultasCaras) {
+        this.limite = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.fracaoConsultasCaras = fracaoConsultasCaras;
+    }
+
+    /**
+     * Tenta admitir uma requisição.
+     *
+     * @param consultaCara Indica se a requisição é uma consulta cara, sujeita à fração reservada do limite.
+     * @return {@code true} se a requisição foi admitida. Nesse caso, {@link #liberar} deve ser chamado ao final.
+     */
+    public boolean tentarAdquirir(boolean consultaCara) {
+        if (consultaCara && consultasCarasEmAndamento.incrementAndGet() > Math.max(1, (int) (limite * fracaoConsultasCaras))) {
+            consultasCarasEmAndamento.decrementAndGet();
+            return false;
+        }
+        if (emAndamento.incrementAndGet() > (int) limite) {
+            emAndamento.decrementAndGet();
+            if (consultaCara) consultasCarasEmAndamento.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Libera uma requisição admitida e usa o seu tempo de resposta para ajustar o limite.
+     *
+     * @param consultaCara O mesmo valor informado na admissão da requisição.
+     * @param rttNanos O tempo de resposta da requisição, em nanossegundos.
+     */
+    public void liberar(boolean consultaCara, long rttNanos) {
+        int simultaneas = emAndamento.getAndDecrement();
+        if (consultaCara) consultasCarasEmAndamento.decrementAndGet();
+        ajustar(rttNanos, simultaneas);
+    }
+
+    /**
+     * Retorna o limite atual de requisições simultâneas.
+     *
+     * @return O limite atual.
+     */
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    /**
+     * Retorna a quantidade de requisições em andamento.
+     *
+     * @return O número de requisições admitidas e ainda não liberadas.
+     */
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+
+    /**
+     * Método auxiliar privado que atualiza as médias de latência e recalcula o limite.
+     * O limite só cresce quando está sendo de fato utilizado, evitando que ele aumente indefinidamente em períodos ociosos.
+     *
+     * @param rttNanos O tempo de resposta da requisição.
+     * @param simultaneas A quantidade de requisições em andamento quando esta terminou.
+     */
+    private synchronized void ajustar(long rttNanos, int simultaneas) {
+        if (rttLongoPrazo == 0) {
+            rttCurtoPrazo = rttNanos;
+            rttLongoPrazo = rttNanos;
+            return;
+        }
+        rttCurtoPrazo += (rttNanos - rttCurtoPrazo) * PESO_CURTO_PRAZO;
+        rttLongoPrazo += (rttNanos - rttLongoPrazo) * PESO_LONGO_PRAZO;
+
+        if (rttLongoPrazo / rttCurtoPrazo > 2) rttLongoPrazo *= 0.95;
+
+        double atual = limite;
+        if (simultaneas < atual / 2) return;
+
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * rttLongoPrazo / rttCurtoPrazo));
+        double novo = atual * gradiente + Math.sqrt(atual);
+        novo = atual * (1 - SUAVIZACAO) + novo * SUAVIZACAO;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, novo));
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Interceptador que define o prazo (deadline) de cada requisição atendida pelo {@code ProdutoController}.
+ *
+ * <p>O prazo de um endpoint é lido de {@code app.prazos.endpoints.<método do controller>} (ex:
+ * {@code app.prazos.endpoints.findAllActive=3s}), e os endpoints sem configuração própria usam
+ * {@code app.prazos.padrao}. Um prazo {@code 0} desativa o limite. O prazo vale para a thread da requisição e é
+ * aplicado pelo {@code PrazoDataSource} como timeout de cada comando JDBC, com o tempo que ainda resta; um comando
+ * iniciado após o prazo falha imediatamente. Consultas disparadas em paralelo pelo {@code consultasExecutor}
+ * herdam o prazo quando envolvidas por {@link #propagar}.</p>
+ *
+ * <p>As requisições concluídas após o prazo são contadas, por endpoint, na métrica {@code produtos.prazos.esgotados}.</p>
+ */
+@Component
+public class PrazoRequisicaoInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String PREFIXO_PROPRIEDADE = "app.prazos.endpoints.";
+
+    private static final ThreadLocal<Prazo> PRAZO_ATUAL = new ThreadLocal<>();
+
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Duration padrao;
+    private final Map<String, Duration> prazosPorEndpoint = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor para injeção das configurações de prazo.
+     *
+     * @param environment O ambiente, de onde são lidos os prazos de cada endpoint.
+     * @param registry O registro de métricas da aplicação, quando disponível.
+     * @param padrao O prazo dos endpoints sem configuração própria.
+     */
+    public PrazoRequisicaoInterceptor(Environment environment,
+                                      ObjectProvider<MeterRegistry> registry,
+                                      @Value("${app.prazos.padrao:10s}") Duration padrao) {
+        this.environment = environment;
+        this.registry = registry;
+        this.padrao = padrao;
+    }
+
+    /**
+     * Retorna o tempo que resta até o prazo da requisição atual.
+     *
+     * @return O tempo restante em nanossegundos (negativo se o prazo já passou),
+     *         ou {@code Long.MAX_VALUE} se a thread atual não tiver prazo.
+     */
+    public static long restanteNanos() {
+        Prazo prazo = PRAZO_ATUAL.get();
+        return prazo != null ? prazo.limiteNanos() - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Envolve uma tarefa para que ela seja executada, em outra thread, com o prazo da requisição atual.
+     *
+     * @param tarefa A tarefa a ser executada em paralelo.
+     * @param <T> O tipo do resultado da tarefa.
+     * @return A tarefa com o prazo da requisição atual.
+     */
+    public static <T> Supplier<T> propagar(Supplier<T> tarefa) {
+        Prazo prazo = PRAZO_ATUAL.get();
+        if (prazo == null) return tarefa;
+        return comPrazo(prazo, tarefa);
+    }
+
+    /**
+     * Envolve uma tarefa para que ela seja executada, em outra thread, com o menor entre o prazo da requisição
+     * atual e o limite informado, contado a partir de agora. Usado quando uma parte da resposta pode ser
+     * abandonada antes do prazo da requisição (ex: as partes do painel).
+     *
+     * @param tarefa A tarefa a ser executada em paralelo.
+     * @param limite O tempo máximo da tarefa.
+     * @param <T> O tipo do resultado da tarefa.
+     * @return A tarefa com o prazo aplicado.
+     */
+    public static <T> Supplier<T> propagar(Supplier<T> tarefa, Duration limite) {
+        Prazo atual = PRAZO_ATUAL.get();
+        long limiteNanos = System.nanoTime() + limite.toNanos();
+        if (atual != null && atual.limiteNanos() - limiteNanos <= 0) return comPrazo(atual, tarefa);
+        return comPrazo(new Prazo(atual != null ? atual.endpoint() : null, limiteNanos), tarefa);
+    }
+
+    private static <T> Supplier<T> comPrazo(Prazo prazo, Supplier<T> tarefa) {
+        return () -> {
+            Prazo anterior = PRAZO_ATUAL.get();
+            PRAZO_ATUAL.set(prazo);
+            try {
+                return tarefa.get();
+            } finally {
+                if (anterior != null) PRAZO_ATUAL.set(anterior);
+                else PRAZO_ATUAL.remove();
+            }
+        };
+    }
+
+    /**
+     * Define o prazo da requisição a partir do método do controller que irá atendê-la.
+     *
+     * @return Sempre {@code true}.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod metodo)) return true;
+
+        String endpoint = metodo.getMethod().getName();
+        Duration duracao = prazosPorEndpoint.computeIfAbsent(endpoint,
+                e -> environment.getProperty(PREFIXO_PROPRIEDADE + e, Duration.class, padrao));
+        if (duracao.isZero() || duracao.isNegative()) return true;
+
+        PRAZO_ATUAL.set(new Prazo(endpoint, System.nanoTime() + duracao.toNanos()));
+        return true;
+    }
+
+    /**
+     * Remove o prazo da thread quando a requisição passa a ser atendida de forma assíncrona (ex: stream de eventos).
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        PRAZO_ATUAL.remove();
+    }
+
+    /**
+     * Remove o prazo da thread ao final da requisição e conta as requisições concluídas após o prazo.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Prazo prazo = PRAZO_ATUAL.get();
+        PRAZO_ATUAL.remove();
+        if (prazo == null || prazo.limiteNanos() - System.nanoTime() > 0) return;
+
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry != null) {
+            Counter.builder("produtos.prazos.esgotados").tag("endpoint", prazo.endpoint()).register(meterRegistry).increment();
+        }
+    }
+
+    /**
+     * Prazo de uma requisição.
+     *
+     * @param endpoint O nome do método do controller que atende a requisição.
+     * @param limiteNanos O instante limite, na escala de {@code System.nanoTime()}.
+     */
+    private record Prazo(String endpoint, long limiteNanos) {}
+}
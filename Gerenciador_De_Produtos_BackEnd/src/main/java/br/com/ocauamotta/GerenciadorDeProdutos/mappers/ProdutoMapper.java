@@ -4,6 +4,9 @@ import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.models.Produto;
 import org.springframework.stereotype.Component;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
 /**
  * Classe utilitária para conversão entre {@code Produto} e {@code ProdutoDTO}.
  *
@@ -13,6 +16,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class ProdutoMapper {
 
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+
     /**
      * Construtor privado para evitar que a classe seja instanciada.
      */
@@ -35,7 +40,10 @@ public class ProdutoMapper {
                 dto.categoria(),
                 dto.createdAt(),
                 dto.updatedAt(),
-                dto.deletedAt()
+                dto.deletedAt(),
+                dto.deletedAt() != null,
+                null,
+                null
         );
     }
 
@@ -53,9 +61,20 @@ public class ProdutoMapper {
                 produto.getNome(),
                 produto.getPreco(),
                 produto.getCategoria(),
-                produto.getCreatedAt(),
-                produto.getUpdatedAt(),
-                produto.getDeletedAt()
+                noFuso(produto.getCreatedAt()),
+                noFuso(produto.getUpdatedAt()),
+                noFuso(produto.getDeletedAt())
         );
     }
+
+    /**
+     * Método auxiliar privado que apresenta uma data lida do banco no fuso {@code America/Sao_Paulo}.
+     * As datas são gravadas como {@code timestamptz}, sem o fuso, e lidas normalizadas em UTC.
+     *
+     * @param data A data lida do banco.
+     * @return A mesma data, no fuso {@code America/Sao_Paulo}, ou {@code null} se a data for nula.
+     */
+    private static ZonedDateTime noFuso(ZonedDateTime data) {
+        return data != null ? data.withZoneSameInstant(FUSO) : null;
+    }
 }
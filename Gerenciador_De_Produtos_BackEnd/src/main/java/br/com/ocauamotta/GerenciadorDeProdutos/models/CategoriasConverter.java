@@ -0,0 +1,40 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.models;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Conversor JPA que grava a categoria do produto pelo seu código ({@code smallint}, 2 bytes),
+ * em vez do nome da constante do enum ({@code varchar}, até 12 bytes), na tabela e em todos os
+ * índices que incluem a coluna {@code categoria}.
+ *
+ * <p>O conversor também é aplicado aos parâmetros das consultas JPQL comparados com {@code categoria};
+ * as consultas nativas recebem diretamente o código ({@link Categorias#getCodigo()}).</p>
+ */
+@Converter
+public class CategoriasConverter implements AttributeConverter<Categorias, Short> {
+
+    /**
+     * Converte a categoria para o código gravado no banco.
+     *
+     * @param categoria A categoria do produto.
+     * @return O código da categoria, ou {@code null} se a categoria for nula.
+     */
+    @Override
+    public Short convertToDatabaseColumn(Categorias categoria) {
+        return categoria != null ? categoria.getCodigo() : null;
+    }
+
+    /**
+     * Converte o código gravado no banco para a categoria.
+     *
+     * @param codigo O código da categoria.
+     * @return A categoria correspondente, ou {@code null} se o código for nulo.
+     * @throws IllegalArgumentException Se o código não corresponder a nenhuma categoria.
+     */
+    @Override
+    public Categorias convertToEntityAttribute(Short codigo) {
+        return codigo != null ? Categorias.fromCodigo(codigo) : null;
+    }
+}
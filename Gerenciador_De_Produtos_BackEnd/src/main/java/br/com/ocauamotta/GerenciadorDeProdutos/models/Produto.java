@@ -17,7 +17,24 @@ import java.time.ZonedDateTime;
  *
  * <p>Os campos createdAt, updatedAt e deletedAt são úteis para
  * controle e versionamento de registros, permitindo implementar
- * exclusão lógica e histórico de alterações.</p>
+ * exclusão lógica e histórico de alterações. São gravados como {@code timestamptz}, que guarda apenas o
+ * instante (8 bytes) normalizado em UTC; o fuso {@code America/Sao_Paulo} é aplicado ao montar as respostas
+ * ({@code ProdutoMapper}).</p>
+ *
+ * <p>A categoria é gravada pelo seu código ({@code smallint}), por meio do {@code CategoriasConverter}.</p>
+ *
+ * <p>O campo apagado acompanha o deletedAt ({@code true} quando o produto foi logicamente excluído)
+ * e é a chave de particionamento da tabela: ao excluir ou restaurar um produto, o Postgres
+ * move o registro entre as partições de produtos ativos e apagados. Na tabela particionada
+ * ({@code db/particionar_produtos.sql}), a chave primária é {@code (id, apagado)}, mas a entidade continua
+ * identificada apenas pelo id, que vem de uma única sequência e por isso é único entre as partições.</p>
+ *
+ * <p>O campo sequencia recebe um novo valor da sequência {@code produtos_sequencia_seq} a cada
+ * criação, atualização, exclusão ou restauração, identificando o evento da alteração no stream de eventos.</p>
+ *
+ * <p>O campo transacao guarda o ID da transação que fez a última alteração ({@code pg_current_xact_id()}).
+ * O feed de alterações é ordenado por (transacao, sequencia) e entrega apenas as alterações de transações
+ * já encerradas, o que garante que uma alteração confirmada depois nunca fique atrás do cursor.</p>
  *
  * <p>Esta classe utiliza anotações JPA para persistência de dados e anotações Lombok
  * para geração automática de getters, setters e construtores.</p>
@@ -36,7 +53,7 @@ public class Produto {
     private String nome;
     @Column(nullable = false)
     private Integer preco;
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = CategoriasConverter.class)
     @Column(nullable = false)
     private Categorias categoria;
     @Column
@@ -45,4 +62,10 @@ public class Produto {
     private ZonedDateTime updatedAt;
     @Column
     private ZonedDateTime deletedAt;
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private Boolean apagado = false;
+    @Column
+    private Long sequencia;
+    @Column
+    private Long transacao;
 }
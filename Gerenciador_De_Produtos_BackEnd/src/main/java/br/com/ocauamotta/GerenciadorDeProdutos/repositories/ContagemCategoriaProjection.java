@@ -0,0 +1,11 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+
+/**
+ * Projeção utilizada nas contagens de produtos agrupadas por categoria.
+ */
+public interface ContagemCategoriaProjection {
+    Categorias getCategoria();
+    Long getQuantidade();
+}
@@ -0,0 +1,13 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+/**
+ * Projeção utilizada no cálculo do histograma de preços.
+ * Cada registro representa uma faixa ({@code width_bucket}) com a sua quantidade de produtos,
+ * acompanhada dos limites de preço utilizados no cálculo.
+ */
+public interface FaixaPrecoProjection {
+    Integer getMinimo();
+    Integer getMaximo();
+    Integer getFaixa();
+    Long getQuantidade();
+}
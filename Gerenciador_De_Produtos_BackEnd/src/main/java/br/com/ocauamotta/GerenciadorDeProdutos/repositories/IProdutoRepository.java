@@ -2,21 +2,36 @@ package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
 
 import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
 import br.com.ocauamotta.GerenciadorDeProdutos.models.Produto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface de Repositório para a entidade {@code Produto}.
  * Extends {@code JpaRepository} para fornecer métodos CRUD básicos e funcionalidades
  * de paginação e ordenação para a entidade {@code Produto}, usando {@code Long} como
  * o tipo do ID da chave primária.
+ *
+ * <p>A tabela {@code produtos} pode estar particionada pela coluna {@code apagado}
+ * (ver {@code db/particionar_produtos.sql}). Por isso, toda consulta de produtos ativos ou apagados
+ * filtra explicitamente por {@code apagado}, permitindo que o planner do Postgres descarte a
+ * partição que não interessa (partition pruning). O filtro por {@code deletedAt} é mantido para que
+ * os índices parciais ({@code WHERE deleted_at IS NULL}) continuem sendo utilizados.</p>
  */
 @Repository
-public interface IProdutoRepository extends JpaRepository<Produto, Long> {
+public interface IProdutoRepository extends JpaRepository<Produto, Long>, ProdutoCamposRepository {
     /**
      * Busca uma página de produtos que **não foram logicamente excluídos** (ou seja,
      * onde o campo {@code deletedAt} é nulo).
@@ -25,19 +40,25 @@ public interface IProdutoRepository extends JpaRepository<Produto, Long> {
      * @param pageable Objeto que contém informações de paginação.
      * @return Uma {@code Page} contendo os produtos ativos.
      */
+    @Query("SELECT p FROM Produto p WHERE p.apagado = false AND p.deletedAt IS NULL")
     Page<Produto> findAllByDeletedAtIsNull(Pageable pageable);
+
     /**
      * Busca todos os produtos que não foram logicamente excluídos sem paginação.
      *
      * @return Uma {@code List} contendo todos os produtos ativos.
      */
+    @Query("SELECT p FROM Produto p WHERE p.apagado = false AND p.deletedAt IS NULL")
     List<Produto> findAllByDeletedAtIsNull();
+
     /**
      * Busca todos os produtos que não foram logicamente excluídos sem paginação.
      *
      * @return Uma {@code List} contendo todos os produtos ativos.
      */
-    List<Produto> findAllByDeletedAtIsNullAndCategoria(Categorias categorias);
+    @Query("SELECT p FROM Produto p WHERE p.apagado = false AND p.deletedAt IS NULL AND p.categoria = :categorias")
+    List<Produto> findAllByDeletedAtIsNullAndCategoria(@Param("categorias") Categorias categorias);
+
     /**
      * Busca uma página de produtos que **não foram logicamente excluídos** e
      * pertencem a uma categoria específica.
@@ -46,7 +67,9 @@ public interface IProdutoRepository extends JpaRepository<Produto, Long> {
      * @param pageable Objeto que contém informações de paginação.
      * @return Uma {@code Page} contendo os produtos ativos e filtrados pela categoria.
      */
-    Page<Produto> findAllByDeletedAtIsNullAndCategoria(Categorias categorias, Pageable pageable);
+    @Query("SELECT p FROM Produto p WHERE p.apagado = false AND p.deletedAt IS NULL AND p.categoria = :categorias")
+    Page<Produto> findAllByDeletedAtIsNullAndCategoria(@Param("categorias") Categorias categorias, Pageable pageable);
+
     /**
      * Busca uma página de produtos que **foram logicamente excluídos**
      * (ou seja, onde o campo {@code deletedAt} **não** é nulo).
@@ -54,7 +77,9 @@ public interface IProdutoRepository extends JpaRepository<Produto, Long> {
      * @param pageable Objeto que contém informações de paginação.
      * @return Uma {@code Page} contendo os produtos inativos.
      */
+    @Query("SELECT p FROM Produto p WHERE p.apagado = true AND p.deletedAt IS NOT NULL")
     Page<Produto> findAllByDeletedAtIsNotNull(Pageable pageable);
+
     /**
      * Busca uma página de produtos que **foram logicamente excluídos** e
      * pertencem a uma categoria específica.
@@ -63,5 +88,527 @@ public interface IProdutoRepository extends JpaRepository<Produto, Long> {
      * @param pageable Objeto que contém informações de paginação.
      * @return Uma {@code Page} contendo os produtos inativos e filtrados pela categoria.
      */
-    Page<Produto> findAllByDeletedAtIsNotNullAndCategoria(Categorias categorias, Pageable pageable);
+    @Query("SELECT p FROM Produto p WHERE p.apagado = true AND p.deletedAt IS NOT NULL AND p.categoria = :categorias")
+    Page<Produto> findAllByDeletedAtIsNotNullAndCategoria(@Param("categorias") Categorias categorias, Pageable pageable);
+
+    /**
+     * Busca uma página de produtos ativos com preço dentro da faixa informada (inclusiva).
+     *
+     * @param precoMin O preço mínimo, em centavos.
+     * @param precoMax O preço máximo, em centavos.
+     * @param pageable Objeto que contém informações de paginação.
+     * @return Uma {@code Page} contendo os produtos ativos dentro da faixa de preço.
+     */
+    @Query("SELECT p FROM Produto p WHERE p.apagado = false AND p.deletedAt IS NULL AND p.preco BETWEEN :precoMin AND :precoMax")
+    Page<Produto> findAllByDeletedAtIsNullAndPrecoBetween(@Param("precoMin") Integer precoMin, @Param("precoMax") Integer precoMax, Pageable pageable);
+
+    /**
+     * Busca uma página de produtos ativos de uma categoria com preço dentro da faixa informada (inclusiva).
+     * Utiliza o índice {@code idx_produtos_ativos_categoria_preco_id}.
+     *
+     * @param categorias O valor do enum {@code Categorias} para filtro.
+     * @param precoMin O preço mínimo, em centavos.
+     * @param precoMax O preço máximo, em centavos.
+     * @param pageable Objeto que contém informações de paginação.
+     * @return Uma {@code Page} contendo os produtos ativos filtrados pela categoria e faixa de preço.
+     */
+    @Query("SELECT p FROM Produto p WHERE p.apagado = false AND p.deletedAt IS NULL AND p.categoria = :categorias AND p.preco BETWEEN :precoMin AND :precoMax")
+    Page<Produto> findAllByDeletedAtIsNullAndCategoriaAndPrecoBetween(@Param("categorias") Categorias categorias, @Param("precoMin") Integer precoMin, @Param("precoMax") Integer precoMax, Pageable pageable);
+
+    /**
+     * Busca uma página de produtos apagados com preço dentro da faixa informada (inclusiva).
+     *
+     * @param precoMin O preço mínimo, em centavos.
+     * @param precoMax O preço máximo, em centavos.
+     * @param pageable Objeto que contém informações de paginação.
+     * @return Uma {@code Page} contendo os produtos inativos dentro da faixa de preço.
+     */
+    @Query("SELECT p FROM Produto p WHERE p.apagado = true AND p.deletedAt IS NOT NULL AND p.preco BETWEEN :precoMin AND :precoMax")
+    Page<Produto> findAllByDeletedAtIsNotNullAndPrecoBetween(@Param("precoMin") Integer precoMin, @Param("precoMax") Integer precoMax, Pageable pageable);
+
+    /**
+     * Busca uma página de produtos apagados de uma categoria com preço dentro da faixa informada (inclusiva).
+     * Utiliza o índice {@code idx_produtos_apagados_categoria_preco_id}.
+     *
+     * @param categorias O valor do enum {@code Categorias} para filtro.
+     * @param precoMin O preço mínimo, em centavos.
+     * @param precoMax O preço máximo, em centavos.
+     * @param pageable Objeto que contém informações de paginação.
+     * @return Uma {@code Page} contendo os produtos inativos filtrados pela categoria e faixa de preço.
+     */
+    @Query("SELECT p FROM Produto p WHERE p.apagado = true AND p.deletedAt IS NOT NULL AND p.categoria = :categorias AND p.preco BETWEEN :precoMin AND :precoMax")
+    Page<Produto> findAllByDeletedAtIsNotNullAndCategoriaAndPrecoBetween(@Param("categorias") Categorias categorias, @Param("precoMin") Integer precoMin, @Param("precoMax") Integer precoMax, Pageable pageable);
+
+    /**
+     * Busca os IDs dos produtos ativos cujo nome contém o termo ({@code ILIKE}) ou é similar a ele
+     * (operador {@code %} do {@code pg_trgm}), ordenados por relevância e ID.
+     * Utiliza o índice GIN {@code idx_produtos_nome_trgm} e paginação por cursor: apenas registros
+     * posteriores ao par ({@code score}, {@code id}) informado são retornados.
+     *
+     * @param termo O termo buscado.
+     * @param padrao O termo já escapado e envolto em {@code %} para o {@code ILIKE}.
+     * @param score A relevância do último registro da página anterior.
+     * @param id O ID do último registro da página anterior.
+     * @param limite A quantidade máxima de registros retornados.
+     * @return Uma {@code List} com os IDs e a relevância dos produtos encontrados.
+     */
+    @Query(value = """
+            SELECT p.id AS id, similarity(p.nome, :termo) AS score
+            FROM produtos p
+            WHERE p.apagado = false AND p.deleted_at IS NULL
+              AND (p.nome ILIKE :padrao OR p.nome % :termo)
+              AND (similarity(p.nome, :termo) < :score
+                   OR (similarity(p.nome, :termo) = :score AND p.id > :id))
+            ORDER BY score DESC, p.id ASC
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<ProdutoRelevanciaProjection> buscarAtivosPorNome(@Param("termo") String termo,
+                                                          @Param("padrao") String padrao,
+                                                          @Param("score") Float score,
+                                                          @Param("id") Long id,
+                                                          @Param("limite") int limite);
+
+    /**
+     * Mesma busca de {@link #buscarAtivosPorNome}, restrita a uma categoria.
+     *
+     * @param termo O termo buscado.
+     * @param padrao O termo já escapado e envolto em {@code %} para o {@code ILIKE}.
+     * @param categoria O código da categoria ({@code Categorias#getCodigo()}) para filtro.
+     * @param score A relevância do último registro da página anterior.
+     * @param id O ID do último registro da página anterior.
+     * @param limite A quantidade máxima de registros retornados.
+     * @return Uma {@code List} com os IDs e a relevância dos produtos encontrados.
+     */
+    @Query(value = """
+            SELECT p.id AS id, similarity(p.nome, :termo) AS score
+            FROM produtos p
+            WHERE p.apagado = false AND p.deleted_at IS NULL
+              AND p.categoria = :categoria
+              AND (p.nome ILIKE :padrao OR p.nome % :termo)
+              AND (similarity(p.nome, :termo) < :score
+                   OR (similarity(p.nome, :termo) = :score AND p.id > :id))
+            ORDER BY score DESC, p.id ASC
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<ProdutoRelevanciaProjection> buscarAtivosPorNomeECategoria(@Param("termo") String termo,
+                                                                    @Param("padrao") String padrao,
+                                                                    @Param("categoria") short categoria,
+                                                                    @Param("score") Float score,
+                                                                    @Param("id") Long id,
+                                                                    @Param("limite") int limite);
+
+    /**
+     * Calcula, em uma única consulta, o histograma de preços dos produtos ativos das categorias informadas
+     * dentro da faixa informada. As faixas têm a mesma largura e os mesmos limites de {@code width_bucket}
+     * entre {@code inicio} e {@code fim}; quando esses limites não são informados, são usados o menor e o
+     * maior preço encontrados. Faixas sem produtos não são retornadas.
+     *
+     * <p>Nenhum registro é lido mais de uma vez: o menor e o maior preço vêm das extremidades do índice
+     * {@code idx_produtos_ativos_categoria_preco_id} de cada categoria, e cada faixa é contada por um
+     * {@code LATERAL} que percorre apenas o seu intervalo do mesmo índice (Index Only Scan).</p>
+     *
+     * @param categorias Os códigos das categorias ({@code Categorias#getCodigo()}), separados por vírgula.
+     * @param precoMin O preço mínimo considerado no filtro, em centavos.
+     * @param precoMax O preço máximo considerado no filtro, em centavos.
+     * @param inicio (Opcional) O limite inferior das faixas.
+     * @param fim (Opcional) O limite superior das faixas.
+     * @param faixas A quantidade de faixas.
+     * @return Uma {@code List} com a quantidade de produtos de cada faixa, em ordem crescente.
+     */
+    @Query(value = """
+            WITH limites AS (
+                SELECT COALESCE(CAST(:inicio AS integer), MIN(m.minimo)) AS minimo,
+                       COALESCE(CAST(:fim AS integer), MAX(m.maximo)) AS maximo
+                FROM unnest(CAST(string_to_array(:categorias, ',') AS smallint[])) AS c(categoria)
+                CROSS JOIN LATERAL (
+                    SELECT MIN(p.preco) AS minimo, MAX(p.preco) AS maximo
+                    FROM produtos p
+                    WHERE p.apagado = false AND p.deleted_at IS NULL
+                      AND p.categoria = c.categoria
+                      AND p.preco BETWEEN :precoMin AND :precoMax
+                ) m
+            ),
+            intervalos AS (
+                SELECT l.minimo, l.maximo, b.faixa,
+                       CAST(ceil(l.minimo + (CAST(l.maximo AS numeric) + 1 - l.minimo) * (b.faixa - 1) / :faixas) AS integer) AS de,
+                       CAST(ceil(l.minimo + (CAST(l.maximo AS numeric) + 1 - l.minimo) * b.faixa / :faixas) AS integer) AS ate
+                FROM limites l CROSS JOIN generate_series(1, :faixas) AS b(faixa)
+                WHERE l.minimo IS NOT NULL
+            )
+            SELECT i.minimo AS minimo, i.maximo AS maximo, i.faixa AS faixa, q.quantidade AS quantidade
+            FROM intervalos i
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS quantidade
+                FROM produtos p
+                WHERE p.apagado = false AND p.deleted_at IS NULL
+                  AND p.categoria = ANY (CAST(string_to_array(:categorias, ',') AS smallint[]))
+                  AND p.preco >= i.de AND p.preco < i.ate
+                  AND p.preco BETWEEN :precoMin AND :precoMax
+            ) q
+            WHERE q.quantidade > 0
+            ORDER BY i.faixa
+            """, nativeQuery = true)
+    List<FaixaPrecoProjection> calcularHistogramaDePrecos(@Param("categorias") String categorias,
+                                                          @Param("precoMin") Integer precoMin,
+                                                          @Param("precoMax") Integer precoMax,
+                                                          @Param("inicio") Integer inicio,
+                                                          @Param("fim") Integer fim,
+                                                          @Param("faixas") int faixas);
+
+    /**
+     * Conta, em uma única consulta agrupada, os produtos ativos de cada categoria
+     * com preço dentro da faixa informada (inclusiva).
+     *
+     * @param precoMin O preço mínimo, em centavos.
+     * @param precoMax O preço máximo, em centavos.
+     * @return Uma {@code List} com a quantidade de produtos ativos por categoria. Categorias sem produtos não são retornadas.
+     */
+    @Query("""
+            SELECT p.categoria AS categoria, COUNT(p) AS quantidade
+            FROM Produto p
+            WHERE p.apagado = false AND p.deletedAt IS NULL AND p.preco BETWEEN :precoMin AND :precoMax
+            GROUP BY p.categoria
+            """)
+    List<ContagemCategoriaProjection> contarAtivosPorCategoria(@Param("precoMin") Integer precoMin,
+                                                               @Param("precoMax") Integer precoMax);
+
+    /**
+     * Conta, em uma única consulta agrupada, os produtos apagados de cada categoria
+     * com preço dentro da faixa informada (inclusiva).
+     *
+     * @param precoMin O preço mínimo, em centavos.
+     * @param precoMax O preço máximo, em centavos.
+     * @return Uma {@code List} com a quantidade de produtos apagados por categoria. Categorias sem produtos não são retornadas.
+     */
+    @Query("""
+            SELECT p.categoria AS categoria, COUNT(p) AS quantidade
+            FROM Produto p
+            WHERE p.apagado = true AND p.deletedAt IS NOT NULL AND p.preco BETWEEN :precoMin AND :precoMax
+            GROUP BY p.categoria
+            """)
+    List<ContagemCategoriaProjection> contarApagadosPorCategoria(@Param("precoMin") Integer precoMin,
+                                                                 @Param("precoMax") Integer precoMax);
+
+    /**
+     * Calcula, em uma única consulta agrupada, a quantidade e o preço médio dos produtos ativos de cada categoria.
+     *
+     * @return Uma {@code List} com os totais de cada categoria. Categorias sem produtos não são retornadas.
+     */
+    @Query("""
+            SELECT p.categoria AS categoria, COUNT(p) AS quantidade, AVG(p.preco) AS precoMedio
+            FROM Produto p
+            WHERE p.apagado = false AND p.deletedAt IS NULL
+            GROUP BY p.categoria
+            """)
+    List<TotalCategoriaProjection> totalizarAtivosPorCategoria();
+
+    /**
+     * Busca um produto pelo ID bloqueando o registro ({@code SELECT ... FOR NO KEY UPDATE}) até o fim da transação.
+     * Usado pelas gravações antes de obter a marca de alteração: duas gravações concorrentes do mesmo produto
+     * são serializadas, de modo que a ordem das sequências acompanha a ordem dos commits.
+     *
+     * @param id O ID do produto.
+     * @return Um {@code Optional} com o produto bloqueado, ou vazio se não existir.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Produto p WHERE p.id = :id")
+    Optional<Produto> buscarParaAlterar(@Param("id") Long id);
+
+    /**
+     * Obtém a marca de uma alteração de produto: o próximo valor da sequência de alterações e o ID da
+     * transação atual. Executado em transação de escrita, pois {@code nextval} e {@code pg_current_xact_id}
+     * não são permitidos nas réplicas de leitura; deve ser chamado na mesma transação que grava o produto.
+     *
+     * @return A próxima sequência de {@code produtos_sequencia_seq} e o ID da transação atual.
+     */
+    @Transactional
+    @Query(value = """
+            SELECT nextval('produtos_sequencia_seq') AS sequencia,
+                   CAST(CAST(pg_current_xact_id() AS text) AS bigint) AS transacao
+            """, nativeQuery = true)
+    MarcaAlteracaoProjection marcarAlteracao();
+
+    /**
+     * Envia uma notificação ({@code NOTIFY}) no canal informado. Dentro de uma transação, a notificação só é
+     * entregue aos ouvintes no commit, e é descartada se a transação for desfeita.
+     *
+     * @param canal O nome do canal.
+     * @param mensagem O conteúdo da notificação (no máximo 8000 bytes).
+     * @return Sempre {@code 1}.
+     */
+    @Transactional
+    @Query(value = "SELECT 1 FROM pg_notify(:canal, :mensagem)", nativeQuery = true)
+    Integer notificar(@Param("canal") String canal, @Param("mensagem") String mensagem);
+
+    /**
+     * Busca os produtos (ativos e apagados) com os IDs informados no banco primário.
+     * Executado em transação de escrita para não ler de uma réplica que ainda não recebeu a alteração notificada.
+     *
+     * @param ids Os IDs dos produtos.
+     * @return Uma {@code List} com os produtos encontrados, em qualquer ordem.
+     */
+    @Transactional
+    @Query("SELECT p FROM Produto p WHERE p.id IN :ids")
+    List<Produto> buscarNoPrimario(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca os produtos (ativos e apagados) alterados após o cursor informado, em ordem de (transação, sequência).
+     * Apenas alterações de transações já encerradas são retornadas: uma transação com ID menor que o
+     * {@code xmin} do snapshot da consulta não está mais em andamento, então nenhuma alteração com
+     * {@code transacao} menor pode surgir depois. Utiliza o índice {@code idx_produtos_transacao}.
+     *
+     * @param transacao A transação da última alteração já processada pelo cliente.
+     * @param sequencia A sequência da última alteração já processada pelo cliente.
+     * @param limite A quantidade máxima de produtos retornados.
+     * @return Uma {@code List} com os produtos alterados, em ordem de (transação, sequência).
+     */
+    @Query(value = """
+            SELECT p.*
+            FROM produtos p
+            WHERE (p.transacao, p.sequencia) > (:transacao, :sequencia)
+              AND p.transacao < CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)
+            ORDER BY p.transacao, p.sequencia
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Produto> buscarAlteracoesConfirmadas(@Param("transacao") long transacao,
+                                              @Param("sequencia") long sequencia,
+                                              @Param("limite") int limite);
+
+    /**
+     * Busca os produtos (ativos e apagados) cuja última alteração tem sequência maior que a informada, em ordem de
+     * sequência. Utiliza o índice {@code idx_produtos_sequencia}.
+     *
+     * @param sequencia A sequência da última alteração já recebida pelo cliente.
+     * @param limite A quantidade máxima de produtos retornados.
+     * @return Uma {@code List} com os produtos alterados, em ordem de sequência.
+     */
+    @Query(value = """
+            SELECT p.*
+            FROM produtos p
+            WHERE p.sequencia > :sequencia
+            ORDER BY p.sequencia
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Produto> buscarAlteracoesAposSequencia(@Param("sequencia") long sequencia, @Param("limite") int limite);
+
+    /**
+     * Busca os produtos (ativos e apagados) alterados mais recentemente, do mais recente para o mais antigo.
+     * Utiliza o índice {@code idx_produtos_sequencia}, lido em ordem decrescente.
+     *
+     * @param limit A quantidade máxima de produtos retornados.
+     * @return Uma {@code List} com os produtos alterados mais recentemente.
+     */
+    List<Produto> findAllByOrderBySequenciaDesc(Limit limit);
+
+    /**
+     * Busca os {@code limite} produtos ativos de menor preço de cada categoria informada, em uma única consulta.
+     * Para cada categoria, um {@code LATERAL} lê apenas os primeiros registros do índice
+     * {@code idx_produtos_ativos_categoria_preco_id}, sem ordenar todos os produtos da categoria.
+     *
+     * @param categorias Os códigos das categorias ({@code Categorias#getCodigo()}), separados por vírgula.
+     * @param limite A quantidade máxima de produtos de cada categoria.
+     * @return Uma {@code List} com os produtos, agrupados por categoria e ordenados dentro de cada uma.
+     */
+    @Query(value = """
+            SELECT t.*
+            FROM unnest(CAST(string_to_array(:categorias, ',') AS smallint[])) AS c(categoria)
+            CROSS JOIN LATERAL (
+                SELECT p.*
+                FROM produtos p
+                WHERE p.apagado = false AND p.deleted_at IS NULL AND p.categoria = c.categoria
+                ORDER BY p.preco, p.id
+                LIMIT :limite
+            ) t
+            ORDER BY t.categoria, t.preco, t.id
+            """, nativeQuery = true)
+    List<Produto> buscarMaisBaratosPorCategoria(@Param("categorias") String categorias, @Param("limite") int limite);
+
+    /**
+     * Busca os {@code limite} produtos ativos de maior preço de cada categoria informada, em uma única consulta.
+     * Para cada categoria, um {@code LATERAL} lê apenas os primeiros registros do índice
+     * {@code idx_produtos_ativos_categoria_preco_id}, sem ordenar todos os produtos da categoria.
+     *
+     * @param categorias Os códigos das categorias ({@code Categorias#getCodigo()}), separados por vírgula.
+     * @param limite A quantidade máxima de produtos de cada categoria.
+     * @return Uma {@code List} com os produtos, agrupados por categoria e ordenados dentro de cada uma.
+     */
+    @Query(value = """
+            SELECT t.*
+            FROM unnest(CAST(string_to_array(:categorias, ',') AS smallint[])) AS c(categoria)
+            CROSS JOIN LATERAL (
+                SELECT p.*
+                FROM produtos p
+                WHERE p.apagado = false AND p.deleted_at IS NULL AND p.categoria = c.categoria
+                ORDER BY p.preco DESC, p.id DESC
+                LIMIT :limite
+            ) t
+            ORDER BY t.categoria, t.preco DESC, t.id DESC
+            """, nativeQuery = true)
+    List<Produto> buscarMaisCarosPorCategoria(@Param("categorias") String categorias, @Param("limite") int limite);
+
+    /**
+     * Busca os {@code limite} produtos ativos criados mais recentemente de cada categoria informada, em uma única consulta.
+     * Para cada categoria, um {@code LATERAL} lê apenas os primeiros registros do índice
+     * {@code idx_produtos_categoria_criacao}, sem ordenar todos os produtos da categoria.
+     *
+     * @param categorias Os códigos das categorias ({@code Categorias#getCodigo()}), separados por vírgula.
+     * @param limite A quantidade máxima de produtos de cada categoria.
+     * @return Uma {@code List} com os produtos, agrupados por categoria e ordenados dentro de cada uma.
+     */
+    @Query(value = """
+            SELECT t.*
+            FROM unnest(CAST(string_to_array(:categorias, ',') AS smallint[])) AS c(categoria)
+            CROSS JOIN LATERAL (
+                SELECT p.*
+                FROM produtos p
+                WHERE p.apagado = false AND p.deleted_at IS NULL AND p.categoria = c.categoria
+                ORDER BY p.created_at DESC, p.id DESC
+                LIMIT :limite
+            ) t
+            ORDER BY t.categoria, t.created_at DESC, t.id DESC
+            """, nativeQuery = true)
+    List<Produto> buscarMaisRecentesPorCategoria(@Param("categorias") String categorias, @Param("limite") int limite);
+
+    /**
+     * Calcula, em uma única consulta, a quantidade de produtos criados e apagados e o preço médio dos produtos
+     * criados em cada período ({@code date_trunc} no fuso {@code America/Sao_Paulo}) entre as datas informadas.
+     * Utiliza os índices {@code idx_produtos_criacao} e {@code idx_produtos_exclusao} e os equivalentes da
+     * tabela {@code produtos_arquivados}, de modo que o expurgo de produtos apagados não altera a série.
+     * Períodos sem produtos criados nem apagados não são retornados.
+     *
+     * @param unidade A unidade do {@code date_trunc} ({@code hour}, {@code day}, {@code week} ou {@code month}).
+     * @param desde O início do primeiro período (inclusivo).
+     * @param ate O fim do último período (exclusivo).
+     * @return Uma {@code List} com os valores de cada período, em ordem crescente.
+     */
+    @Query(value = """
+            WITH criados AS (
+                SELECT date_trunc(:unidade, p.created_at, 'America/Sao_Paulo') AS inicio,
+                       COUNT(*) AS quantidade,
+                       CAST(TRUNC(AVG(p.preco)) AS integer) AS preco_medio
+                FROM (SELECT created_at, preco, categoria FROM produtos
+                      UNION ALL
+                      SELECT created_at, preco, categoria FROM produtos_arquivados) p
+                WHERE p.created_at >= :desde AND p.created_at < :ate
+                GROUP BY 1
+            ),
+            apagados AS (
+                SELECT date_trunc(:unidade, p.deleted_at, 'America/Sao_Paulo') AS inicio,
+                       COUNT(*) AS quantidade
+                FROM (SELECT deleted_at, categoria FROM produtos WHERE apagado = true
+                      UNION ALL
+                      SELECT deleted_at, categoria FROM produtos_arquivados) p
+                WHERE p.deleted_at >= :desde AND p.deleted_at < :ate
+                GROUP BY 1
+            )
+            SELECT CAST(EXTRACT(EPOCH FROM COALESCE(c.inicio, a.inicio)) AS bigint) AS inicio,
+                   COALESCE(c.quantidade, 0) AS criados,
+                   COALESCE(a.quantidade, 0) AS apagados,
+                   c.preco_medio AS precoMedio
+            FROM criados c FULL JOIN apagados a ON a.inicio = c.inicio
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<PontoSerieProjection> calcularSerie(@Param("unidade") String unidade,
+                                             @Param("desde") ZonedDateTime desde,
+                                             @Param("ate") ZonedDateTime ate);
+
+    /**
+     * Mesmo cálculo de {@link #calcularSerie}, restrito a uma categoria.
+     *
+     * @param unidade A unidade do {@code date_trunc} ({@code hour}, {@code day}, {@code week} ou {@code month}).
+     * @param categoria O código da categoria ({@code Categorias#getCodigo()}) para filtro.
+     * @param desde O início do primeiro período (inclusivo).
+     * @param ate O fim do último período (exclusivo).
+     * @return Uma {@code List} com os valores de cada período, em ordem crescente.
+     */
+    @Query(value = """
+            WITH criados AS (
+                SELECT date_trunc(:unidade, p.created_at, 'America/Sao_Paulo') AS inicio,
+                       COUNT(*) AS quantidade,
+                       CAST(TRUNC(AVG(p.preco)) AS integer) AS preco_medio
+                FROM (SELECT created_at, preco, categoria FROM produtos
+                      UNION ALL
+                      SELECT created_at, preco, categoria FROM produtos_arquivados) p
+                WHERE p.created_at >= :desde AND p.created_at < :ate
+                  AND p.categoria = :categoria
+                GROUP BY 1
+            ),
+            apagados AS (
+                SELECT date_trunc(:unidade, p.deleted_at, 'America/Sao_Paulo') AS inicio,
+                       COUNT(*) AS quantidade
+                FROM (SELECT deleted_at, categoria FROM produtos WHERE apagado = true
+                      UNION ALL
+                      SELECT deleted_at, categoria FROM produtos_arquivados) p
+                WHERE p.deleted_at >= :desde AND p.deleted_at < :ate
+                  AND p.categoria = :categoria
+                GROUP BY 1
+            )
+            SELECT CAST(EXTRACT(EPOCH FROM COALESCE(c.inicio, a.inicio)) AS bigint) AS inicio,
+                   COALESCE(c.quantidade, 0) AS criados,
+                   COALESCE(a.quantidade, 0) AS apagados,
+                   c.preco_medio AS precoMedio
+            FROM criados c FULL JOIN apagados a ON a.inicio = c.inicio
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<PontoSerieProjection> calcularSeriePorCategoria(@Param("unidade") String unidade,
+                                                         @Param("categoria") short categoria,
+                                                         @Param("desde") ZonedDateTime desde,
+                                                         @Param("ate") ZonedDateTime ate);
+
+    /**
+     * Conta os produtos apagados antes da data informada, ainda não expurgados.
+     * Utiliza o índice {@code idx_produtos_exclusao}.
+     *
+     * @param limite A data limite de exclusão (exclusiva).
+     * @return A quantidade de produtos aguardando o expurgo.
+     */
+    @Query("SELECT COUNT(p) FROM Produto p WHERE p.apagado = true AND p.deletedAt < :limite")
+    long contarApagadosAntesDe(@Param("limite") ZonedDateTime limite);
+
+    /**
+     * Move um lote de produtos apagados antes da data limite para a tabela {@code produtos_arquivados}
+     * e os remove da tabela {@code produtos}, em uma única instrução (e transação curta).
+     *
+     * <p>O lote é lido em ordem de exclusão a partir do cursor ({@code deleted_at}, {@code id}), pelo índice
+     * {@code idx_produtos_exclusao}. Registros bloqueados por outra transação (ex: uma restauração em andamento)
+     * são ignorados ({@code SKIP LOCKED}) em vez de aguardados, e voltam a ser considerados na próxima execução.
+     * Se a cópia falhar, nada é removido.</p>
+     *
+     * @param limite A data limite de exclusão (exclusiva).
+     * @param cursorData A data de exclusão do último produto do lote anterior.
+     * @param cursorId O ID do último produto do lote anterior.
+     * @param tamanho A quantidade máxima de produtos do lote.
+     * @return Uma {@code List} com os produtos expurgados, em ordem de exclusão.
+     */
+    @Transactional
+    @Query(value = """
+            WITH lote AS (
+                SELECT p.id
+                FROM produtos p
+                WHERE p.apagado = true AND p.deleted_at < :limite
+                  AND (p.deleted_at > :cursorData OR (p.deleted_at = :cursorData AND p.id > :cursorId))
+                ORDER BY p.deleted_at, p.id
+                LIMIT :tamanho
+                FOR UPDATE SKIP LOCKED
+            ),
+            removidos AS (
+                DELETE FROM produtos p
+                USING lote l
+                WHERE p.id = l.id AND p.apagado = true
+                RETURNING p.id, p.nome, p.preco, p.categoria, p.created_at, p.updated_at, p.deleted_at, p.sequencia
+            ),
+            arquivados AS (
+                INSERT INTO produtos_arquivados (id, nome, preco, categoria, created_at, updated_at, deleted_at, sequencia)
+                SELECT id, nome, preco, categoria, created_at, updated_at, deleted_at, sequencia
+                FROM removidos
+            )
+            SELECT r.id AS id,
+                   CAST(EXTRACT(EPOCH FROM r.deleted_at) * 1000000 AS bigint) AS apagadoEm
+            FROM removidos r
+            ORDER BY r.deleted_at, r.id
+            """, nativeQuery = true)
+    List<ProdutoExpurgadoProjection> expurgarLote(@Param("limite") ZonedDateTime limite,
+                                                  @Param("cursorData") ZonedDateTime cursorData,
+                                                  @Param("cursorId") Long cursorId,
+                                                  @Param("tamanho") int tamanho);
 }
@@ -0,0 +1,11 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+/**
+ * Projeção utilizada ao gravar uma alteração de produto.
+ * Contém o próximo valor da sequência de alterações e o ID da transação de escrita
+ * ({@code pg_current_xact_id()}), que ordena o feed de alterações.
+ */
+public interface MarcaAlteracaoProjection {
+    Long getSequencia();
+    Long getTransacao();
+}
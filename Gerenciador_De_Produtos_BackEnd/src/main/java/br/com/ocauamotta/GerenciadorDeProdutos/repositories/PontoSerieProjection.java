@@ -0,0 +1,12 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+/**
+ * Projeção utilizada no cálculo das séries temporais de estatísticas de produtos.
+ * Cada registro representa um período ({@code date_trunc}) que possui ao menos um produto criado ou apagado.
+ */
+public interface PontoSerieProjection {
+    Long getInicio();
+    Long getCriados();
+    Long getApagados();
+    Integer getPrecoMedio();
+}
@@ -0,0 +1,42 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fragmento de repositório com as consultas de produtos que selecionam apenas os campos solicitados
+ * pelo cliente (sparse fieldsets), em vez da entidade inteira.
+ *
+ * <p>Os nomes dos campos e da ordenação são os atributos da entidade {@code Produto} e devem ser validados antes
+ * da chamada.
+ * Cada linha é devolvida como um {@code Map} na ordem dos campos informados.</p>
+ */
+public interface ProdutoCamposRepository {
+    /**
+     * Busca uma página de produtos ativos ou apagados, selecionando apenas os campos informados.
+     * Aplica os mesmos filtros das consultas paginadas de {@code IProdutoRepository}.
+     *
+     * @param campos Os atributos de {@code Produto} a serem selecionados.
+     * @param apagados {@code true} para buscar os produtos apagados, {@code false} para os ativos.
+     * @param categoria (Opcional) A categoria para filtro.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
+     * @param pageable Objeto que contém informações de paginação e ordenação.
+     * @return Uma {@code Page} com um {@code Map} de campo e valor para cada produto.
+     */
+    Page<Map<String, Object>> findAllComCampos(List<String> campos, boolean apagados, Categorias categoria,
+                                               Integer precoMin, Integer precoMax, Pageable pageable);
+    /**
+     * Busca um produto pelo ID, selecionando apenas os campos informados.
+     *
+     * @param id O ID do produto.
+     * @param campos Os atributos de {@code Produto} a serem selecionados.
+     * @return Um {@code Optional} com o {@code Map} de campo e valor do produto, ou vazio se ele não existir.
+     */
+    Optional<Map<String, Object>> findByIdComCampos(Long id, List<String> campos);
+}
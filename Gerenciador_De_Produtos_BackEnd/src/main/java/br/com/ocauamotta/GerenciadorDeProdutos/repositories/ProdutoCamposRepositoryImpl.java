@@ -0,0 +1,156 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.models.Produto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementação do {@code ProdutoCamposRepository} com a Criteria API do JPA.
+ *
+ * <p>A consulta seleciona apenas as colunas dos campos solicitados ({@code multiselect}), de modo que o
+ * {@code SELECT} gerado não lê nem transfere as demais colunas. Os filtros repetem os das consultas de
+ * {@code IProdutoRepository}, incluindo a coluna {@code apagado}, para manter o partition pruning
+ * e o uso dos índices parciais.</p>
+ *
+ * <p>As datas são devolvidas no fuso {@code America/Sao_Paulo}, assim como no {@code ProdutoResponseDTO}
+ * montado pelo {@code ProdutoMapper}.</p>
+ */
+public class ProdutoCamposRepositoryImpl implements ProdutoCamposRepository {
+
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAllComCampos(List<String> campos, boolean apagados, Categorias categoria,
+                                                      Integer precoMin, Integer precoMax, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Produto> produto = query.from(Produto.class);
+        query.multiselect(selecionar(produto, campos))
+                .where(filtros(cb, produto, apagados, categoria, precoMin, precoMax))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), produto, cb));
+
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset());
+            consulta.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> conteudo = consulta.getResultList().stream()
+                .map(tupla -> paraMapa(tupla, campos))
+                .toList();
+
+        return PageableExecutionUtils.getPage(conteudo, pageable,
+                () -> contar(apagados, categoria, precoMin, precoMax));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findByIdComCampos(Long id, List<String> campos) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Produto> produto = query.from(Produto.class);
+        query.multiselect(selecionar(produto, campos)).where(cb.equal(produto.get("id"), id));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(tupla -> paraMapa(tupla, campos));
+    }
+
+    /**
+     * Método auxiliar privado que conta os produtos que atendem aos filtros, para o total da página.
+     *
+     * @param apagados {@code true} para contar os produtos apagados, {@code false} para os ativos.
+     * @param categoria (Opcional) A categoria para filtro.
+     * @param precoMin (Opcional) O preço mínimo, em centavos.
+     * @param precoMax (Opcional) O preço máximo, em centavos.
+     * @return A quantidade de produtos.
+     */
+    private long contar(boolean apagados, Categorias categoria, Integer precoMin, Integer precoMax) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Produto> produto = query.from(Produto.class);
+        query.select(cb.count(produto)).where(filtros(cb, produto, apagados, categoria, precoMin, precoMax));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Método auxiliar privado que monta a lista de colunas selecionadas, usando o nome do campo como alias.
+     *
+     * @param produto A raiz da consulta.
+     * @param campos Os atributos de {@code Produto} a serem selecionados.
+     * @return A lista de seleções da consulta.
+     */
+    private List<Selection<?>> selecionar(Root<Produto> produto, List<String> campos) {
+        List<Selection<?>> selecoes = new ArrayList<>(campos.size());
+        for (String campo : campos) selecoes.add(produto.get(campo).alias(campo));
+        return selecoes;
+    }
+
+    /**
+     * Método auxiliar privado que monta os filtros das listagens de produtos ativos ou apagados.
+     *
+     * @param cb O {@code CriteriaBuilder} da consulta.
+     * @param produto A raiz da consulta.
+     * @param apagados {@code true} para os produtos apagados, {@code false} para os ativos.
+     * @param categoria (Opcional) A categoria para filtro.
+     * @param precoMin (Opcional) O preço mínimo, em centavos.
+     * @param precoMax (Opcional) O preço máximo, em centavos.
+     * @return Os predicados da cláusula {@code WHERE}.
+     */
+    private Predicate[] filtros(CriteriaBuilder cb, Root<Produto> produto, boolean apagados, Categorias categoria,
+                                Integer precoMin, Integer precoMax) {
+        List<Predicate> filtros = new ArrayList<>();
+        filtros.add(cb.equal(produto.get("apagado"), apagados));
+        filtros.add(apagados ? cb.isNotNull(produto.get("deletedAt")) : cb.isNull(produto.get("deletedAt")));
+        if (categoria != null) filtros.add(cb.equal(produto.get("categoria"), categoria));
+        if (precoMin != null) filtros.add(cb.greaterThanOrEqualTo(produto.get("preco"), precoMin));
+        if (precoMax != null) filtros.add(cb.lessThanOrEqualTo(produto.get("preco"), precoMax));
+        return filtros.toArray(Predicate[]::new);
+    }
+
+    /**
+     * Método auxiliar privado que converte uma linha do resultado em um {@code Map} na ordem dos campos.
+     * Campos nulos são mantidos e as datas são convertidas para o fuso {@code America/Sao_Paulo},
+     * assim como no {@code ProdutoResponseDTO}.
+     *
+     * @param tupla A linha do resultado.
+     * @param campos Os campos selecionados.
+     * @return O {@code Map} de campo e valor.
+     */
+    private Map<String, Object> paraMapa(Tuple tupla, List<String> campos) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        for (String campo : campos) {
+            Object valor = tupla.get(campo);
+            linha.put(campo, valor instanceof ZonedDateTime data ? data.withZoneSameInstant(FUSO) : valor);
+        }
+        return linha;
+    }
+}
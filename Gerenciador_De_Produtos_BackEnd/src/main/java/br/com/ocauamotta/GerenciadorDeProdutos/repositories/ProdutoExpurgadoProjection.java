@@ -0,0 +1,11 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+/**
+ * Projeção utilizada no expurgo de produtos apagados.
+ * Cada registro representa um produto movido para a tabela {@code produtos_arquivados},
+ * com a data de exclusão em microssegundos desde 1970-01-01T00:00Z, usada como cursor do próximo lote.
+ */
+public interface ProdutoExpurgadoProjection {
+    Long getId();
+    Long getApagadoEm();
+}
@@ -0,0 +1,11 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+/**
+ * Projeção utilizada pela busca textual de produtos.
+ * Contém apenas o ID do produto e a sua relevância ({@code similarity} do {@code pg_trgm})
+ * em relação ao termo buscado.
+ */
+public interface ProdutoRelevanciaProjection {
+    Long getId();
+    Float getScore();
+}
@@ -0,0 +1,12 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+
+/**
+ * Projeção utilizada nos totais de produtos ativos agrupados por categoria.
+ */
+public interface TotalCategoriaProjection {
+    Categorias getCategoria();
+    Long getQuantidade();
+    Double getPrecoMedio();
+}
@@ -0,0 +1,250 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável pelo aquecimento da aplicação antes de ela passar a receber tráfego.
+ *
+ * <p>Ao fim da subida ({@code ApplicationReadyEvent}), o aquecimento abre as conexões mínimas do pool do banco
+ * primário, carrega os produtos mais acessados (a primeira página de ativos e os alterados mais recentemente) no
+ * cache de JSON e nos últimos valores conhecidos das leituras, calcula as séries de estatísticas e o histograma
+ * padrão e repete as leituras mais comuns do {@code ProdutoService}, com a serialização do Jackson, para que o JIT
+ * compile esses caminhos antes das primeiras requisições.</p>
+ *
+ * <p>O Spring Boot só publica a prontidão ({@code ReadinessState.ACCEPTING_TRAFFIC}, em
+ * {@code /actuator/health/readiness}) depois que os ouvintes do {@code ApplicationReadyEvent} terminam, de modo
+ * que a instância só é anunciada como pronta ao fim do aquecimento ou quando {@code app.aquecimento.tempo-maximo}
+ * se esgota. Esse tempo também é aplicado como prazo dos comandos JDBC do aquecimento, que são cancelados no banco
+ * ao fim do prazo. A duração é registrada na métrica {@code produtos.aquecimento.duracao}.</p>
+ */
+@Service
+public class AquecimentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoService.class);
+    private static final String ORDENACAO = "id,asc";
+    private static final String INTERVALO_SERIE = "dia";
+    private static final int PERIODOS_SERIE = 30;
+    private static final int FAIXAS_HISTOGRAMA = 10;
+
+    private final ProdutoService produtoService;
+    private final EstatisticasService estatisticasService;
+    private final CacheJsonProdutos cacheJson;
+    private final ObjectMapper objectMapper;
+    private final HikariDataSource primarioDataSource;
+    private final Executor consultasExecutor;
+    private final MeterRegistry registry;
+    private final boolean habilitado;
+    private final Duration tempoMaximo;
+    private final int iteracoes;
+    private final int produtosQuentes;
+    private final int tamanhoPagina;
+
+    /**
+     * Construtor para injeção das dependências e configurações do aquecimento.
+     *
+     * @param produtoService O serviço cujas leituras são aquecidas.
+     * @param estatisticasService O serviço das séries de estatísticas pré-calculadas.
+     * @param cacheJson O cache do JSON dos produtos, pré-carregado com os produtos mais acessados.
+     * @param objectMapper O {@code ObjectMapper} da aplicação.
+     * @param primarioDataSource O pool de conexões do banco primário.
+     * @param consultasExecutor O executor (virtual threads) em que o aquecimento é executado.
+     * @param registry O registro de métricas da aplicação.
+     * @param habilitado Indica se o aquecimento deve ser executado na subida.
+     * @param tempoMaximo O tempo máximo do aquecimento, após o qual a aplicação é anunciada como pronta.
+     * @param iteracoes A quantidade de repetições das leituras mais comuns.
+     * @param produtosQuentes A quantidade de produtos alterados recentemente a pré-carregar.
+     * @param tamanhoPagina O tamanho das páginas lidas no aquecimento.
+     */
+    public AquecimentoService(ProdutoService produtoService,
+                              EstatisticasService estatisticasService,
+                              CacheJsonProdutos cacheJson,
+                              ObjectMapper objectMapper,
+                              @Qualifier("primarioDataSource") HikariDataSource primarioDataSource,
+                              @Qualifier("consultasExecutor") Executor consultasExecutor,
+                              MeterRegistry registry,
+                              @Value("${app.aquecimento.habilitado:true}") boolean habilitado,
+                              @Value("${app.aquecimento.tempo-maximo:30s}") Duration tempoMaximo,
+                              @Value("${app.aquecimento.iteracoes:20}") int iteracoes,
+                              @Value("${app.aquecimento.produtos-quentes:100}") int produtosQuentes,
+                              @Value("${app.aquecimento.tamanho-pagina:20}") int tamanhoPagina) {
+        this.produtoService = produtoService;
+        this.estatisticasService = estatisticasService;
+        this.cacheJson = cacheJson;
+        this.objectMapper = objectMapper;
+        this.primarioDataSource = primarioDataSource;
+        this.consultasExecutor = consultasExecutor;
+        this.registry = registry;
+        this.habilitado = habilitado;
+        this.tempoMaximo = tempoMaximo;
+        this.iteracoes = iteracoes;
+        this.produtosQuentes = produtosQuentes;
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    /**
+     * Executa o aquecimento ao fim da subida, aguardando no máximo {@code app.aquecimento.tempo-maximo}.
+     * Executado após os demais ouvintes do {@code ApplicationReadyEvent} (ex: a escuta das invalidações de outras
+     * instâncias), para que os caches carregados aqui já recebam as invalidações. Ao esgotar o tempo, a aplicação
+     * segue sem aguardar as etapas restantes, que são interrompidas no próximo comando JDBC.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void aquecer() {
+        if (!habilitado) return;
+
+        long inicio = System.nanoTime();
+        CompletableFuture<Integer> etapas = CompletableFuture.supplyAsync(
+                PrazoRequisicaoInterceptor.propagar(this::executarEtapas, tempoMaximo), consultasExecutor);
+
+        String resultado;
+        try {
+            int operacoes = etapas.get(tempoMaximo.toMillis(), TimeUnit.MILLISECONDS);
+            resultado = "concluido";
+            log.info("Aquecimento concluído em {} ms ({} operações)", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), operacoes);
+        } catch (TimeoutException e) {
+            resultado = "esgotado";
+            log.warn("Aquecimento interrompido após o tempo máximo de {}", tempoMaximo);
+        } catch (ExecutionException e) {
+            resultado = "falha";
+            log.warn("Falha no aquecimento: {}", e.getCause().toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resultado = "falha";
+        }
+
+        Timer.builder("produtos.aquecimento.duracao").tag("resultado", resultado)
+                .register(registry).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Método auxiliar privado que executa as etapas do aquecimento, da mais para a menos importante,
+     * até o fim ou até o prazo se esgotar. A falha de uma leitura não interrompe as demais.
+     *
+     * @return A quantidade de operações executadas com sucesso.
+     */
+    private int executarEtapas() {
+        int operacoes = abrirConexoes();
+
+        PageRequest primeiraPagina = PageRequest.of(0, tamanhoPagina);
+        Set<Long> quentes = new LinkedHashSet<>();
+        Page<ProdutoResponseDTO> ativos = ler(() -> produtoService.findAllActive(null, null, null, ORDENACAO, primeiraPagina));
+        if (ativos != null) ativos.forEach(produto -> quentes.add(produto.id()));
+        List<ProdutoResponseDTO> recentes = ler(() -> produtoService.buscarAlteracoesRecentes(produtosQuentes));
+        if (recentes != null) recentes.forEach(produto -> quentes.add(produto.id()));
+
+        for (Long id : quentes) {
+            if (prazoEsgotado()) return operacoes;
+            ProdutoResponseDTO produto = ler(() -> produtoService.findById(id));
+            if (produto == null) continue;
+            if (cacheJson.aceitaGzip("gzip")) cacheJson.gzip(produto);
+            else cacheJson.json(produto);
+            operacoes++;
+        }
+
+        List<String> categorias = new ArrayList<>();
+        categorias.add(null);
+        for (Categorias categoria : Categorias.values()) categorias.add(categoria.getCategoria());
+        for (String categoria : categorias) {
+            if (ler(() -> estatisticasService.calcularSerie(INTERVALO_SERIE, categoria, PERIODOS_SERIE)) != null) operacoes++;
+        }
+        if (ler(() -> produtoService.calcularHistogramaDePrecos(null, null, null, FAIXAS_HISTOGRAMA)) != null) operacoes++;
+
+        for (int i = 0; i < iteracoes && !prazoEsgotado(); i++) {
+            String categoria = categorias.get(i % categorias.size());
+            Page<ProdutoResponseDTO> pagina = ler(() -> produtoService.findAllActive(categoria, null, null, ORDENACAO, primeiraPagina));
+            if (pagina != null) serializar(cacheJson.pagina(pagina));
+            Page<ProdutoResponseDTO> apagados = ler(() -> produtoService.findAllDeleted(null, null, null, ORDENACAO, primeiraPagina));
+            if (apagados != null) serializar(cacheJson.pagina(apagados));
+            Object totais = ler(produtoService::calcularTotaisPorCategoria);
+            if (totais != null) serializar(totais);
+            operacoes++;
+        }
+        return operacoes;
+    }
+
+    /**
+     * Método auxiliar privado que abre as conexões mínimas do pool ({@code minimumIdle}) ao mesmo tempo,
+     * mantendo todas emprestadas até a última ser aberta, para que nenhuma seja reaproveitada no lugar de uma nova.
+     *
+     * @return A quantidade de conexões abertas.
+     */
+    private int abrirConexoes() {
+        List<Connection> conexoes = new ArrayList<>();
+        try {
+            for (int i = 0; i < primarioDataSource.getMinimumIdle() && !prazoEsgotado(); i++)
+                conexoes.add(primarioDataSource.getConnection());
+        } catch (SQLException e) {
+            log.warn("Aquecimento do pool interrompido: {}", e.toString());
+        } finally {
+            for (Connection conexao : conexoes) {
+                try {
+                    conexao.close();
+                } catch (SQLException e) {
+                    log.debug("Falha ao devolver conexão ao pool: {}", e.toString());
+                }
+            }
+        }
+        return conexoes.size();
+    }
+
+    /**
+     * Método auxiliar privado que executa uma leitura do aquecimento, ignorando a sua falha.
+     *
+     * @param leitura A leitura a ser executada.
+     * @param <T> O tipo do resultado da leitura.
+     * @return O resultado da leitura, ou {@code null} se ela falhar ou o prazo já tiver se esgotado.
+     */
+    private <T> T ler(Supplier<T> leitura) {
+        if (prazoEsgotado()) return null;
+        try {
+            return leitura.get();
+        } catch (RuntimeException e) {
+            log.debug("Leitura do aquecimento ignorada: {}", e.toString());
+            return null;
+        }
+    }
+
+    private void serializar(Object valor) {
+        try {
+            objectMapper.writeValueAsBytes(valor);
+        } catch (JsonProcessingException e) {
+            log.debug("Serialização do aquecimento ignorada: {}", e.toString());
+        }
+    }
+
+    private static boolean prazoEsgotado() {
+        return PrazoRequisicaoInterceptor.restanteNanos() <= 0;
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.FragmentoJson;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache do JSON já serializado (UTF-8) de cada produto, evitando repetir a serialização do
+ * {@code ProdutoResponseDTO}, em especial das datas {@code ZonedDateTime}, nos produtos mais acessados.
+ *
+ * <p>Cada produto ocupa uma entrada, identificada pelo ID. A versão da entrada é o próprio DTO a partir do
+ * qual o JSON foi gerado: se o produto recebido for diferente (qualquer alteração muda ao menos o
+ * {@code updatedAt}), o JSON é gerado novamente e substitui o anterior, de modo que nunca é servida
+ * uma versão desatualizada. Opcionalmente ({@code app.produtos.cache-json.gzip}), a entrada guarda também
+ * a versão compactada com gzip, gerada no primeiro pedido e servida diretamente a clientes que aceitam gzip.</p>
+ *
+ * <p>O JSON é gerado pelo mesmo {@code ObjectMapper} da aplicação, mantendo o formato das respostas.
+ * O tamanho total das entradas é limitado por {@code app.produtos.cache-json.tamanho-maximo}.</p>
+ */
+@Component
+public class CacheJsonProdutos {
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzipHabilitado;
+    private final Cache<Long, Entrada> entradas;
+
+    /**
+     * Construtor para injeção do {@code ObjectMapper} e das configurações do cache.
+     *
+     * @param objectMapper O {@code ObjectMapper} da aplicação.
+     * @param gzipHabilitado Indica se a versão compactada com gzip deve ser guardada e servida.
+     * @param tamanhoMaximo O tamanho máximo aproximado do cache.
+     */
+    public CacheJsonProdutos(ObjectMapper objectMapper,
+                             @Value("${app.produtos.cache-json.gzip:true}") boolean gzipHabilitado,
+                             @Value("${app.produtos.cache-json.tamanho-maximo:32MB}") DataSize tamanhoMaximo) {
+        this.objectMapper = objectMapper;
+        this.gzipHabilitado = gzipHabilitado;
+        this.entradas = Caffeine.newBuilder()
+                .maximumWeight(tamanhoMaximo.toBytes())
+                .weigher((Long id, Entrada entrada) -> entrada.peso())
+                .build();
+    }
+
+    /**
+     * Retorna o JSON do produto, gerando-o apenas se o produto não estiver no cache ou tiver mudado.
+     *
+     * @param produto O produto a ser serializado.
+     * @return O {@code FragmentoJson} com o JSON do produto.
+     */
+    public FragmentoJson json(ProdutoResponseDTO produto) {
+        return entrada(produto).json;
+    }
+
+    /**
+     * Retorna o JSON do produto compactado com gzip, gerando-o apenas na primeira vez para cada versão.
+     *
+     * @param produto O produto a ser serializado.
+     * @return Os bytes do JSON compactado.
+     */
+    public byte[] gzip(ProdutoResponseDTO produto) {
+        Entrada entrada = entrada(produto);
+        byte[] compactado = entrada.gzip;
+        if (compactado == null) entrada.gzip = compactado = compactar(entrada.json.asUnquotedUTF8());
+        return compactado;
+    }
+
+    /**
+     * Converte uma página de produtos em uma página de trechos de JSON pré-serializados.
+     * O envelope da página continua sendo gerado pelo Jackson, e o conteúdo é copiado dos trechos.
+     *
+     * @param pagina A página de produtos.
+     * @return A página com o JSON de cada produto.
+     */
+    public Page<FragmentoJson> pagina(Page<ProdutoResponseDTO> pagina) {
+        return pagina.map(this::json);
+    }
+
+    /**
+     * Descarta as entradas dos produtos alterados por outras instâncias, ou todas em uma invalidação completa.
+     * Uma entrada desatualizada nunca seria servida, mas ocuparia espaço até ser substituída.
+     *
+     * @param evento O lote de invalidações recebido pela {@code InvalidacaoDistribuida}.
+     */
+    @EventListener
+    public void invalidar(InvalidacaoRecebidaEvent evento) {
+        if (evento.completa()) entradas.invalidateAll();
+        else entradas.invalidateAll(evento.ids());
+    }
+
+    /**
+     * Indica se a resposta pode ser enviada compactada com gzip ao cliente.
+     *
+     * @param acceptEncoding O valor do cabeçalho {@code Accept-Encoding} da requisição.
+     * @return {@code true} se o gzip estiver habilitado e o cliente o aceitar.
+     */
+    public boolean aceitaGzip(String acceptEncoding) {
+        if (!gzipHabilitado || acceptEncoding == null) return false;
+
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.split(";");
+            if (!partes[0].strip().toLowerCase(Locale.ROOT).equals("gzip")) continue;
+            return partes.length < 2 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    /**
+     * Método auxiliar privado que busca a entrada do produto, gerando uma nova quando ele não está
+     * no cache ou quando a versão guardada é diferente da recebida.
+     *
+     * @param produto O produto.
+     * @return A entrada correspondente à versão recebida.
+     */
+    private Entrada entrada(ProdutoResponseDTO produto) {
+        Entrada atual = entradas.getIfPresent(produto.id());
+        if (atual != null && atual.produto.equals(produto)) return atual;
+
+        Entrada nova = new Entrada(produto, new FragmentoJson(serializar(produto)), gzipHabilitado);
+        entradas.put(produto.id(), nova);
+        return nova;
+    }
+
+    private byte[] serializar(ProdutoResponseDTO produto) {
+        try {
+            return objectMapper.writeValueAsBytes(produto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o produto " + produto.id() + ".", e);
+        }
+    }
+
+    private static byte[] compactar(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * Entrada do cache: a versão do produto, o JSON gerado a partir dela e, se já solicitada, a versão gzip.
+     */
+    private static final class Entrada {
+
+        private final ProdutoResponseDTO produto;
+        private final FragmentoJson json;
+        private final boolean reservarGzip;
+        private volatile byte[] gzip;
+
+        private Entrada(ProdutoResponseDTO produto, FragmentoJson json, boolean reservarGzip) {
+            this.produto = produto;
+            this.json = json;
+            this.reservarGzip = reservarGzip;
+        }
+
+        /**
+         * Peso da entrada no limite do cache. Quando o gzip está habilitado, reserva espaço para a versão
+         * compactada, que pode ser gerada depois da inserção.
+         */
+        private int peso() {
+            return reservarGzip ? json.tamanho() * 2 : json.tamanho();
+        }
+    }
+}
@@ -0,0 +1,601 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.TotalProdutosDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.mappers.ProdutoMapper;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import br.com.ocauamotta.GerenciadorDeProdutos.models.Produto;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Modelo de leitura em memória do catálogo de produtos, organizado em colunas.
+ *
+ * <p>Quando habilitado ({@code app.catalogo-em-memoria.habilitado=true}), o {@code ProdutoService} atende
+ * as listagens de produtos ativos e apagados e o cálculo do total a partir deste modelo, sem consultar o banco.
+ * Os produtos de cada situação (ativos e apagados) ficam em vetores de tipos primitivos (IDs, preços, ordinais
+ * das categorias e datas em microssegundos), com os nomes deduplicados, um {@code BitSet} por categoria e uma
+ * permutação pré-calculada para cada campo ordenável. Uma página é montada percorrendo a permutação do campo
+ * de ordenação e aplicando os filtros sobre os vetores.</p>
+ *
+ * <p>O modelo é mantido atualizado pelos eventos {@code ProdutoAlteradoEvent} publicados nas gravações desta
+ * instância (após o commit), pelos {@code InvalidacaoRecebidaEvent} com os produtos alterados por outras
+ * instâncias, relidos do banco primário, e recarregado por completo do banco no intervalo configurado em
+ * {@code app.catalogo-em-memoria.intervalo-recarga}. Essas leituras são limitadas a
+ * {@code app.catalogo-em-memoria.timeout-leitura}, e uma leitura cancelada mantém o modelo anterior. A coluna {@code sequencia} decide qual versão de um produto prevalece, de modo que uma recarga
+ * lida de uma réplica atrasada não desfaz uma alteração já aplicada.</p>
+ *
+ * <p>Os vetores são imutáveis e as leituras nunca aguardam a sua construção: cada alteração agenda uma
+ * reconstrução em segundo plano, no executor de virtual threads, e as leituras continuam sendo atendidas
+ * pela versão anterior até que a nova seja publicada. As reconstruções são feitas uma de cada vez, com
+ * um intervalo mínimo entre elas ({@code app.catalogo-em-memoria.intervalo-reconstrucao}), de modo que uma
+ * rajada de gravações gera uma única reconstrução, e fora da trava, que fica retida apenas para copiar as
+ * linhas. Uma leitura logo após uma gravação pode, portanto, devolver a versão anterior do produto por até
+ * esse intervalo.</p>
+ *
+ * <p>Ordenações com mais de um campo ou por campos desconhecidos não são atendidas pelo modelo, e o
+ * {@code ProdutoService} recorre ao banco nesses casos.</p>
+ */
+@Component
+public class CatalogoEmMemoria {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoEmMemoria.class);
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+    private static final long NULO = Long.MIN_VALUE;
+    private static final List<String> CAMPOS_ORDENAVEIS = List.of(
+            "id", "nome", "preco", "categoria", "createdAt", "updatedAt", "deletedAt");
+
+    private final IProdutoRepository repository;
+    private final Executor consultasExecutor;
+    private final boolean habilitado;
+    private final long intervaloReconstrucao;
+    private final Duration timeoutLeitura;
+
+    private final Object trava = new Object();
+    private Map<Long, Linha> linhas = new HashMap<>();
+    private volatile long versao = 0L;
+    private volatile Instantaneo instantaneo = new Instantaneo(0L, Particao.construir(List.of()), Particao.construir(List.of()));
+    private volatile boolean carregado = false;
+
+    private final AtomicBoolean reconstruindo = new AtomicBoolean(false);
+    private volatile long proximaReconstrucao = System.nanoTime();
+
+    /**
+     * Construtor para injeção do repositório de produtos e da configuração do modelo.
+     *
+     * @param repository O repositório usado nas recargas completas.
+     * @param consultasExecutor O executor (virtual threads) em que os vetores são reconstruídos.
+     * @param habilitado Indica se o modelo em memória deve ser carregado e usado pelas consultas.
+     * @param intervaloReconstrucao O intervalo mínimo entre duas reconstruções dos vetores.
+     * @param timeoutLeitura O tempo máximo das leituras do banco feitas pelas recargas e invalidações.
+     */
+    public CatalogoEmMemoria(IProdutoRepository repository,
+                             @Qualifier("consultasExecutor") Executor consultasExecutor,
+                             @Value("${app.catalogo-em-memoria.habilitado:false}") boolean habilitado,
+                             @Value("${app.catalogo-em-memoria.intervalo-reconstrucao:200ms}") Duration intervaloReconstrucao,
+                             @Value("${app.catalogo-em-memoria.timeout-leitura:60s}") Duration timeoutLeitura) {
+        this.repository = repository;
+        this.consultasExecutor = consultasExecutor;
+        this.habilitado = habilitado;
+        this.intervaloReconstrucao = intervaloReconstrucao.toNanos();
+        this.timeoutLeitura = timeoutLeitura;
+    }
+
+    /**
+     * Indica se o modelo está habilitado e já foi carregado, podendo atender consultas.
+     *
+     * @return {@code true} se o modelo puder ser consultado.
+     */
+    public boolean disponivel() {
+        return habilitado && carregado;
+    }
+
+    /**
+     * Busca uma página de produtos ativos ou apagados no modelo em memória.
+     * Os filtros têm a mesma semântica das consultas do {@code IProdutoRepository}: quando apenas um dos
+     * limites de preço é informado, o outro assume {@code 0} ou {@code Integer.MAX_VALUE}.
+     *
+     * @param apagados {@code true} para buscar os produtos apagados, {@code false} para os ativos.
+     * @param categoria (Opcional) A categoria para filtro.
+     * @param precoMin (Opcional) O preço mínimo, em centavos (inclusivo).
+     * @param precoMax (Opcional) O preço máximo, em centavos (inclusivo).
+     * @param pageable Objeto de paginação, com no máximo um campo de ordenação.
+     * @return Um {@code Optional} com a página, ou vazio se a ordenação solicitada não for suportada pelo modelo.
+     */
+    public Optional<Page<ProdutoResponseDTO>> buscar(boolean apagados, Categorias categoria, Integer precoMin,
+                                                     Integer precoMax, Pageable pageable) {
+        List<Sort.Order> ordens = pageable.getSort().toList();
+        if (ordens.size() > 1) return Optional.empty();
+
+        String campo = ordens.isEmpty() ? "id" : ordens.get(0).getProperty();
+        boolean decrescente = !ordens.isEmpty() && ordens.get(0).isDescending();
+        if (!CAMPOS_ORDENAVEIS.contains(campo)) return Optional.empty();
+
+        Instantaneo atual = atual();
+        Particao particao = apagados ? atual.apagados() : atual.ativos();
+        return Optional.of(particao.paginar(categoria, precoMin, precoMax, campo, decrescente, pageable));
+    }
+
+    /**
+     * Calcula a quantidade e o preço médio dos produtos ativos, opcionalmente de uma categoria,
+     * a partir dos totais pré-calculados do modelo.
+     *
+     * @param categoria (Opcional) A categoria para filtro.
+     * @return Um {@code TotalProdutosDTO} com a quantidade de produtos ativos e o preço médio.
+     */
+    public TotalProdutosDTO calcularTotal(Categorias categoria) {
+        Particao ativos = atual().ativos();
+        int quantidade = categoria != null ? ativos.quantidadePorCategoria[categoria.ordinal()] : ativos.tamanho;
+        long soma = categoria != null ? ativos.somaPorCategoria[categoria.ordinal()] : ativos.somaPrecos;
+
+        return new TotalProdutosDTO(quantidade, quantidade > 0 ? (int) (soma / quantidade) : 0);
+    }
+
+    /**
+     * Aplica ao modelo a alteração de um produto gravada nesta instância.
+     * Alterações mais antigas que a versão já conhecida do produto são ignoradas.
+     *
+     * @param evento O evento de alteração publicado pelo {@code ProdutoService}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aplicar(ProdutoAlteradoEvent evento) {
+        if (!habilitado || evento.produto() == null) return;
+
+        synchronized (trava) {
+            Linha conhecida = linhas.get(evento.produto().id());
+            if (conhecida != null && conhecida.sequencia() >= evento.sequencia()) return;
+            linhas.put(evento.produto().id(), new Linha(evento.produto(), evento.sequencia()));
+            versao++;
+        }
+        agendarReconstrucao();
+    }
+
+    /**
+     * Remove do modelo os produtos excluídos definitivamente do banco (ex: pelo expurgo de produtos apagados).
+     *
+     * @param ids Os IDs dos produtos removidos.
+     */
+    public void remover(Collection<Long> ids) {
+        if (!habilitado || ids.isEmpty()) return;
+
+        synchronized (trava) {
+            if (!linhas.keySet().removeAll(ids)) return;
+            versao++;
+        }
+        agendarReconstrucao();
+    }
+
+    /**
+     * Aplica ao modelo as alterações feitas por outras instâncias, relendo do banco primário os produtos
+     * informados. Produtos que não existem mais no banco são removidos. Uma invalidação completa
+     * recarrega todo o modelo.
+     *
+     * @param evento O lote de invalidações recebido pela {@code InvalidacaoDistribuida}.
+     */
+    @EventListener
+    public void invalidar(InvalidacaoRecebidaEvent evento) {
+        if (!habilitado || !carregado) return;
+        if (evento.completa()) {
+            recarregar();
+            return;
+        }
+        if (evento.ids().isEmpty()) return;
+
+        List<Produto> produtos = PrazoRequisicaoInterceptor.propagar(
+                () -> repository.buscarNoPrimario(evento.ids()), timeoutLeitura).get();
+
+        synchronized (trava) {
+            Set<Long> ausentes = new HashSet<>(evento.ids());
+            for (Produto produto : produtos) {
+                ausentes.remove(produto.getId());
+                long sequencia = produto.getSequencia() != null ? produto.getSequencia() : 0L;
+                Linha conhecida = linhas.get(produto.getId());
+                if (conhecida != null && conhecida.sequencia() >= sequencia) continue;
+                linhas.put(produto.getId(), new Linha(ProdutoMapper.toResponseDTO(produto), sequencia));
+            }
+            linhas.keySet().removeAll(ausentes);
+            versao++;
+        }
+        agendarReconstrucao();
+    }
+
+    /**
+     * Recarrega o modelo a partir de todos os produtos do banco, na inicialização e no intervalo configurado.
+     *
+     * <p>Os registros lidos do banco prevalecem sobre as linhas em memória. Só são mantidas as linhas com
+     * sequência maior que a maior sequência lida: uma alteração com essa sequência não estava confirmada
+     * quando a leitura começou, e por isso ainda não aparece no resultado. Produtos que não existem mais no
+     * banco são removidos, exceto os alterados ou criados após a leitura.</p>
+     */
+    @Scheduled(fixedDelayString = "${app.catalogo-em-memoria.intervalo-recarga:300000}")
+    public void recarregar() {
+        if (!habilitado) return;
+
+        long inicio = System.nanoTime();
+        List<Produto> produtos = PrazoRequisicaoInterceptor.propagar(repository::findAll, timeoutLeitura).get();
+
+        Copia copia;
+        synchronized (trava) {
+            Map<Long, Linha> carregadas = new HashMap<>(Math.max(16, produtos.size() * 4 / 3 + 1));
+            long maiorSequencia = 0L;
+            for (Produto produto : produtos) {
+                long sequencia = produto.getSequencia() != null ? produto.getSequencia() : 0L;
+                maiorSequencia = Math.max(maiorSequencia, sequencia);
+                carregadas.put(produto.getId(), new Linha(ProdutoMapper.toResponseDTO(produto), sequencia));
+            }
+            for (Linha local : linhas.values()) {
+                if (local.sequencia() > maiorSequencia) carregadas.put(local.produto().id(), local);
+            }
+
+            linhas = carregadas;
+            versao++;
+            copia = copiar();
+        }
+        publicar(construir(copia));
+        carregado = true;
+
+        log.info("Catálogo em memória recarregado com {} produtos em {} ms.",
+                produtos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Método auxiliar privado que devolve a versão publicada dos vetores, sem aguardar a reconstrução.
+     * Se houver alterações ainda não incorporadas, garante que uma reconstrução esteja agendada.
+     *
+     * @return O instantâneo atual do catálogo.
+     */
+    private Instantaneo atual() {
+        Instantaneo atual = instantaneo;
+        if (atual.versao() != versao) agendarReconstrucao();
+        return atual;
+    }
+
+    /**
+     * Método auxiliar privado que agenda a reconstrução dos vetores no executor, caso nenhuma esteja em andamento.
+     * A reconstrução em andamento reagenda a si mesma se encontrar alterações posteriores à cópia das linhas.
+     */
+    private void agendarReconstrucao() {
+        if (reconstruindo.compareAndSet(false, true)) consultasExecutor.execute(this::reconstruir);
+    }
+
+    /**
+     * Método auxiliar privado que reconstrói e publica os vetores, respeitando o intervalo mínimo
+     * desde a reconstrução anterior. A trava é retida apenas para copiar as linhas.
+     */
+    private void reconstruir() {
+        try {
+            long espera = proximaReconstrucao - System.nanoTime();
+            if (espera > 0) TimeUnit.NANOSECONDS.sleep(espera);
+
+            Copia copia;
+            synchronized (trava) {
+                copia = copiar();
+            }
+            publicar(construir(copia));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            log.error("Falha ao reconstruir o catálogo em memória.", e);
+        } finally {
+            proximaReconstrucao = System.nanoTime() + intervaloReconstrucao;
+            reconstruindo.set(false);
+        }
+        if (instantaneo.versao() != versao) agendarReconstrucao();
+    }
+
+    /**
+     * Método auxiliar privado que copia as linhas atuais, separadas por situação. Deve ser chamado com a trava.
+     *
+     * @return A cópia das linhas e a versão correspondente.
+     */
+    private Copia copiar() {
+        List<ProdutoResponseDTO> ativos = new ArrayList<>();
+        List<ProdutoResponseDTO> apagados = new ArrayList<>();
+        for (Linha linha : linhas.values()) {
+            if (linha.produto().deletedAt() != null) apagados.add(linha.produto());
+            else ativos.add(linha.produto());
+        }
+        return new Copia(versao, ativos, apagados);
+    }
+
+    /**
+     * Método auxiliar privado que constrói os vetores a partir de uma cópia das linhas, sem a trava.
+     *
+     * @param copia A cópia das linhas.
+     * @return O novo instantâneo do catálogo.
+     */
+    private static Instantaneo construir(Copia copia) {
+        return new Instantaneo(copia.versao(), Particao.construir(copia.ativos()), Particao.construir(copia.apagados()));
+    }
+
+    /**
+     * Método auxiliar privado que publica um instantâneo, desde que seja mais recente que o publicado.
+     * Uma reconstrução em segundo plano e uma recarga completa podem terminar em qualquer ordem.
+     *
+     * @param novo O instantâneo construído.
+     */
+    private void publicar(Instantaneo novo) {
+        synchronized (trava) {
+            if (novo.versao() > instantaneo.versao()) instantaneo = novo;
+        }
+    }
+
+    /**
+     * Método auxiliar privado que converte uma data em microssegundos desde a época, a mesma precisão do Postgres.
+     *
+     * @param data A data a ser convertida.
+     * @return A data em microssegundos, ou {@code NULO} se for nula.
+     */
+    private static long paraMicros(ZonedDateTime data) {
+        if (data == null) return NULO;
+        Instant instante = data.toInstant();
+        return instante.getEpochSecond() * 1_000_000L + instante.getNano() / 1_000;
+    }
+
+    /**
+     * Método auxiliar privado que converte microssegundos desde a época em uma data.
+     *
+     * @param micros A data em microssegundos.
+     * @return A data correspondente, ou {@code null} se o valor for {@code NULO}.
+     */
+    private static ZonedDateTime deMicros(long micros) {
+        if (micros == NULO) return null;
+        Instant instante = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+        return instante.atZone(FUSO);
+    }
+
+    /**
+     * Versão de um produto conhecida pelo modelo.
+     *
+     * @param produto O produto.
+     * @param sequencia O valor da coluna {@code sequencia} correspondente a essa versão.
+     */
+    private record Linha(ProdutoResponseDTO produto, long sequencia) {}
+
+    /**
+     * Versão imutável dos vetores do catálogo.
+     *
+     * @param versao A versão das linhas usada na construção.
+     * @param ativos Os produtos ativos.
+     * @param apagados Os produtos apagados.
+     */
+    private record Instantaneo(long versao, Particao ativos, Particao apagados) {}
+
+    /**
+     * Cópia das linhas usada para construir um instantâneo fora da trava.
+     *
+     * @param versao A versão das linhas no momento da cópia.
+     * @param ativos Os produtos ativos.
+     * @param apagados Os produtos apagados.
+     */
+    private record Copia(long versao, List<ProdutoResponseDTO> ativos, List<ProdutoResponseDTO> apagados) {}
+
+    /**
+     * Vetores de uma situação de produtos (ativos ou apagados), ordenados por ID.
+     */
+    private static final class Particao {
+
+        private static final int BLOCO = 32;
+
+        private final int tamanho;
+        private final long[] ids;
+        private final String[] nomes;
+        private final int[] precos;
+        private final byte[] categorias;
+        private final long[] criadosEm;
+        private final long[] atualizadosEm;
+        private final long[] apagadosEm;
+        private final BitSet[] porCategoria;
+        private final int[] quantidadePorCategoria;
+        private final long[] somaPorCategoria;
+        private final long somaPrecos;
+        private final Map<String, int[]> ordenacoes = new HashMap<>();
+
+        private Particao(List<ProdutoResponseDTO> produtos) {
+            tamanho = produtos.size();
+            ids = new long[tamanho];
+            nomes = new String[tamanho];
+            precos = new int[tamanho];
+            categorias = new byte[tamanho];
+            criadosEm = new long[tamanho];
+            atualizadosEm = new long[tamanho];
+            apagadosEm = new long[tamanho];
+            porCategoria = new BitSet[Categorias.values().length];
+            quantidadePorCategoria = new int[Categorias.values().length];
+            somaPorCategoria = new long[Categorias.values().length];
+            for (int c = 0; c < porCategoria.length; c++) porCategoria[c] = new BitSet(tamanho);
+
+            Map<String, String> nomesUnicos = new HashMap<>();
+            long soma = 0L;
+            for (int i = 0; i < tamanho; i++) {
+                ProdutoResponseDTO produto = produtos.get(i);
+                int categoria = produto.categoria().ordinal();
+                ids[i] = produto.id();
+                nomes[i] = nomesUnicos.computeIfAbsent(produto.nome(), nome -> nome);
+                precos[i] = produto.preco();
+                categorias[i] = (byte) categoria;
+                criadosEm[i] = paraMicros(produto.createdAt());
+                atualizadosEm[i] = paraMicros(produto.updatedAt());
+                apagadosEm[i] = paraMicros(produto.deletedAt());
+
+                porCategoria[categoria].set(i);
+                quantidadePorCategoria[categoria]++;
+                somaPorCategoria[categoria] += precos[i];
+                soma += precos[i];
+            }
+            somaPrecos = soma;
+
+            Collator collator = Collator.getInstance(Locale.of("pt", "BR"));
+            CollationKey[] chavesNomes = new CollationKey[tamanho];
+            for (int i = 0; i < tamanho; i++) chavesNomes[i] = collator.getCollationKey(nomes[i]);
+
+            // Posição de cada categoria na ordem dos nomes das constantes, independente dos códigos gravados no banco
+            int[] posicaoCategoriaPorNome = new int[Categorias.values().length];
+            List<Categorias> categoriasPorNome = Arrays.stream(Categorias.values()).sorted(Comparator.comparing(Categorias::name)).toList();
+            for (int c = 0; c < categoriasPorNome.size(); c++) posicaoCategoriaPorNome[categoriasPorNome.get(c).ordinal()] = c;
+
+            ordenacoes.put("nome", permutacao((a, b) -> chavesNomes[a].compareTo(chavesNomes[b])));
+            ordenacoes.put("preco", permutacao((a, b) -> Integer.compare(precos[a], precos[b])));
+            ordenacoes.put("categoria", permutacao((a, b) ->
+                    Integer.compare(posicaoCategoriaPorNome[categorias[a]], posicaoCategoriaPorNome[categorias[b]])));
+            ordenacoes.put("createdAt", permutacao(compararDatas(criadosEm)));
+            ordenacoes.put("updatedAt", permutacao(compararDatas(atualizadosEm)));
+            ordenacoes.put("deletedAt", permutacao(compararDatas(apagadosEm)));
+        }
+
+        /**
+         * Constrói os vetores a partir dos produtos informados, em qualquer ordem.
+         *
+         * @param produtos Os produtos da partição.
+         * @return A partição construída.
+         */
+        private static Particao construir(List<ProdutoResponseDTO> produtos) {
+            List<ProdutoResponseDTO> porId = new ArrayList<>(produtos);
+            porId.sort(Comparator.comparing(ProdutoResponseDTO::id));
+            return new Particao(porId);
+        }
+
+        /**
+         * Monta uma página percorrendo a permutação do campo de ordenação e aplicando os filtros.
+         * A ordem decrescente percorre a permutação de trás para frente, colocando os valores nulos
+         * no início, assim como o Postgres.
+         */
+        private Page<ProdutoResponseDTO> paginar(Categorias categoria, Integer precoMin, Integer precoMax,
+                                                 String campo, boolean decrescente, Pageable pageable) {
+            int[] ordem = ordenacoes.get(campo);
+            BitSet filtroCategoria = categoria != null ? porCategoria[categoria.ordinal()] : null;
+            boolean filtraPreco = precoMin != null || precoMax != null;
+            int min = precoMin != null ? precoMin : 0;
+            int max = precoMax != null ? precoMax : Integer.MAX_VALUE;
+
+            long inicio = pageable.isPaged() ? pageable.getOffset() : 0L;
+            int limite = pageable.isPaged() ? pageable.getPageSize() : tamanho;
+            List<ProdutoResponseDTO> conteudo = new ArrayList<>(Math.min(limite, tamanho));
+
+            if (filtroCategoria == null && !filtraPreco) {
+                for (long i = inicio; i < tamanho && conteudo.size() < limite; i++) {
+                    conteudo.add(produto(posicao(ordem, (int) i, decrescente)));
+                }
+                return new PageImpl<>(conteudo, pageable, tamanho);
+            }
+
+            long total = 0L;
+            for (int i = 0; i < tamanho; i++) {
+                int p = posicao(ordem, i, decrescente);
+                if (filtroCategoria != null && !filtroCategoria.get(p)) continue;
+                if (filtraPreco && (precos[p] < min || precos[p] > max)) continue;
+                if (total >= inicio && conteudo.size() < limite) conteudo.add(produto(p));
+                total++;
+            }
+            return new PageImpl<>(conteudo, pageable, total);
+        }
+
+        private int posicao(int[] ordem, int i, boolean decrescente) {
+            int k = decrescente ? tamanho - 1 - i : i;
+            return ordem != null ? ordem[k] : k;
+        }
+
+        private ProdutoResponseDTO produto(int p) {
+            return new ProdutoResponseDTO(ids[p], nomes[p], precos[p], Categorias.values()[categorias[p]],
+                    deMicros(criadosEm[p]), deMicros(atualizadosEm[p]), deMicros(apagadosEm[p]));
+        }
+
+        /**
+         * Calcula a permutação das posições segundo o comparador, desempatando pelo ID (a própria posição).
+         * As posições são ordenadas em um {@code int[]}, sem conversão para {@code Integer}, por uma
+         * ordenação estável: partindo das posições em ordem crescente, os empates mantêm a ordem por ID.
+         */
+        private int[] permutacao(IntBinaryOperator comparador) {
+            int[] ordem = new int[tamanho];
+            for (int i = 0; i < tamanho; i++) ordem[i] = i;
+            ordenar(ordem, comparador);
+            return ordem;
+        }
+
+        /**
+         * Ordena as posições por intercalação (merge sort) de baixo para cima, com ordenação por inserção
+         * nos blocos iniciais de {@code BLOCO} posições. A ordenação é estável.
+         */
+        private static void ordenar(int[] posicoes, IntBinaryOperator comparador) {
+            int n = posicoes.length;
+            for (int inicio = 0; inicio < n; inicio += BLOCO) {
+                int fim = Math.min(inicio + BLOCO, n);
+                for (int i = inicio + 1; i < fim; i++) {
+                    int atual = posicoes[i];
+                    int j = i - 1;
+                    while (j >= inicio && comparador.applyAsInt(posicoes[j], atual) > 0) {
+                        posicoes[j + 1] = posicoes[j];
+                        j--;
+                    }
+                    posicoes[j + 1] = atual;
+                }
+            }
+
+            int[] origem = posicoes;
+            int[] destino = new int[n];
+            for (int largura = BLOCO; largura < n; largura *= 2) {
+                for (int inicio = 0; inicio < n; inicio += 2 * largura) {
+                    int meio = Math.min(inicio + largura, n);
+                    int fim = Math.min(inicio + 2 * largura, n);
+                    int a = inicio, b = meio;
+                    for (int k = inicio; k < fim; k++) {
+                        destino[k] = b >= fim || (a < meio && comparador.applyAsInt(origem[a], origem[b]) <= 0)
+                                ? origem[a++] : origem[b++];
+                    }
+                }
+                int[] troca = origem;
+                origem = destino;
+                destino = troca;
+            }
+            if (origem != posicoes) System.arraycopy(origem, 0, posicoes, 0, n);
+        }
+
+        /**
+         * Compara duas posições por uma coluna de datas, com os valores nulos no fim.
+         */
+        private static IntBinaryOperator compararDatas(long[] datas) {
+            return (a, b) -> {
+                if (datas[a] == NULO || datas[b] == NULO) return Boolean.compare(datas[a] == NULO, datas[b] == NULO);
+                return Long.compare(datas[a], datas[b]);
+            };
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.TempoEsgotadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Componente de coalescência de consultas idênticas e simultâneas (single-flight).
+ *
+ * <p>A primeira chamada de uma chave executa a consulta na própria thread. As chamadas com a mesma chave
+ * que chegam enquanto ela está em andamento não consultam o banco: aguardam e recebem o mesmo resultado,
+ * ou a mesma exceção. Assim que a consulta termina a chave é liberada, e a próxima chamada volta a consultar
+ * o banco, de modo que nenhum resultado é reaproveitado depois de concluído.</p>
+ *
+ * <p>As chamadas que aguardam desistem após o tempo configurado em {@code app.consultas.timeout-coalescencia},
+ * com {@code TempoEsgotadoException}. O contador {@code produtos.consultas} registra, por operação, quantas
+ * chamadas foram executadas, coalescidas ou esgotaram o tempo de espera.</p>
+ */
+@Component
+public class CoalescedorDeConsultas {
+
+    private static final String METRICA = "produtos.consultas";
+
+    private final ConcurrentHashMap<List<Object>, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final Duration timeout;
+
+    /**
+     * Construtor para injeção do registro de métricas e do tempo máximo de espera.
+     *
+     * @param registry O registro de métricas da aplicação.
+     * @param timeout O tempo máximo que uma chamada coalescida aguarda o resultado da consulta em andamento.
+     */
+    public CoalescedorDeConsultas(MeterRegistry registry,
+                                  @Value("${app.consultas.timeout-coalescencia:5s}") Duration timeout) {
+        this.registry = registry;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Executa a consulta ou, se já houver uma consulta idêntica em andamento, aguarda o resultado dela.
+     *
+     * @param operacao O nome da operação, usado na chave e como tag das métricas.
+     * @param consulta A consulta a ser executada.
+     * @param parametros Os parâmetros da operação que, junto com o nome, identificam consultas idênticas.
+     *                   Devem implementar {@code equals} e {@code hashCode}. Valores {@code null} são permitidos.
+     * @param <T> O tipo do resultado da consulta.
+     * @return O resultado da consulta.
+     * @throws TempoEsgotadoException Se a chamada aguardar a consulta em andamento por mais tempo que o permitido.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String operacao, Supplier<T> consulta, Object... parametros) {
+        Object[] chave = new Object[parametros.length + 1];
+        chave[0] = operacao;
+        System.arraycopy(parametros, 0, chave, 1, parametros.length);
+        List<Object> chaveConsulta = Arrays.asList(chave);
+
+        CompletableFuture<Object> nova = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emAndamento.putIfAbsent(chaveConsulta, nova);
+        if (existente != null) return (T) aguardar(operacao, existente);
+
+        contar(operacao, "executada");
+        try {
+            T resultado = consulta.get();
+            nova.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chaveConsulta, nova);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que aguarda o resultado de uma consulta em andamento,
+     * repassando a exceção original em caso de falha.
+     *
+     * @param operacao O nome da operação.
+     * @param consulta A consulta em andamento.
+     * @return O resultado da consulta.
+     */
+    private Object aguardar(String operacao, CompletableFuture<Object> consulta) {
+        try {
+            Object resultado = consulta.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            contar(operacao, "coalescida");
+            return resultado;
+        } catch (ExecutionException e) {
+            contar(operacao, "coalescida");
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            if (e.getCause() instanceof Error erro) throw erro;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            contar(operacao, "tempo_esgotado");
+            throw new TempoEsgotadoException("Tempo esgotado aguardando a consulta " + operacao + ".");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TempoEsgotadoException("Consulta " + operacao + " interrompida.");
+        }
+    }
+
+    /**
+     * Método auxiliar privado que incrementa o contador de chamadas da operação.
+     *
+     * @param operacao O nome da operação.
+     * @param resultado O desfecho da chamada ({@code executada}, {@code coalescida} ou {@code tempo_esgotado}).
+     */
+    private void contar(String operacao, String resultado) {
+        Counter.builder(METRICA)
+                .tag("operacao", operacao)
+                .tag("resultado", resultado)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Disjuntor (circuit breaker) das consultas ao banco de dados.
+ *
+ * <p>O disjuntor guarda o desfecho das últimas consultas em uma janela de tamanho fixo. Uma consulta é considerada
+ * ruim quando falha por um problema de acesso ao banco ou quando demora mais que o limiar de lentidão. Quando a
+ * fração de consultas ruins na janela atinge o limite configurado, o disjuntor abre: durante o tempo de abertura
+ * nenhuma consulta é permitida, e as leituras devem ser atendidas pelos últimos valores conhecidos.</p>
+ *
+ * <p>Terminado o tempo de abertura, o disjuntor fica meio aberto e permite uma única consulta de teste. Se ela for
+ * bem-sucedida, o disjuntor fecha e a janela é reiniciada; caso contrário, abre novamente.</p>
+ */
+public class DisjuntorBanco {
+
+    /**
+     * Os estados possíveis do disjuntor.
+     */
+    public enum Estado { FECHADO, MEIO_ABERTO, ABERTO }
+
+    private final int minimoChamadas;
+    private final double taxaMaximaRuins;
+    private final long limiarLentidaoNanos;
+    private final long tempoAbertoNanos;
+    private final LongSupplier relogio;
+
+    private final boolean[] janela;
+    private int posicao;
+    private int chamadas;
+    private int ruins;
+    private volatile Estado estado = Estado.FECHADO;
+    private long abertoAte;
+    private boolean testeEmAndamento;
+
+    /**
+     * Cria o disjuntor.
+     *
+     * @param tamanhoJanela A quantidade de consultas recentes consideradas.
+     * @param minimoChamadas A quantidade mínima de consultas na janela antes que o disjuntor possa abrir.
+     * @param taxaMaximaRuins A fração de consultas ruins na janela que abre o disjuntor (entre {@code 0} e {@code 1}).
+     * @param limiarLentidaoNanos O tempo a partir do qual uma consulta bem-sucedida é considerada lenta.
+     * @param tempoAbertoNanos Por quanto tempo o disjuntor permanece aberto antes de permitir uma consulta de teste.
+     * @param relogio A fonte de tempo, em nanossegundos (normalmente {@code System::nanoTime}).
+     */
+    public DisjuntorBanco(int tamanhoJanela, int minimoChamadas, double taxaMaximaRuins,
+                          long limiarLentidaoNanos, long tempoAbertoNanos, LongSupplier relogio) {
+        this.janela = new boolean[tamanhoJanela];
+        this.minimoChamadas = Math.min(minimoChamadas, tamanhoJanela);
+        this.taxaMaximaRuins = taxaMaximaRuins;
+        this.limiarLentidaoNanos = limiarLentidaoNanos;
+        this.tempoAbertoNanos = tempoAbertoNanos;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Indica se uma consulta ao banco pode ser feita agora. Com o disjuntor meio aberto, apenas a primeira
+     * chamada é permitida, e o seu desfecho deve ser informado em {@link #registrar}.
+     *
+     * @return {@code true} se a consulta for permitida.
+     */
+    public synchronized boolean permitir() {
+        switch (estado) {
+            case FECHADO:
+                return true;
+            case ABERTO:
+                if (relogio.getAsLong() - abertoAte < 0) return false;
+                estado = Estado.MEIO_ABERTO;
+                testeEmAndamento = true;
+                return true;
+            default:
+                if (testeEmAndamento) return false;
+                testeEmAndamento = true;
+                return true;
+        }
+    }
+
+    /**
+     * Registra o desfecho de uma consulta permitida.
+     *
+     * @param falhou Indica se a consulta falhou por um problema de acesso ao banco.
+     * @param duracaoNanos A duração da consulta, em nanossegundos.
+     * @return {@code true} se a consulta fechou o disjuntor, que estava meio aberto.
+     */
+    public synchronized boolean registrar(boolean falhou, long duracaoNanos) {
+        boolean ruim = falhou || duracaoNanos > limiarLentidaoNanos;
+
+        if (estado == Estado.MEIO_ABERTO) {
+            testeEmAndamento = false;
+            if (ruim) {
+                abrir();
+                return false;
+            }
+            fechar();
+            return true;
+        }
+        if (estado == Estado.ABERTO) return false;
+
+        if (chamadas == janela.length) {
+            if (janela[posicao]) ruins--;
+        } else {
+            chamadas++;
+        }
+        janela[posicao] = ruim;
+        if (ruim) ruins++;
+        posicao = (posicao + 1) % janela.length;
+
+        if (chamadas >= minimoChamadas && ruins >= taxaMaximaRuins * chamadas) abrir();
+        return false;
+    }
+
+    /**
+     * Retorna o estado atual do disjuntor.
+     *
+     * @return O estado do disjuntor.
+     */
+    public Estado estado() {
+        return estado;
+    }
+
+    /**
+     * Calcula em quantos segundos o disjuntor aberto permitirá uma nova consulta de teste.
+     *
+     * @return Os segundos restantes, no mínimo {@code 1}.
+     */
+    public synchronized long segundosAteNovaTentativa() {
+        long restante = estado == Estado.ABERTO ? abertoAte - relogio.getAsLong() : 0L;
+        return Math.max(1L, (restante + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private void abrir() {
+        estado = Estado.ABERTO;
+        abertoAte = relogio.getAsLong() + tempoAbertoNanos;
+    }
+
+    private void fechar() {
+        estado = Estado.FECHADO;
+        chamadas = 0;
+        ruins = 0;
+        posicao = 0;
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PontoSerieDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.SerieEstatisticasDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.IntervaloSerie;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.BadRequestException;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.PontoSerieProjection;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço responsável pelas séries temporais de estatísticas do catálogo de produtos.
+ *
+ * <p>Os valores de cada período são calculados pelo banco ({@code date_trunc}). Os períodos já encerrados
+ * ficam em cache por intervalo e categoria, de modo que cada chamada consulta apenas o período atual e,
+ * quando a janela solicitada avança além do que já foi calculado, os períodos que faltam.</p>
+ *
+ * <p>A criação e a exclusão de produtos só afetam o período atual. Já a atualização (que pode alterar o preço
+ * ou a categoria) e a restauração (que remove uma exclusão antiga) podem mudar períodos encerrados, e por isso
+ * descartam o cache. As alterações feitas por outras instâncias não descartam o cache desta instância.</p>
+ */
+@Service
+public class EstatisticasService {
+
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+    private static final int MAXIMO_PERIODOS = 366;
+
+    private final IProdutoRepository repository;
+    private final ConcurrentHashMap<ChaveSerie, PeriodosEncerrados> encerrados = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    /**
+     * Construtor para injeção de dependência do repositório de produtos.
+     *
+     * @param repository O repositório responsável pelas consultas agregadas de {@code Produto}.
+     */
+    public EstatisticasService(IProdutoRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Calcula a série temporal dos últimos períodos, terminando no período atual: a quantidade de produtos
+     * criados e apagados em cada período e o preço médio dos produtos criados nele.
+     * Períodos sem produtos são retornados com quantidades zero.
+     *
+     * @param intervalo O intervalo de cada período (hora, dia, semana ou mes).
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param periodos A quantidade de períodos da série (entre 1 e 366).
+     * @return Um {@code SerieEstatisticasDTO} com os valores de cada período.
+     * @throws BadRequestException Se o intervalo, a categoria ou a quantidade de períodos forem inválidos.
+     */
+    public SerieEstatisticasDTO calcularSerie(String intervalo, String categoria, int periodos) {
+        if (periodos < 1 || periodos > MAXIMO_PERIODOS)
+            throw new BadRequestException("A quantidade de períodos deve estar entre 1 e " + MAXIMO_PERIODOS + ".");
+
+        IntervaloSerie unidade;
+        Categorias filtro = null;
+        try {
+            unidade = IntervaloSerie.fromString(intervalo);
+            if (categoria != null && !categoria.isBlank()) filtro = Categorias.fromString(categoria);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        ZonedDateTime inicioAtual = unidade.inicioDoPeriodo(ZonedDateTime.now(FUSO));
+        ZonedDateTime inicioSerie = unidade.deslocar(inicioAtual, -(periodos - 1));
+
+        Map<Long, PontoSerieDTO> pontos = new HashMap<>(buscarEncerrados(new ChaveSerie(unidade, filtro), inicioSerie, inicioAtual));
+        pontos.putAll(consultar(unidade, filtro, inicioAtual, unidade.deslocar(inicioAtual, 1)));
+
+        List<PontoSerieDTO> serie = new ArrayList<>(periodos);
+        for (ZonedDateTime inicio = inicioSerie; !inicio.isAfter(inicioAtual); inicio = unidade.deslocar(inicio, 1)) {
+            PontoSerieDTO ponto = pontos.get(inicio.toEpochSecond());
+            serie.add(ponto != null ? ponto : new PontoSerieDTO(inicio, 0L, 0L, null));
+        }
+
+        return new SerieEstatisticasDTO(unidade.getIntervalo(), filtro != null ? filtro.getCategoria() : null, serie);
+    }
+
+    /**
+     * Descarta os períodos encerrados em cache quando uma alteração pode ter mudado os seus valores.
+     *
+     * @param evento O evento de alteração publicado pelo {@code ProdutoService}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void descartarEncerrados(ProdutoAlteradoEvent evento) {
+        if (evento.tipo() == TipoAlteracao.ATUALIZADO || evento.tipo() == TipoAlteracao.RESTAURADO) {
+            geracao.incrementAndGet();
+            encerrados.clear();
+        }
+    }
+
+    /**
+     * Descarta os períodos encerrados em cache quando outra instância fez uma alteração que pode ter mudado
+     * os seus valores, ou em uma invalidação completa.
+     *
+     * @param evento O lote de invalidações recebido pela {@code InvalidacaoDistribuida}.
+     */
+    @EventListener
+    public void descartarEncerrados(InvalidacaoRecebidaEvent evento) {
+        if (evento.historico() || evento.completa()) {
+            geracao.incrementAndGet();
+            encerrados.clear();
+        }
+    }
+
+    /**
+     * Método auxiliar privado que retorna os períodos encerrados entre as datas informadas, consultando
+     * no banco apenas os que ainda não estão em cache e acrescentando-os ao cache.
+     *
+     * @param chave O intervalo e a categoria da série.
+     * @param desde O início do primeiro período.
+     * @param ate O início do período atual (exclusivo).
+     * @return Os valores dos períodos com produtos, indexados pelo início do período em segundos.
+     */
+    private Map<Long, PontoSerieDTO> buscarEncerrados(ChaveSerie chave, ZonedDateTime desde, ZonedDateTime ate) {
+        if (!desde.isBefore(ate)) return Map.of();
+
+        long geracaoInicial = geracao.get();
+        PeriodosEncerrados atual = encerrados.get(chave);
+        if (atual != null && !desde.isBefore(atual.desde()) && !ate.isAfter(atual.ate())) return atual.pontos();
+
+        Map<Long, PontoSerieDTO> pontos = new HashMap<>();
+        ZonedDateTime novoDesde = desde;
+        if (atual == null) {
+            pontos.putAll(consultar(chave.intervalo(), chave.categoria(), desde, ate));
+        } else {
+            pontos.putAll(atual.pontos());
+            if (desde.isBefore(atual.desde()))
+                pontos.putAll(consultar(chave.intervalo(), chave.categoria(), desde, atual.desde()));
+            else novoDesde = atual.desde();
+            if (atual.ate().isBefore(ate))
+                pontos.putAll(consultar(chave.intervalo(), chave.categoria(), atual.ate(), ate));
+        }
+
+        PeriodosEncerrados novos = new PeriodosEncerrados(novoDesde, ate, Map.copyOf(pontos));
+        if (geracao.get() == geracaoInicial) encerrados.put(chave, novos);
+        return novos.pontos();
+    }
+
+    /**
+     * Método auxiliar privado que consulta no banco os valores dos períodos entre as datas informadas.
+     *
+     * @param unidade O intervalo da série.
+     * @param categoria (Opcional) A categoria para filtro.
+     * @param desde O início do primeiro período (inclusivo).
+     * @param ate O fim do último período (exclusivo).
+     * @return Os valores dos períodos com produtos, indexados pelo início do período em segundos.
+     */
+    private Map<Long, PontoSerieDTO> consultar(IntervaloSerie unidade, Categorias categoria, ZonedDateTime desde, ZonedDateTime ate) {
+        List<PontoSerieProjection> resultado = categoria != null
+                ? repository.calcularSeriePorCategoria(unidade.getUnidadeBanco(), categoria.getCodigo(), desde, ate)
+                : repository.calcularSerie(unidade.getUnidadeBanco(), desde, ate);
+
+        Map<Long, PontoSerieDTO> pontos = new HashMap<>();
+        for (PontoSerieProjection ponto : resultado) {
+            ZonedDateTime inicio = ZonedDateTime.ofInstant(Instant.ofEpochSecond(ponto.getInicio()), FUSO);
+            pontos.put(ponto.getInicio(), new PontoSerieDTO(inicio, ponto.getCriados(), ponto.getApagados(), ponto.getPrecoMedio()));
+        }
+        return pontos;
+    }
+
+    /**
+     * Identifica uma série em cache.
+     *
+     * @param intervalo O intervalo da série.
+     * @param categoria A categoria filtrada, ou {@code null} para todas.
+     */
+    private record ChaveSerie(IntervaloSerie intervalo, Categorias categoria) {}
+
+    /**
+     * Períodos encerrados de uma série já calculados, contíguos entre {@code desde} e {@code ate}.
+     *
+     * @param desde O início do primeiro período calculado.
+     * @param ate O fim do último período calculado (exclusivo).
+     * @param pontos Os valores dos períodos com produtos, indexados pelo início do período em segundos.
+     */
+    private record PeriodosEncerrados(ZonedDateTime desde, ZonedDateTime ate, Map<Long, PontoSerieDTO> pontos) {}
+}
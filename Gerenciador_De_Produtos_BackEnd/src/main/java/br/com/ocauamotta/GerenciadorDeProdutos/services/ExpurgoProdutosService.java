@@ -0,0 +1,192 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.ProdutoExpurgadoProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável pelo expurgo dos produtos apagados há mais tempo que o período de retenção.
+ *
+ * <p>A exclusão de produtos é lógica, e sem o expurgo a tabela {@code produtos} e os seus índices cresceriam
+ * indefinidamente. Quando habilitado ({@code app.expurgo.habilitado=true}), o serviço move periodicamente os
+ * produtos apagados há mais de {@code app.expurgo.retencao} para a tabela {@code produtos_arquivados} e os remove
+ * da tabela viva.</p>
+ *
+ * <p>O trabalho é feito em lotes pequenos ({@code app.expurgo.tamanho-lote}), em ordem de exclusão, cada um em
+ * uma única instrução e transação curta, sem aguardar registros bloqueados. Entre os lotes o serviço pausa o
+ * suficiente para não ultrapassar {@code app.expurgo.produtos-por-segundo}, e cada execução processa no máximo
+ * {@code app.expurgo.maximo-por-execucao} produtos. Como cada lote é atômico, uma execução interrompida (ex: pelo
+ * encerramento da aplicação) é retomada naturalmente na seguinte, a partir dos produtos que restaram. Várias
+ * instâncias podem executar o expurgo ao mesmo tempo, pois os lotes ignoram os registros já bloqueados.
+ * Cada comando do expurgo é limitado a {@code app.expurgo.timeout-comando} e cancelado no banco ao fim desse
+ * prazo; o lote cancelado é desfeito e a execução termina, sendo retomada na seguinte.</p>
+ *
+ * <p>O progresso é exposto pelas métricas {@code produtos.expurgo.produtos} (produtos expurgados),
+ * {@code produtos.expurgo.lote} (duração dos lotes) e {@code produtos.expurgo.pendentes} (produtos que ainda
+ * aguardam o expurgo na execução atual).</p>
+ */
+@Service
+public class ExpurgoProdutosService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpurgoProdutosService.class);
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+    private static final ZonedDateTime CURSOR_INICIAL = ZonedDateTime.ofInstant(Instant.EPOCH, FUSO);
+
+    private final IProdutoRepository repository;
+    private final CatalogoEmMemoria catalogo;
+    private final InvalidacaoDistribuida invalidacao;
+    private final boolean habilitado;
+    private final Duration retencao;
+    private final int tamanhoLote;
+    private final long intervaloMinimoEntreLotesNanos;
+    private final int maximoPorExecucao;
+    private final Duration timeoutComando;
+
+    private final Counter expurgados;
+    private final Timer duracaoLote;
+    private final AtomicLong pendentes = new AtomicLong();
+    private volatile boolean encerrando = false;
+
+    /**
+     * Construtor para injeção das dependências e das configurações do expurgo.
+     *
+     * @param repository O repositório de produtos.
+     * @param catalogo O modelo de leitura em memória, do qual os produtos expurgados são removidos.
+     * @param invalidacao A invalidação distribuída, que avisa as outras instâncias dos produtos expurgados.
+     * @param registry O registro de métricas da aplicação.
+     * @param habilitado Indica se o expurgo deve ser executado.
+     * @param retencao Por quanto tempo um produto apagado é mantido na tabela {@code produtos}.
+     * @param tamanhoLote A quantidade máxima de produtos expurgados por lote.
+     * @param produtosPorSegundo A vazão máxima do expurgo, em produtos por segundo.
+     * @param maximoPorExecucao A quantidade máxima de produtos expurgados em cada execução.
+     * @param timeoutComando O tempo máximo de cada comando do expurgo no banco.
+     */
+    public ExpurgoProdutosService(IProdutoRepository repository,
+                                  CatalogoEmMemoria catalogo,
+                                  InvalidacaoDistribuida invalidacao,
+                                  MeterRegistry registry,
+                                  @Value("${app.expurgo.habilitado:false}") boolean habilitado,
+                                  @Value("${app.expurgo.retencao:90d}") Duration retencao,
+                                  @Value("${app.expurgo.tamanho-lote:500}") int tamanhoLote,
+                                  @Value("${app.expurgo.produtos-por-segundo:2000}") int produtosPorSegundo,
+                                  @Value("${app.expurgo.maximo-por-execucao:100000}") int maximoPorExecucao,
+                                  @Value("${app.expurgo.timeout-comando:30s}") Duration timeoutComando) {
+        this.repository = repository;
+        this.catalogo = catalogo;
+        this.invalidacao = invalidacao;
+        this.habilitado = habilitado;
+        this.retencao = retencao;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloMinimoEntreLotesNanos = TimeUnit.SECONDS.toNanos(tamanhoLote) / Math.max(produtosPorSegundo, 1);
+        this.maximoPorExecucao = maximoPorExecucao;
+        this.timeoutComando = timeoutComando;
+
+        this.expurgados = Counter.builder("produtos.expurgo.produtos").register(registry);
+        this.duracaoLote = Timer.builder("produtos.expurgo.lote").register(registry);
+        Gauge.builder("produtos.expurgo.pendentes", pendentes, AtomicLong::get).register(registry);
+    }
+
+    /**
+     * Executa o expurgo dos produtos apagados antes do período de retenção, no intervalo configurado em
+     * {@code app.expurgo.intervalo}. A execução termina quando não há mais produtos elegíveis, quando o limite
+     * por execução é atingido ou quando a aplicação está sendo encerrada.
+     *
+     * @return A quantidade de produtos expurgados na execução.
+     */
+    @Scheduled(initialDelayString = "${app.expurgo.intervalo:3600000}", fixedDelayString = "${app.expurgo.intervalo:3600000}")
+    public int expurgar() {
+        if (!habilitado) return 0;
+
+        ZonedDateTime limite = ZonedDateTime.now(FUSO).minus(retencao);
+        long elegiveis = comPrazo(() -> repository.contarApagadosAntesDe(limite));
+        pendentes.set(Math.min(elegiveis, maximoPorExecucao));
+
+        ZonedDateTime cursorData = CURSOR_INICIAL;
+        long cursorId = 0L;
+        int total = 0;
+        while (!encerrando && total < maximoPorExecucao) {
+            long inicio = System.nanoTime();
+            ZonedDateTime desde = cursorData;
+            long aposId = cursorId;
+            int quantidade = Math.min(tamanhoLote, maximoPorExecucao - total);
+            List<ProdutoExpurgadoProjection> lote = comPrazo(() -> repository.expurgarLote(limite, desde, aposId, quantidade));
+            long duracao = System.nanoTime() - inicio;
+            duracaoLote.record(duracao, TimeUnit.NANOSECONDS);
+
+            if (lote.isEmpty()) break;
+
+            ProdutoExpurgadoProjection ultimo = lote.get(lote.size() - 1);
+            cursorData = ZonedDateTime.ofInstant(Instant.EPOCH.plus(ultimo.getApagadoEm(), ChronoUnit.MICROS), FUSO);
+            cursorId = ultimo.getId();
+            total += lote.size();
+            expurgados.increment(lote.size());
+            pendentes.updateAndGet(restantes -> Math.max(restantes - lote.size(), 0));
+            List<Long> ids = lote.stream().map(ProdutoExpurgadoProjection::getId).toList();
+            catalogo.remover(ids);
+            invalidacao.publicarExpurgo(ids);
+
+            if (lote.size() < tamanhoLote || !pausar(intervaloMinimoEntreLotesNanos - duracao)) break;
+        }
+        pendentes.set(0);
+
+        if (total > 0) log.info("Expurgo concluído: {} produtos apagados antes de {} arquivados.", total, limite);
+        return total;
+    }
+
+    /**
+     * Interrompe a execução em andamento ao final do lote atual, no encerramento da aplicação.
+     */
+    @PreDestroy
+    public void encerrar() {
+        encerrando = true;
+    }
+
+    /**
+     * Método auxiliar privado que executa um comando do expurgo com o prazo de {@code app.expurgo.timeout-comando},
+     * aplicado pelo {@code PrazoDataSource} como {@code queryTimeout}.
+     *
+     * @param comando O comando a ser executado.
+     * @param <T> O tipo do resultado do comando.
+     * @return O resultado do comando.
+     */
+    private <T> T comPrazo(Supplier<T> comando) {
+        return PrazoRequisicaoInterceptor.propagar(comando, timeoutComando).get();
+    }
+
+    /**
+     * Método auxiliar privado que pausa entre os lotes para respeitar a vazão máxima.
+     *
+     * @param nanos O tempo de pausa, em nanossegundos. Valores não positivos não pausam.
+     * @return {@code false} se a thread foi interrompida durante a pausa.
+     */
+    private boolean pausar(long nanos) {
+        if (nanos <= 0) return true;
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Invalidação dos caches locais entre instâncias, pelo {@code LISTEN}/{@code NOTIFY} do Postgres.
+ *
+ * <p>Cada gravação do {@code ProdutoService} envia, na mesma transação, uma mensagem compacta no canal
+ * {@code produtos_invalidacao} com a instância de origem, a sequência da alteração (geração), o ID do produto
+ * e as categorias afetadas. Como o {@code NOTIFY} só é entregue no commit, as outras instâncias nunca recebem
+ * uma alteração desfeita. Os produtos removidos pelo expurgo também são notificados.</p>
+ *
+ * <p>Cada instância mantém uma única conexão dedicada, fora do pool, que executa {@code LISTEN} no canal.
+ * Uma thread própria aguarda as notificações, agrupa as que chegam dentro de
+ * {@code app.invalidacao.janela-agrupamento}, ignora as enviadas pela própria instância (já aplicadas pelo
+ * {@code ProdutoAlteradoEvent}) e publica um único {@code InvalidacaoRecebidaEvent} por lote, consumido pelos
+ * caches locais: o histograma de preços, o {@code CatalogoEmMemoria}, o {@code CacheJsonProdutos} e os períodos
+ * encerrados do {@code EstatisticasService}.</p>
+ *
+ * <p>Sem notificações, a conexão é verificada a cada {@code app.invalidacao.intervalo-verificacao}. Se ela cair,
+ * as mensagens enviadas enquanto a instância não escutava são perdidas: após a reconexão, todos os caches locais
+ * são descartados por completo. As métricas {@code produtos.invalidacao.mensagens},
+ * {@code produtos.invalidacao.reconexoes} e {@code produtos.invalidacao.geracao} acompanham o mecanismo.</p>
+ */
+@Component
+public class InvalidacaoDistribuida {
+
+    static final String CANAL = "produtos_invalidacao";
+    static final int IDS_POR_MENSAGEM = 500;
+    static final int MENSAGENS_POR_LOTE = 1_000;
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidacaoDistribuida.class);
+    private static final long PAUSA_INICIAL_MILLIS = 1_000L;
+    private static final long PAUSA_MAXIMA_MILLIS = 30_000L;
+
+    private final IProdutoRepository repository;
+    private final DataSourceProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean habilitado;
+    private final int janelaAgrupamentoMillis;
+    private final int intervaloVerificacaoMillis;
+    private final String origem = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Counter publicadas;
+    private final Counter recebidas;
+    private final Counter reconexoes;
+    private final AtomicLong geracao = new AtomicLong();
+    private final CountDownLatch inscrita = new CountDownLatch(1);
+    private volatile boolean encerrando = false;
+    private volatile Thread ouvinte;
+
+    /**
+     * Construtor para injeção das dependências e das configurações da invalidação.
+     *
+     * @param repository O repositório de produtos, usado para enviar as notificações.
+     * @param properties As propriedades de conexão do banco primário, usadas na conexão dedicada.
+     * @param eventPublisher O publicador dos eventos de invalidação recebidos.
+     * @param registry O registro de métricas da aplicação.
+     * @param habilitado Indica se as alterações devem ser notificadas e escutadas.
+     * @param janelaAgrupamento Por quanto tempo aguardar novas notificações antes de aplicar um lote.
+     * @param intervaloVerificacao O intervalo sem notificações após o qual a conexão é verificada.
+     */
+    public InvalidacaoDistribuida(IProdutoRepository repository,
+                                  DataSourceProperties properties,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry registry,
+                                  @Value("${app.invalidacao.habilitada:true}") boolean habilitado,
+                                  @Value("${app.invalidacao.janela-agrupamento:50ms}") Duration janelaAgrupamento,
+                                  @Value("${app.invalidacao.intervalo-verificacao:10s}") Duration intervaloVerificacao) {
+        this.repository = repository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.habilitado = habilitado;
+        this.janelaAgrupamentoMillis = (int) Math.max(1L, janelaAgrupamento.toMillis());
+        this.intervaloVerificacaoMillis = (int) Math.max(1L, intervaloVerificacao.toMillis());
+
+        this.publicadas = Counter.builder("produtos.invalidacao.mensagens").tag("direcao", "publicada").register(registry);
+        this.recebidas = Counter.builder("produtos.invalidacao.mensagens").tag("direcao", "recebida").register(registry);
+        this.reconexoes = Counter.builder("produtos.invalidacao.reconexoes").register(registry);
+        Gauge.builder("produtos.invalidacao.geracao", geracao, AtomicLong::get).register(registry);
+    }
+
+    /**
+     * Notifica as outras instâncias da alteração de um produto. Executado antes do commit, na mesma transação
+     * da gravação, para que a notificação seja entregue apenas se a alteração for confirmada.
+     *
+     * @param evento O evento de alteração publicado pelo {@code ProdutoService}.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void publicar(ProdutoAlteradoEvent evento) {
+        if (!habilitado || evento.produto() == null) return;
+
+        Set<Categorias> categorias = EnumSet.of(evento.produto().categoria());
+        if (evento.categoriaAnterior() != null) categorias.add(evento.categoriaAnterior());
+        boolean historico = evento.tipo() == TipoAlteracao.ATUALIZADO || evento.tipo() == TipoAlteracao.RESTAURADO;
+        long sequencia = evento.sequencia() != null ? evento.sequencia() : 0L;
+
+        notificar(new Mensagem(origem, sequencia, historico, Set.of(evento.produto().id()), categorias));
+    }
+
+    /**
+     * Notifica as outras instâncias dos produtos removidos definitivamente pelo expurgo,
+     * em mensagens de até {@code IDS_POR_MENSAGEM} IDs para respeitar o limite de tamanho do {@code NOTIFY}.
+     *
+     * @param ids Os IDs dos produtos expurgados.
+     */
+    public void publicarExpurgo(Collection<Long> ids) {
+        if (!habilitado || ids.isEmpty()) return;
+
+        List<Long> lista = List.copyOf(ids);
+        for (int i = 0; i < lista.size(); i += IDS_POR_MENSAGEM) {
+            Set<Long> parte = new LinkedHashSet<>(lista.subList(i, Math.min(i + IDS_POR_MENSAGEM, lista.size())));
+            notificar(new Mensagem(origem, 0L, false, parte, EnumSet.noneOf(Categorias.class)));
+        }
+    }
+
+    /**
+     * Inicia a thread que escuta as notificações, quando a aplicação termina de subir, e aguarda o {@code LISTEN}
+     * ser executado. Executado antes dos demais ouvintes, para que os caches carregados no aquecimento já recebam
+     * as invalidações.
+     *
+     * <p>A espera é limitada a {@code app.invalidacao.intervalo-verificacao}. Se o banco não aceitar a conexão
+     * nesse prazo, a subida continua e a thread segue tentando: quando a escuta for estabelecida, os caches
+     * locais são descartados por completo, como em uma reconexão, já que podem ter perdido alterações.</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void iniciar() {
+        if (!habilitado || ouvinte != null) return;
+        ouvinte = Thread.ofPlatform().name("invalidacao-distribuida").daemon().start(this::escutar);
+
+        try {
+            if (!inscrita.await(intervaloVerificacaoMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Escuta de invalidação não estabelecida em {} ms; os caches locais serão descartados ao estabelecê-la.",
+                        intervaloVerificacaoMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Indica se a conexão dedicada já executou o {@code LISTEN} ao menos uma vez.
+     *
+     * @return {@code true} se a instância já escuta as invalidações.
+     */
+    public boolean inscrita() {
+        return inscrita.getCount() == 0;
+    }
+
+    /**
+     * Interrompe a escuta das notificações no encerramento da aplicação.
+     */
+    @PreDestroy
+    public void encerrar() {
+        encerrando = true;
+        Thread atual = ouvinte;
+        if (atual != null) atual.interrupt();
+    }
+
+    /**
+     * Agrupa as mensagens recebidas em um único evento, ignorando as enviadas pela própria instância
+     * e as que não puderem ser interpretadas.
+     *
+     * @param conteudos O conteúdo das notificações recebidas.
+     * @param origem O identificador da instância que recebe as mensagens.
+     * @return O evento com a união das mensagens, ou {@code null} se nenhuma precisar ser aplicada.
+     */
+    static InvalidacaoRecebidaEvent agrupar(List<String> conteudos, String origem) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Set<Categorias> categorias = EnumSet.noneOf(Categorias.class);
+        long maiorGeracao = 0L;
+        boolean historico = false;
+        boolean aplicar = false;
+
+        for (String conteudo : conteudos) {
+            Mensagem mensagem;
+            try {
+                mensagem = Mensagem.decodificar(conteudo);
+            } catch (IllegalArgumentException e) {
+                log.warn("Mensagem de invalidação ignorada: '{}'.", conteudo);
+                continue;
+            }
+            if (mensagem.origem().equals(origem)) continue;
+
+            aplicar = true;
+            ids.addAll(mensagem.ids());
+            categorias.addAll(mensagem.categorias());
+            maiorGeracao = Math.max(maiorGeracao, mensagem.geracao());
+            historico |= mensagem.historico();
+        }
+        return aplicar ? new InvalidacaoRecebidaEvent(ids, categorias, maiorGeracao, historico, false) : null;
+    }
+
+    /**
+     * Método auxiliar privado que envia a mensagem no canal de invalidação.
+     *
+     * @param mensagem A mensagem a ser enviada.
+     */
+    private void notificar(Mensagem mensagem) {
+        repository.notificar(CANAL, mensagem.codificar());
+        publicadas.increment();
+    }
+
+    /**
+     * Método auxiliar privado executado pela thread de escuta: abre a conexão dedicada, escuta o canal e,
+     * quando a conexão cai, tenta novamente com pausas crescentes até o encerramento da aplicação.
+     * A partir da segunda conexão, os caches locais são descartados por completo.
+     */
+    private void escutar() {
+        boolean reconexao = false;
+        long pausa = PAUSA_INICIAL_MILLIS;
+
+        while (!encerrando) {
+            try (Connection conexao = conectar()) {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("LISTEN " + CANAL);
+                }
+                inscrita.countDown();
+                if (reconexao) {
+                    reconexoes.increment();
+                    aplicar(InvalidacaoRecebidaEvent.todos());
+                    log.info("Escuta de invalidação restabelecida; caches locais descartados.");
+                }
+                reconexao = true;
+                pausa = PAUSA_INICIAL_MILLIS;
+
+                receber(conexao);
+            } catch (SQLException | RuntimeException e) {
+                if (encerrando) break;
+                reconexao = true;
+                log.warn("Falha na conexão de invalidação de caches. Nova tentativa em {} ms.", pausa, e);
+                if (!pausar(pausa)) break;
+                pausa = Math.min(pausa * 2, PAUSA_MAXIMA_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Método auxiliar privado que recebe as notificações da conexão até que ela falhe ou a aplicação seja encerrada.
+     * As notificações que chegam dentro da janela de agrupamento são aplicadas em um único lote,
+     * de no máximo {@code MENSAGENS_POR_LOTE} mensagens.
+     *
+     * @param conexao A conexão dedicada, já escutando o canal.
+     * @throws SQLException Se a conexão falhar.
+     */
+    private void receber(Connection conexao) throws SQLException {
+        PGConnection pgConnection = conexao.unwrap(PGConnection.class);
+
+        while (!encerrando) {
+            PGNotification[] notificacoes = pgConnection.getNotifications(intervaloVerificacaoMillis);
+            if (notificacoes == null || notificacoes.length == 0) {
+                if (!conexao.isValid(5)) throw new SQLException("A conexão de invalidação de caches não responde.");
+                continue;
+            }
+
+            List<PGNotification> lote = new ArrayList<>(Arrays.asList(notificacoes));
+            PGNotification[] seguintes;
+            while (lote.size() < MENSAGENS_POR_LOTE
+                    && (seguintes = pgConnection.getNotifications(janelaAgrupamentoMillis)) != null && seguintes.length > 0) {
+                lote.addAll(Arrays.asList(seguintes));
+            }
+
+            recebidas.increment(lote.size());
+            InvalidacaoRecebidaEvent evento = agrupar(lote.stream().map(PGNotification::getParameter).toList(), origem);
+            if (evento != null) aplicar(evento);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que publica o evento de invalidação para os caches locais.
+     * Falhas de um cache são registradas sem derrubar a conexão de escuta.
+     *
+     * @param evento O evento a ser publicado.
+     */
+    private void aplicar(InvalidacaoRecebidaEvent evento) {
+        try {
+            eventPublisher.publishEvent(evento);
+            geracao.accumulateAndGet(evento.geracao(), Math::max);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao aplicar a invalidação de caches recebida.", e);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que abre a conexão dedicada ao banco primário, sem passar pelo pool.
+     *
+     * @return A nova conexão.
+     * @throws SQLException Se a conexão não puder ser aberta.
+     */
+    private Connection conectar() throws SQLException {
+        Properties propriedades = new Properties();
+        if (properties.determineUsername() != null) propriedades.setProperty("user", properties.determineUsername());
+        if (properties.determinePassword() != null) propriedades.setProperty("password", properties.determinePassword());
+        propriedades.setProperty("ApplicationName", "invalidacao-caches");
+        return DriverManager.getConnection(properties.determineUrl(), propriedades);
+    }
+
+    /**
+     * Método auxiliar privado que pausa antes de uma nova tentativa de conexão.
+     *
+     * @param millis O tempo de pausa, em milissegundos.
+     * @return {@code false} se a thread foi interrompida durante a pausa.
+     */
+    private boolean pausar(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Mensagem de invalidação enviada no canal, no formato {@code origem;geracao;historico;ids;categorias},
+     * com os IDs e as categorias separados por vírgula (ex: {@code 3f9a1c2e;1042;1;17;CLOTHES,SHOES}).
+     *
+     * @param origem O identificador da instância que enviou a mensagem.
+     * @param geracao A sequência da alteração, ou {@code 0} quando não se aplica (expurgo).
+     * @param historico Indica se a alteração pode ter mudado valores de períodos já encerrados.
+     * @param ids Os IDs dos produtos alterados.
+     * @param categorias As categorias afetadas.
+     */
+    record Mensagem(String origem, long geracao, boolean historico, Set<Long> ids, Set<Categorias> categorias) {
+
+        /**
+         * Codifica a mensagem no formato enviado no canal.
+         *
+         * @return O conteúdo da notificação.
+         */
+        String codificar() {
+            return origem + ";" + geracao + ";" + (historico ? "1" : "0") + ";"
+                    + ids.stream().map(String::valueOf).collect(Collectors.joining(",")) + ";"
+                    + categorias.stream().map(Categorias::name).collect(Collectors.joining(","));
+        }
+
+        /**
+         * Interpreta o conteúdo de uma notificação recebida no canal.
+         *
+         * @param conteudo O conteúdo da notificação.
+         * @return A mensagem correspondente.
+         * @throws IllegalArgumentException Se o conteúdo não estiver no formato esperado.
+         */
+        static Mensagem decodificar(String conteudo) {
+            String[] partes = conteudo != null ? conteudo.split(";", -1) : new String[0];
+            if (partes.length != 5 || partes[0].isEmpty()) throw new IllegalArgumentException("Mensagem inválida: " + conteudo);
+
+            Set<Long> ids = new LinkedHashSet<>();
+            for (String id : lista(partes[3])) ids.add(Long.parseLong(id));
+            Set<Categorias> categorias = EnumSet.noneOf(Categorias.class);
+            for (String categoria : lista(partes[4])) categorias.add(Categorias.valueOf(categoria));
+
+            return new Mensagem(partes[0], Long.parseLong(partes[1]), partes[2].equals("1"), ids, categorias);
+        }
+
+        private static List<String> lista(String valores) {
+            return valores.isEmpty() ? List.of() : Arrays.asList(valores.split(","));
+        }
+    }
+}
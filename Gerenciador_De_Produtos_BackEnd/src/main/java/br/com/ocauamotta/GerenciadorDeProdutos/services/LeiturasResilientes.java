@@ -0,0 +1,349 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.ServicoIndisponivelException;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.TempoEsgotadoException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Camada de resiliência das leituras do {@code ProdutoService} para quando o banco está lento ou fora do ar.
+ *
+ * <p>Cada leitura passa pelo {@code CoalescedorDeConsultas} e por um {@code DisjuntorBanco}, que abre quando
+ * uma fração das consultas recentes falha por problemas de acesso ao banco ou ultrapassa o limiar de lentidão
+ * ({@code app.disjuntor.*}). Apenas a consulta de fato executada no banco é registrada no disjuntor: as chamadas
+ * coalescidas recebem o mesmo desfecho sem registrá-lo de novo, e a desistência de uma chamada que aguardava
+ * ({@code TempoEsgotadoException} do coalescedor) não conta como falha do banco. O resultado de cada leitura
+ * bem-sucedida é guardado como o último valor conhecido da operação e dos seus parâmetros.</p>
+ *
+ * <p>Com o disjuntor aberto, ou quando uma consulta falha por um problema de acesso ao banco, a leitura é atendida
+ * pelo último valor conhecido, sem aguardar o pool de conexões. A requisição é marcada como desatualizada, e a
+ * resposta recebe os cabeçalhos {@code Age} e {@code X-Dados-Desatualizados}. Sem um valor conhecido, é lançada
+ * {@code ServicoIndisponivelException} (503). Quando o disjuntor volta a fechar, os valores servidos desatualizados
+ * são consultados novamente em segundo plano, um de cada vez, pelo {@code consultasExecutor}.</p>
+ *
+ * <p>As métricas {@code produtos.disjuntor.estado} (0 fechado, 1 meio aberto, 2 aberto) e
+ * {@code produtos.disjuntor.respostas} (respostas desatualizadas ou recusadas) acompanham o disjuntor.</p>
+ */
+@Component
+public class LeiturasResilientes {
+
+    public static final String ATRIBUTO_DESATUALIZADO_DESDE = LeiturasResilientes.class.getName() + ".desatualizadoDesde";
+
+    private static final Logger log = LoggerFactory.getLogger(LeiturasResilientes.class);
+    private static final ThreadLocal<Desatualizacao> DESATUALIZACAO_DA_TAREFA = new ThreadLocal<>();
+    private static final String METRICA_RESPOSTAS = "produtos.disjuntor.respostas";
+
+    private final CoalescedorDeConsultas coalescedor;
+    private final Executor consultasExecutor;
+    private final MeterRegistry registry;
+    private final boolean habilitado;
+    private final DisjuntorBanco disjuntor;
+    private final Cache<List<Object>, ValorConhecido> ultimosValores;
+    private final Set<List<Object>> servidosDesatualizados = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Construtor para injeção das dependências e das configurações do disjuntor.
+     *
+     * @param coalescedor O componente que une consultas idênticas e simultâneas.
+     * @param consultasExecutor O executor usado para atualizar os valores servidos desatualizados.
+     * @param registry O registro de métricas da aplicação.
+     * @param habilitado Indica se o disjuntor e os últimos valores conhecidos devem ser usados.
+     * @param tamanhoJanela A quantidade de consultas recentes avaliadas pelo disjuntor.
+     * @param minimoChamadas A quantidade mínima de consultas na janela antes que o disjuntor possa abrir.
+     * @param taxaMaximaRuins A fração de consultas com falha ou lentas que abre o disjuntor.
+     * @param limiarLentidao O tempo a partir do qual uma consulta é considerada lenta.
+     * @param tempoAberto Por quanto tempo o disjuntor permanece aberto antes de testar o banco novamente.
+     * @param idadeMaxima Por quanto tempo um valor conhecido pode ser servido.
+     * @param tamanhoMaximo A quantidade máxima de valores conhecidos guardados.
+     */
+    public LeiturasResilientes(CoalescedorDeConsultas coalescedor,
+                               @Qualifier("consultasExecutor") Executor consultasExecutor,
+                               MeterRegistry registry,
+                               @Value("${app.disjuntor.habilitado:true}") boolean habilitado,
+                               @Value("${app.disjuntor.janela:20}") int tamanhoJanela,
+                               @Value("${app.disjuntor.minimo-chamadas:10}") int minimoChamadas,
+                               @Value("${app.disjuntor.taxa-maxima-ruins:0.5}") double taxaMaximaRuins,
+                               @Value("${app.disjuntor.limiar-lentidao:2s}") Duration limiarLentidao,
+                               @Value("${app.disjuntor.tempo-aberto:10s}") Duration tempoAberto,
+                               @Value("${app.disjuntor.ultimos-valores.idade-maxima:1h}") Duration idadeMaxima,
+                               @Value("${app.disjuntor.ultimos-valores.tamanho-maximo:10000}") long tamanhoMaximo) {
+        this.coalescedor = coalescedor;
+        this.consultasExecutor = consultasExecutor;
+        this.registry = registry;
+        this.habilitado = habilitado;
+        this.disjuntor = new DisjuntorBanco(tamanhoJanela, minimoChamadas, taxaMaximaRuins,
+                limiarLentidao.toNanos(), tempoAberto.toNanos(), System::nanoTime);
+        this.ultimosValores = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(idadeMaxima)
+                .build();
+
+        Gauge.builder("produtos.disjuntor.estado", disjuntor, d -> d.estado().ordinal()).register(registry);
+    }
+
+    /**
+     * Executa a leitura protegida pelo disjuntor, servindo o último valor conhecido quando o banco está indisponível.
+     *
+     * @param operacao O nome da operação, usado na chave dos valores conhecidos e na coalescência.
+     * @param consulta A consulta a ser executada.
+     * @param parametros Os parâmetros que, junto com o nome, identificam a leitura.
+     *                   Devem implementar {@code equals} e {@code hashCode}. Valores {@code null} são permitidos.
+     * @param <T> O tipo do resultado da consulta.
+     * @return O resultado da consulta ou, com o banco indisponível, o último valor conhecido.
+     * @throws ServicoIndisponivelException Se o banco estiver indisponível e não houver valor conhecido.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String operacao, Supplier<T> consulta, Object... parametros) {
+        if (!habilitado) return coalescedor.executar(operacao, consulta, parametros);
+
+        List<Object> chave = chave(operacao, parametros);
+        Leitura leitura = new Leitura(chave, operacao, consulta, parametros);
+
+        if (!disjuntor.permitir()) return (T) servirDesatualizado(chave, null);
+
+        try {
+            return (T) leitura.get();
+        } catch (RuntimeException e) {
+            if (!falhaDeAcessoAoBanco(e)) throw e;
+            return (T) servirDesatualizado(chave, e);
+        }
+    }
+
+    /**
+     * Indica se o disjuntor está fechado, ou seja, se o banco vem respondendo normalmente.
+     * Usado para evitar consultas opcionais (ex: o pré-carregamento de páginas) enquanto o banco se recupera.
+     *
+     * @return {@code true} se o disjuntor estiver desabilitado ou fechado.
+     */
+    public boolean bancoDisponivel() {
+        return !habilitado || disjuntor.estado() == DisjuntorBanco.Estado.FECHADO;
+    }
+
+    /**
+     * Método auxiliar privado que serve o último valor conhecido da leitura, marcando a requisição como desatualizada.
+     *
+     * @param chave A chave da leitura.
+     * @param falha A falha da consulta, ou {@code null} se o disjuntor não permitiu a consulta.
+     * @return O último valor conhecido.
+     * @throws ServicoIndisponivelException Se não houver valor conhecido.
+     */
+    private Object servirDesatualizado(List<Object> chave, RuntimeException falha) {
+        ValorConhecido conhecido = ultimosValores.getIfPresent(chave);
+        if (conhecido == null) {
+            contar("recusada");
+            ServicoIndisponivelException indisponivel = new ServicoIndisponivelException(
+                    "Banco de dados indisponível. Tente novamente em instantes.", disjuntor.segundosAteNovaTentativa());
+            if (falha != null) indisponivel.initCause(falha);
+            throw indisponivel;
+        }
+
+        contar("desatualizada");
+        servidosDesatualizados.add(chave);
+        marcarRequisicao(conhecido.obtidoEm());
+        return conhecido.valor();
+    }
+
+    /**
+     * Método auxiliar privado que consulta novamente, em segundo plano e uma de cada vez, as leituras servidas
+     * desatualizadas. A atualização para se o disjuntor voltar a abrir.
+     */
+    private void revalidar() {
+        if (servidosDesatualizados.isEmpty()) return;
+
+        consultasExecutor.execute(() -> {
+            List<List<Object>> chaves = new ArrayList<>(servidosDesatualizados);
+            int atualizadas = 0;
+            for (List<Object> chave : chaves) {
+                ValorConhecido conhecido = ultimosValores.getIfPresent(chave);
+                servidosDesatualizados.remove(chave);
+                if (conhecido == null) continue;
+                if (!disjuntor.permitir()) break;
+                try {
+                    conhecido.leitura().get();
+                    atualizadas++;
+                } catch (RuntimeException e) {
+                    if (falhaDeAcessoAoBanco(e)) break;
+                    ultimosValores.invalidate(chave);
+                }
+            }
+            log.info("Banco de dados disponível novamente: {} leituras desatualizadas foram atualizadas.", atualizadas);
+        });
+    }
+
+    /**
+     * Executa uma tarefa, normalmente em outra thread, guardando no resultado, e não na requisição, a data do
+     * valor desatualizado mais antigo servido por ela. A tarefa não recebe os atributos da requisição, que podem
+     * já ter sido reciclados quando uma tarefa que excedeu o seu tempo limite terminar; cabe à thread da
+     * requisição aplicar a marcação com {@link #marcarDesatualizado}.
+     *
+     * @param tarefa A tarefa a ser executada.
+     * @param <T> O tipo do resultado da tarefa.
+     * @return O resultado da tarefa com a data do valor desatualizado mais antigo servido.
+     */
+    public static <T> LeituraMarcada<T> registrarDesatualizacao(Supplier<T> tarefa) {
+        Desatualizacao anterior = DESATUALIZACAO_DA_TAREFA.get();
+        Desatualizacao desatualizacao = new Desatualizacao();
+        DESATUALIZACAO_DA_TAREFA.set(desatualizacao);
+        try {
+            T valor = tarefa.get();
+            return new LeituraMarcada<>(valor, desatualizacao.desde);
+        } finally {
+            if (anterior != null) DESATUALIZACAO_DA_TAREFA.set(anterior);
+            else DESATUALIZACAO_DA_TAREFA.remove();
+        }
+    }
+
+    /**
+     * Método auxiliar privado que registra na tarefa ou na requisição atual a data do valor desatualizado mais
+     * antigo servido.
+     *
+     * @param obtidoEm A data em que o valor foi consultado no banco.
+     */
+    private void marcarRequisicao(Instant obtidoEm) {
+        Desatualizacao desatualizacao = DESATUALIZACAO_DA_TAREFA.get();
+        if (desatualizacao != null) desatualizacao.registrar(obtidoEm);
+        else marcarDesatualizado(obtidoEm);
+    }
+
+    /**
+     * Registra na requisição atual, se houver, a data do valor desatualizado mais antigo servido. Deve ser
+     * chamado na thread da requisição, por exemplo com o resultado de {@link #registrarDesatualizacao}.
+     *
+     * @param obtidoEm A data em que o valor foi consultado no banco, ou {@code null} se nenhum valor
+     *                 desatualizado foi servido.
+     */
+    public static void marcarDesatualizado(Instant obtidoEm) {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (obtidoEm == null || atributos == null) return;
+
+        Object atual = atributos.getAttribute(ATRIBUTO_DESATUALIZADO_DESDE, RequestAttributes.SCOPE_REQUEST);
+        if (atual instanceof Instant anterior && anterior.isBefore(obtidoEm)) return;
+        atributos.setAttribute(ATRIBUTO_DESATUALIZADO_DESDE, obtidoEm, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Método auxiliar privado que identifica as falhas causadas pelo banco de dados (conexão, pool, tempo
+     * esgotado), que contam para o disjuntor. Erros de negócio, como produto não encontrado, não contam.
+     *
+     * @param e A exceção lançada pela consulta.
+     * @return {@code true} se a falha indicar um problema de acesso ao banco.
+     */
+    private static boolean falhaDeAcessoAoBanco(RuntimeException e) {
+        return e instanceof DataAccessException || e instanceof TransactionException || e instanceof TempoEsgotadoException;
+    }
+
+    private static List<Object> chave(String operacao, Object[] parametros) {
+        Object[] chave = new Object[parametros.length + 1];
+        chave[0] = operacao;
+        System.arraycopy(parametros, 0, chave, 1, parametros.length);
+        return Arrays.asList(chave);
+    }
+
+    private void contar(String resultado) {
+        Counter.builder(METRICA_RESPOSTAS)
+                .tag("resultado", resultado)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Último valor conhecido de uma leitura.
+     *
+     * @param valor O resultado da consulta.
+     * @param obtidoEm A data em que o resultado foi consultado no banco.
+     * @param leitura A leitura que produziu o valor, usada para atualizá-lo quando o banco volta.
+     */
+    private record ValorConhecido(Object valor, Instant obtidoEm, Leitura leitura) {}
+
+    /**
+     * Leitura de uma operação com os seus parâmetros, executada por meio do coalescedor.
+     *
+     * <p>Somente a chamada que de fato consulta o banco executa {@link #consultarBanco()}, que registra o desfecho
+     * no disjuntor e guarda o resultado como último valor conhecido. As chamadas coalescidas recebem o resultado
+     * ou a exceção dessa consulta sem registrá-los.</p>
+     */
+    private final class Leitura implements Supplier<Object> {
+
+        private final List<Object> chave;
+        private final String operacao;
+        private final Supplier<?> consulta;
+        private final Object[] parametros;
+
+        private Leitura(List<Object> chave, String operacao, Supplier<?> consulta, Object[] parametros) {
+            this.chave = chave;
+            this.operacao = operacao;
+            this.consulta = consulta;
+            this.parametros = parametros;
+        }
+
+        @Override
+        public Object get() {
+            return coalescedor.executar(operacao, this::consultarBanco, parametros);
+        }
+
+        /**
+         * Executa a consulta no banco, registra o seu desfecho no disjuntor e guarda o resultado como último
+         * valor conhecido.
+         *
+         * @return O resultado da consulta.
+         */
+        private Object consultarBanco() {
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = consulta.get();
+            } catch (RuntimeException e) {
+                if (disjuntor.registrar(falhaDeAcessoAoBanco(e), System.nanoTime() - inicio)) revalidar();
+                throw e;
+            }
+
+            ultimosValores.put(chave, new ValorConhecido(resultado, Instant.now(), this));
+            if (disjuntor.registrar(false, System.nanoTime() - inicio)) revalidar();
+            return resultado;
+        }
+    }
+
+    /**
+     * Resultado de uma tarefa executada por {@link #registrarDesatualizacao}.
+     *
+     * @param valor O resultado da tarefa.
+     * @param desatualizadoDesde A data do valor desatualizado mais antigo servido, ou {@code null}.
+     * @param <T> O tipo do resultado da tarefa.
+     */
+    public record LeituraMarcada<T>(T valor, Instant desatualizadoDesde) {
+    }
+
+    /**
+     * Data do valor desatualizado mais antigo servido por uma tarefa, acessada apenas pela thread da tarefa.
+     */
+    private static final class Desatualizacao {
+
+        private Instant desde;
+
+        private void registrar(Instant obtidoEm) {
+            if (desde == null || obtidoEm.isBefore(desde)) desde = obtidoEm;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PainelDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.TotalProdutosDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.ServicoIndisponivelException;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.LeituraPrimariaFilter;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.LeiturasResilientes.LeituraMarcada;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável por montar o painel da tela inicial ({@code GET /produtos/painel}).
+ *
+ * <p>As quatro partes do painel (primeira página de ativos, primeira página de apagados, totais por categoria e
+ * alterações recentes) são consultadas ao mesmo tempo, cada uma em uma virtual thread do {@code consultasExecutor},
+ * de modo que o tempo de resposta é o da parte mais lenta, e não a soma das partes. Cada parte tem o seu próprio
+ * tempo limite ({@code app.painel.timeout-parte}), também aplicado como prazo dos seus comandos JDBC: uma parte
+ * que falha ou excede o limite é retornada como {@code null} e listada em {@code partesIndisponiveis}, sem
+ * derrubar as demais. Se nenhuma parte puder ser consultada, o painel responde 503.</p>
+ *
+ * <p>O prazo e a leitura no primário após uma escrita são capturados, como valores imutáveis, antes de cada
+ * parte ser disparada; as partes não recebem os atributos da requisição, que podem já ter sido reciclados quando
+ * uma parte que excedeu o tempo limite terminar. Cada parte devolve, junto com o resultado, a data do valor
+ * desatualizado mais antigo que serviu, e a marcação de dados desatualizados é aplicada na thread da requisição
+ * apenas para as partes aguardadas com sucesso. O resultado de cada parte é contado na métrica
+ * {@code produtos.painel.partes}.</p>
+ */
+@Service
+public class PainelService {
+
+    static final String ATIVOS = "ativos";
+    static final String APAGADOS = "apagados";
+    static final String TOTAIS_POR_CATEGORIA = "totaisPorCategoria";
+    static final String ALTERACOES_RECENTES = "alteracoesRecentes";
+
+    private static final Logger log = LoggerFactory.getLogger(PainelService.class);
+    private static final String ORDENACAO = "id,asc";
+    private static final int PARTES = 4;
+
+    private final ProdutoService produtoService;
+    private final Executor consultasExecutor;
+    private final MeterRegistry registry;
+    private final Duration timeoutParte;
+    private final int tamanhoPagina;
+    private final int alteracoesRecentes;
+
+    /**
+     * Construtor para injeção das dependências e configurações do painel.
+     *
+     * @param produtoService O serviço que consulta cada parte do painel.
+     * @param consultasExecutor O executor (virtual threads) em que as partes são consultadas.
+     * @param registry O registro de métricas da aplicação.
+     * @param timeoutParte O tempo máximo de cada parte.
+     * @param tamanhoPagina O tamanho das páginas de produtos ativos e apagados.
+     * @param alteracoesRecentes A quantidade de alterações recentes.
+     */
+    public PainelService(ProdutoService produtoService,
+                         @Qualifier("consultasExecutor") Executor consultasExecutor,
+                         MeterRegistry registry,
+                         @Value("${app.painel.timeout-parte:2s}") Duration timeoutParte,
+                         @Value("${app.painel.tamanho-pagina:20}") int tamanhoPagina,
+                         @Value("${app.painel.alteracoes-recentes:10}") int alteracoesRecentes) {
+        this.produtoService = produtoService;
+        this.consultasExecutor = consultasExecutor;
+        this.registry = registry;
+        this.timeoutParte = timeoutParte;
+        this.tamanhoPagina = tamanhoPagina;
+        this.alteracoesRecentes = alteracoesRecentes;
+    }
+
+    /**
+     * Monta o painel, consultando as partes em paralelo.
+     *
+     * @return Um {@code PainelDTO} com as partes consultadas e a lista das partes indisponíveis.
+     * @throws ServicoIndisponivelException Se nenhuma parte puder ser consultada.
+     */
+    public PainelDTO montar() {
+        Pageable primeiraPagina = PageRequest.of(0, tamanhoPagina);
+
+        CompletableFuture<LeituraMarcada<Page<ProdutoResponseDTO>>> ativos = iniciar(() ->
+                produtoService.findAllActive(null, null, null, ORDENACAO, primeiraPagina));
+        CompletableFuture<LeituraMarcada<Page<ProdutoResponseDTO>>> apagados = iniciar(() ->
+                produtoService.findAllDeleted(null, null, null, ORDENACAO, primeiraPagina));
+        CompletableFuture<LeituraMarcada<Map<Categorias, TotalProdutosDTO>>> totais = iniciar(produtoService::calcularTotaisPorCategoria);
+        CompletableFuture<LeituraMarcada<List<ProdutoResponseDTO>>> recentes = iniciar(() ->
+                produtoService.buscarAlteracoesRecentes(alteracoesRecentes));
+
+        List<String> indisponiveis = new ArrayList<>(PARTES);
+        PainelDTO painel = new PainelDTO(
+                aguardar(ATIVOS, ativos, indisponiveis),
+                aguardar(APAGADOS, apagados, indisponiveis),
+                aguardar(TOTAIS_POR_CATEGORIA, totais, indisponiveis),
+                aguardar(ALTERACOES_RECENTES, recentes, indisponiveis),
+                List.copyOf(indisponiveis));
+
+        if (indisponiveis.size() == PARTES)
+            throw new ServicoIndisponivelException("Nenhuma parte do painel pôde ser consultada. Tente novamente em instantes.", 1);
+        return painel;
+    }
+
+    /**
+     * Método auxiliar privado que inicia a consulta de uma parte em uma virtual thread, com o prazo e a leitura
+     * no primário da requisição atual e limitada ao tempo máximo da parte.
+     *
+     * @param consulta A consulta da parte.
+     * @param <T> O tipo do resultado da parte.
+     * @return A consulta em execução.
+     */
+    private <T> CompletableFuture<LeituraMarcada<T>> iniciar(Supplier<T> consulta) {
+        Supplier<LeituraMarcada<T>> tarefa = LeituraPrimariaFilter.propagar(PrazoRequisicaoInterceptor.propagar(
+                () -> LeiturasResilientes.registrarDesatualizacao(consulta), timeoutParte));
+        return CompletableFuture.supplyAsync(tarefa, consultasExecutor)
+                .orTimeout(timeoutParte.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Método auxiliar privado que aguarda o resultado de uma parte. Uma parte que falhou ou excedeu o tempo
+     * máximo é registrada como indisponível. Se a parte serviu valores desatualizados, a requisição é marcada.
+     *
+     * @param parte O nome da parte.
+     * @param futuro A consulta em execução.
+     * @param indisponiveis A lista das partes indisponíveis.
+     * @param <T> O tipo do resultado da parte.
+     * @return O resultado da parte, ou {@code null} se ela estiver indisponível.
+     */
+    private <T> T aguardar(String parte, CompletableFuture<LeituraMarcada<T>> futuro, List<String> indisponiveis) {
+        try {
+            LeituraMarcada<T> resultado = futuro.join();
+            LeiturasResilientes.marcarDesatualizado(resultado.desatualizadoDesde());
+            contar(parte, "ok");
+            return resultado.valor();
+        } catch (CompletionException | CancellationException e) {
+            Throwable causa = e.getCause() != null ? e.getCause() : e;
+            boolean esgotada = causa instanceof TimeoutException || causa instanceof QueryTimeoutException;
+            if (!esgotada) log.warn("Parte {} do painel indisponível: {}", parte, causa.toString());
+            contar(parte, esgotada ? "esgotada" : "falha");
+            indisponiveis.add(parte);
+            return null;
+        }
+    }
+
+    private void contar(String parte, String resultado) {
+        Counter.builder("produtos.painel.partes").tag("parte", parte).tag("resultado", resultado)
+                .register(registry).increment();
+    }
+}
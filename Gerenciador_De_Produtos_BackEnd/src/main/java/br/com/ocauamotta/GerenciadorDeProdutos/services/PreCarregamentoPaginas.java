@@ -0,0 +1,246 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.ControleAdmissaoFilter;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.LeituraPrimariaFilter;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pré-carregamento especulativo da próxima página da listagem de produtos ativos.
+ *
+ * <p>Quando habilitado ({@code app.pre-carregamento.habilitado=true}), cada página servida pelo banco agenda a
+ * consulta da página seguinte, com os mesmos filtros, ordenação e tamanho, e guarda o resultado por um curto período
+ * ({@code app.pre-carregamento.validade}). Como quem percorre a listagem quase sempre pede a página seguinte, ela
+ * é então servida sem consultar o banco, e agenda por sua vez a próxima.</p>
+ *
+ * <p>O pré-carregamento só usa a capacidade que está sobrando: é ignorado quando já há
+ * {@code app.pre-carregamento.maximo-simultaneos} consultas de pré-carregamento em andamento, quando a ocupação do
+ * limite de concorrência do {@code ControleAdmissaoFilter} passa de {@code app.pre-carregamento.ocupacao-maxima}
+ * ou quando o disjuntor do banco não está fechado. Qualquer gravação, desta ou de outra instância, descarta as
+ * páginas guardadas, e uma página consultada antes de uma gravação não é guardada depois dela.</p>
+ *
+ * <p>A métrica {@code produtos.pre-carregamento.leituras} conta as páginas atendidas pelo pré-carregamento
+ * ({@code acerto}) ou pelo banco ({@code falta}), e {@code produtos.pre-carregamento.paginas} conta as páginas
+ * carregadas, usadas, ignoradas ou com falha: a razão entre usadas e carregadas indica se o pré-carregamento
+ * está compensando.</p>
+ */
+@Component
+public class PreCarregamentoPaginas {
+
+    private static final Logger log = LoggerFactory.getLogger(PreCarregamentoPaginas.class);
+    private static final String METRICA_LEITURAS = "produtos.pre-carregamento.leituras";
+    private static final String METRICA_PAGINAS = "produtos.pre-carregamento.paginas";
+
+    private final Executor consultasExecutor;
+    private final ControleAdmissaoFilter admissao;
+    private final LeiturasResilientes leituras;
+    private final MeterRegistry registry;
+    private final boolean habilitado;
+    private final Duration validade;
+    private final double ocupacaoMaxima;
+    private final Semaphore vagas;
+    private final Cache<Chave, Entrada> paginas;
+    private final Set<Chave> emAndamento = ConcurrentHashMap.newKeySet();
+
+    private final Object trava = new Object();
+    private long geracao = 0L;
+
+    /**
+     * Construtor para injeção das dependências e das configurações do pré-carregamento.
+     *
+     * @param consultasExecutor O executor (virtual threads) em que as páginas são consultadas.
+     * @param admissao O filtro de admissão, cuja ocupação indica se há capacidade sobrando.
+     * @param leituras A camada de resiliência das leituras, cujo disjuntor indica se o banco está respondendo.
+     * @param registry O registro de métricas da aplicação.
+     * @param habilitado Indica se as próximas páginas devem ser pré-carregadas.
+     * @param validade Por quanto tempo uma página pré-carregada pode ser servida.
+     * @param maximoSimultaneos A quantidade máxima de páginas sendo pré-carregadas ao mesmo tempo.
+     * @param ocupacaoMaxima A ocupação do limite de concorrência a partir da qual o pré-carregamento é ignorado.
+     * @param tamanhoMaximo A quantidade máxima de páginas guardadas.
+     */
+    public PreCarregamentoPaginas(@Qualifier("consultasExecutor") Executor consultasExecutor,
+                                  ControleAdmissaoFilter admissao,
+                                  LeiturasResilientes leituras,
+                                  MeterRegistry registry,
+                                  @Value("${app.pre-carregamento.habilitado:false}") boolean habilitado,
+                                  @Value("${app.pre-carregamento.validade:10s}") Duration validade,
+                                  @Value("${app.pre-carregamento.maximo-simultaneos:4}") int maximoSimultaneos,
+                                  @Value("${app.pre-carregamento.ocupacao-maxima:0.5}") double ocupacaoMaxima,
+                                  @Value("${app.pre-carregamento.tamanho-maximo:1000}") long tamanhoMaximo) {
+        this.consultasExecutor = consultasExecutor;
+        this.admissao = admissao;
+        this.leituras = leituras;
+        this.registry = registry;
+        this.habilitado = habilitado;
+        this.validade = validade;
+        this.ocupacaoMaxima = ocupacaoMaxima;
+        this.vagas = new Semaphore(maximoSimultaneos);
+        this.paginas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(validade)
+                .build();
+    }
+
+    /**
+     * Busca uma página de produtos ativos entre as páginas pré-carregadas.
+     * Requisições que devem ler do banco primário, logo após uma escrita do próprio cliente, não usam as páginas
+     * pré-carregadas, que podem ter sido lidas de uma réplica.
+     *
+     * @param categoria Categoria opcional dos produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação.
+     * @param pageable  Objeto de paginação.
+     * @return Um {@code Optional} com a página pré-carregada, ou vazio se ela não tiver sido pré-carregada.
+     */
+    public Optional<Page<ProdutoResponseDTO>> buscar(String categoria, Integer precoMin, Integer precoMax,
+                                                     String sort, Pageable pageable) {
+        if (!habilitado || pageable.isUnpaged() || LeituraPrimariaFilter.leituraNoPrimario()) return Optional.empty();
+
+        Entrada entrada = paginas.getIfPresent(new Chave(categoria, precoMin, precoMax, sort, pageable));
+        contar(METRICA_LEITURAS, entrada != null ? "acerto" : "falta");
+        if (entrada == null) return Optional.empty();
+
+        if (!entrada.usada) {
+            entrada.usada = true;
+            contar(METRICA_PAGINAS, "usada");
+        }
+        return Optional.of(entrada.pagina);
+    }
+
+    /**
+     * Agenda, se houver capacidade sobrando, o pré-carregamento da página seguinte à página servida.
+     *
+     * @param categoria Categoria opcional dos produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação.
+     * @param pageable  Objeto de paginação da página servida.
+     * @param servida   A página servida.
+     * @param consulta  A consulta ao banco de uma página com os mesmos filtros, a partir do seu objeto de paginação.
+     */
+    public void agendarProxima(String categoria, Integer precoMin, Integer precoMax, String sort, Pageable pageable,
+                               Page<ProdutoResponseDTO> servida, Function<Pageable, Page<ProdutoResponseDTO>> consulta) {
+        if (!habilitado || pageable.isUnpaged() || !servida.hasNext()) return;
+
+        Chave proxima = new Chave(categoria, precoMin, precoMax, sort, pageable.next());
+        if (paginas.getIfPresent(proxima) != null || !emAndamento.add(proxima)) return;
+
+        if (!leituras.bancoDisponivel() || admissao.ocupacao() >= ocupacaoMaxima || !vagas.tryAcquire()) {
+            emAndamento.remove(proxima);
+            contar(METRICA_PAGINAS, "ignorada");
+            return;
+        }
+
+        long geracaoInicial;
+        synchronized (trava) {
+            geracaoInicial = geracao;
+        }
+        Supplier<Void> tarefa = LeituraPrimariaFilter.propagar(PrazoRequisicaoInterceptor.propagar(() -> {
+            carregar(proxima, geracaoInicial, consulta);
+            return null;
+        }, validade));
+        try {
+            consultasExecutor.execute(tarefa::get);
+        } catch (RejectedExecutionException e) {
+            emAndamento.remove(proxima);
+            vagas.release();
+            contar(METRICA_PAGINAS, "ignorada");
+        }
+    }
+
+    /**
+     * Descarta as páginas pré-carregadas após uma gravação desta instância.
+     *
+     * @param evento O evento de alteração publicado pelo {@code ProdutoService}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void descartar(ProdutoAlteradoEvent evento) {
+        descartarTodas();
+    }
+
+    /**
+     * Descarta as páginas pré-carregadas após gravações de outras instâncias.
+     *
+     * @param evento O lote de invalidações recebido pela {@code InvalidacaoDistribuida}.
+     */
+    @EventListener
+    public void descartar(InvalidacaoRecebidaEvent evento) {
+        descartarTodas();
+    }
+
+    /**
+     * Método auxiliar privado que consulta a página e a guarda, se nenhuma gravação tiver ocorrido desde o
+     * agendamento. Executado no {@code consultasExecutor}.
+     *
+     * @param chave A chave da página.
+     * @param geracaoInicial A geração das páginas no momento do agendamento.
+     * @param consulta A consulta da página.
+     */
+    private void carregar(Chave chave, long geracaoInicial, Function<Pageable, Page<ProdutoResponseDTO>> consulta) {
+        try {
+            Page<ProdutoResponseDTO> pagina = consulta.apply(chave.pageable());
+            synchronized (trava) {
+                if (geracao != geracaoInicial) return;
+                paginas.put(chave, new Entrada(pagina));
+            }
+            contar(METRICA_PAGINAS, "carregada");
+        } catch (RuntimeException e) {
+            log.debug("Falha ao pré-carregar a página {}: {}", chave, e.toString());
+            contar(METRICA_PAGINAS, "falha");
+        } finally {
+            emAndamento.remove(chave);
+            vagas.release();
+        }
+    }
+
+    private void descartarTodas() {
+        if (!habilitado) return;
+
+        synchronized (trava) {
+            geracao++;
+            paginas.invalidateAll();
+        }
+    }
+
+    private void contar(String metrica, String resultado) {
+        Counter.builder(metrica).tag("resultado", resultado).register(registry).increment();
+    }
+
+    private record Chave(String categoria, Integer precoMin, Integer precoMax, String sort, Pageable pageable) {
+    }
+
+    private static final class Entrada {
+        private final Page<ProdutoResponseDTO> pagina;
+        private volatile boolean usada;
+
+        private Entrada(Page<ProdutoResponseDTO> pagina) {
+            this.pagina = pagina;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serviço responsável pelo stream de eventos (Server-Sent Events) de alterações de produtos.
+ *
+ * <p>Recebe os eventos {@code ProdutoAlteradoEvent} publicados pelo {@code ProdutoService} e os repassa
+ * aos assinantes conectados em {@code GET /produtos/eventos}. Um assinante ocioso não ocupa nenhuma thread:
+ * a conexão fica em modo assíncrono no servidor e os envios são feitos por tarefas curtas em virtual threads,
+ * disparadas apenas quando há eventos na fila do assinante.</p>
+ *
+ * <p>Cada assinante possui uma fila limitada. Um consumidor lento que deixa a fila encher é desconectado,
+ * e ao reconectar com o cabeçalho {@code Last-Event-ID} recebe os eventos perdidos a partir do feed de alterações
+ * gravado no banco (colunas {@code sequencia} e {@code transacao}), e não de um histórico em memória: a retomada
+ * funciona em qualquer instância, inclusive para as alterações feitas pelas outras. Cada produto alterado é
+ * reenviado uma vez, com o seu estado atual. Quando há mais de {@value #CAPACIDADE_REENVIO} produtos alterados
+ * após o evento informado, o assinante recebe um evento {@code reiniciar}, indicando que deve recarregar os
+ * dados pelos endpoints de listagem ou de alterações.</p>
+ *
+ * <p>Enquanto os eventos perdidos são consultados, o assinante já está registrado e os eventos novos ficam
+ * retidos; ao final, os retidos são enfileirados após os reenviados, exceto os de produtos já reenviados com
+ * uma alteração igual ou mais recente. Como a sequência é obtida antes do commit, uma alteração confirmada
+ * depois de uma de sequência maior, já recebida pelo cliente antes de desconectar, não é reenviada: para
+ * uma sincronização sem lacunas, use o feed de alterações ({@code GET /produtos/alteracoes}).</p>
+ *
+ * <p>O {@code lock} protege apenas o registro dos assinantes e os eventos retidos: nenhuma chamada ao
+ * {@code SseEmitter} nem ao banco é feita com ele adquirido, já que {@code complete()} e {@code send()}
+ * sincronizam no próprio emitter e podem aguardar o container. O encerramento de um assinante é feito pela
+ * tarefa de envio, em uma virtual thread.</p>
+ */
+@Service
+public class ProdutoEventosService {
+
+    private static final int CAPACIDADE_REENVIO = 1000;
+    private static final int CAPACIDADE_FILA_ASSINANTE = 256;
+    private static final Duration TEMPO_MAXIMO_CONEXAO = Duration.ofMinutes(30);
+    private static final long INTERVALO_RECONEXAO_MS = 3000;
+    private static final String EVENTO_REINICIAR = "reiniciar";
+
+    private final ProdutoService produtoService;
+    private final Executor consultasExecutor;
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Construtor para injeção das dependências do serviço.
+     *
+     * @param produtoService O serviço que consulta no banco os eventos perdidos pelos assinantes.
+     * @param consultasExecutor O executor de virtual threads da aplicação, usado nos envios aos assinantes.
+     */
+    public ProdutoEventosService(ProdutoService produtoService, @Qualifier("consultasExecutor") Executor consultasExecutor) {
+        this.produtoService = produtoService;
+        this.consultasExecutor = consultasExecutor;
+    }
+
+    /**
+     * Registra um novo assinante do stream de eventos de produtos.
+     * Quando {@code ultimoEventoId} é informado, as alterações posteriores a ele são consultadas no banco
+     * e reenviadas antes dos eventos novos.
+     *
+     * @param categoria      (Opcional) O nome da categoria a ser filtrada.
+     * @param ultimoEventoId (Opcional) O ID do último evento recebido pelo cliente (cabeçalho {@code Last-Event-ID}).
+     * @return O {@code SseEmitter} da conexão do assinante.
+     * @throws BadRequestException Se a categoria informada for inválida.
+     */
+    public SseEmitter assinar(String categoria, Long ultimoEventoId) {
+        Categorias filtro = null;
+        if (categoria != null && !categoria.isBlank()) {
+            try {
+                filtro = Categorias.fromString(categoria);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(TEMPO_MAXIMO_CONEXAO.toMillis());
+        Assinante assinante = new Assinante(emitter, filtro);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(e -> assinantes.remove(assinante));
+
+        assinante.enfileirar(SseEmitter.event().reconnectTime(INTERVALO_RECONEXAO_MS).comment("conectado"));
+
+        lock.lock();
+        try {
+            if (ultimoEventoId != null) assinante.retidos = new ArrayList<>();
+            assinantes.add(assinante);
+        } finally {
+            lock.unlock();
+        }
+
+        if (ultimoEventoId != null) reenviarPerdidos(assinante, ultimoEventoId);
+        return emitter;
+    }
+
+    /**
+     * Recebe um evento de alteração de produto e o enfileira para os assinantes cujo filtro de categoria
+     * corresponde à categoria atual ou anterior do produto.
+     * Executado somente após o commit da transação, quando houver uma.
+     *
+     * @param evento O evento publicado pelo {@code ProdutoService}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(ProdutoAlteradoEvent evento) {
+        lock.lock();
+        try {
+            for (Assinante assinante : assinantes) {
+                if (assinante.aceita(evento)) assinante.receber(evento);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Envia periodicamente um comentário a todos os assinantes, mantendo as conexões ociosas abertas
+     * em proxies e liberando rapidamente os assinantes cujos clientes já se desconectaram.
+     */
+    @Scheduled(fixedRate = 30000, initialDelay = 30000)
+    public void enviarHeartbeat() {
+        for (Assinante assinante : assinantes) {
+            assinante.enfileirar(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    /**
+     * Retorna a quantidade de assinantes conectados no momento.
+     *
+     * @return O número de assinantes ativos.
+     */
+    public int quantidadeDeAssinantes() {
+        return assinantes.size();
+    }
+
+    /**
+     * Encerra todas as conexões abertas no desligamento da aplicação,
+     * permitindo que os clientes reconectem em outra instância.
+     */
+    @PreDestroy
+    public void encerrar() {
+        List<Assinante> conectados = new ArrayList<>(assinantes);
+        assinantes.clear();
+        conectados.forEach(a -> a.emitter.complete());
+    }
+
+    /**
+     * Método auxiliar privado que reenvia ao assinante as alterações gravadas no banco após o último evento
+     * recebido e, em seguida, os eventos retidos durante a consulta, descartando os de produtos já reenviados
+     * com uma alteração igual ou mais recente. Se a consulta falhar, o assinante é removido e a exceção é
+     * repassada, para que o cliente tente reconectar.
+     *
+     * @param assinante      O assinante que está reconectando.
+     * @param ultimoEventoId O ID do último evento recebido pelo cliente.
+     */
+    private void reenviarPerdidos(Assinante assinante, long ultimoEventoId) {
+        List<ProdutoAlteradoEvent> perdidos;
+        try {
+            perdidos = produtoService.buscarAlteracoesAposSequencia(ultimoEventoId, CAPACIDADE_REENVIO + 1);
+        } catch (RuntimeException e) {
+            assinantes.remove(assinante);
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            Map<Long, Long> reenviados = new HashMap<>();
+            if (perdidos.size() > CAPACIDADE_REENVIO) {
+                assinante.enfileirar(SseEmitter.event().name(EVENTO_REINICIAR).data(ultimoEventoId));
+            } else {
+                for (ProdutoAlteradoEvent evento : perdidos) {
+                    reenviados.put(evento.produto().id(), evento.sequencia());
+                    if (assinante.aceita(evento)) assinante.enfileirar(paraSse(evento));
+                }
+            }
+
+            List<ProdutoAlteradoEvent> retidos = assinante.retidos;
+            assinante.retidos = null;
+            for (ProdutoAlteradoEvent evento : retidos) {
+                Long reenviado = reenviados.get(evento.produto().id());
+                if (reenviado == null || reenviado < evento.sequencia()) assinante.enfileirar(paraSse(evento));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Método auxiliar privado para converter um {@code ProdutoAlteradoEvent} em um evento SSE.
+     * O ID do evento é a sequência da alteração e o nome é o tipo da alteração em minúsculas.
+     *
+     * @param evento O evento de alteração de produto.
+     * @return O {@code SseEventBuilder} pronto para envio.
+     */
+    private SseEmitter.SseEventBuilder paraSse(ProdutoAlteradoEvent evento) {
+        return SseEmitter.event()
+                .id(String.valueOf(evento.sequencia()))
+                .name(evento.tipo().name().toLowerCase())
+                .data(evento.produto(), MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Representa uma conexão do stream de eventos, com seu filtro de categoria e sua fila limitada de envio.
+     * A fila é drenada por no máximo uma tarefa por vez, garantindo a ordem dos eventos.
+     */
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final Categorias filtro;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> fila = new ArrayBlockingQueue<>(CAPACIDADE_FILA_ASSINANTE);
+        private final AtomicBoolean enviando = new AtomicBoolean(false);
+        private final AtomicBoolean desconectado = new AtomicBoolean(false);
+        private List<ProdutoAlteradoEvent> retidos;
+
+        private Assinante(SseEmitter emitter, Categorias filtro) {
+            this.emitter = emitter;
+            this.filtro = filtro;
+        }
+
+        private boolean aceita(ProdutoAlteradoEvent evento) {
+            return filtro == null
+                    || filtro == evento.produto().categoria()
+                    || filtro == evento.categoriaAnterior();
+        }
+
+        /**
+         * Enfileira um evento novo ou, enquanto os eventos perdidos são consultados, retém-no até o fim do
+         * reenvio. Deve ser chamado com o {@code lock} adquirido.
+         */
+        private void receber(ProdutoAlteradoEvent evento) {
+            if (retidos == null) {
+                enfileirar(paraSse(evento));
+            } else if (retidos.size() == CAPACIDADE_FILA_ASSINANTE) {
+                desconectar();
+            } else {
+                retidos.add(evento);
+            }
+        }
+
+        private void enfileirar(SseEmitter.SseEventBuilder evento) {
+            if (desconectado.get()) return;
+            if (!fila.offer(evento)) {
+                desconectar();
+                return;
+            }
+            agendarEnvio();
+        }
+
+        /**
+         * Marca o assinante como desconectado e o remove, sem tocar no emitter: pode ser chamado com o
+         * {@code lock} adquirido. A conexão é encerrada pela tarefa de envio ({@link #drenar()}).
+         */
+        private void desconectar() {
+            if (!desconectado.compareAndSet(false, true)) return;
+            assinantes.remove(this);
+            fila.clear();
+            agendarEnvio();
+        }
+
+        private void agendarEnvio() {
+            if (enviando.compareAndSet(false, true)) consultasExecutor.execute(this::drenar);
+        }
+
+        private void drenar() {
+            try {
+                SseEmitter.SseEventBuilder evento;
+                while (!desconectado.get() && (evento = fila.poll()) != null) emitter.send(evento);
+            } catch (IOException | IllegalStateException e) {
+                desconectado.set(true);
+                assinantes.remove(this);
+                fila.clear();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                enviando.set(false);
+            }
+            if (desconectado.get()) {
+                emitter.complete();
+            } else if (!fila.isEmpty()) {
+                agendarEnvio();
+            }
+        }
+    }
+}
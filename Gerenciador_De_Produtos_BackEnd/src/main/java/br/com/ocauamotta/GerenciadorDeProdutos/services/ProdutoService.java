@@ -1,24 +1,64 @@
 package br.com.ocauamotta.GerenciadorDeProdutos.services;
 
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.AlteracoesDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.FaixaPrecoDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.HistogramaPrecoDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PaginaCursorDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoPorIdDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoRequestDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutosComFacetasDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.TotalProdutosDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.OrdemTopProdutos;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
 import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.BadRequestException;
 import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.EntityNotFoundException;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
 import br.com.ocauamotta.GerenciadorDeProdutos.mappers.ProdutoMapper;
 import br.com.ocauamotta.GerenciadorDeProdutos.models.Produto;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.ContagemCategoriaProjection;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.FaixaPrecoProjection;
 import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.MarcaAlteracaoProjection;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.ProdutoRelevanciaProjection;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.TotalCategoriaProjection;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Classe de Serviço responsável por implementar as regras de negócio
@@ -27,15 +67,54 @@ import java.util.List;
 @Service
 public class ProdutoService {
 
+    private static final int TAMANHO_MINIMO_TERMO = 3;
+    private static final int TAMANHO_MAXIMO_PAGINA_BUSCA = 100;
+    private static final int MAXIMO_FAIXAS_HISTOGRAMA = 100;
+
+    private static final String FACETA_CATEGORIA = "categoria";
+    private static final List<String> CAMPOS_PRODUTO = List.of(
+            "id", "nome", "preco", "categoria", "createdAt", "updatedAt", "deletedAt");
+    private static final int TAMANHO_MAXIMO_LOTE_ALTERACOES = 1000;
+    private static final int TAMANHO_MAXIMO_ALTERACOES_RECENTES = 100;
+    private static final int MAXIMO_TOP_POR_CATEGORIA = 50;
+    private static final String TODAS_AS_CATEGORIAS = Arrays.stream(Categorias.values())
+            .map(categoria -> String.valueOf(categoria.getCodigo()))
+            .collect(Collectors.joining(","));
+
+    @Value("${app.produtos.limite-busca-por-ids:100}")
+    private int limiteBuscaPorIds = 100;
+
     private final IProdutoRepository repository;
+    private final Executor consultasExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LeiturasResilientes leituras;
+    private final CatalogoEmMemoria catalogo;
+    private final PreCarregamentoPaginas preCarregamento;
+    private final AtomicLong versaoCatalogo = new AtomicLong();
 
     /**
      * Construtor para injeção de dependência do repositório de produtos.
      *
      * @param repository O repositório responsável pela persistência dos dados de {@code Produto}.
+     * @param consultasExecutor O executor usado para consultas executadas em paralelo à consulta principal.
+     * @param eventPublisher O publicador dos eventos de alteração de produtos.
+     * @param leituras O componente que une leituras idênticas e simultâneas em uma única ida ao banco e as atende
+     *                 com os últimos valores conhecidos quando o banco está indisponível.
+     * @param catalogo O modelo de leitura em memória, usado nas listagens e no total quando habilitado.
+     * @param preCarregamento O pré-carregamento especulativo da próxima página de produtos ativos.
      */
-    public ProdutoService(IProdutoRepository repository) {
+    public ProdutoService(IProdutoRepository repository,
+                          @Qualifier("consultasExecutor") Executor consultasExecutor,
+                          ApplicationEventPublisher eventPublisher,
+                          LeiturasResilientes leituras,
+                          CatalogoEmMemoria catalogo,
+                          PreCarregamentoPaginas preCarregamento) {
         this.repository = repository;
+        this.consultasExecutor = consultasExecutor;
+        this.eventPublisher = eventPublisher;
+        this.leituras = leituras;
+        this.catalogo = catalogo;
+        this.preCarregamento = preCarregamento;
     }
 
     /**
@@ -44,11 +123,26 @@ public class ProdutoService {
      * Produtos logicamente excluídos (com {@code deletedAt} preenchido) são ignorados.
      *
      * <p>Se não houver produtos ativos, o total de produtos e o preço médio retornados serão zero.</p>
+     * <p>Chamadas simultâneas para a mesma categoria compartilham uma única consulta ao banco e, com o banco
+     * indisponível, o último total conhecido é retornado.
+     * Com o {@code CatalogoEmMemoria} habilitado, o cálculo é feito sem consultar o banco.</p>
      *
      * @return Um {@code TotalProdutosDTO} contendo a quantidade total de produtos ativos
      * e o preço médio.
      */
     public TotalProdutosDTO calcularTotalDeProdutos(String categoria) {
+        if (catalogo.disponivel())
+            return catalogo.calcularTotal(categoria != null ? Categorias.fromString(categoria) : null);
+        return leituras.executar("calcularTotal", () -> consultarTotalDeProdutos(categoria), categoria);
+    }
+
+    /**
+     * Método auxiliar privado que consulta o banco e calcula o total e o preço médio dos produtos ativos.
+     *
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @return Um {@code TotalProdutosDTO} com a quantidade de produtos ativos e o preço médio.
+     */
+    private TotalProdutosDTO consultarTotalDeProdutos(String categoria) {
         List<Produto> produtos;
         if (categoria != null) {
             produtos = repository.findAllByDeletedAtIsNullAndCategoria(Categorias.fromString(categoria));
@@ -63,19 +157,95 @@ public class ProdutoService {
         return new TotalProdutosDTO(qntProdutos, precoMedio);
     }
 
+    /**
+     * Calcula, para cada categoria, o total de produtos ativos e o preço médio desses produtos.
+     * Categorias sem produtos ativos são retornadas com total e preço médio zero.
+     *
+     * <p>O cálculo é feito pelo banco em uma única consulta agrupada e, com o banco indisponível,
+     * os últimos totais conhecidos são retornados.
+     * Com o {@code CatalogoEmMemoria} habilitado, o cálculo é feito sem consultar o banco.</p>
+     *
+     * @return Um {@code Map} com um {@code TotalProdutosDTO} para cada categoria, na ordem do enum {@code Categorias}.
+     */
+    public Map<Categorias, TotalProdutosDTO> calcularTotaisPorCategoria() {
+        Map<Categorias, TotalProdutosDTO> totais = new EnumMap<>(Categorias.class);
+        if (catalogo.disponivel()) {
+            for (Categorias categoria : Categorias.values()) totais.put(categoria, catalogo.calcularTotal(categoria));
+            return totais;
+        }
+
+        List<TotalCategoriaProjection> resultado = leituras.executar("calcularTotaisPorCategoria",
+                repository::totalizarAtivosPorCategoria);
+        for (Categorias categoria : Categorias.values()) totais.put(categoria, new TotalProdutosDTO(0, 0));
+        for (TotalCategoriaProjection total : resultado) {
+            totais.put(total.getCategoria(), new TotalProdutosDTO(total.getQuantidade().intValue(),
+                    total.getPrecoMedio() != null ? total.getPrecoMedio().intValue() : 0));
+        }
+        return totais;
+    }
+
     /**
      * Busca todos os produtos ativos (aqueles que possuem {@code deletedAt} null),
-     * podendo filtrar por categoria e ordenar de acordo com o parâmetro {@code sort}.
+     * podendo filtrar por categoria e faixa de preço e ordenar de acordo com o parâmetro {@code sort}.
+     *
+     * <p>Chamadas simultâneas com os mesmos parâmetros compartilham uma única consulta ao banco e, com o banco
+     * indisponível, a última página conhecida é retornada.
+     * Com o {@code CatalogoEmMemoria} habilitado, a página é montada sem consultar o banco. Caso contrário, com o
+     * {@code PreCarregamentoPaginas} habilitado, a página seguinte é consultada em segundo plano, e a página pode
+     * ser servida sem consultar o banco se tiver sido pré-carregada.</p>
      *
      * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
      * @param sort      Campo e direção de ordenação (ex: "preco,asc" ou "preco,desc").
      * @param pageable  Objeto de paginação.
      * @return Uma {@code Page} de {@code ProdutoResponseDTO} dos produtos ativos.
+     * @throws BadRequestException Se o preço mínimo for maior que o preço máximo.
      */
-    public Page<ProdutoResponseDTO> findAllActive(String categoria, String sort, Pageable pageable) {
+    public Page<ProdutoResponseDTO> findAllActive(String categoria, Integer precoMin, Integer precoMax, String sort, Pageable pageable) {
+        if (catalogo.disponivel()) {
+            Optional<Page<ProdutoResponseDTO>> pagina = buscarNoCatalogo(false, categoria, precoMin, precoMax, sort, pageable);
+            if (pagina.isPresent()) return pagina.get();
+        }
+
+        Page<ProdutoResponseDTO> pagina = preCarregamento.buscar(categoria, precoMin, precoMax, sort, pageable)
+                .orElseGet(() -> leituras.executar("findAllActive",
+                        () -> consultarAtivos(categoria, precoMin, precoMax, sort, pageable),
+                        categoria, precoMin, precoMax, sort, pageable));
+        preCarregamento.agendarProxima(categoria, precoMin, precoMax, sort, pageable, pagina,
+                proxima -> consultarAtivos(categoria, precoMin, precoMax, sort, proxima));
+        return pagina;
+    }
+
+    /**
+     * Método auxiliar privado que consulta uma página de produtos ativos no banco.
+     * Chamado por {@link #findAllActive}, que une chamadas simultâneas com os mesmos parâmetros.
+     *
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação.
+     * @param pageable  Objeto de paginação.
+     * @return Uma {@code Page} de {@code ProdutoResponseDTO} dos produtos ativos.
+     */
+    private Page<ProdutoResponseDTO> consultarAtivos(String categoria, Integer precoMin, Integer precoMax, String sort, Pageable pageable) {
         Pageable sortedPageable = sortPage(pageable, sort);
+        boolean filtraCategoria = categoria != null && !categoria.isBlank();
 
-        if (categoria != null && !categoria.isBlank()) {
+        if (precoMin != null || precoMax != null) {
+            validarFaixaDePreco(precoMin, precoMax);
+            int min = precoMin != null ? precoMin : 0;
+            int max = precoMax != null ? precoMax : Integer.MAX_VALUE;
+
+            if (filtraCategoria) {
+                return repository.findAllByDeletedAtIsNullAndCategoriaAndPrecoBetween(Categorias.fromString(categoria), min, max, sortedPageable)
+                        .map(ProdutoMapper::toResponseDTO);
+            }
+            return repository.findAllByDeletedAtIsNullAndPrecoBetween(min, max, sortedPageable)
+                    .map(ProdutoMapper::toResponseDTO);
+        }
+
+        if (filtraCategoria) {
             return repository.findAllByDeletedAtIsNullAndCategoria(Categorias.fromString(categoria), sortedPageable)
                     .map(ProdutoMapper::toResponseDTO);
         } else {
@@ -86,17 +256,57 @@ public class ProdutoService {
 
     /**
      * Busca todos os produtos deletados,
-     * podendo filtrar por categoria e ordenar de acordo com o parâmetro {@code sort}.
+     * podendo filtrar por categoria e faixa de preço e ordenar de acordo com o parâmetro {@code sort}.
+     * Com o {@code CatalogoEmMemoria} habilitado, a página é montada sem consultar o banco.
+     * Com o banco indisponível, a última página conhecida é retornada.
      *
      * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
      * @param sort      Campo e direção de ordenação (ex: "preco,asc" ou "preco,desc").
      * @param pageable  Objeto de paginação.
      * @return Uma {@code Page} de {@code ProdutoResponseDTO} dos produtos deletados.
+     * @throws BadRequestException Se o preço mínimo for maior que o preço máximo.
      */
-    public Page<ProdutoResponseDTO> findAllDeleted(String categoria, String sort, Pageable pageable) {
+    public Page<ProdutoResponseDTO> findAllDeleted(String categoria, Integer precoMin, Integer precoMax, String sort, Pageable pageable) {
+        if (catalogo.disponivel()) {
+            Optional<Page<ProdutoResponseDTO>> pagina = buscarNoCatalogo(true, categoria, precoMin, precoMax, sort, pageable);
+            if (pagina.isPresent()) return pagina.get();
+        }
+        return leituras.executar("findAllDeleted",
+                () -> consultarApagados(categoria, precoMin, precoMax, sort, pageable),
+                categoria, precoMin, precoMax, sort, pageable);
+    }
+
+    /**
+     * Método auxiliar privado que consulta uma página de produtos deletados no banco.
+     * Chamado por {@link #findAllDeleted}.
+     *
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação.
+     * @param pageable  Objeto de paginação.
+     * @return Uma {@code Page} de {@code ProdutoResponseDTO} dos produtos deletados.
+     */
+    private Page<ProdutoResponseDTO> consultarApagados(String categoria, Integer precoMin, Integer precoMax, String sort, Pageable pageable) {
         Pageable sortedPageable = sortPage(pageable, sort);
+        boolean filtraCategoria = categoria != null && !categoria.isBlank();
 
-        if (categoria != null && !categoria.isBlank()) {
+        if (precoMin != null || precoMax != null) {
+            validarFaixaDePreco(precoMin, precoMax);
+            int min = precoMin != null ? precoMin : 0;
+            int max = precoMax != null ? precoMax : Integer.MAX_VALUE;
+
+            if (filtraCategoria) {
+                return repository.findAllByDeletedAtIsNotNullAndCategoriaAndPrecoBetween(Categorias.fromString(categoria), min, max, sortedPageable)
+                        .map(ProdutoMapper::toResponseDTO);
+            }
+            return repository.findAllByDeletedAtIsNotNullAndPrecoBetween(min, max, sortedPageable)
+                    .map(ProdutoMapper::toResponseDTO);
+        }
+
+        if (filtraCategoria) {
             return repository.findAllByDeletedAtIsNotNullAndCategoria(Categorias.fromString(categoria), sortedPageable)
                     .map(ProdutoMapper::toResponseDTO);
         } else {
@@ -105,17 +315,460 @@ public class ProdutoService {
         }
     }
 
+    /**
+     * Método auxiliar privado que valida os filtros e busca a página no {@code CatalogoEmMemoria}.
+     *
+     * @param apagados  {@code true} para os produtos apagados, {@code false} para os ativos.
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação.
+     * @param pageable  Objeto de paginação.
+     * @return Um {@code Optional} com a página, ou vazio se a ordenação não for suportada pelo catálogo.
+     */
+    private Optional<Page<ProdutoResponseDTO>> buscarNoCatalogo(boolean apagados, String categoria, Integer precoMin,
+                                                                Integer precoMax, String sort, Pageable pageable) {
+        validarFaixaDePreco(precoMin, precoMax);
+        Categorias filtroCategoria = categoria != null && !categoria.isBlank() ? Categorias.fromString(categoria) : null;
+        return catalogo.buscar(apagados, filtroCategoria, precoMin, precoMax, sortPage(pageable, sort));
+    }
+
+    /**
+     * Busca uma página de produtos ativos (como {@link #findAllActive}) e, na mesma chamada,
+     * a quantidade de produtos ativos de cada categoria que atendem à faixa de preço informada.
+     * A contagem é feita por uma única consulta agrupada, executada em paralelo à consulta da página.
+     *
+     * @param categoria Categoria opcional para filtrar os produtos da página.
+     * @param facets    As facetas solicitadas (atualmente apenas "categoria").
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação (ex: "preco,asc" ou "preco,desc").
+     * @param pageable  Objeto de paginação.
+     * @return Um {@code ProdutosComFacetasDTO} com a página de produtos ativos e as contagens por categoria.
+     * @throws BadRequestException Se a faceta solicitada não for suportada ou a faixa de preço for inválida.
+     */
+    public ProdutosComFacetasDTO findAllActiveComFacetas(String categoria, String facets, Integer precoMin, Integer precoMax,
+                                                         String sort, Pageable pageable) {
+        validarFacetas(facets);
+        validarFaixaDePreco(precoMin, precoMax);
+        int min = precoMin != null ? precoMin : (precoMax != null ? 0 : Integer.MIN_VALUE);
+        int max = precoMax != null ? precoMax : Integer.MAX_VALUE;
+
+        CompletableFuture<Map<Categorias, Long>> facetas = CompletableFuture.supplyAsync(PrazoRequisicaoInterceptor.propagar(
+                () -> agruparPorCategoria(repository.contarAtivosPorCategoria(min, max))), consultasExecutor);
+        Page<ProdutoResponseDTO> pagina = findAllActive(categoria, precoMin, precoMax, sort, pageable);
+
+        return new ProdutosComFacetasDTO(pagina, aguardar(facetas));
+    }
+
+    /**
+     * Busca uma página de produtos apagados (como {@link #findAllDeleted}) e, na mesma chamada,
+     * a quantidade de produtos apagados de cada categoria que atendem à faixa de preço informada.
+     * A contagem é feita por uma única consulta agrupada, executada em paralelo à consulta da página.
+     *
+     * @param categoria Categoria opcional para filtrar os produtos da página.
+     * @param facets    As facetas solicitadas (atualmente apenas "categoria").
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação (ex: "preco,asc" ou "preco,desc").
+     * @param pageable  Objeto de paginação.
+     * @return Um {@code ProdutosComFacetasDTO} com a página de produtos apagados e as contagens por categoria.
+     * @throws BadRequestException Se a faceta solicitada não for suportada ou a faixa de preço for inválida.
+     */
+    public ProdutosComFacetasDTO findAllDeletedComFacetas(String categoria, String facets, Integer precoMin, Integer precoMax,
+                                                          String sort, Pageable pageable) {
+        validarFacetas(facets);
+        validarFaixaDePreco(precoMin, precoMax);
+        int min = precoMin != null ? precoMin : (precoMax != null ? 0 : Integer.MIN_VALUE);
+        int max = precoMax != null ? precoMax : Integer.MAX_VALUE;
+
+        CompletableFuture<Map<Categorias, Long>> facetas = CompletableFuture.supplyAsync(PrazoRequisicaoInterceptor.propagar(
+                () -> agruparPorCategoria(repository.contarApagadosPorCategoria(min, max))), consultasExecutor);
+        Page<ProdutoResponseDTO> pagina = findAllDeleted(categoria, precoMin, precoMax, sort, pageable);
+
+        return new ProdutosComFacetasDTO(pagina, aguardar(facetas));
+    }
+
+    /**
+     * Busca uma página de produtos ativos (com os mesmos filtros de {@link #findAllActive}) contendo
+     * apenas os campos solicitados. Somente as colunas desses campos são lidas do banco, e a resposta
+     * traz apenas eles, na ordem dos campos do {@code ProdutoResponseDTO}.
+     *
+     * @param fields    Os campos solicitados, separados por vírgula (ex: "id,nome,preco").
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação (ex: "preco,asc" ou "preco,desc").
+     * @param pageable  Objeto de paginação.
+     * @return Uma {@code Page} com um {@code Map} de campo e valor para cada produto ativo.
+     * @throws BadRequestException Se algum campo não existir ou a faixa de preço for inválida.
+     */
+    public Page<Map<String, Object>> findAllActiveComCampos(String fields, String categoria, Integer precoMin,
+                                                            Integer precoMax, String sort, Pageable pageable) {
+        return buscarComCampos(fields, false, categoria, precoMin, precoMax, sort, pageable);
+    }
+
+    /**
+     * Busca uma página de produtos apagados (com os mesmos filtros de {@link #findAllDeleted}) contendo
+     * apenas os campos solicitados, da mesma forma que {@link #findAllActiveComCampos}.
+     *
+     * @param fields    Os campos solicitados, separados por vírgula (ex: "id,nome,deletedAt").
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação (ex: "preco,asc" ou "preco,desc").
+     * @param pageable  Objeto de paginação.
+     * @return Uma {@code Page} com um {@code Map} de campo e valor para cada produto apagado.
+     * @throws BadRequestException Se algum campo não existir ou a faixa de preço for inválida.
+     */
+    public Page<Map<String, Object>> findAllDeletedComCampos(String fields, String categoria, Integer precoMin,
+                                                             Integer precoMax, String sort, Pageable pageable) {
+        return buscarComCampos(fields, true, categoria, precoMin, precoMax, sort, pageable);
+    }
+
+    /**
+     * Método auxiliar privado que valida os parâmetros e consulta uma página de produtos ativos ou apagados
+     * com apenas os campos solicitados.
+     *
+     * @param fields    Os campos solicitados, separados por vírgula.
+     * @param apagados  {@code true} para os produtos apagados, {@code false} para os ativos.
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param sort      Campo e direção de ordenação.
+     * @param pageable  Objeto de paginação.
+     * @return Uma {@code Page} com um {@code Map} de campo e valor para cada produto.
+     * @throws BadRequestException Se algum campo, a ordenação ou a faixa de preço forem inválidos.
+     */
+    private Page<Map<String, Object>> buscarComCampos(String fields, boolean apagados, String categoria, Integer precoMin,
+                                                      Integer precoMax, String sort, Pageable pageable) {
+        List<String> campos = resolverCampos(fields);
+        validarFaixaDePreco(precoMin, precoMax);
+        Categorias filtroCategoria = categoria != null && !categoria.isBlank() ? Categorias.fromString(categoria) : null;
+        Pageable sortedPageable = sortPage(pageable, sort);
+        validarOrdenacao(sortedPageable.getSort());
+
+        return repository.findAllComCampos(campos, apagados, filtroCategoria, precoMin, precoMax, sortedPageable);
+    }
+
+    /**
+     * Calcula o histograma de preços dos produtos ativos, podendo filtrar por categoria e faixa de preço.
+     * O cálculo é feito pelo banco de dados em uma única consulta, pelo índice de categoria e preço, e o resultado
+     * fica em cache até a próxima alteração de produtos.
+     *
+     * <p>Quando a faixa de preço não é informada, as faixas do histograma são distribuídas entre o menor
+     * e o maior preço encontrados. Faixas sem produtos são retornadas com quantidade zero.</p>
+     *
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param precoMin  Preço mínimo opcional (inclusivo), em centavos.
+     * @param precoMax  Preço máximo opcional (inclusivo), em centavos.
+     * @param faixas    A quantidade de faixas do histograma (entre 1 e 100).
+     * @return Um {@code HistogramaPrecoDTO} com a quantidade de produtos de cada faixa.
+     * @throws BadRequestException Se a quantidade de faixas ou a faixa de preço forem inválidas.
+     */
+    @Cacheable(cacheNames = "histogramaPrecos")
+    public HistogramaPrecoDTO calcularHistogramaDePrecos(String categoria, Integer precoMin, Integer precoMax, int faixas) {
+        if (faixas < 1 || faixas > MAXIMO_FAIXAS_HISTOGRAMA)
+            throw new BadRequestException("A quantidade de faixas deve estar entre 1 e " + MAXIMO_FAIXAS_HISTOGRAMA + ".");
+        validarFaixaDePreco(precoMin, precoMax);
+
+        int min = precoMin != null ? precoMin : 0;
+        int max = precoMax != null ? precoMax : Integer.MAX_VALUE;
+
+        String categorias = categoria != null && !categoria.isBlank()
+                ? String.valueOf(Categorias.fromString(categoria).getCodigo())
+                : TODAS_AS_CATEGORIAS;
+        List<FaixaPrecoProjection> resultado =
+                repository.calcularHistogramaDePrecos(categorias, min, max, precoMin, precoMax, faixas);
+
+        if (resultado.isEmpty()) return new HistogramaPrecoDTO(precoMin, precoMax, List.of());
+
+        int inicio = resultado.get(0).getMinimo();
+        int fim = resultado.get(0).getMaximo();
+        long[] quantidades = new long[faixas];
+        for (FaixaPrecoProjection faixa : resultado) {
+            quantidades[faixa.getFaixa() - 1] = faixa.getQuantidade();
+        }
+
+        double largura = ((double) fim - inicio + 1) / faixas;
+        List<FaixaPrecoDTO> faixasDTO = new ArrayList<>(faixas);
+        for (int i = 0; i < faixas; i++) {
+            faixasDTO.add(new FaixaPrecoDTO(
+                    (int) Math.ceil(inicio + i * largura),
+                    (int) Math.ceil(inicio + (i + 1) * largura),
+                    quantidades[i]
+            ));
+        }
+
+        return new HistogramaPrecoDTO(inicio, fim, faixasDTO);
+    }
+
+    /**
+     * Busca os {@code n} primeiros produtos ativos de cada categoria, na ordem solicitada, em uma única consulta.
+     * Categorias sem produtos ativos são retornadas com a lista vazia.
+     *
+     * <p>O resultado fica em cache associado à versão atual do catálogo ({@link #versaoCatalogo()}), que avança a
+     * cada alteração de produtos desta ou de outra instância. Um resultado consultado durante uma alteração fica
+     * associado à versão anterior e não é mais servido depois dela.</p>
+     *
+     * @param n     A quantidade de produtos de cada categoria (entre 1 e 50).
+     * @param ordem A ordem dos produtos: {@code menor_preco}, {@code maior_preco} ou {@code mais_recentes}.
+     * @return Um {@code Map} com a lista de produtos de cada categoria, na ordem do enum {@code Categorias}.
+     * @throws BadRequestException Se a quantidade ou a ordem forem inválidas.
+     */
+    @Cacheable(cacheNames = "topProdutos", key = "{#n, #ordem, #root.target.versaoCatalogo()}")
+    public Map<Categorias, List<ProdutoResponseDTO>> buscarTopPorCategoria(int n, String ordem) {
+        if (n < 1 || n > MAXIMO_TOP_POR_CATEGORIA)
+            throw new BadRequestException("A quantidade de produtos por categoria deve estar entre 1 e " + MAXIMO_TOP_POR_CATEGORIA + ".");
+
+        OrdemTopProdutos ordemTop;
+        try {
+            ordemTop = OrdemTopProdutos.fromString(ordem);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        List<Produto> produtos = switch (ordemTop) {
+            case MENOR_PRECO -> repository.buscarMaisBaratosPorCategoria(TODAS_AS_CATEGORIAS, n);
+            case MAIOR_PRECO -> repository.buscarMaisCarosPorCategoria(TODAS_AS_CATEGORIAS, n);
+            case MAIS_RECENTES -> repository.buscarMaisRecentesPorCategoria(TODAS_AS_CATEGORIAS, n);
+        };
+
+        Map<Categorias, List<ProdutoResponseDTO>> top = new EnumMap<>(Categorias.class);
+        for (Categorias categoria : Categorias.values()) top.put(categoria, new ArrayList<>(n));
+        for (Produto produto : produtos) top.get(produto.getCategoria()).add(ProdutoMapper.toResponseDTO(produto));
+        return top;
+    }
+
+    /**
+     * Retorna a versão atual do catálogo, que avança a cada alteração de produtos desta ou de outra instância.
+     * Usada na chave dos resultados em cache que dependem de todo o catálogo.
+     *
+     * @return A versão atual do catálogo.
+     */
+    public long versaoCatalogo() {
+        return versaoCatalogo.get();
+    }
+
+    /**
+     * Avança a versão do catálogo após o commit de uma alteração desta instância.
+     *
+     * @param evento O evento de alteração publicado por esta classe.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void avancarVersaoCatalogo(ProdutoAlteradoEvent evento) {
+        versaoCatalogo.incrementAndGet();
+    }
+
+    /**
+     * Avança a versão do catálogo quando outra instância altera produtos.
+     *
+     * @param evento O lote de invalidações recebido pela {@code InvalidacaoDistribuida}.
+     */
+    @EventListener
+    public void avancarVersaoCatalogo(InvalidacaoRecebidaEvent evento) {
+        versaoCatalogo.incrementAndGet();
+    }
+
+    /**
+     * Busca produtos ativos pelo nome, combinando busca por substring (sem diferenciar maiúsculas
+     * e minúsculas) e por similaridade ({@code pg_trgm}), com filtro opcional de categoria.
+     * Os resultados são ordenados do mais relevante para o menos relevante e paginados por cursor.
+     *
+     * @param termo     O termo a ser buscado no nome dos produtos.
+     * @param categoria Categoria opcional para filtrar os produtos.
+     * @param cursor    O cursor retornado na página anterior, ou {@code null} para a primeira página.
+     * @param size      A quantidade de produtos por página (limitada a 100).
+     * @return Um {@code PaginaCursorDTO} com os produtos encontrados e o cursor da próxima página.
+     * @throws BadRequestException Se o termo tiver menos de 3 caracteres ou o cursor for inválido.
+     */
+    public PaginaCursorDTO<ProdutoResponseDTO> buscarPorNome(String termo, String categoria, String cursor, int size) {
+        if (termo == null || termo.strip().length() < TAMANHO_MINIMO_TERMO)
+            throw new BadRequestException("O termo de busca deve possuir ao menos " + TAMANHO_MINIMO_TERMO + " caracteres.");
+
+        String termoNormalizado = termo.strip();
+        String padrao = "%" + escaparLike(termoNormalizado) + "%";
+        int limite = Math.min(Math.max(size, 1), TAMANHO_MAXIMO_PAGINA_BUSCA);
+
+        float score = 2f;
+        long id = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificarCursor(cursor);
+            try {
+                score = Float.parseFloat(partes[0]);
+                id = Long.parseLong(partes[1]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Cursor inválido.");
+            }
+        }
+
+        List<ProdutoRelevanciaProjection> relevancias;
+        if (categoria != null && !categoria.isBlank()) {
+            relevancias = repository.buscarAtivosPorNomeECategoria(termoNormalizado, padrao,
+                    Categorias.fromString(categoria).getCodigo(), score, id, limite);
+        } else {
+            relevancias = repository.buscarAtivosPorNome(termoNormalizado, padrao, score, id, limite);
+        }
+
+        List<Long> ids = relevancias.stream().map(ProdutoRelevanciaProjection::getId).toList();
+        Map<Long, Produto> produtos = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        List<ProdutoResponseDTO> conteudo = ids.stream()
+                .map(produtos::get)
+                .filter(Objects::nonNull)
+                .map(ProdutoMapper::toResponseDTO)
+                .toList();
+
+        String proximoCursor = null;
+        if (relevancias.size() == limite) {
+            ProdutoRelevanciaProjection ultimo = relevancias.get(relevancias.size() - 1);
+            proximoCursor = codificarCursor(ultimo.getScore() + ":" + ultimo.getId());
+        }
+
+        return new PaginaCursorDTO<>(conteudo, proximoCursor);
+    }
+
+    /**
+     * Busca, em ordem, os produtos criados, atualizados, apagados ou restaurados após o cursor informado,
+     * permitindo que sistemas externos sincronizem apenas o que mudou.
+     *
+     * <p>O cursor é opaco e contém a transação e a sequência da última alteração recebida. Como a sequência é
+     * obtida antes do commit, duas gravações concorrentes podem ficar visíveis fora da ordem da sequência.
+     * Por isso, o feed é ordenado pela transação de cada alteração e só entrega as de transações já
+     * encerradas ({@code pg_snapshot_xmin}): o cursor nunca avança sobre uma gravação ainda não confirmada,
+     * que é entregue em uma chamada seguinte.</p>
+     *
+     * @param desde  O cursor recebido na chamada anterior, ou {@code null} para começar do início.
+     * @param limite A quantidade máxima de produtos do lote (limitada a 1000).
+     * @return Um {@code AlteracoesDTO} com os produtos alterados e o cursor da próxima chamada.
+     * @throws BadRequestException Se o cursor for inválido.
+     */
+    public AlteracoesDTO buscarAlteracoes(String desde, int limite) {
+        long transacao = 0L;
+        long sequencia = 0L;
+        if (desde != null && !desde.isBlank()) {
+            String[] partes = decodificarCursor(desde);
+            try {
+                transacao = Long.parseLong(partes[0]);
+                sequencia = Long.parseLong(partes[1]);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Cursor inválido.");
+            }
+            if (transacao < 0 || sequencia < 0) throw new BadRequestException("Cursor inválido.");
+        }
+
+        int tamanho = Math.min(Math.max(limite, 1), TAMANHO_MAXIMO_LOTE_ALTERACOES);
+        List<Produto> produtos = repository.buscarAlteracoesConfirmadas(transacao, sequencia, tamanho + 1);
+
+        List<ProdutoResponseDTO> alteracoes = new ArrayList<>(tamanho);
+        String cursor = desde;
+        for (Produto produto : produtos.subList(0, Math.min(produtos.size(), tamanho))) {
+            alteracoes.add(ProdutoMapper.toResponseDTO(produto));
+            cursor = codificarCursor(produto.getTransacao() + ":" + produto.getSequencia());
+        }
+
+        return new AlteracoesDTO(alteracoes, cursor, produtos.size() > tamanho);
+    }
+
+    /**
+     * Busca no banco as alterações de produtos com sequência maior que a informada, em ordem de sequência, para
+     * reenviá-las ao stream de eventos de qualquer instância ({@code ProdutoEventosService}).
+     *
+     * <p>Cada produto aparece uma única vez, com o estado da sua última alteração. O tipo da alteração é deduzido
+     * desse estado: {@code APAGADO} se o produto estiver apagado, {@code CRIADO} se nunca foi alterado após a
+     * criação e {@code ATUALIZADO} nos demais casos, inclusive após uma restauração. A categoria anterior não é
+     * gravada, então é informada a categoria atual.</p>
+     *
+     * @param sequencia A sequência do último evento recebido pelo cliente.
+     * @param limite A quantidade máxima de alterações.
+     * @return Uma {@code List} de {@code ProdutoAlteradoEvent}, em ordem de sequência.
+     */
+    public List<ProdutoAlteradoEvent> buscarAlteracoesAposSequencia(long sequencia, int limite) {
+        return repository.buscarAlteracoesAposSequencia(sequencia, limite).stream()
+                .map(produto -> {
+                    ProdutoResponseDTO dto = ProdutoMapper.toResponseDTO(produto);
+                    return new ProdutoAlteradoEvent(produto.getSequencia(), tipoAtual(dto), dto, dto.categoria());
+                })
+                .toList();
+    }
+
+    /**
+     * Busca os produtos (ativos e apagados) alterados mais recentemente, do mais recente para o mais antigo.
+     * Com o banco indisponível, a última lista conhecida é retornada.
+     *
+     * @param limite A quantidade máxima de produtos (limitada a 100).
+     * @return Uma {@code List} de {@code ProdutoResponseDTO} dos produtos alterados mais recentemente.
+     */
+    public List<ProdutoResponseDTO> buscarAlteracoesRecentes(int limite) {
+        int tamanho = Math.min(Math.max(limite, 1), TAMANHO_MAXIMO_ALTERACOES_RECENTES);
+        return leituras.executar("buscarAlteracoesRecentes", () -> repository.findAllByOrderBySequenciaDesc(Limit.of(tamanho))
+                .stream()
+                .map(ProdutoMapper::toResponseDTO)
+                .toList(), tamanho);
+    }
+
     /**
      * Busca um produto específico pelo seu ID.
+     * Chamadas simultâneas para o mesmo ID compartilham uma única consulta ao banco e, com o banco
+     * indisponível, a última versão conhecida do produto é retornada.
      *
      * @param id O ID do produto a ser buscado.
      * @return O {@code ProdutoResponseDTO} correspondente ao ID.
      * @throws EntityNotFoundException Se o produto com o ID fornecido não for encontrado.
      */
     public ProdutoResponseDTO findById(Long id) {
-        Produto entity = repository.findById(id)
+        return leituras.executar("findById", () -> {
+            Produto entity = repository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
+            return ProdutoMapper.toResponseDTO(entity);
+        }, id);
+    }
+
+    /**
+     * Busca um produto específico pelo seu ID contendo apenas os campos solicitados.
+     * Somente as colunas desses campos são lidas do banco.
+     *
+     * @param id     O ID do produto a ser buscado.
+     * @param fields Os campos solicitados, separados por vírgula (ex: "nome,preco").
+     * @return Um {@code Map} de campo e valor, na ordem dos campos do {@code ProdutoResponseDTO}.
+     * @throws BadRequestException Se algum campo não existir.
+     * @throws EntityNotFoundException Se o produto com o ID fornecido não for encontrado.
+     */
+    public Map<String, Object> findByIdComCampos(Long id, String fields) {
+        List<String> campos = resolverCampos(fields);
+        return repository.findByIdComCampos(id, campos)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
-        return ProdutoMapper.toResponseDTO(entity);
+    }
+
+    /**
+     * Busca vários produtos pelos seus IDs com uma única consulta ao banco.
+     * O resultado mantém a ordem (e as repetições) dos IDs solicitados, e os IDs sem produto
+     * correspondente são retornados com {@code encontrado = false}. Assim como em {@link #findById},
+     * produtos logicamente excluídos também são retornados.
+     *
+     * @param ids Os IDs dos produtos a serem buscados.
+     * @return Uma {@code List} de {@code ProdutoPorIdDTO}, um item para cada ID solicitado.
+     * @throws BadRequestException Se nenhum ID for informado, se algum ID for nulo ou se a quantidade
+     *                             de IDs exceder o limite configurado em {@code app.produtos.limite-busca-por-ids}.
+     */
+    public List<ProdutoPorIdDTO> findAllByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) throw new BadRequestException("Informe ao menos um ID.");
+        if (ids.stream().anyMatch(Objects::isNull)) throw new BadRequestException("Os IDs informados não podem ser nulos.");
+        if (ids.size() > limiteBuscaPorIds)
+            throw new BadRequestException("É possível buscar no máximo " + limiteBuscaPorIds + " produtos por vez.");
+
+        Map<Long, Produto> encontrados = repository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        return ids.stream()
+                .map(id -> {
+                    Produto produto = encontrados.get(id);
+                    return produto != null
+                            ? new ProdutoPorIdDTO(id, true, ProdutoMapper.toResponseDTO(produto))
+                            : new ProdutoPorIdDTO(id, false, null);
+                })
+                .toList();
     }
 
     /**
@@ -126,6 +779,8 @@ public class ProdutoService {
      * @param produtoRequestDTO O DTO de requisição contendo os dados do produto.
      * @return O {@code ProdutoResponseDTO} do produto salvo.
      */
+    @Transactional
+    @CacheEvict(cacheNames = "histogramaPrecos", allEntries = true)
     public ProdutoResponseDTO save(ProdutoRequestDTO produtoRequestDTO) {
         ZonedDateTime time = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
 
@@ -135,8 +790,12 @@ public class ProdutoService {
         produto.setCategoria(Categorias.fromString(produtoRequestDTO.categoria()));
         produto.setCreatedAt(time);
         produto.setUpdatedAt(time);
+        produto.setApagado(false);
+        marcarAlteracao(produto);
 
-        return ProdutoMapper.toResponseDTO(repository.save(produto));
+        ProdutoResponseDTO salvo = ProdutoMapper.toResponseDTO(repository.save(produto));
+        publicarAlteracao(TipoAlteracao.CRIADO, produto.getSequencia(), salvo, salvo.categoria());
+        return salvo;
     }
 
     /**
@@ -144,38 +803,134 @@ public class ProdutoService {
      * Primeiro busca a entidade, lança {@code EntityNotFoundException} se não existir,
      * e então aplica as modificações.
      *
+     * <p>O registro é lido com bloqueio ({@code FOR NO KEY UPDATE}) antes de obter a marca de alteração, para que
+     * gravações concorrentes do mesmo produto recebam as sequências na ordem em que são confirmadas; o
+     * {@code CatalogoEmMemoria} e as demais instâncias decidem pela sequência qual versão prevalece.
+     * A marca é obtida antes de modificar a entidade: a consulta nativa da marca faria o Hibernate gravar
+     * a entidade já alterada (flush automático), resultando em dois UPDATEs.
+     * O mesmo vale para a exclusão e a restauração.</p>
+     *
      * @param id                O ID do produto a ser atualizado.
      * @param produtoRequestDTO O DTO de requisição com os novos dados.
      * @return O {@code ProdutoResponseDTO} do produto atualizado.
      * @throws BadRequestException     Se o ID não for fornecido na requisição.
      * @throws EntityNotFoundException Se o produto com o ID fornecido não for encontrado.
      */
+    @Transactional
+    @CacheEvict(cacheNames = "histogramaPrecos", allEntries = true)
     public ProdutoResponseDTO update(Long id, ProdutoRequestDTO produtoRequestDTO) {
         if (id == null) throw new BadRequestException("O campo ID não foi informado.");
 
-        Produto entity = repository.findById(id)
+        Produto entity = repository.buscarParaAlterar(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
 
+        Categorias categoriaAnterior = entity.getCategoria();
+        marcarAlteracao(entity);
         updateEntity(entity, produtoRequestDTO);
 
-        return ProdutoMapper.toResponseDTO(repository.save(entity));
+        ProdutoResponseDTO atualizado = ProdutoMapper.toResponseDTO(repository.save(entity));
+        publicarAlteracao(TipoAlteracao.ATUALIZADO, entity.getSequencia(), atualizado, categoriaAnterior);
+        return atualizado;
     }
 
     /**
      * Realiza a exclusão lógica (Soft Delete) de um produto.
-     * Ao invés de remover o registro do banco de dados, preenche o campo {@code deletedAt}
-     * com a data/hora atual.
+     * Ao invés de remover o registro do banco de dados, preenche os campos {@code deletedAt}
+     * e {@code updatedAt} com a data/hora atual.
      *
      * @param id O ID do produto a ser logicamente excluído.
      * @throws EntityNotFoundException Se o produto com o ID fornecido não for encontrado.
      */
+    @Transactional
+    @CacheEvict(cacheNames = "histogramaPrecos", allEntries = true)
     public void delete(Long id) {
-        Produto entity = repository.findById(id)
+        Produto entity = repository.buscarParaAlterar(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
 
-        entity.setDeletedAt(ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")));
+        marcarAlteracao(entity);
+        ZonedDateTime time = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        entity.setDeletedAt(time);
+        entity.setUpdatedAt(time);
+        entity.setApagado(true);
 
         repository.save(entity);
+        publicarAlteracao(TipoAlteracao.APAGADO, entity.getSequencia(), ProdutoMapper.toResponseDTO(entity), entity.getCategoria());
+    }
+
+    /**
+     * Restaura um produto logicamente excluído, limpando o campo {@code deletedAt}.
+     * O registro volta para a partição de produtos ativos.
+     *
+     * @param id O ID do produto a ser restaurado.
+     * @return O {@code ProdutoResponseDTO} do produto restaurado.
+     * @throws EntityNotFoundException Se o produto com o ID fornecido não for encontrado.
+     * @throws BadRequestException     Se o produto não estiver apagado.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = "histogramaPrecos", allEntries = true)
+    public ProdutoResponseDTO restaurar(Long id) {
+        Produto entity = repository.buscarParaAlterar(id)
+                .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
+
+        if (entity.getDeletedAt() == null) throw new BadRequestException("O produto com ID: " + id + " não está apagado.");
+
+        marcarAlteracao(entity);
+        entity.setDeletedAt(null);
+        entity.setApagado(false);
+        entity.setUpdatedAt(ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")));
+
+        ProdutoResponseDTO restaurado = ProdutoMapper.toResponseDTO(repository.save(entity));
+        publicarAlteracao(TipoAlteracao.RESTAURADO, entity.getSequencia(), restaurado, restaurado.categoria());
+        return restaurado;
+    }
+
+    /**
+     * Descarta os histogramas de preços em cache quando outra instância altera produtos.
+     * As gravações desta instância já os descartam diretamente.
+     *
+     * @param evento O lote de invalidações recebido pela {@code InvalidacaoDistribuida}.
+     */
+    @EventListener
+    @CacheEvict(cacheNames = "histogramaPrecos", allEntries = true)
+    public void descartarHistogramas(InvalidacaoRecebidaEvent evento) {
+    }
+
+    /**
+     * Método auxiliar privado que grava no produto a marca da alteração: a próxima sequência de alterações
+     * e o ID da transação atual, que ordena o feed de alterações.
+     *
+     * @param produto O produto que está sendo alterado.
+     */
+    private void marcarAlteracao(Produto produto) {
+        MarcaAlteracaoProjection marca = repository.marcarAlteracao();
+        produto.setSequencia(marca.getSequencia());
+        produto.setTransacao(marca.getTransacao());
+    }
+
+    /**
+     * Método auxiliar privado que deduz, do estado gravado de um produto, o tipo da sua última alteração.
+     *
+     * @param produto O estado atual do produto.
+     * @return O tipo da última alteração do produto.
+     */
+    private static TipoAlteracao tipoAtual(ProdutoResponseDTO produto) {
+        if (produto.deletedAt() != null) return TipoAlteracao.APAGADO;
+        if (produto.createdAt() != null && produto.updatedAt() != null && produto.createdAt().isEqual(produto.updatedAt()))
+            return TipoAlteracao.CRIADO;
+        return TipoAlteracao.ATUALIZADO;
+    }
+
+    /**
+     * Método auxiliar privado para publicar o evento de alteração de um produto,
+     * consumido pelo stream de eventos ({@code ProdutoEventosService}).
+     *
+     * @param tipo              O tipo da alteração.
+     * @param sequencia         A sequência gravada na alteração.
+     * @param produto           O estado do produto após a alteração.
+     * @param categoriaAnterior A categoria do produto antes da alteração.
+     */
+    private void publicarAlteracao(TipoAlteracao tipo, Long sequencia, ProdutoResponseDTO produto, Categorias categoriaAnterior) {
+        eventPublisher.publishEvent(new ProdutoAlteradoEvent(sequencia, tipo, produto, categoriaAnterior));
     }
 
     /**
@@ -223,4 +978,138 @@ public class ProdutoService {
         }
         return sortedPageable;
     }
-}
\ No newline at end of file
+
+    /**
+     * Valida se as facetas solicitadas são suportadas.
+     *
+     * @param facets As facetas solicitadas.
+     * @throws BadRequestException Se a faceta não for suportada.
+     */
+    private void validarFacetas(String facets) {
+        if (!FACETA_CATEGORIA.equalsIgnoreCase(facets == null ? null : facets.strip()))
+            throw new BadRequestException("Faceta inválida: " + facets + ". Valores aceitos: " + FACETA_CATEGORIA + ".");
+    }
+
+    /**
+     * Método auxiliar privado que converte o parâmetro {@code fields} na lista de campos a serem selecionados,
+     * ignorando espaços e repetições e seguindo a ordem dos campos do {@code ProdutoResponseDTO}.
+     *
+     * @param fields Os campos solicitados, separados por vírgula.
+     * @return A lista de campos válidos, sem repetições.
+     * @throws BadRequestException Se nenhum campo for informado ou algum campo não existir.
+     */
+    private List<String> resolverCampos(String fields) {
+        Set<String> solicitados = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String campo : fields.split(",")) {
+                if (!campo.isBlank()) solicitados.add(campo.strip());
+            }
+        }
+        if (solicitados.isEmpty()) throw new BadRequestException("Informe ao menos um campo em fields.");
+
+        for (String campo : solicitados) {
+            if (!CAMPOS_PRODUTO.contains(campo))
+                throw new BadRequestException("Campo inválido: " + campo + ". Valores aceitos: " + String.join(", ", CAMPOS_PRODUTO) + ".");
+        }
+        return CAMPOS_PRODUTO.stream().filter(solicitados::contains).toList();
+    }
+
+    /**
+     * Valida se a ordenação solicitada usa apenas atributos de {@code Produto}, já que a consulta por campos
+     * monta a ordenação pela Criteria API, que não reconhece outros nomes.
+     *
+     * @param sort A ordenação solicitada.
+     * @throws BadRequestException Se algum campo de ordenação não existir.
+     */
+    private void validarOrdenacao(Sort sort) {
+        for (Sort.Order ordem : sort) {
+            if (!CAMPOS_PRODUTO.contains(ordem.getProperty()))
+                throw new BadRequestException("Campo de ordenação inválido: " + ordem.getProperty() + ". Valores aceitos: " + String.join(", ", CAMPOS_PRODUTO) + ".");
+        }
+    }
+
+    /**
+     * Converte as contagens agrupadas por categoria em um mapa contendo todas as categorias,
+     * preenchendo com zero as categorias sem produtos.
+     *
+     * @param contagens As contagens retornadas pelo repositório.
+     * @return Um {@code Map} ordenado pelas constantes de {@code Categorias} com a quantidade de cada uma.
+     */
+    private Map<Categorias, Long> agruparPorCategoria(List<ContagemCategoriaProjection> contagens) {
+        Map<Categorias, Long> facetas = new EnumMap<>(Categorias.class);
+        for (Categorias categoria : Categorias.values()) facetas.put(categoria, 0L);
+        for (ContagemCategoriaProjection contagem : contagens) facetas.put(contagem.getCategoria(), contagem.getQuantidade());
+        return facetas;
+    }
+
+    /**
+     * Aguarda o resultado de uma consulta executada em paralelo, repassando
+     * as exceções de negócio e de acesso a dados lançadas por ela.
+     *
+     * @param futuro A consulta em execução.
+     * @param <T> O tipo do resultado da consulta.
+     * @return O resultado da consulta.
+     */
+    private <T> T aguardar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Valida se a faixa de preço informada é consistente.
+     *
+     * @param precoMin Preço mínimo opcional, em centavos.
+     * @param precoMax Preço máximo opcional, em centavos.
+     * @throws BadRequestException Se algum preço for negativo ou o mínimo for maior que o máximo.
+     */
+    private void validarFaixaDePreco(Integer precoMin, Integer precoMax) {
+        if ((precoMin != null && precoMin < 0) || (precoMax != null && precoMax < 0))
+            throw new BadRequestException("Os preços mínimo e máximo não podem ser negativos.");
+        if (precoMin != null && precoMax != null && precoMin > precoMax)
+            throw new BadRequestException("O preço mínimo não pode ser maior que o preço máximo.");
+    }
+
+    /**
+     * Escapa os caracteres especiais do {@code LIKE} (barra invertida, {@code %} e {@code _})
+     * para que o termo informado pelo cliente seja tratado literalmente.
+     *
+     * @param termo O termo a ser escapado.
+     * @return O termo com os caracteres especiais escapados.
+     */
+    private String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Codifica o conteúdo de um cursor de paginação em Base64 (URL safe).
+     *
+     * @param conteudo O conteúdo do cursor.
+     * @return O cursor opaco a ser devolvido ao cliente.
+     */
+    private String codificarCursor(String conteudo) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor de paginação gerado por {@link #codificarCursor(String)}.
+     *
+     * @param cursor O cursor opaco recebido do cliente.
+     * @return As partes do cursor, separadas por {@code :}.
+     * @throws BadRequestException Se o cursor não estiver no formato esperado.
+     */
+    private String[] decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (partes.length != 2) throw new BadRequestException("Cursor inválido.");
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido.");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+-- Script executado na inicialização após o Hibernate criar/atualizar as tabelas
+-- (spring.jpa.defer-datasource-initialization=true). Todos os comandos devem ser idempotentes e baratos:
+-- o script roda a cada inicialização, com a aplicação possivelmente já recebendo gravações por outras instâncias.
+-- Nada aqui pode bloquear as gravações nem percorrer a tabela de produtos. Preenchimento de colunas novas e
+-- troca de índices em bancos existentes ficam nos scripts de db/, executados uma única vez:
+--   db/categoria_smallint.sql: categoria em varchar convertida para o código (smallint, ver CategoriasConverter);
+--   db/indices_produtos.sql: índices criados com CREATE INDEX CONCURRENTLY e remoção dos índices substituídos;
+--   db/preencher_colunas_produtos.sql: preenchimento em lotes das colunas criadas pelas versões mais recentes.
+
+-- CREATE INDEX IF NOT EXISTS obtém o lock da tabela (que bloqueia as gravações) antes de verificar se o índice
+-- existe, e CREATE INDEX CONCURRENTLY não é aceito na tabela particionada (db/particionar_produtos.sql).
+-- Por isso cada índice é criado em um bloco que consulta o catálogo, sem lock, e só cria o índice ausente:
+-- em um banco novo, com a tabela ainda vazia; em um banco existente, os índices já vêm dos scripts de db/.
+
+-- Busca textual por nome: índice trigram parcial sobre os produtos ativos.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_nome_trgm'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_nome_trgm ON produtos USING gin (nome gin_trgm_ops) WHERE deleted_at IS NULL;
+    END IF;
+END';
+
+-- Filtro por faixa de preço, histograma de preços e produtos de menor e maior preço de cada categoria.
+-- O predicado inclui "apagado", como as consultas, e o id completa o índice: a contagem da página e a
+-- contagem de cada faixa do histograma são feitas apenas com o índice (index-only scan).
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_ativos_categoria_preco_id'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_ativos_categoria_preco_id ON produtos (categoria, preco, id)
+            WHERE apagado = false AND deleted_at IS NULL;
+    END IF;
+END';
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_apagados_categoria_preco_id'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_apagados_categoria_preco_id ON produtos (categoria, preco, id)
+            WHERE apagado = true AND deleted_at IS NOT NULL;
+    END IF;
+END';
+
+-- Produtos mais recentes de cada categoria (GET /produtos/top?ordem=mais_recentes), lido em ordem decrescente.
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_categoria_criacao'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_categoria_criacao ON produtos (categoria, created_at, id) WHERE deleted_at IS NULL;
+    END IF;
+END';
+
+-- Feed de alterações: sequência global de alterações e índice para a leitura a partir de um cursor.
+CREATE SEQUENCE IF NOT EXISTS produtos_sequencia_seq;
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_sequencia'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_sequencia ON produtos (sequencia);
+    END IF;
+END';
+
+-- Feed de alterações confirmadas: ordem de (transação, sequência). Registros gravados antes da coluna
+-- "transacao" recebem a transação 0 em db/preencher_colunas_produtos.sql, antes de qualquer alteração nova.
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_transacao'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_transacao ON produtos (transacao, sequencia);
+    END IF;
+END';
+
+-- Séries temporais de estatísticas: produtos criados e apagados por período, com a categoria e o preço
+-- no próprio índice para que a agregação seja feita apenas com o índice (index-only scan).
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_criacao'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_criacao ON produtos (created_at, categoria, preco);
+    END IF;
+END';
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_exclusao'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_exclusao ON produtos (deleted_at, categoria) WHERE apagado = true;
+    END IF;
+END';
+
+-- Expurgo de produtos apagados há muito tempo: os registros são movidos para esta tabela, sem os índices
+-- de busca da tabela viva. Os índices por data mantêm as séries temporais de estatísticas completas.
+CREATE TABLE IF NOT EXISTS produtos_arquivados (
+    id           bigint                      PRIMARY KEY,
+    nome         varchar(150)                NOT NULL,
+    preco        integer                     NOT NULL,
+    categoria    smallint                    NOT NULL,
+    created_at   timestamp(6) with time zone,
+    updated_at   timestamp(6) with time zone,
+    deleted_at   timestamp(6) with time zone,
+    sequencia    bigint,
+    arquivado_em timestamp(6) with time zone NOT NULL DEFAULT now()
+);
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_arquivados_criacao'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_arquivados_criacao ON produtos_arquivados (created_at, categoria, preco);
+    END IF;
+END';
+DO 'BEGIN
+    IF to_regclass(''idx_produtos_arquivados_exclusao'') IS NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_produtos_arquivados_exclusao ON produtos_arquivados (deleted_at, categoria);
+    END IF;
+END';
@@ -0,0 +1,281 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.repositories;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.integracao.PostgresIntegracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.integracao.RegistroSql;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes de integração dos planos de execução das consultas do {@code IProdutoRepository}.
+ * Cada consulta é executada sobre a massa de dados do {@code PostgresIntegracao} e repetida com
+ * {@code EXPLAIN (FORMAT JSON)}, verificando o índice utilizado e o custo estimado.
+ */
+class IProdutoRepositoryIT extends PostgresIntegracao {
+
+    private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+
+    @Autowired
+    private IProdutoRepository repository;
+
+    /**
+     * Testa o plano da busca por ID.
+     * Deve usar a chave primária.
+     */
+    @Test
+    void deveBuscarPorIdPelaChavePrimaria() {
+        List<RegistroSql.Comando> comandos = registrar(() -> repository.findById(4242L));
+
+        assertEquals(1, comandos.size());
+        JsonNode plano = explicar(comandos.get(0));
+        assertUsaIndice(plano, "produtos_pkey");
+        assertCustoMaximo(plano, CUSTO_MAXIMO_INDEXADA);
+    }
+
+    /**
+     * Testa o plano da página de produtos ativos na ordenação padrão ({@code id,asc}).
+     * A página deve ser lida pela chave primária; a contagem total deve ficar dentro do custo de uma agregação.
+     */
+    @Test
+    void deveListarAtivosPelaChavePrimaria() {
+        List<RegistroSql.Comando> comandos = registrar(() ->
+                repository.findAllByDeletedAtIsNull(PageRequest.of(3, 20, Sort.by("id"))));
+
+        assertEquals(2, comandos.size());
+        JsonNode pagina = explicar(comandos.get(0));
+        assertUsaIndice(pagina, "produtos_pkey");
+        assertCustoMaximo(pagina, CUSTO_MAXIMO_INDEXADA);
+        assertCustoMaximo(explicar(comandos.get(1)), CUSTO_MAXIMO_AGREGACAO);
+    }
+
+    /**
+     * Testa o plano da página de produtos ativos filtrada por categoria e faixa de preço.
+     * A página e a contagem devem usar o índice {@code idx_produtos_ativos_categoria_preco_id}.
+     */
+    @Test
+    void deveFiltrarAtivosPorCategoriaEPrecoPeloIndice() {
+        List<RegistroSql.Comando> comandos = registrar(() -> repository.findAllByDeletedAtIsNullAndCategoriaAndPrecoBetween(
+                Categorias.SHOES, 1_000, 2_000, PageRequest.of(0, 20, Sort.by("preco"))));
+
+        assertEquals(2, comandos.size());
+        for (RegistroSql.Comando comando : comandos) {
+            JsonNode plano = explicar(comando);
+            assertUsaIndice(plano, "idx_produtos_ativos_categoria_preco_id");
+            assertSemSeqScan(plano, "produtos");
+            assertCustoMaximo(plano, CUSTO_MAXIMO_INDEXADA);
+        }
+    }
+
+    /**
+     * Testa o plano da página de produtos apagados filtrada por categoria e faixa de preço.
+     * Deve usar o índice {@code idx_produtos_apagados_categoria_preco_id}.
+     */
+    @Test
+    void deveFiltrarApagadosPorCategoriaEPrecoPeloIndice() {
+        List<RegistroSql.Comando> comandos = registrar(() -> repository.findAllByDeletedAtIsNotNullAndCategoriaAndPrecoBetween(
+                Categorias.SHOES, 1_000, 20_000, PageRequest.of(0, 20, Sort.by("preco"))));
+
+        assertFalse(comandos.isEmpty());
+        for (RegistroSql.Comando comando : comandos) {
+            JsonNode plano = explicar(comando);
+            assertUsaIndice(plano, "idx_produtos_apagados_categoria_preco_id");
+            assertSemSeqScan(plano, "produtos");
+            assertCustoMaximo(plano, CUSTO_MAXIMO_INDEXADA);
+        }
+    }
+
+    /**
+     * Testa o plano da busca textual por nome.
+     * Deve usar o índice trigram {@code idx_produtos_nome_trgm}, sem ler a tabela por completo.
+     */
+    @Test
+    void deveBuscarPorNomePeloIndiceTrigram() {
+        List<RegistroSql.Comando> comandos = registrar(() ->
+                repository.buscarAtivosPorNome("Vintage", "%Vintage%", 2f, 0L, 20));
+
+        assertEquals(1, comandos.size());
+        JsonNode plano = explicar(comandos.get(0));
+        assertUsaIndice(plano, "idx_produtos_nome_trgm");
+        assertSemSeqScan(plano, "produtos");
+        assertCustoMaximo(plano, CUSTO_MAXIMO_BUSCA);
+    }
+
+    /**
+     * Testa o plano da busca textual por nome restrita a uma categoria.
+     * Deve usar o índice trigram {@code idx_produtos_nome_trgm}, sem ler a tabela por completo.
+     */
+    @Test
+    void deveBuscarPorNomeECategoriaPeloIndiceTrigram() {
+        List<RegistroSql.Comando> comandos = registrar(() ->
+                repository.buscarAtivosPorNomeECategoria("Vintage", "%Vintage%", Categorias.CLOTHES.getCodigo(), 2f, 0L, 20));
+
+        assertEquals(1, comandos.size());
+        JsonNode plano = explicar(comandos.get(0));
+        assertSemSeqScan(plano, "produtos");
+        assertCustoMaximo(plano, CUSTO_MAXIMO_BUSCA);
+    }
+
+    /**
+     * Testa o plano do histograma de preços de uma categoria.
+     * Deve usar o índice {@code idx_produtos_ativos_categoria_preco_id}.
+     */
+    @Test
+    void deveCalcularHistogramaDaCategoriaPeloIndice() {
+        List<RegistroSql.Comando> comandos = registrar(() ->
+                repository.calcularHistogramaDePrecos(String.valueOf(Categorias.UNDERWEAR.getCodigo()), 1_000, 20_000, null, null, 10));
+
+        assertEquals(1, comandos.size());
+        JsonNode plano = explicar(comandos.get(0));
+        assertUsaIndice(plano, "idx_produtos_ativos_categoria_preco_id");
+        assertSemSeqScan(plano, "produtos");
+        assertCustoMaximo(plano, CUSTO_MAXIMO_AGREGACAO);
+    }
+
+    /**
+     * Testa o plano dos primeiros produtos de cada categoria, em cada ordem.
+     * Cada categoria deve ser lida apenas até o limite, pelos índices {@code idx_produtos_ativos_categoria_preco_id}
+     * e {@code idx_produtos_categoria_criacao}, sem ler a tabela inteira.
+     */
+    @Test
+    void deveBuscarTopPorCategoriaPelosIndices() {
+        String categorias = Arrays.stream(Categorias.values())
+                .map(categoria -> String.valueOf(categoria.getCodigo()))
+                .collect(Collectors.joining(","));
+        List<RegistroSql.Comando> comandos = registrar(() -> {
+            repository.buscarMaisBaratosPorCategoria(categorias, 10);
+            repository.buscarMaisCarosPorCategoria(categorias, 10);
+            repository.buscarMaisRecentesPorCategoria(categorias, 10);
+        });
+
+        assertEquals(3, comandos.size());
+        List<String> indices = List.of("idx_produtos_ativos_categoria_preco_id", "idx_produtos_ativos_categoria_preco_id",
+                "idx_produtos_categoria_criacao");
+        for (int i = 0; i < comandos.size(); i++) {
+            JsonNode plano = explicar(comandos.get(i));
+            assertUsaIndice(plano, indices.get(i));
+            assertSemSeqScan(plano, "produtos");
+            assertCustoMaximo(plano, CUSTO_MAXIMO_INDEXADA);
+        }
+    }
+
+    /**
+     * Testa o plano das agregações sobre todos os produtos ativos (histograma e contagem por categoria).
+     * O histograma deve contar as faixas pelo índice, sem ler a tabela; na contagem por categoria, ler a
+     * tabela inteira é esperado. O custo deve ficar dentro do de uma leitura completa.
+     */
+    @Test
+    void deveAgregarTodosOsAtivosComCustoLimitado() {
+        String categorias = Arrays.stream(Categorias.values())
+                .map(categoria -> String.valueOf(categoria.getCodigo()))
+                .collect(Collectors.joining(","));
+        List<RegistroSql.Comando> comandos = registrar(() -> {
+            repository.calcularHistogramaDePrecos(categorias, 0, Integer.MAX_VALUE, null, null, 10);
+            repository.contarAtivosPorCategoria(0, Integer.MAX_VALUE);
+        });
+
+        assertEquals(2, comandos.size());
+        assertSemSeqScan(explicar(comandos.get(0)), "produtos");
+        for (RegistroSql.Comando comando : comandos) {
+            assertCustoMaximo(explicar(comando), CUSTO_MAXIMO_AGREGACAO);
+        }
+    }
+
+    /**
+     * Testa o plano do feed de alterações a partir de um cursor recente.
+     * Deve usar o índice {@code idx_produtos_transacao}.
+     */
+    @Test
+    void deveBuscarAlteracoesPeloIndiceDeTransacao() {
+        List<RegistroSql.Comando> comandos = registrar(() ->
+                repository.buscarAlteracoesConfirmadas(0L, (long) PRODUTOS - 100, 101));
+
+        assertEquals(1, comandos.size());
+        JsonNode plano = explicar(comandos.get(0));
+        assertUsaIndice(plano, "idx_produtos_transacao");
+        assertCustoMaximo(plano, CUSTO_MAXIMO_INDEXADA);
+    }
+
+    /**
+     * Testa o plano da busca dos eventos perdidos por um assinante do stream de eventos.
+     * Deve usar o índice {@code idx_produtos_sequencia}.
+     */
+    @Test
+    void deveBuscarAlteracoesAposSequenciaPeloIndiceDeSequencia() {
+        List<RegistroSql.Comando> comandos = registrar(() ->
+                repository.buscarAlteracoesAposSequencia((long) PRODUTOS - 100, 1001));
+
+        assertEquals(1, comandos.size());
+        JsonNode plano = explicar(comandos.get(0));
+        assertUsaIndice(plano, "idx_produtos_sequencia");
+        assertCustoMaximo(plano, CUSTO_MAXIMO_INDEXADA);
+    }
+
+    /**
+     * Testa o plano da série de estatísticas dos últimos 30 dias.
+     * Deve usar os índices {@code idx_produtos_criacao} e {@code idx_produtos_exclusao}.
+     */
+    @Test
+    void deveCalcularSeriePelosIndicesDeData() {
+        ZonedDateTime ate = ZonedDateTime.now(FUSO);
+        List<RegistroSql.Comando> comandos = registrar(() -> {
+            repository.calcularSerie("day", ate.minusDays(30), ate);
+            repository.calcularSeriePorCategoria("day", Categorias.ACCESSORIES.getCodigo(), ate.minusDays(30), ate);
+        });
+
+        assertEquals(2, comandos.size());
+        for (RegistroSql.Comando comando : comandos) {
+            JsonNode plano = explicar(comando);
+            assertUsaIndice(plano, "idx_produtos_criacao");
+            assertUsaIndice(plano, "idx_produtos_exclusao");
+            assertSemSeqScan(plano, "produtos");
+            assertCustoMaximo(plano, CUSTO_MAXIMO_AGREGACAO);
+        }
+    }
+
+    /**
+     * Testa o plano da contagem e do expurgo de produtos apagados há mais tempo que a retenção.
+     * Ambos devem usar o índice {@code idx_produtos_exclusao}.
+     */
+    @Test
+    void deveSelecionarExpurgoPeloIndiceDeExclusao() {
+        ZonedDateTime limite = ZonedDateTime.now(FUSO).minusYears(10);
+        List<RegistroSql.Comando> comandos = registrar(() -> {
+            repository.contarApagadosAntesDe(limite);
+            repository.expurgarLote(limite, limite.minusYears(1), 0L, 500);
+        });
+
+        assertEquals(2, comandos.size());
+        for (RegistroSql.Comando comando : comandos) {
+            JsonNode plano = explicar(comando);
+            assertUsaIndice(plano, "idx_produtos_exclusao");
+            assertSemSeqScan(plano, "produtos");
+            assertCustoMaximo(plano, CUSTO_MAXIMO_INDEXADA);
+        }
+    }
+
+    /**
+     * Testa as datas devolvidas pela busca de campos esparsos.
+     * Devem estar no fuso {@code America/Sao_Paulo}, assim como no {@code ProdutoResponseDTO}.
+     */
+    @Test
+    void deveDevolverDatasDosCamposEsparsosNoFusoDeSaoPaulo() {
+        Map<String, Object> produto = repository.findByIdComCampos(4242L, List.of("id", "createdAt", "updatedAt"))
+                .orElseThrow();
+
+        assertEquals(4242L, produto.get("id"));
+        assertEquals(FUSO, ((ZonedDateTime) produto.get("createdAt")).getZone());
+        assertEquals(FUSO, ((ZonedDateTime) produto.get("updatedAt")).getZone());
+    }
+}
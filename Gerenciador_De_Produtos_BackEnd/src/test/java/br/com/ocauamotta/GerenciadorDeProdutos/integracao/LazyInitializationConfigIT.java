@@ -0,0 +1,52 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.integracao.PostgresIntegracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.CatalogoEmMemoria;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.ExpurgoProdutosService;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.ProdutoEventosService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes de integração da inicialização tardia dos beans ({@code LazyInitializationConfig}).
+ * A aplicação sobe com {@code spring.main.lazy-initialization=true}, como no perfil "startup".
+ */
+@TestPropertySource(properties = "spring.main.lazy-initialization=true")
+class LazyInitializationConfigIT extends PostgresIntegracao {
+
+    @Autowired
+    private List<ScheduledTaskHolder> agendadores;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    /**
+     * Testa o registro das tarefas agendadas com a inicialização tardia.
+     * Os beans com métodos {@code @Scheduled} devem ser criados na subida, mesmo que nenhuma requisição os use,
+     * para que as suas tarefas sejam agendadas, enquanto os demais beans continuam com criação sob demanda.
+     */
+    @Test
+    void deveAgendarTarefasDosBeansComInicializacaoTardia() {
+        assertTrue(beanFactory.getBeanDefinition("estatisticasService").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("expurgoProdutosService").isLazyInit());
+
+        Set<String> tarefas = agendadores.stream()
+                .flatMap(agendador -> agendador.getScheduledTasks().stream())
+                .map(tarefa -> tarefa.getTask().toString())
+                .collect(Collectors.toSet());
+
+        assertTrue(tarefas.containsAll(Set.of(
+                ExpurgoProdutosService.class.getName() + ".expurgar",
+                CatalogoEmMemoria.class.getName() + ".recarregar",
+                ProdutoEventosService.class.getName() + ".enviarHeartbeat")), () -> "Tarefas agendadas: " + tarefas);
+    }
+}
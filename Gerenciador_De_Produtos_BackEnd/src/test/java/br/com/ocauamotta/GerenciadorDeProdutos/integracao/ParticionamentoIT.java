@@ -0,0 +1,200 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.integracao;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoRequestDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.ProdutoService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes de integração da conversão da tabela de produtos em tabela particionada
+ * ({@code db/particionar_produtos.sql}).
+ *
+ * <p>Um Postgres embutido próprio recebe a tabela {@code produtos} como o Hibernate a cria, os índices do
+ * {@code schema.sql} e {@link #PRODUTOS} produtos, 10% deles apagados, e em seguida o script de particionamento,
+ * executado comando a comando como pelo {@code psql}. Só então a aplicação sobe, com
+ * {@code ddl-auto=validate}: a subida falha se o mapeamento do {@code Produto} não for aceito pela tabela
+ * particionada.</p>
+ *
+ * <p>A chave primária da tabela particionada é {@code (id, apagado)}, já que precisa conter a chave de
+ * particionamento, enquanto o {@code Produto} continua mapeado apenas pelo {@code id}. Os testes verificam que
+ * o mapeamento continua correto: o {@code id} segue único, vindo de uma única sequência, e a exclusão e a
+ * restauração movem o registro entre as partições sem duplicá-lo.</p>
+ */
+@SpringBootTest
+class ParticionamentoIT {
+
+    private static final int PRODUTOS = 1_000;
+
+    private static final String TABELA_PRODUTOS = """
+            CREATE TABLE produtos (
+                id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                nome       varchar(150) NOT NULL,
+                preco      integer NOT NULL,
+                categoria  smallint NOT NULL,
+                created_at timestamp(6) with time zone,
+                updated_at timestamp(6) with time zone,
+                deleted_at timestamp(6) with time zone,
+                apagado    boolean default false NOT NULL,
+                sequencia  bigint,
+                transacao  bigint
+            )
+            """;
+
+    private static final String MASSA_DE_DADOS = """
+            INSERT INTO produtos (nome, preco, categoria, created_at, updated_at, deleted_at, apagado, sequencia, transacao)
+            SELECT 'Produto ' || i, 100 + i, CAST(i %% 4 + 1 AS smallint), now(), now(),
+                   CASE WHEN i %% 10 = 0 THEN now() END, i %% 10 = 0, i, 0
+            FROM generate_series(1, %d) AS i
+            """.formatted(PRODUTOS);
+
+    private static final Pattern DOLAR = Pattern.compile("\\$\\w*\\$");
+
+    private static final EmbeddedPostgres POSTGRES = iniciarPostgresParticionado();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProdutoService service;
+
+    /**
+     * Aponta a aplicação para o Postgres já particionado e troca o {@code ddl-auto=update} pela validação do
+     * mapeamento, como recomendado após o particionamento.
+     */
+    @DynamicPropertySource
+    static void configurarBanco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("app.aquecimento.habilitado", () -> "false");
+    }
+
+    /**
+     * Testa a estrutura criada pelo script.
+     * A tabela deve ser particionada por {@code apagado}, com a chave primária {@code (id, apagado)} e os
+     * produtos existentes copiados para a partição correspondente.
+     */
+    @Test
+    void deveParticionarPorApagadoComChavePrimariaComposta() {
+        String chave = jdbcTemplate.queryForObject("""
+                SELECT string_agg(a.attname, ',' ORDER BY k.ordem)
+                FROM pg_constraint c
+                CROSS JOIN LATERAL unnest(c.conkey) WITH ORDINALITY AS k(coluna, ordem)
+                JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = k.coluna
+                WHERE c.conrelid = 'produtos'::regclass AND c.contype = 'p'
+                """, String.class);
+
+        assertEquals("p", jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = 'produtos'::regclass", String.class));
+        assertEquals("id,apagado", chave);
+        assertEquals(PRODUTOS / 10, contar("produtos_apagados"));
+        assertEquals(PRODUTOS - PRODUTOS / 10, contar("produtos_ativos"));
+    }
+
+    /**
+     * Testa a exclusão e a restauração de um produto criado após o particionamento.
+     * O registro deve ser movido entre as partições e continuar único pelo {@code id}, como no mapeamento.
+     */
+    @Test
+    void deveMoverProdutoEntreParticoesMantendoIdUnico() {
+        ProdutoResponseDTO salvo = service.save(new ProdutoRequestDTO("Tênis Particionado", 25000, "calcados"));
+        assertTrue(salvo.id() > PRODUTOS);
+        assertEquals("produtos_ativos", particao(salvo.id()));
+
+        service.delete(salvo.id());
+        assertEquals("produtos_apagados", particao(salvo.id()));
+        assertNotNull(service.findById(salvo.id()).deletedAt());
+
+        service.restaurar(salvo.id());
+        assertEquals("produtos_ativos", particao(salvo.id()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM produtos WHERE id = ?", Integer.class, salvo.id()));
+    }
+
+    private int contar(String particao) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + particao + " WHERE id <= ?", Integer.class, PRODUTOS);
+    }
+
+    private String particao(Long id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM produtos WHERE id = ?", String.class, id);
+    }
+
+    private static EmbeddedPostgres iniciarPostgresParticionado() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            try (Connection conexao = postgres.getPostgresDatabase().getConnection()) {
+                executar(conexao, TABELA_PRODUTOS);
+                executar(conexao, Files.readString(Path.of("src/main/resources/schema.sql")));
+                executar(conexao, MASSA_DE_DADOS);
+                executar(conexao, Files.readString(Path.of("db/particionar_produtos.sql")));
+            }
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível iniciar o Postgres embutido.", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível particionar a tabela de produtos.", e);
+        }
+    }
+
+    /**
+     * Executa o script comando a comando, em modo autocommit, como o {@code psql}. Os comandos são separados
+     * por {@code ;} fora de comentários, de textos entre aspas e de corpos de função entre {@code $$}.
+     */
+    private static void executar(Connection conexao, String script) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            for (String comando : separar(script)) statement.execute(comando);
+        }
+    }
+
+    private static List<String> separar(String script) {
+        List<String> comandos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            Matcher dolar = c == '$' ? DOLAR.matcher(script).region(i, script.length()) : null;
+            if (c == '-' && script.startsWith("--", i)) {
+                while (i < script.length() && script.charAt(i) != '\n') i++;
+            } else if (c == '\'') {
+                int fim = script.indexOf('\'', i + 1);
+                while (fim + 1 < script.length() && script.charAt(fim + 1) == '\'') fim = script.indexOf('\'', fim + 2);
+                atual.append(script, i, fim + 1);
+                i = fim + 1;
+            } else if (dolar != null && dolar.lookingAt()) {
+                int fim = script.indexOf(dolar.group(), dolar.end()) + dolar.group().length();
+                atual.append(script, i, fim);
+                i = fim;
+            } else if (c == ';') {
+                if (!atual.toString().isBlank()) comandos.add(atual.toString().trim());
+                atual.setLength(0);
+                i++;
+            } else {
+                atual.append(c);
+                i++;
+            }
+        }
+        if (!atual.toString().isBlank()) comandos.add(atual.toString().trim());
+        return comandos;
+    }
+}
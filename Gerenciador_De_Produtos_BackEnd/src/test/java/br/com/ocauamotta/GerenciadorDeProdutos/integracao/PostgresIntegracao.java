@@ -0,0 +1,207 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.integracao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Base dos testes de integração contra um Postgres embutido (classes {@code *IT}, perfil Maven {@code integracao}).
+ *
+ * <p>O banco é iniciado uma única vez por execução e populado, antes do primeiro teste, com {@link #PRODUTOS}
+ * produtos distribuídos entre as categorias, com preços e datas de criação espalhados por três anos e 10% dos
+ * produtos apagados (todos das categorias {@code SHOES} e {@code UNDERWEAR}). Um a cada 500 produtos, todos ativos
+ * e da categoria {@code CLOTHES}, se chama {@code Relógio Vintage}, para as buscas por nome seletivas. Em seguida a
+ * tabela é analisada ({@code VACUUM ANALYZE}), para que os planos de execução reflitam as estatísticas de uma base
+ * real, e não as de uma tabela vazia.</p>
+ *
+ * <p>Os comandos executados pela aplicação ficam no {@code RegistroSql}, que é limpo antes de cada teste.</p>
+ */
+@SpringBootTest
+@Import(PostgresIntegracao.Configuracao.class)
+public abstract class PostgresIntegracao {
+
+    protected static final int PRODUTOS = 200_000;
+
+    /**
+     * Custo máximo (unidades do planejador) de uma consulta que deve ler poucas linhas por um índice.
+     */
+    protected static final double CUSTO_MAXIMO_INDEXADA = 1_000;
+
+    /**
+     * Custo máximo de uma busca textual pelo índice trigram.
+     */
+    protected static final double CUSTO_MAXIMO_BUSCA = 5_000;
+
+    /**
+     * Custo máximo de uma agregação, equivalente a cerca de uma leitura completa da tabela de produtos.
+     */
+    protected static final double CUSTO_MAXIMO_AGREGACAO = 10_000;
+
+    private static final String MASSA_DE_DADOS = """
+            INSERT INTO produtos (nome, preco, categoria, created_at, updated_at, deleted_at, apagado, sequencia, transacao)
+            SELECT CASE WHEN s.i % 500 = 1 THEN 'Relógio Vintage ' || s.i ELSE 'Produto ' || s.i END,
+                   100 + (s.i * 7919) % 100000,
+                   CAST(s.i % 4 + 1 AS smallint),
+                   s.criado,
+                   s.criado,
+                   CASE WHEN s.i % 10 = 0 THEN s.criado + interval '1 day' END,
+                   s.i % 10 = 0,
+                   s.i,
+                   0
+            FROM (SELECT i, now() - make_interval(days => i % 1095, hours => i % 24) AS criado
+                  FROM generate_series(1, ?) AS i) s
+            """;
+
+    private static final EmbeddedPostgres POSTGRES = iniciarPostgres();
+    private static boolean populado;
+
+    @Autowired
+    protected RegistroSql registroSql;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Aponta o {@code DataSource} da aplicação para o Postgres embutido e desliga o aquecimento, que carregaria
+     * os caches a partir do banco ainda vazio.
+     */
+    @DynamicPropertySource
+    static void configurarBanco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("app.aquecimento.habilitado", () -> "false");
+    }
+
+    /**
+     * Popula o banco na primeira execução e limpa os comandos registrados antes de cada teste.
+     */
+    @BeforeEach
+    void prepararBanco() {
+        synchronized (PostgresIntegracao.class) {
+            if (!populado) {
+                jdbcTemplate.update(MASSA_DE_DADOS, PRODUTOS);
+                jdbcTemplate.queryForObject("SELECT setval('produtos_sequencia_seq', ?)", Long.class, PRODUTOS);
+                // O Postgres embutido roda com synchronous_commit=off: sem o CHECKPOINT, o VACUUM encontra
+                // a inserção ainda não gravada no WAL e não marca as páginas como visíveis (index-only scan)
+                jdbcTemplate.execute("CHECKPOINT");
+                jdbcTemplate.execute("VACUUM ANALYZE produtos");
+                populado = true;
+            }
+        }
+        registroSql.limpar();
+    }
+
+    /**
+     * Executa a operação e retorna os comandos SQL executados por ela.
+     *
+     * @param operacao A operação a ser executada.
+     * @return Os comandos executados, em ordem.
+     */
+    protected List<RegistroSql.Comando> registrar(Runnable operacao) {
+        registroSql.limpar();
+        operacao.run();
+        return registroSql.comandos();
+    }
+
+    /**
+     * Obtém o plano de execução do comando ({@code EXPLAIN (FORMAT JSON)}), com os mesmos parâmetros da execução.
+     * O comando não é executado.
+     *
+     * @param comando O comando registrado.
+     * @return O nó raiz do plano.
+     */
+    protected JsonNode explicar(RegistroSql.Comando comando) {
+        String plano = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> {
+            try (PreparedStatement statement = conexao.prepareStatement("EXPLAIN (FORMAT JSON) " + comando.sql())) {
+                comando.vincular(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+        try {
+            return objectMapper.readTree(plano).get(0).get("Plan");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Plano de execução inválido: " + plano, e);
+        }
+    }
+
+    /**
+     * Verifica se algum nó do plano lê o índice informado (index scan, index-only scan ou bitmap).
+     */
+    protected static void assertUsaIndice(JsonNode plano, String indice) {
+        boolean usa = nos(plano).stream().anyMatch(no -> indice.equals(no.path("Index Name").asText(null)));
+        assertTrue(usa, () -> "O plano não usa o índice " + indice + ":\n" + plano.toPrettyString());
+    }
+
+    /**
+     * Verifica se nenhum nó do plano lê a tabela informada por completo ({@code Seq Scan}).
+     */
+    protected static void assertSemSeqScan(JsonNode plano, String tabela) {
+        boolean seqScan = nos(plano).stream().anyMatch(no -> "Seq Scan".equals(no.path("Node Type").asText())
+                && tabela.equals(no.path("Relation Name").asText(null)));
+        assertFalse(seqScan, () -> "O plano lê a tabela " + tabela + " por completo:\n" + plano.toPrettyString());
+    }
+
+    /**
+     * Verifica se o custo total estimado do plano não passa do limite informado.
+     */
+    protected static void assertCustoMaximo(JsonNode plano, double custoMaximo) {
+        double custo = plano.path("Total Cost").asDouble();
+        assertTrue(custo <= custoMaximo,
+                () -> "Custo " + custo + " acima do limite " + custoMaximo + ":\n" + plano.toPrettyString());
+    }
+
+    private static List<JsonNode> nos(JsonNode plano) {
+        List<JsonNode> nos = new ArrayList<>();
+        nos.add(plano);
+        for (JsonNode filho : plano.path("Plans")) nos.addAll(nos(filho));
+        return nos;
+    }
+
+    private static EmbeddedPostgres iniciarPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível iniciar o Postgres embutido.", e);
+        }
+    }
+
+    /**
+     * Registra o {@code RegistroSql} no contexto dos testes de integração.
+     */
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        static RegistroSql registroSql() {
+            return new RegistroSql();
+        }
+    }
+}
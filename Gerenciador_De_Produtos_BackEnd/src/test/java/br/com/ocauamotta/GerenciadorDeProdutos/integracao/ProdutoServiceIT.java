@@ -0,0 +1,143 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoRequestDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.integracao.PostgresIntegracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.integracao.RegistroSql;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes de integração da quantidade de comandos SQL de cada operação do {@code ProdutoService}.
+ * Os valores são exatos: um comando a mais (ex: um N+1 ou um flush antecipado) ou a menos (ex: um cache
+ * que deixou de ser usado) deve ser percebido aqui antes de chegar à produção.
+ */
+class ProdutoServiceIT extends PostgresIntegracao {
+
+    @Autowired
+    private ProdutoService service;
+
+    /**
+     * Testa a busca de um produto por ID.
+     * Deve executar apenas a consulta pela chave primária.
+     */
+    @Test
+    void deveBuscarPorIdComUmComando() {
+        Long id = idAtivo();
+
+        assertEquals(1, registrar(() -> service.findById(id)).size());
+    }
+
+    /**
+     * Testa a listagem paginada de produtos ativos.
+     * Deve executar a consulta da página e a contagem total.
+     */
+    @Test
+    void deveListarAtivosComPaginaEContagem() {
+        assertEquals(2, registrar(() -> service.findAllActive(null, null, null, "id,asc", PageRequest.of(0, 20))).size());
+    }
+
+    /**
+     * Testa a listagem de uma página que já contém todos os resultados do filtro.
+     * A contagem total não deve ser executada.
+     */
+    @Test
+    void deveListarUltimaPaginaSemContagem() {
+        assertEquals(1, registrar(() -> service.findAllActive("calcados", 100, 105, "preco,asc", PageRequest.of(0, 20))).size());
+    }
+
+    /**
+     * Testa a listagem paginada com facetas por categoria.
+     * Deve executar a página, a contagem total e uma única contagem agrupada por categoria.
+     */
+    @Test
+    void deveListarAtivosComFacetasEmTresComandos() {
+        assertEquals(3, registrar(() ->
+                service.findAllActiveComFacetas(null, "categoria", null, null, "id,asc", PageRequest.of(0, 20))).size());
+    }
+
+    /**
+     * Testa o cálculo do total de produtos de uma categoria.
+     * Deve executar uma única consulta.
+     */
+    @Test
+    void deveCalcularTotalComUmComando() {
+        assertEquals(1, registrar(() -> service.calcularTotalDeProdutos("acessorios")).size());
+    }
+
+    /**
+     * Testa o histograma de preços e o seu cache.
+     * A primeira chamada deve executar uma única consulta e a segunda nenhuma.
+     */
+    @Test
+    void deveCalcularHistogramaUmaVezEUsarOCache() {
+        assertEquals(1, registrar(() -> service.calcularHistogramaDePrecos("roupas_intimas", 1_000, 50_000, 7)).size());
+        assertEquals(0, registrar(() -> service.calcularHistogramaDePrecos("roupas_intimas", 1_000, 50_000, 7)).size());
+    }
+
+    /**
+     * Testa a busca textual por nome.
+     * Deve executar a busca dos IDs por relevância e uma única leitura dos produtos encontrados.
+     */
+    @Test
+    void deveBuscarPorNomeComDoisComandos() {
+        assertEquals(2, registrar(() -> service.buscarPorNome("Vintage", null, null, 20)).size());
+    }
+
+    /**
+     * Testa a leitura do feed de alterações.
+     * Deve executar uma única consulta.
+     */
+    @Test
+    void deveBuscarAlteracoesComUmComando() {
+        assertEquals(1, registrar(() -> service.buscarAlteracoes(null, 100)).size());
+    }
+
+    /**
+     * Testa a criação de um produto.
+     * Deve executar a sequência de alteração, o INSERT e a notificação das outras instâncias.
+     */
+    @Test
+    void deveCriarProdutoComTresComandos() {
+        assertEquals(3, registrar(() -> service.save(novoProduto())).size());
+    }
+
+    /**
+     * Testa a atualização de um produto.
+     * Deve executar a leitura com bloqueio do registro, a sequência de alteração, um único UPDATE e a notificação.
+     */
+    @Test
+    void deveAtualizarProdutoComQuatroComandos() {
+        Long id = service.save(novoProduto()).id();
+
+        List<RegistroSql.Comando> comandos = registrar(() -> service.update(id, new ProdutoRequestDTO("Produto atualizado", 4321, "roupas")));
+
+        assertEquals(4, comandos.size());
+        assertTrue(comandos.get(0).sql().toLowerCase().matches("(?s).* for (no key )?update"));
+    }
+
+    /**
+     * Testa a exclusão lógica e a restauração de um produto.
+     * Cada operação deve executar a leitura, a sequência de alteração, um único UPDATE e a notificação.
+     */
+    @Test
+    void deveApagarERestaurarProdutoComQuatroComandosCada() {
+        Long id = service.save(novoProduto()).id();
+
+        assertEquals(4, registrar(() -> service.delete(id)).size());
+        assertEquals(4, registrar(() -> service.restaurar(id)).size());
+    }
+
+    private Long idAtivo() {
+        return jdbcTemplate.queryForObject("SELECT min(id) FROM produtos WHERE apagado = false", Long.class);
+    }
+
+    private static ProdutoRequestDTO novoProduto() {
+        return new ProdutoRequestDTO("Produto de integração", 1999, "calcados");
+    }
+}
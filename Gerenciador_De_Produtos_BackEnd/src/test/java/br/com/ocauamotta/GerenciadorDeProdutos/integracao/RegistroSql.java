@@ -0,0 +1,173 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.integracao;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro dos comandos SQL executados pela aplicação nos testes de integração.
+ *
+ * <p>Envolve o {@code DataSource} principal ({@code dataSource}) e guarda o SQL e os parâmetros de cada comando
+ * executado, de qualquer thread, para que os testes contem os comandos de uma operação e repitam as consultas com
+ * {@code EXPLAIN}. Conexões abertas fora desse {@code DataSource} (ex: a conexão de escuta da
+ * {@code InvalidacaoDistribuida} e o {@code connection-init-sql} do pool) não são registradas.</p>
+ */
+public class RegistroSql implements BeanPostProcessor {
+
+    private static final Set<String> EXECUCOES = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch");
+
+    private final List<Comando> comandos = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+            return new DataSourceRegistrado(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Descarta os comandos registrados até o momento.
+     */
+    public void limpar() {
+        comandos.clear();
+    }
+
+    /**
+     * Retorna os comandos executados desde a última limpeza, em ordem de execução.
+     *
+     * @return Uma cópia da lista de comandos registrados.
+     */
+    public List<Comando> comandos() {
+        return List.copyOf(comandos);
+    }
+
+    /**
+     * Comando SQL executado, com os parâmetros vinculados no momento da execução.
+     *
+     * @param sql O SQL do comando.
+     * @param parametros Os parâmetros vinculados, na ordem em que foram definidos.
+     */
+    public record Comando(String sql, List<Parametro> parametros) {
+
+        /**
+         * Vincula os mesmos parâmetros a outro comando (ex: o {@code EXPLAIN} da consulta).
+         *
+         * @param statement O comando que recebe os parâmetros.
+         */
+        public void vincular(PreparedStatement statement) throws SQLException {
+            for (Parametro parametro : parametros) {
+                invocar(statement, parametro.metodo(), parametro.argumentos());
+            }
+        }
+    }
+
+    /**
+     * Chamada de um {@code setXxx(índice, valor, ...)} de um {@code PreparedStatement}.
+     *
+     * @param metodo O método chamado.
+     * @param argumentos Os argumentos da chamada.
+     */
+    public record Parametro(Method metodo, Object[] argumentos) {}
+
+    /**
+     * {@code DataSource} que registra os comandos executados nas conexões entregues.
+     */
+    private class DataSourceRegistrado extends DelegatingDataSource {
+
+        DataSourceRegistrado(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return envolverConexao(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return envolverConexao(obtainTargetDataSource().getConnection(username, password));
+        }
+    }
+
+    /**
+     * Método auxiliar privado que envolve a conexão para registrar os comandos criados por ela.
+     *
+     * @param conexao A conexão original.
+     * @return A conexão envolvida.
+     */
+    private Connection envolverConexao(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(RegistroSql.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("equals")) return proxy == argumentos[0];
+                    if (metodo.getName().equals("hashCode")) return System.identityHashCode(proxy);
+
+                    Object resultado = invocar(conexao, metodo, argumentos);
+                    return switch (metodo.getName()) {
+                        case "createStatement" -> envolverComando((Statement) resultado, Statement.class, null);
+                        case "prepareStatement" -> envolverComando((Statement) resultado, PreparedStatement.class, (String) argumentos[0]);
+                        case "prepareCall" -> envolverComando((Statement) resultado, CallableStatement.class, (String) argumentos[0]);
+                        default -> resultado;
+                    };
+                });
+    }
+
+    /**
+     * Método auxiliar privado que envolve o comando para registrar os parâmetros e as execuções.
+     *
+     * @param statement O comando original.
+     * @param tipo A interface JDBC do comando.
+     * @param sql O SQL do comando preparado, ou {@code null} para um {@code Statement} simples.
+     * @return O comando envolvido.
+     */
+    private Statement envolverComando(Statement statement, Class<? extends Statement> tipo, String sql) {
+        List<Parametro> parametros = new ArrayList<>();
+        return (Statement) Proxy.newProxyInstance(RegistroSql.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("equals")) return proxy == argumentos[0];
+                    if (metodo.getName().equals("hashCode")) return System.identityHashCode(proxy);
+
+                    if (ehParametro(metodo)) {
+                        parametros.add(new Parametro(metodo, argumentos.clone()));
+                    } else if (metodo.getName().equals("clearParameters")) {
+                        parametros.clear();
+                    } else if (EXECUCOES.contains(metodo.getName())) {
+                        String executado = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String s ? s : sql;
+                        comandos.add(new Comando(executado, List.copyOf(parametros)));
+                    }
+                    return invocar(statement, metodo, argumentos);
+                });
+    }
+
+    private static boolean ehParametro(Method metodo) {
+        return metodo.getName().startsWith("set") && metodo.getParameterCount() >= 2
+                && metodo.getParameterTypes()[0] == int.class
+                && PreparedStatement.class.isAssignableFrom(metodo.getDeclaringClass());
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws SQLException {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) throw sqlException;
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o {@code DataSource} que aplica o prazo das requisições ({@code PrazoDataSource}).
+ * Utiliza Mockito para simular a conexão e os comandos JDBC, e o {@code PrazoRequisicaoInterceptor} para definir
+ * o prazo da thread de testes.
+ */
+@ExtendWith(MockitoExtension.class)
+class PrazoDataSourceTest {
+
+    @Mock
+    private DataSource alvo;
+
+    @Mock
+    private Connection conexao;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private HandlerMethod handler;
+    private PrazoDataSource dataSource;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        when(alvo.getConnection()).thenReturn(conexao);
+        when(conexao.prepareStatement("SELECT 1")).thenReturn(statement);
+        handler = new HandlerMethod(this, PrazoDataSourceTest.class.getDeclaredMethod("setUp"));
+        dataSource = new PrazoDataSource(alvo);
+    }
+
+    /**
+     * Remove o prazo da thread de testes.
+     */
+    @AfterEach
+    void tearDown() {
+        interceptor(Duration.ofSeconds(10)).afterCompletion(request, response, handler, null);
+    }
+
+    /**
+     * Testa um comando criado fora de uma requisição.
+     * O timeout do comando não deve ser alterado.
+     */
+    @Test
+    void deveManterComandoSemPrazo() throws SQLException {
+        dataSource.getConnection().prepareStatement("SELECT 1");
+
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    /**
+     * Testa um comando criado durante uma requisição.
+     * O timeout deve ser o tempo restante até o prazo, arredondado para cima em segundos.
+     */
+    @Test
+    void deveAplicarTempoRestanteComoTimeoutDoComando() throws SQLException {
+        interceptor(Duration.ofMillis(1500)).preHandle(request, response, handler);
+
+        dataSource.getConnection().prepareStatement("SELECT 1");
+
+        verify(statement).setQueryTimeout(2);
+    }
+
+    /**
+     * Testa um comando criado após o prazo da requisição.
+     * Deve falhar com {@code SQLTimeoutException} e fechar o comando, sem executá-lo.
+     */
+    @Test
+    void deveRecusarComandoAposOPrazo() throws Exception {
+        interceptor(Duration.ofMillis(1)).preHandle(request, response, handler);
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        Connection envolvida = dataSource.getConnection();
+
+        assertThrows(SQLTimeoutException.class, () -> envolvida.prepareStatement("SELECT 1"));
+        verify(statement).close();
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    private PrazoRequisicaoInterceptor interceptor(Duration padrao) {
+        return new PrazoRequisicaoInterceptor(new MockEnvironment(),
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class), padrao);
+    }
+}
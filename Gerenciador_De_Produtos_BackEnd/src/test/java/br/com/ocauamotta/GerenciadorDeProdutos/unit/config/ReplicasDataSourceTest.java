@@ -0,0 +1,122 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o roteador de leituras ({@code ReplicasDataSource}).
+ * Utiliza Mockito para simular o banco primário e as réplicas, verificando a distribuição
+ * das leituras e o retorno ao primário quando as réplicas falham.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicasDataSourceTest {
+
+    @Mock
+    private DataSource primario;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection conexaoPrimario;
+
+    @Mock
+    private Connection conexaoReplica1;
+
+    @Mock
+    private Connection conexaoReplica2;
+
+    private ReplicasDataSource dataSource;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Cria o roteador com duas réplicas.
+     */
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReplicasDataSource(primario, List.of(replica1, replica2));
+    }
+
+    /**
+     * Testa a distribuição das leituras entre as réplicas saudáveis.
+     * Deve alternar entre as réplicas sem consultar o primário.
+     */
+    @Test
+    void deveAlternarLeiturasEntreAsReplicas() throws SQLException {
+        when(replica1.getConnection()).thenReturn(conexaoReplica1);
+        when(replica2.getConnection()).thenReturn(conexaoReplica2);
+
+        assertSame(conexaoReplica1, dataSource.getConnection());
+        assertSame(conexaoReplica2, dataSource.getConnection());
+        assertSame(conexaoReplica1, dataSource.getConnection());
+        verifyNoInteractions(primario);
+    }
+
+    /**
+     * Testa o failover quando todas as réplicas falham.
+     * Deve retornar uma conexão do primário e deixar de tentar as réplicas até a próxima verificação.
+     */
+    @Test
+    void deveUsarPrimarioQuandoReplicasFalharem() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("fora do ar"));
+        when(replica2.getConnection()).thenThrow(new SQLTransientConnectionException("fora do ar"));
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+
+        assertSame(conexaoPrimario, dataSource.getConnection());
+        assertSame(conexaoPrimario, dataSource.getConnection());
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(1)).getConnection();
+    }
+
+    /**
+     * Testa o retorno de uma réplica após a verificação periódica de saúde.
+     * Deve voltar a receber leituras quando responder à validação de conexão.
+     */
+    @Test
+    void deveReativarReplicaAposVerificacao() throws SQLException {
+        when(replica1.getConnection())
+                .thenThrow(new SQLTransientConnectionException("fora do ar"))
+                .thenReturn(conexaoReplica1);
+        when(replica2.getConnection()).thenReturn(conexaoReplica2);
+        when(conexaoReplica1.isValid(anyInt())).thenReturn(true);
+        when(conexaoReplica2.isValid(anyInt())).thenReturn(true);
+
+        assertSame(conexaoReplica2, dataSource.getConnection());
+        dataSource.verificarReplicas();
+
+        List<Connection> conexoes = List.of(dataSource.getConnection(), dataSource.getConnection());
+        assertTrue(conexoes.contains(conexaoReplica1));
+    }
+
+    /**
+     * Testa a conexão com credenciais explícitas.
+     * Deve seguir o mesmo roteamento das demais leituras: usar uma réplica e, quando a réplica
+     * restante também falhar, o primário.
+     */
+    @Test
+    void deveRotearConexaoComCredenciais() throws SQLException {
+        when(replica1.getConnection("leitor", "senha"))
+                .thenReturn(conexaoReplica1)
+                .thenThrow(new SQLTransientConnectionException("fora do ar"));
+        when(replica2.getConnection("leitor", "senha")).thenThrow(new SQLTransientConnectionException("fora do ar"));
+        when(primario.getConnection("leitor", "senha")).thenReturn(conexaoPrimario);
+
+        assertSame(conexaoReplica1, dataSource.getConnection("leitor", "senha"));
+        assertSame(conexaoPrimario, dataSource.getConnection("leitor", "senha"));
+    }
+}
@@ -3,8 +3,12 @@ package br.com.ocauamotta.GerenciadorDeProdutos.controllers;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ErrorResponse;
 import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.BadRequestException;
 import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.EntityNotFoundException;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.ServicoIndisponivelException;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.TempoEsgotadoException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.WebRequest;
 
@@ -68,6 +72,56 @@ class GlobalExceptionHandlerTest {
         assertEquals("/produtos", response.getBody().path());
     }
 
+    /**
+     * Testa o tratamento de {@code TempoEsgotadoException}.
+     * Deve garantir que o status HTTP retornado seja 504 GATEWAY TIMEOUT.
+     */
+    @Test
+    void deveTratarTempoEsgotadoException() {
+        when(request.getDescription(false)).thenReturn("uri=/produtos/calcular_total");
+
+        TempoEsgotadoException ex = new TempoEsgotadoException("Tempo esgotado");
+
+        ResponseEntity<ErrorResponse> response = handler.handleTempoEsgotado(ex, request);
+
+        assertEquals(504, response.getStatusCodeValue());
+        assertEquals("Tempo esgotado", response.getBody().message());
+        assertEquals("/produtos/calcular_total", response.getBody().path());
+    }
+
+    /**
+     * Testa o tratamento de {@code ServicoIndisponivelException}.
+     * Deve garantir que o status HTTP retornado seja 503 SERVICE UNAVAILABLE, com o cabeçalho {@code Retry-After}.
+     */
+    @Test
+    void deveTratarServicoIndisponivelException() {
+        when(request.getDescription(false)).thenReturn("uri=/produtos/1");
+
+        ServicoIndisponivelException ex = new ServicoIndisponivelException("Banco de dados indisponível", 7);
+
+        ResponseEntity<ErrorResponse> response = handler.handleServicoIndisponivel(ex, request);
+
+        assertEquals(503, response.getStatusCodeValue());
+        assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Banco de dados indisponível", response.getBody().message());
+    }
+
+    /**
+     * Testa o tratamento de {@code QueryTimeoutException}.
+     * Deve garantir que o status HTTP retornado seja 504 GATEWAY TIMEOUT, sem expor a mensagem do banco.
+     */
+    @Test
+    void deveTratarQueryTimeoutException() {
+        when(request.getDescription(false)).thenReturn("uri=/produtos");
+
+        QueryTimeoutException ex = new QueryTimeoutException("ERROR: canceling statement due to user request");
+
+        ResponseEntity<ErrorResponse> response = handler.handleQueryTimeout(ex, request);
+
+        assertEquals(504, response.getStatusCodeValue());
+        assertEquals("A consulta excedeu o prazo da requisição.", response.getBody().message());
+    }
+
     /**
      * Testa o tratamento de ({@code RuntimeException}).
      * Deve garantir que o status HTTP retornado seja 500 INTERNAL SERVER ERROR e
@@ -1,24 +1,49 @@
 package br.com.ocauamotta.GerenciadorDeProdutos.controllers;
 
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.AlteracoesDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.FaixaPrecoDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.HistogramaPrecoDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PaginaCursorDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PainelDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PontoSerieDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoPorIdDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoRequestDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutosComFacetasDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.SerieEstatisticasDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.TotalProdutosDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.CacheJsonProdutos;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.EstatisticasService;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.LeiturasResilientes;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.PainelService;
+import br.com.ocauamotta.GerenciadorDeProdutos.services.ProdutoEventosService;
 import br.com.ocauamotta.GerenciadorDeProdutos.services.ProdutoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,9 +52,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Classe de testes unitários para a classe de controller ({@code ProdutoController}).
  * Utiliza {@code MockMvc} para simular requisições HTTP e verificar as respostas.
- * A camada de serviço ({@code ProdutoService}) é mockada com {@code @MockitoBean}.
+ * A camada de serviço ({@code ProdutoService}) é mockada com {@code @MockitoBean}, e o cache de JSON
+ * pré-serializado ({@code CacheJsonProdutos}) é o real, para que as respostas passem pela serialização.
  */
 @WebMvcTest(ProdutoController.class)
+@Import(CacheJsonProdutos.class)
 class ProdutoControllerTest {
 
     @Autowired
@@ -41,6 +68,15 @@ class ProdutoControllerTest {
     @MockitoBean
     private ProdutoService service;
 
+    @MockitoBean
+    private ProdutoEventosService eventosService;
+
+    @MockitoBean
+    private EstatisticasService estatisticasService;
+
+    @MockitoBean
+    private PainelService painelService;
+
     private ProdutoResponseDTO produtoDTO;
     private ZonedDateTime time;
 
@@ -74,6 +110,28 @@ class ProdutoControllerTest {
         verify(service, times(1)).findById(1L);
     }
 
+    /**
+     * Testa o endpoint GET /produtos/{id} para um cliente que aceita gzip.
+     * Deve retornar o JSON do produto compactado, com o cabeçalho {@code Content-Encoding}.
+     */
+    @Test
+    void deveRetornarProdutoCompactadoQuandoClienteAceitarGzip() throws Exception {
+        when(service.findById(1L)).thenReturn(produtoDTO);
+
+        byte[] corpo = mockMvc.perform(get("/produtos/{id}", 1L)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String json;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals(objectMapper.writeValueAsString(produtoDTO), json);
+    }
+
     /**
      * Testa o endpoint POST /produtos.
      * Deve salvar um novo produto e retornar o DTO salvo com status 200 (OK).
@@ -137,7 +195,7 @@ class ProdutoControllerTest {
     void deveRetornarPaginaDeProdutosAtivos() throws Exception {
         Page<ProdutoResponseDTO> page = new PageImpl<>(List.of(produtoDTO), PageRequest.of(0, 10), 1);
 
-        when(service.findAllActive(isNull(), eq("id,asc"), any(Pageable.class))).thenReturn(page);
+        when(service.findAllActive(isNull(), isNull(), isNull(), eq("id,asc"), any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/produtos")
                         .param("page", "0")
@@ -149,7 +207,27 @@ class ProdutoControllerTest {
                 .andExpect(jsonPath("$.content[0].nome").value("Camisa Vermelha"))
                 .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(service, times(1)).findAllActive(isNull(), eq("id,asc"), any(Pageable.class));
+        verify(service, times(1)).findAllActive(isNull(), isNull(), isNull(), eq("id,asc"), any(Pageable.class));
+    }
+
+    /**
+     * Testa o endpoint GET /produtos atendido com dados desatualizados (banco de dados indisponível).
+     * A resposta deve trazer os cabeçalhos {@code Age} e {@code X-Dados-Desatualizados}.
+     */
+    @Test
+    void deveInformarRespostaDesatualizada() throws Exception {
+        Page<ProdutoResponseDTO> page = new PageImpl<>(List.of(produtoDTO), PageRequest.of(0, 10), 1);
+        when(service.findAllActive(isNull(), isNull(), isNull(), eq("id,asc"), any(Pageable.class))).thenAnswer(invocation -> {
+            RequestContextHolder.currentRequestAttributes().setAttribute(LeiturasResilientes.ATRIBUTO_DESATUALIZADO_DESDE,
+                    Instant.now().minusSeconds(30), RequestAttributes.SCOPE_REQUEST);
+            return page;
+        });
+
+        mockMvc.perform(get("/produtos").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Dados-Desatualizados", "true"))
+                .andExpect(header().exists(HttpHeaders.AGE))
+                .andExpect(jsonPath("$.content[0].nome").value("Camisa Vermelha"));
     }
 
     /**
@@ -163,7 +241,7 @@ class ProdutoControllerTest {
 
         Page<ProdutoResponseDTO> page = new PageImpl<>(List.of(produtoDTO), PageRequest.of(0, 10), 1);
 
-        when(service.findAllDeleted(isNull(), eq("id,asc"), any(Pageable.class))).thenReturn(page);
+        when(service.findAllDeleted(isNull(), isNull(), isNull(), eq("id,asc"), any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/produtos/apagados")
                         .param("page", "0")
@@ -175,7 +253,7 @@ class ProdutoControllerTest {
                 .andExpect(jsonPath("$.content[0].nome").value("Camisa Vermelha"))
                 .andExpect(jsonPath("$.content[0].deletedAt").isNotEmpty());
 
-        verify(service, times(1)).findAllDeleted(isNull(), eq("id,asc"), any(Pageable.class));
+        verify(service, times(1)).findAllDeleted(isNull(), isNull(), isNull(), eq("id,asc"), any(Pageable.class));
     }
 
     /**
@@ -196,4 +274,283 @@ class ProdutoControllerTest {
 
         verify(service, times(1)).calcularTotalDeProdutos(isNull());
     }
+
+    /**
+     * Testa o endpoint GET /produtos/painel com uma parte indisponível.
+     * Deve retornar as demais partes e listar a parte indisponível com status 200 (OK).
+     */
+    @Test
+    void deveRetornarPainelComParteIndisponivel() throws Exception {
+        PainelDTO painel = new PainelDTO(new PageImpl<>(List.of(produtoDTO)), null,
+                Map.of(Categorias.CLOTHES, new TotalProdutosDTO(1, 1000)), List.of(produtoDTO), List.of("apagados"));
+        when(painelService.montar()).thenReturn(painel);
+
+        mockMvc.perform(get("/produtos/painel")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ativos.content[0].nome").value("Camisa Vermelha"))
+                .andExpect(jsonPath("$.apagados").isEmpty())
+                .andExpect(jsonPath("$.totaisPorCategoria.CLOTHES.qntProdutos").value(1))
+                .andExpect(jsonPath("$.alteracoesRecentes.length()").value(1))
+                .andExpect(jsonPath("$.partesIndisponiveis[0]").value("apagados"));
+
+        verify(painelService, times(1)).montar();
+    }
+
+    /**
+     * Testa o endpoint GET /produtos/busca.
+     * Deve retornar os produtos encontrados e o cursor da próxima página com status 200 (OK).
+     */
+    @Test
+    void deveBuscarProdutosPorNomeComSucesso() throws Exception {
+        PaginaCursorDTO<ProdutoResponseDTO> pagina = new PaginaCursorDTO<>(List.of(produtoDTO), "MC41OjE");
+        when(service.buscarPorNome("camisa", "roupas", null, 20)).thenReturn(pagina);
+
+        mockMvc.perform(get("/produtos/busca")
+                        .param("q", "camisa")
+                        .param("categoria", "roupas")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(1))
+                .andExpect(jsonPath("$.conteudo[0].nome").value("Camisa Vermelha"))
+                .andExpect(jsonPath("$.proximoCursor").value("MC41OjE"));
+
+        verify(service, times(1)).buscarPorNome("camisa", "roupas", null, 20);
+    }
+
+    /**
+     * Testa o endpoint GET /produtos com filtro de faixa de preço.
+     * Deve repassar os preços mínimo e máximo ao serviço.
+     */
+    @Test
+    void deveRetornarPaginaDeProdutosAtivosPorFaixaDePreco() throws Exception {
+        Page<ProdutoResponseDTO> page = new PageImpl<>(List.of(produtoDTO), PageRequest.of(0, 10), 1);
+
+        when(service.findAllActive(eq("roupas"), eq(500), eq(1500), eq("id,asc"), any(Pageable.class))).thenReturn(page);
+
+        mockMvc.perform(get("/produtos")
+                        .param("categoria", "roupas")
+                        .param("precoMin", "500")
+                        .param("precoMax", "1500")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].preco").value(1000));
+
+        verify(service, times(1)).findAllActive(eq("roupas"), eq(500), eq(1500), eq("id,asc"), any(Pageable.class));
+    }
+
+    /**
+     * Testa o endpoint GET /produtos/histograma.
+     * Deve retornar o histograma calculado pelo serviço com status 200 (OK).
+     */
+    @Test
+    void deveRetornarHistogramaDePrecosComSucesso() throws Exception {
+        HistogramaPrecoDTO dto = new HistogramaPrecoDTO(0, 999, List.of(
+                new FaixaPrecoDTO(0, 500, 2L),
+                new FaixaPrecoDTO(500, 1000, 1L)));
+        when(service.calcularHistogramaDePrecos(isNull(), isNull(), isNull(), eq(2))).thenReturn(dto);
+
+        mockMvc.perform(get("/produtos/histograma")
+                        .param("faixas", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.faixas.length()").value(2))
+                .andExpect(jsonPath("$.faixas[0].quantidade").value(2))
+                .andExpect(jsonPath("$.precoMax").value(999));
+
+        verify(service, times(1)).calcularHistogramaDePrecos(isNull(), isNull(), isNull(), eq(2));
+    }
+
+    /**
+     * Testa o endpoint GET /produtos/top.
+     * Deve retornar os produtos de cada categoria com status 200 (OK), usando 5 produtos por padrão.
+     */
+    @Test
+    void deveRetornarTopPorCategoriaComSucesso() throws Exception {
+        when(service.buscarTopPorCategoria(5, "maior_preco"))
+                .thenReturn(Map.of(Categorias.CLOTHES, List.of(produtoDTO), Categorias.SHOES, List.of()));
+
+        mockMvc.perform(get("/produtos/top")
+                        .param("ordem", "maior_preco")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.CLOTHES[0].nome").value("Camisa Vermelha"))
+                .andExpect(jsonPath("$.SHOES.length()").value(0));
+
+        verify(service, times(1)).buscarTopPorCategoria(5, "maior_preco");
+    }
+
+    /**
+     * Testa o endpoint GET /produtos/estatisticas/serie.
+     * Deve retornar a série calculada pelo serviço com status 200 (OK), usando 30 períodos por padrão.
+     */
+    @Test
+    void deveRetornarSerieDeEstatisticasComSucesso() throws Exception {
+        SerieEstatisticasDTO dto = new SerieEstatisticasDTO("mes", "roupas", List.of(
+                new PontoSerieDTO(time.minusMonths(1), 0L, 0L, null),
+                new PontoSerieDTO(time, 3L, 1L, 2500)));
+        when(estatisticasService.calcularSerie("mes", "roupas", 30)).thenReturn(dto);
+
+        mockMvc.perform(get("/produtos/estatisticas/serie")
+                        .param("intervalo", "mes")
+                        .param("categoria", "roupas")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.intervalo").value("mes"))
+                .andExpect(jsonPath("$.pontos.length()").value(2))
+                .andExpect(jsonPath("$.pontos[1].criados").value(3))
+                .andExpect(jsonPath("$.pontos[1].precoMedio").value(2500));
+
+        verify(estatisticasService, times(1)).calcularSerie("mes", "roupas", 30);
+    }
+
+    /**
+     * Testa o endpoint GET /produtos com o parâmetro {@code facets=categoria}.
+     * Deve retornar a página de produtos e as contagens por categoria na mesma resposta.
+     */
+    @Test
+    void deveRetornarPaginaDeProdutosAtivosComFacetas() throws Exception {
+        Page<ProdutoResponseDTO> page = new PageImpl<>(List.of(produtoDTO), PageRequest.of(0, 10), 1);
+        ProdutosComFacetasDTO dto = new ProdutosComFacetasDTO(page, Map.of(Categorias.CLOTHES, 1L));
+
+        when(service.findAllActiveComFacetas(isNull(), eq("categoria"), isNull(), isNull(), eq("id,asc"), any(Pageable.class)))
+                .thenReturn(dto);
+
+        mockMvc.perform(get("/produtos")
+                        .param("facets", "categoria")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pagina.content[0].nome").value("Camisa Vermelha"))
+                .andExpect(jsonPath("$.facetas.CLOTHES").value(1));
+
+        verify(service, never()).findAllActive(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Testa o endpoint PUT /produtos/{id}/restaurar.
+     * Deve restaurar o produto e retornar o DTO restaurado com status 200 (OK).
+     */
+    @Test
+    void deveRestaurarProdutoComSucesso() throws Exception {
+        when(service.restaurar(1L)).thenReturn(produtoDTO);
+
+        mockMvc.perform(put("/produtos/{id}/restaurar", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.deletedAt").isEmpty());
+
+        verify(service, times(1)).restaurar(1L);
+    }
+
+    /**
+     * Testa o endpoint GET /produtos/alteracoes com cursor.
+     * Deve retornar o lote de alterações e o próximo cursor com status 200 (OK).
+     */
+    @Test
+    void deveRetornarAlteracoesAPartirDoCursor() throws Exception {
+        when(service.buscarAlteracoes("NDk5OjEw", 100)).thenReturn(new AlteracoesDTO(List.of(produtoDTO), "NTAwOjEx", false));
+
+        mockMvc.perform(get("/produtos/alteracoes")
+                        .param("desde", "NDk5OjEw")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alteracoes[0].nome").value("Camisa Vermelha"))
+                .andExpect(jsonPath("$.cursor").value("NTAwOjEx"))
+                .andExpect(jsonPath("$.temMais").value(false));
+
+        verify(service, times(1)).buscarAlteracoes("NDk5OjEw", 100);
+    }
+
+    /**
+     * Testa o endpoint GET /produtos/eventos com filtro de categoria e cabeçalho {@code Last-Event-ID}.
+     * Deve repassar o filtro e o último evento recebido ao serviço e iniciar a resposta assíncrona do stream.
+     */
+    @Test
+    void deveAbrirStreamDeEventosComLastEventId() throws Exception {
+        when(eventosService.assinar("roupas", 10L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/produtos/eventos")
+                        .param("categoria", "roupas")
+                        .header("Last-Event-ID", "10")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(eventosService, times(1)).assinar("roupas", 10L);
+    }
+
+    /**
+     * Testa o endpoint GET /produtos com o parâmetro {@code ids}.
+     * Deve retornar um item por ID, na ordem solicitada, com o marcador de produto não encontrado.
+     */
+    @Test
+    void deveRetornarProdutosPorIds() throws Exception {
+        when(service.findAllByIds(List.of(1L, 99L))).thenReturn(List.of(
+                new ProdutoPorIdDTO(1L, true, produtoDTO),
+                new ProdutoPorIdDTO(99L, false, null)));
+
+        mockMvc.perform(get("/produtos")
+                        .param("ids", "1,99")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].produto.nome").value("Camisa Vermelha"))
+                .andExpect(jsonPath("$[1].id").value(99))
+                .andExpect(jsonPath("$[1].encontrado").value(false));
+
+        verify(service, never()).findAllActive(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Testa o endpoint POST /produtos/buscar-ids.
+     * Deve receber os IDs no corpo da requisição e repassá-los ao serviço na mesma ordem.
+     */
+    @Test
+    void deveBuscarProdutosPorIdsNoCorpo() throws Exception {
+        when(service.findAllByIds(List.of(1L))).thenReturn(List.of(new ProdutoPorIdDTO(1L, true, produtoDTO)));
+
+        mockMvc.perform(post("/produtos/buscar-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].encontrado").value(true));
+
+        verify(service, times(1)).findAllByIds(List.of(1L));
+    }
+
+    /**
+     * Testa o endpoint GET /produtos com o parâmetro {@code fields}.
+     * Deve retornar apenas os campos solicitados de cada produto, sem passar pela listagem completa.
+     */
+    @Test
+    void deveRetornarProdutosAtivosComCamposSelecionados() throws Exception {
+        Page<Map<String, Object>> page = new PageImpl<>(List.of(Map.of("id", 1L, "nome", "Camisa Vermelha")));
+        when(service.findAllActiveComCampos(eq("id,nome"), isNull(), isNull(), isNull(), eq("id,asc"), any(Pageable.class)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/produtos")
+                        .param("fields", "id,nome")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("Camisa Vermelha"))
+                .andExpect(jsonPath("$.content[0].preco").doesNotExist());
+
+        verify(service, never()).findAllActive(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Testa o endpoint GET /produtos/{id} com o parâmetro {@code fields}.
+     * Deve retornar apenas os campos solicitados do produto.
+     */
+    @Test
+    void deveRetornarProdutoPorIdComCamposSelecionados() throws Exception {
+        when(service.findByIdComCampos(1L, "preco")).thenReturn(Map.of("preco", 2000));
+
+        mockMvc.perform(get("/produtos/1")
+                        .param("fields", "preco")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.preco").value(2000))
+                .andExpect(jsonPath("$.nome").doesNotExist());
+
+        verify(service, never()).findById(any());
+    }
 }
@@ -0,0 +1,156 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes unitários para o filtro de controle de admissão ({@code ControleAdmissaoFilter})
+ * e para o limite de concorrência adaptativo ({@code LimiteConcorrenciaAdaptativo}).
+ * Utiliza as requisições e respostas simuladas do Spring para verificar as recusas com 429 e 503.
+ */
+class ControleAdmissaoFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    /**
+     * Testa a limitação de taxa por cliente.
+     * Após consumir a rajada permitida, o cliente deve receber 429 com o cabeçalho {@code Retry-After}.
+     */
+    @Test
+    void deveRecusarComStatus429QuandoClienteExcederRajada() throws Exception {
+        ControleAdmissaoFilter filter = new ControleAdmissaoFilter(objectMapper, 0.5, 2, 10, 10, 10, 0.5);
+
+        assertEquals(200, executar(filter, "/produtos/1", new MockFilterChain()).getStatus());
+        assertEquals(200, executar(filter, "/produtos/1", new MockFilterChain()).getStatus());
+        MockHttpServletResponse recusada = executar(filter, "/produtos/1", new MockFilterChain());
+
+        assertEquals(429, recusada.getStatus());
+        assertEquals("2", recusada.getHeader("Retry-After"));
+        assertTrue(recusada.getContentAsString().contains("\"status\":429"));
+    }
+
+    /**
+     * Testa a prioridade entre consultas caras e operações leves.
+     * Com a fração das consultas caras ocupada, uma nova listagem deve receber 503,
+     * enquanto a busca por ID continua sendo admitida.
+     */
+    @Test
+    void deveRecusarConsultaCaraQuandoSuaFracaoDoLimiteEstiverOcupada() throws Exception {
+        ControleAdmissaoFilter filter = new ControleAdmissaoFilter(objectMapper, 1000, 1000, 2, 2, 2, 0.5);
+        MockHttpServletResponse[] internas = new MockHttpServletResponse[2];
+
+        MockFilterChain chainLenta = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                try {
+                    internas[0] = executar(filter, "/produtos/calcular_total", new MockFilterChain());
+                    internas[1] = executar(filter, "/produtos/1", new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        assertEquals(200, executar(filter, "/produtos", chainLenta).getStatus());
+        assertEquals(503, internas[0].getStatus());
+        assertEquals("1", internas[0].getHeader("Retry-After"));
+        assertEquals(200, internas[1].getStatus());
+    }
+
+    /**
+     * Testa a classificação da busca por IDs, feita com {@code POST}.
+     * Com a fração das consultas caras ocupada, a busca por IDs deve receber 503,
+     * enquanto o cadastro ({@code POST /produtos}) continua sendo admitido.
+     */
+    @Test
+    void deveTratarBuscaPorIdsComoConsultaCara() throws Exception {
+        ControleAdmissaoFilter filter = new ControleAdmissaoFilter(objectMapper, 1000, 1000, 2, 2, 2, 0.5);
+        MockHttpServletResponse[] internas = new MockHttpServletResponse[2];
+
+        MockFilterChain chainLenta = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                try {
+                    internas[0] = executar(filter, "POST", "/produtos/buscar-ids", new MockFilterChain());
+                    internas[1] = executar(filter, "POST", "/produtos", new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        assertEquals(200, executar(filter, "/produtos/painel", chainLenta).getStatus());
+        assertEquals(503, internas[0].getStatus());
+        assertEquals(200, internas[1].getStatus());
+    }
+
+    /**
+     * Testa o ajuste do limite de concorrência pela latência.
+     * O limite deve crescer com a latência estável e diminuir quando a latência aumenta.
+     */
+    @Test
+    void deveReduzirLimiteQuandoLatenciaAumentar() {
+        LimiteConcorrenciaAdaptativo limite = new LimiteConcorrenciaAdaptativo(20, 5, 200, 1.0);
+
+        rodadas(limite, 100, TimeUnit.MILLISECONDS.toNanos(10));
+        int limiteEstavel = limite.getLimite();
+        rodadas(limite, 30, TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertTrue(limiteEstavel > 20);
+        assertTrue(limite.getLimite() < limiteEstavel);
+        assertEquals(0, limite.getEmAndamento());
+    }
+
+    /**
+     * Método auxiliar que executa o filtro para uma requisição GET do mesmo cliente.
+     *
+     * @param filter O filtro testado.
+     * @param caminho O caminho da requisição.
+     * @param chain A cadeia de filtros simulada.
+     * @return A resposta produzida.
+     */
+    private MockHttpServletResponse executar(ControleAdmissaoFilter filter, String caminho, MockFilterChain chain) throws Exception {
+        return executar(filter, "GET", caminho, chain);
+    }
+
+    /**
+     * Método auxiliar que executa o filtro para uma requisição do mesmo cliente com o método informado.
+     *
+     * @param filter O filtro testado.
+     * @param metodo O método HTTP da requisição.
+     * @param caminho O caminho da requisição.
+     * @param chain A cadeia de filtros simulada.
+     * @return A resposta produzida.
+     */
+    private MockHttpServletResponse executar(ControleAdmissaoFilter filter, String metodo, String caminho,
+                                             MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, caminho);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    /**
+     * Método auxiliar que simula rodadas de carga ocupando todo o limite, com o tempo de resposta informado.
+     *
+     * @param limite O limitador testado.
+     * @param rodadas A quantidade de rodadas.
+     * @param rttNanos O tempo de resposta de cada requisição.
+     */
+    private void rodadas(LimiteConcorrenciaAdaptativo limite, int rodadas, long rttNanos) {
+        for (int r = 0; r < rodadas; r++) {
+            int admitidas = 0;
+            while (limite.tentarAdquirir(false)) admitidas++;
+            for (int i = 0; i < admitidas; i++) limite.liberar(false, rttNanos);
+        }
+    }
+}
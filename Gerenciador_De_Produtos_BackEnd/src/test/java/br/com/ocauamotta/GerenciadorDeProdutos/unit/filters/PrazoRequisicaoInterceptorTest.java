@@ -0,0 +1,136 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes unitários para o interceptador de prazos das requisições ({@code PrazoRequisicaoInterceptor}).
+ * Os prazos de cada endpoint são lidos de um ambiente simulado, com a mesma conversão de durações do Spring Boot.
+ */
+class PrazoRequisicaoInterceptorTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private SimpleMeterRegistry registry;
+    private PrazoRequisicaoInterceptor interceptor;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Define prazos próprios para {@code findById} e {@code calcularTotal} e o prazo padrão de 10 segundos.
+     */
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(PrazoRequisicaoInterceptor.PREFIXO_PROPRIEDADE + "findById", "20ms")
+                .withProperty(PrazoRequisicaoInterceptor.PREFIXO_PROPRIEDADE + "calcularTotal", "0s");
+        environment.setConversionService(new ApplicationConversionService());
+
+        registry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("registry", registry);
+
+        interceptor = new PrazoRequisicaoInterceptor(environment, beanFactory.getBeanProvider(MeterRegistry.class),
+                Duration.ofSeconds(10));
+    }
+
+    /**
+     * Garante que nenhum prazo fique na thread de testes.
+     */
+    @AfterEach
+    void tearDown() {
+        interceptor.afterCompletion(request, response, handler("buscar"), null);
+    }
+
+    /**
+     * Testa o prazo configurado para o endpoint.
+     * A requisição concluída após o prazo deve ser contada, e o prazo deve ser removido da thread.
+     */
+    @Test
+    void deveAplicarPrazoDoEndpointEContarRequisicaoEsgotada() throws Exception {
+        HandlerMethod findById = handler("findById");
+
+        interceptor.preHandle(request, response, findById);
+        long restante = PrazoRequisicaoInterceptor.restanteNanos();
+        TimeUnit.MILLISECONDS.sleep(30);
+        interceptor.afterCompletion(request, response, findById, null);
+
+        assertTrue(restante > 0 && restante <= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(Long.MAX_VALUE, PrazoRequisicaoInterceptor.restanteNanos());
+        assertEquals(1.0, registry.get("produtos.prazos.esgotados").tag("endpoint", "findById").counter().count());
+    }
+
+    /**
+     * Testa o prazo padrão e a propagação para outra thread.
+     * A tarefa envolvida por {@code propagar} deve ver o prazo da requisição, e a tarefa sem propagação não.
+     */
+    @Test
+    void deveUsarPrazoPadraoEPropagarParaOutraThread() {
+        interceptor.preHandle(request, response, handler("buscar"));
+
+        long propagado = CompletableFuture.supplyAsync(PrazoRequisicaoInterceptor.propagar(PrazoRequisicaoInterceptor::restanteNanos)).join();
+        long semPrazo = CompletableFuture.supplyAsync(PrazoRequisicaoInterceptor::restanteNanos).join();
+
+        assertTrue(propagado > TimeUnit.SECONDS.toNanos(9) && propagado <= TimeUnit.SECONDS.toNanos(10));
+        assertEquals(Long.MAX_VALUE, semPrazo);
+    }
+
+    /**
+     * Testa a propagação com um limite próprio da tarefa.
+     * A tarefa deve usar o menor entre o prazo da requisição e o limite informado.
+     */
+    @Test
+    void devePropagarMenorPrazoEntreRequisicaoELimite() {
+        interceptor.preHandle(request, response, handler("buscar"));
+
+        long limitado = CompletableFuture.supplyAsync(PrazoRequisicaoInterceptor.propagar(
+                PrazoRequisicaoInterceptor::restanteNanos, Duration.ofSeconds(1))).join();
+        long daRequisicao = CompletableFuture.supplyAsync(PrazoRequisicaoInterceptor.propagar(
+                PrazoRequisicaoInterceptor::restanteNanos, Duration.ofMinutes(1))).join();
+
+        assertTrue(limitado > 0 && limitado <= TimeUnit.SECONDS.toNanos(1));
+        assertTrue(daRequisicao > TimeUnit.SECONDS.toNanos(9) && daRequisicao <= TimeUnit.SECONDS.toNanos(10));
+    }
+
+    /**
+     * Testa um endpoint com prazo {@code 0}.
+     * Nenhum prazo deve ser aplicado à requisição.
+     */
+    @Test
+    void deveIgnorarEndpointComPrazoZero() {
+        interceptor.preHandle(request, response, handler("calcularTotal"));
+
+        assertEquals(Long.MAX_VALUE, PrazoRequisicaoInterceptor.restanteNanos());
+    }
+
+    private HandlerMethod handler(String nome) {
+        try {
+            return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(nome));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Controller simulado, com métodos de mesmo nome que os do {@code ProdutoController}.
+     */
+    public static class Endpoints {
+        public void findById() {}
+        public void calcularTotal() {}
+        public void buscar() {}
+    }
+}
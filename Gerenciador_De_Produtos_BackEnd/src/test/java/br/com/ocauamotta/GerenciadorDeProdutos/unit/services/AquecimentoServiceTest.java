@@ -0,0 +1,152 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o aquecimento da aplicação ({@code AquecimentoService}).
+ * Os serviços e o pool de conexões são mockados e o aquecimento é executado em virtual threads reais.
+ */
+class AquecimentoServiceTest {
+
+    private ProdutoService produtoService;
+    private EstatisticasService estatisticasService;
+    private CacheJsonProdutos cacheJson;
+    private HikariDataSource dataSource;
+    private Connection conexao;
+    private ExecutorService executor;
+    private SimpleMeterRegistry registry;
+    private ProdutoResponseDTO ativo;
+    private ProdutoResponseDTO alterado;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Todas as leituras respondem imediatamente, a menos que o teste altere o mock.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        produtoService = mock(ProdutoService.class);
+        estatisticasService = mock(EstatisticasService.class);
+        cacheJson = mock(CacheJsonProdutos.class);
+        dataSource = mock(HikariDataSource.class);
+        conexao = mock(Connection.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        registry = new SimpleMeterRegistry();
+
+        ZonedDateTime time = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        ativo = new ProdutoResponseDTO(1L, "Camisa", 2000, Categorias.CLOTHES, time, time, null);
+        alterado = new ProdutoResponseDTO(2L, "Tênis", 5000, Categorias.SHOES, time, time, null);
+
+        when(dataSource.getMinimumIdle()).thenReturn(3);
+        when(dataSource.getConnection()).thenReturn(conexao);
+        when(produtoService.findAllActive(any(), any(), any(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(ativo), PageRequest.of(0, 20), 1));
+        when(produtoService.buscarAlteracoesRecentes(100)).thenReturn(List.of(alterado, ativo));
+        when(produtoService.findById(1L)).thenReturn(ativo);
+        when(produtoService.findById(2L)).thenReturn(alterado);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Testa o aquecimento completo.
+     * Deve abrir as conexões mínimas ao mesmo tempo, pré-carregar os produtos mais acessados e as estatísticas,
+     * repetir as leituras comuns e registrar a duração como concluída.
+     */
+    @Test
+    void deveAquecerPoolCachesELeiturasERegistrarDuracao() throws Exception {
+        aquecimento(Duration.ofSeconds(5)).aquecer();
+
+        verify(dataSource, times(3)).getConnection();
+        verify(conexao, times(3)).close();
+        verify(produtoService).findById(1L);
+        verify(produtoService).findById(2L);
+        verify(cacheJson).json(ativo);
+        verify(cacheJson).json(alterado);
+        verify(estatisticasService).calcularSerie("dia", null, 30);
+        verify(estatisticasService).calcularSerie("dia", "calcados", 30);
+        verify(produtoService).calcularHistogramaDePrecos(null, null, null, 10);
+        verify(produtoService, times(4)).calcularTotaisPorCategoria();
+        assertEquals(1, registry.get("produtos.aquecimento.duracao").tag("resultado", "concluido").timer().count());
+    }
+
+    /**
+     * Testa uma leitura que falha durante o aquecimento.
+     * As demais etapas devem ser executadas normalmente.
+     */
+    @Test
+    void deveContinuarAquecimentoQuandoLeituraFalha() {
+        when(produtoService.buscarAlteracoesRecentes(anyInt())).thenThrow(new DataAccessResourceFailureException("falha"));
+
+        aquecimento(Duration.ofSeconds(5)).aquecer();
+
+        verify(produtoService).findById(1L);
+        verify(produtoService, never()).findById(2L);
+        verify(estatisticasService).calcularSerie("dia", null, 30);
+        assertEquals(1, registry.get("produtos.aquecimento.duracao").tag("resultado", "concluido").timer().count());
+    }
+
+    /**
+     * Testa um aquecimento que excede o tempo máximo.
+     * A aplicação deve seguir sem aguardar a leitura lenta, e a duração deve ser registrada como esgotada.
+     */
+    @Test
+    void deveLiberarProntidaoQuandoTempoMaximoSeEsgota() {
+        when(produtoService.buscarAlteracoesRecentes(anyInt())).thenAnswer(invocacao -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        long inicio = System.nanoTime();
+        aquecimento(Duration.ofMillis(200)).aquecer();
+        long duracaoMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertTrue(duracaoMillis < 2_000, "O aquecimento aguardou a leitura lenta: " + duracaoMillis + "ms");
+        assertEquals(1, registry.get("produtos.aquecimento.duracao").tag("resultado", "esgotado").timer().count());
+    }
+
+    /**
+     * Testa o aquecimento desabilitado.
+     * Nenhuma leitura deve ser feita e nenhuma duração registrada.
+     */
+    @Test
+    void deveIgnorarAquecimentoQuandoDesabilitado() throws Exception {
+        new AquecimentoService(produtoService, estatisticasService, cacheJson, new ObjectMapper(), dataSource,
+                executor, registry, false, Duration.ofSeconds(5), 4, 100, 20).aquecer();
+
+        verifyNoInteractions(produtoService, estatisticasService);
+        verify(dataSource, never()).getConnection();
+        assertNull(registry.find("produtos.aquecimento.duracao").timer());
+    }
+
+    private AquecimentoService aquecimento(Duration tempoMaximo) {
+        return new AquecimentoService(produtoService, estatisticasService, cacheJson,
+                new ObjectMapper().registerModule(new JavaTimeModule()), dataSource, executor, registry,
+                true, tempoMaximo, 4, 100, 20);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.FragmentoJson;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes unitários para o cache de JSON pré-serializado ({@code CacheJsonProdutos}).
+ * Utiliza um {@code ObjectMapper} real para comparar o JSON do cache com a serialização do DTO.
+ */
+class CacheJsonProdutosTest {
+
+    private ObjectMapper objectMapper;
+    private CacheJsonProdutos cache;
+    private ProdutoResponseDTO produto;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        cache = new CacheJsonProdutos(objectMapper, true, DataSize.ofMegabytes(1));
+
+        ZonedDateTime time = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        produto = new ProdutoResponseDTO(1L, "Camisa Vermelha", 1000, Categorias.CLOTHES, time, time, null);
+    }
+
+    /**
+     * Testa o reaproveitamento do JSON.
+     * A mesma versão do produto deve devolver o mesmo trecho, e uma versão alterada deve gerar um novo.
+     */
+    @Test
+    void deveReaproveitarJsonAteOProdutoMudar() throws Exception {
+        FragmentoJson primeiro = cache.json(produto);
+        FragmentoJson repetido = cache.json(new ProdutoResponseDTO(1L, "Camisa Vermelha", 1000, Categorias.CLOTHES,
+                produto.createdAt(), produto.updatedAt(), null));
+        ProdutoResponseDTO alterado = new ProdutoResponseDTO(1L, "Camisa Azul", 1000, Categorias.CLOTHES,
+                produto.createdAt(), produto.updatedAt().plusSeconds(1), null);
+
+        assertSame(primeiro, repetido);
+        assertEquals(objectMapper.writeValueAsString(produto), primeiro.getValue());
+        assertEquals(objectMapper.writeValueAsString(alterado), cache.json(alterado).getValue());
+    }
+
+    /**
+     * Testa a montagem de uma página a partir dos trechos.
+     * O JSON da página deve ser igual ao da página de DTOs serializada diretamente.
+     */
+    @Test
+    void deveMontarPaginaComOsTrechosDoCache() throws Exception {
+        Page<ProdutoResponseDTO> pagina = new PageImpl<>(List.of(produto), PageRequest.of(0, 10), 1);
+
+        String esperado = objectMapper.writeValueAsString(Map.of("content", pagina.getContent()));
+        String montado = objectMapper.writeValueAsString(Map.of("content", cache.pagina(pagina).getContent()));
+
+        assertEquals(esperado, montado);
+    }
+
+    /**
+     * Testa a versão compactada do JSON.
+     * Deve ser gerada uma única vez por versão e descompactar no mesmo JSON.
+     */
+    @Test
+    void deveCompactarJsonComGzip() throws Exception {
+        byte[] compactado = cache.gzip(produto);
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compactado))) {
+            assertArrayEquals(cache.json(produto).asUnquotedUTF8(), gzip.readAllBytes());
+        }
+        assertSame(compactado, cache.gzip(produto));
+    }
+
+    /**
+     * Testa a interpretação do cabeçalho {@code Accept-Encoding}.
+     */
+    @Test
+    void deveIdentificarClientesQueAceitamGzip() {
+        CacheJsonProdutos semGzip = new CacheJsonProdutos(objectMapper, false, DataSize.ofMegabytes(1));
+
+        assertTrue(cache.aceitaGzip("br, gzip;q=0.8"));
+        assertFalse(cache.aceitaGzip("gzip;q=0"));
+        assertFalse(cache.aceitaGzip("deflate"));
+        assertFalse(cache.aceitaGzip(null));
+        assertFalse(semGzip.aceitaGzip("gzip"));
+    }
+}
@@ -0,0 +1,258 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.TotalProdutosDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.models.Produto;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o modelo de leitura em memória ({@code CatalogoEmMemoria}).
+ * O repositório é mockado para fornecer os produtos da recarga completa, e as reconstruções dos vetores
+ * são executadas na própria thread, sem intervalo mínimo.
+ */
+class CatalogoEmMemoriaTest {
+
+    private IProdutoRepository repository;
+    private CatalogoEmMemoria catalogo;
+    private ZonedDateTime time;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Carrega o catálogo com três produtos ativos e um apagado.
+     */
+    @BeforeEach
+    void setUp() {
+        time = ZonedDateTime.of(2025, 1, 10, 12, 0, 0, 0, ZoneId.of("America/Sao_Paulo"));
+        repository = mock(IProdutoRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                produto(3L, "Tênis Azul", 30000, Categorias.SHOES, null, 3L),
+                produto(1L, "Camisa Vermelha", 2000, Categorias.CLOTHES, null, 1L),
+                produto(2L, "Boné Preto", 1500, Categorias.ACCESSORIES, null, 2L),
+                produto(4L, "Meia Branca", 500, Categorias.UNDERWEAR, time, 4L)));
+
+        catalogo = new CatalogoEmMemoria(repository, Runnable::run, true, Duration.ZERO, Duration.ofSeconds(60));
+        catalogo.recarregar();
+    }
+
+    /**
+     * Testa a listagem ordenada por preço decrescente com paginação.
+     * Deve seguir a permutação do campo e informar o total de produtos ativos.
+     */
+    @Test
+    void deveListarProdutosAtivosOrdenadosPorPreco() {
+        Page<ProdutoResponseDTO> result = catalogo.buscar(false, null, null, null,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "preco"))).orElseThrow();
+
+        assertTrue(catalogo.disponivel());
+        assertEquals(List.of(3L, 1L), result.getContent().stream().map(ProdutoResponseDTO::id).toList());
+        assertEquals(3, result.getTotalElements());
+        assertEquals(time, result.getContent().get(0).createdAt());
+    }
+
+    /**
+     * Testa a listagem com filtros de categoria e faixa de preço.
+     * O total deve considerar apenas os produtos que atendem aos filtros.
+     */
+    @Test
+    void deveFiltrarPorCategoriaEFaixaDePreco() {
+        Page<ProdutoResponseDTO> porCategoria = catalogo.buscar(false, Categorias.CLOTHES, null, null,
+                PageRequest.of(0, 10)).orElseThrow();
+        Page<ProdutoResponseDTO> porPreco = catalogo.buscar(false, null, null, 2000,
+                PageRequest.of(0, 10, Sort.by("nome"))).orElseThrow();
+
+        assertEquals(List.of(1L), porCategoria.getContent().stream().map(ProdutoResponseDTO::id).toList());
+        assertEquals(List.of(2L, 1L), porPreco.getContent().stream().map(ProdutoResponseDTO::id).toList());
+        assertEquals(2, porPreco.getTotalElements());
+    }
+
+    /**
+     * Testa a listagem ordenada por categoria.
+     * Deve seguir o nome das constantes, e não o código gravado de cada categoria.
+     */
+    @Test
+    void deveOrdenarPorCategoriaPeloNomeDaConstante() {
+        Page<ProdutoResponseDTO> result = catalogo.buscar(false, null, null, null,
+                PageRequest.of(0, 10, Sort.by("categoria"))).orElseThrow();
+
+        assertEquals(List.of(2L, 1L, 3L), result.getContent().stream().map(ProdutoResponseDTO::id).toList());
+    }
+
+    /**
+     * Testa o cálculo do total a partir dos totais pré-calculados.
+     */
+    @Test
+    void deveCalcularTotalDosProdutosAtivos() {
+        assertEquals(new TotalProdutosDTO(3, 11166), catalogo.calcularTotal(null));
+        assertEquals(new TotalProdutosDTO(1, 30000), catalogo.calcularTotal(Categorias.SHOES));
+        assertEquals(new TotalProdutosDTO(0, 0), catalogo.calcularTotal(Categorias.UNDERWEAR));
+    }
+
+    /**
+     * Testa a aplicação de eventos de alteração.
+     * A exclusão deve mover o produto para os apagados, e um evento mais antigo que a versão conhecida deve ser ignorado.
+     */
+    @Test
+    void deveAplicarAlteracoesMaisRecentes() {
+        ProdutoResponseDTO apagado = new ProdutoResponseDTO(1L, "Camisa Vermelha", 2000, Categorias.CLOTHES, time, time, time);
+        ProdutoResponseDTO antigo = new ProdutoResponseDTO(1L, "Camisa Antiga", 2000, Categorias.CLOTHES, time, time, null);
+
+        catalogo.aplicar(new ProdutoAlteradoEvent(10L, TipoAlteracao.APAGADO, apagado, null));
+        catalogo.aplicar(new ProdutoAlteradoEvent(5L, TipoAlteracao.ATUALIZADO, antigo, null));
+
+        Page<ProdutoResponseDTO> apagados = catalogo.buscar(true, null, null, null, PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(List.of(1L, 4L), apagados.getContent().stream().map(ProdutoResponseDTO::id).toList());
+        assertEquals(new TotalProdutosDTO(2, 15750), catalogo.calcularTotal(null));
+    }
+
+    /**
+     * Testa a recarga completa após alterações locais.
+     * Uma alteração local mais recente que a lida do banco deve ser mantida.
+     */
+    @Test
+    void deveManterAlteracaoLocalMaisRecenteNaRecarga() {
+        ProdutoResponseDTO renomeado = new ProdutoResponseDTO(2L, "Boné Cinza", 1500, Categorias.ACCESSORIES, time, time, null);
+        catalogo.aplicar(new ProdutoAlteradoEvent(20L, TipoAlteracao.ATUALIZADO, renomeado, null));
+
+        catalogo.recarregar();
+
+        Page<ProdutoResponseDTO> result = catalogo.buscar(false, Categorias.ACCESSORIES, null, null, PageRequest.of(0, 10)).orElseThrow();
+        assertEquals("Boné Cinza", result.getContent().get(0).nome());
+    }
+
+    /**
+     * Testa a recarga completa após uma alteração local já incorporada ao banco.
+     * Uma linha local com sequência não posterior à leitura deve ser substituída pelo registro lido,
+     * mesmo que a sequência do registro seja menor.
+     */
+    @Test
+    void devePrevalecerRegistroDoBancoNaRecarga() {
+        ProdutoResponseDTO divergente = new ProdutoResponseDTO(2L, "Boné Cinza", 1500, Categorias.ACCESSORIES, time, time, null);
+        catalogo.aplicar(new ProdutoAlteradoEvent(3L, TipoAlteracao.ATUALIZADO, divergente, null));
+
+        catalogo.recarregar();
+
+        Page<ProdutoResponseDTO> result = catalogo.buscar(false, Categorias.ACCESSORIES, null, null, PageRequest.of(0, 10)).orElseThrow();
+        assertEquals("Boné Preto", result.getContent().get(0).nome());
+    }
+
+    /**
+     * Testa a remoção de produtos expurgados do banco.
+     * O produto removido não deve mais aparecer na listagem de apagados.
+     */
+    @Test
+    void deveRemoverProdutosExpurgados() {
+        catalogo.remover(List.of(4L));
+
+        Page<ProdutoResponseDTO> apagados = catalogo.buscar(true, null, null, null, PageRequest.of(0, 10)).orElseThrow();
+        assertTrue(apagados.getContent().isEmpty());
+        assertEquals(new TotalProdutosDTO(3, 11166), catalogo.calcularTotal(null));
+    }
+
+    /**
+     * Testa a invalidação recebida de outra instância.
+     * Os produtos informados devem ser relidos do banco primário, e os que não existem mais devem ser removidos.
+     */
+    @Test
+    void deveRecarregarProdutosInvalidadosPorOutraInstancia() {
+        when(repository.buscarNoPrimario(Set.of(1L, 2L))).thenReturn(List.of(
+                produto(1L, "Camisa Vermelha", 4000, Categorias.CLOTHES, null, 30L)));
+
+        catalogo.invalidar(new InvalidacaoRecebidaEvent(Set.of(1L, 2L), Set.of(Categorias.CLOTHES), 30L, true, false));
+
+        assertEquals(new TotalProdutosDTO(2, 17000), catalogo.calcularTotal(null));
+        assertEquals(new TotalProdutosDTO(0, 0), catalogo.calcularTotal(Categorias.ACCESSORIES));
+        verify(repository, times(1)).findAll();
+    }
+
+    /**
+     * Testa a leitura durante a reconstrução dos vetores.
+     * A versão anterior deve ser servida até que a reconstrução agendada seja executada, e uma rajada
+     * de alterações deve agendar uma única reconstrução.
+     */
+    @Test
+    void deveServirVersaoAnteriorEnquantoReconstroi() {
+        List<Runnable> agendadas = new ArrayList<>();
+        CatalogoEmMemoria assincrono = new CatalogoEmMemoria(repository, agendadas::add, true, Duration.ZERO, Duration.ofSeconds(60));
+        assincrono.recarregar();
+        ProdutoResponseDTO renomeado = new ProdutoResponseDTO(2L, "Boné Cinza", 1500, Categorias.ACCESSORIES, time, time, null);
+        ProdutoResponseDTO barato = new ProdutoResponseDTO(2L, "Boné Cinza", 1000, Categorias.ACCESSORIES, time, time, null);
+
+        assincrono.aplicar(new ProdutoAlteradoEvent(20L, TipoAlteracao.ATUALIZADO, renomeado, null));
+        assincrono.aplicar(new ProdutoAlteradoEvent(21L, TipoAlteracao.ATUALIZADO, barato, null));
+
+        assertEquals("Boné Preto", assincrono.buscar(false, Categorias.ACCESSORIES, null, null, PageRequest.of(0, 10))
+                .orElseThrow().getContent().get(0).nome());
+        assertEquals(1, agendadas.size());
+
+        agendadas.remove(0).run();
+
+        ProdutoResponseDTO atual = assincrono.buscar(false, Categorias.ACCESSORIES, null, null, PageRequest.of(0, 10))
+                .orElseThrow().getContent().get(0);
+        assertEquals("Boné Cinza", atual.nome());
+        assertEquals(1000, atual.preco());
+        assertTrue(agendadas.isEmpty());
+    }
+
+    /**
+     * Testa a listagem ordenada por nome e por data de criação decrescente.
+     * Os empates devem ser desfeitos pelo ID, na mesma direção da ordenação.
+     */
+    @Test
+    void deveOrdenarPorNomeEPorDataDesempatandoPeloId() {
+        Page<ProdutoResponseDTO> porNome = catalogo.buscar(false, null, null, null,
+                PageRequest.of(0, 10, Sort.by("nome"))).orElseThrow();
+        Page<ProdutoResponseDTO> porCriacao = catalogo.buscar(false, null, null, null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"))).orElseThrow();
+
+        assertEquals(List.of(2L, 1L, 3L), porNome.getContent().stream().map(ProdutoResponseDTO::id).toList());
+        assertEquals(List.of(3L, 2L, 1L), porCriacao.getContent().stream().map(ProdutoResponseDTO::id).toList());
+    }
+
+    /**
+     * Testa ordenações não suportadas pelo catálogo.
+     * Deve retornar vazio para que o serviço recorra ao banco.
+     */
+    @Test
+    void deveRecusarOrdenacaoNaoSuportada() {
+        assertTrue(catalogo.buscar(false, null, null, null, PageRequest.of(0, 10, Sort.by("sequencia"))).isEmpty());
+        assertTrue(catalogo.buscar(false, null, null, null, PageRequest.of(0, 10, Sort.by("preco", "nome"))).isEmpty());
+    }
+
+    /**
+     * Testa o catálogo desabilitado.
+     * Não deve consultar o banco nem se declarar disponível.
+     */
+    @Test
+    void deveIgnorarRecargaQuandoDesabilitado() {
+        IProdutoRepository outroRepository = mock(IProdutoRepository.class);
+        CatalogoEmMemoria desabilitado = new CatalogoEmMemoria(outroRepository, Runnable::run, false, Duration.ZERO, Duration.ofSeconds(60));
+
+        desabilitado.recarregar();
+
+        assertFalse(desabilitado.disponivel());
+        verifyNoInteractions(outroRepository);
+    }
+
+    private Produto produto(Long id, String nome, int preco, Categorias categoria, ZonedDateTime deletedAt, Long sequencia) {
+        return new Produto(id, nome, preco, categoria, time, time, deletedAt, deletedAt != null, sequencia, 0L);
+    }
+}
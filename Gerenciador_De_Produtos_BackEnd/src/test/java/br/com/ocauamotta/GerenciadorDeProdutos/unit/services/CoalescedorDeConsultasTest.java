@@ -0,0 +1,176 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.EntityNotFoundException;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.TempoEsgotadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes unitários para o componente de coalescência de consultas ({@code CoalescedorDeConsultas}).
+ * Utiliza threads reais bloqueadas em uma consulta lenta para verificar que chamadas simultâneas
+ * compartilham a mesma execução, o mesmo erro e respeitam o tempo máximo de espera.
+ */
+class CoalescedorDeConsultasTest {
+
+    private SimpleMeterRegistry registry;
+    private CoalescedorDeConsultas coalescedor;
+    private CountDownLatch iniciou;
+    private CountDownLatch liberar;
+    private AtomicInteger execucoes;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Cria o componente com um registro de métricas em memória e os controles da consulta lenta.
+     */
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescedor = new CoalescedorDeConsultas(registry, Duration.ofSeconds(5));
+        iniciou = new CountDownLatch(1);
+        liberar = new CountDownLatch(1);
+        execucoes = new AtomicInteger();
+    }
+
+    /**
+     * Testa a coalescência de chamadas simultâneas com a mesma chave.
+     * A consulta deve ser executada uma única vez e todas as chamadas devem receber o mesmo resultado.
+     */
+    @Test
+    void deveCompartilharConsultaEntreChamadasSimultaneas() throws Exception {
+        Supplier<String> consulta = consultaLenta(() -> "Camisa Vermelha");
+        List<AtomicReference<Object>> resultados = new ArrayList<>();
+
+        Thread primeira = iniciar(() -> coalescedor.executar("findById", consulta, 1L), resultados);
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        List<Thread> seguintes = List.of(
+                iniciar(() -> coalescedor.executar("findById", consulta, 1L), resultados),
+                iniciar(() -> coalescedor.executar("findById", consulta, 1L), resultados),
+                iniciar(() -> coalescedor.executar("findById", consulta, 1L), resultados));
+        aguardarBloqueio(seguintes);
+        liberar.countDown();
+        aguardarTermino(primeira, seguintes);
+
+        assertEquals(1, execucoes.get());
+        resultados.forEach(r -> assertEquals("Camisa Vermelha", r.get()));
+        assertEquals(3.0, registry.counter("produtos.consultas", "operacao", "findById", "resultado", "coalescida").count());
+    }
+
+    /**
+     * Testa a propagação de erros da consulta compartilhada.
+     * Todas as chamadas que aguardavam devem receber a mesma exceção lançada pela consulta.
+     */
+    @Test
+    void deveRepassarExcecaoParaTodasAsChamadas() throws Exception {
+        Supplier<String> consulta = consultaLenta(() -> {
+            throw new EntityNotFoundException("Produto não encontrado com ID: 1");
+        });
+        List<AtomicReference<Object>> resultados = new ArrayList<>();
+
+        Thread primeira = iniciar(() -> coalescedor.executar("findById", consulta, 1L), resultados);
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        List<Thread> seguintes = List.of(iniciar(() -> coalescedor.executar("findById", consulta, 1L), resultados));
+        aguardarBloqueio(seguintes);
+        liberar.countDown();
+        aguardarTermino(primeira, seguintes);
+
+        assertEquals(1, execucoes.get());
+        resultados.forEach(r -> assertInstanceOf(EntityNotFoundException.class, r.get()));
+    }
+
+    /**
+     * Testa o tempo máximo de espera de uma chamada coalescida.
+     * Deve lançar {@code TempoEsgotadoException} e registrar a métrica de tempo esgotado,
+     * enquanto chamadas com outra chave não são afetadas.
+     */
+    @Test
+    void deveLancarExcecaoQuandoEsperaExcederTimeout() throws Exception {
+        coalescedor = new CoalescedorDeConsultas(registry, Duration.ofMillis(50));
+        Supplier<String> consulta = consultaLenta(() -> "lento");
+        List<AtomicReference<Object>> resultados = new ArrayList<>();
+
+        Thread primeira = iniciar(() -> coalescedor.executar("calcularTotal", consulta, "roupas"), resultados);
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TempoEsgotadoException.class, () -> coalescedor.executar("calcularTotal", consulta, "roupas"));
+        String outraCategoria = coalescedor.executar("calcularTotal", () -> "rapido", "calcados");
+        assertEquals("rapido", outraCategoria);
+
+        liberar.countDown();
+        aguardarTermino(primeira, List.of());
+        assertEquals(1.0, registry.counter("produtos.consultas", "operacao", "calcularTotal", "resultado", "tempo_esgotado").count());
+    }
+
+    /**
+     * Método auxiliar que cria uma consulta que só termina quando o teste libera o {@code CountDownLatch}.
+     *
+     * @param resultado O resultado (ou a exceção) produzido ao final da consulta.
+     * @return A consulta lenta.
+     */
+    private Supplier<String> consultaLenta(Supplier<String> resultado) {
+        return () -> {
+            execucoes.incrementAndGet();
+            iniciou.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return resultado.get();
+        };
+    }
+
+    /**
+     * Método auxiliar que inicia uma thread executando a chamada e guarda o resultado ou a exceção lançada.
+     *
+     * @param chamada A chamada a ser executada.
+     * @param resultados A lista onde o resultado da chamada é registrado.
+     * @return A thread iniciada.
+     */
+    private Thread iniciar(Supplier<Object> chamada, List<AtomicReference<Object>> resultados) {
+        AtomicReference<Object> resultado = new AtomicReference<>();
+        resultados.add(resultado);
+        Thread thread = new Thread(() -> {
+            try {
+                resultado.set(chamada.get());
+            } catch (RuntimeException e) {
+                resultado.set(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Método auxiliar que aguarda até que todas as threads estejam bloqueadas à espera da consulta em andamento.
+     *
+     * @param threads As threads que devem aguardar.
+     */
+    private void aguardarBloqueio(List<Thread> threads) {
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.TIMED_WAITING) Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Método auxiliar que aguarda o término de todas as threads iniciadas no teste.
+     *
+     * @param primeira A thread que executou a consulta.
+     * @param seguintes As threads que aguardaram a consulta.
+     */
+    private void aguardarTermino(Thread primeira, List<Thread> seguintes) throws InterruptedException {
+        primeira.join(5000);
+        for (Thread thread : seguintes) thread.join(5000);
+    }
+}
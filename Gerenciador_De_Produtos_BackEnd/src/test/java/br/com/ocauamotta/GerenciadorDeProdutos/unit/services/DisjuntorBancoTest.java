@@ -0,0 +1,87 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes unitários para o disjuntor das consultas ao banco ({@code DisjuntorBanco}).
+ * Utiliza um relógio controlado pelo teste para simular a passagem do tempo de abertura.
+ */
+class DisjuntorBancoTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    private AtomicLong relogio;
+    private DisjuntorBanco disjuntor;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Cria um disjuntor com janela de 4 consultas, que abre com metade delas ruins.
+     */
+    @BeforeEach
+    void setUp() {
+        relogio = new AtomicLong();
+        disjuntor = new DisjuntorBanco(4, 4, 0.5, SEGUNDO, 10 * SEGUNDO, relogio::get);
+    }
+
+    /**
+     * Testa a abertura do disjuntor por falhas e consultas lentas.
+     * Com metade da janela ruim, nenhuma consulta deve ser permitida.
+     */
+    @Test
+    void deveAbrirQuandoMetadeDasConsultasForRuim() {
+        disjuntor.registrar(false, 10L);
+        disjuntor.registrar(true, 10L);
+        disjuntor.registrar(false, 10L);
+        assertEquals(DisjuntorBanco.Estado.FECHADO, disjuntor.estado());
+
+        disjuntor.registrar(false, 2 * SEGUNDO);
+
+        assertEquals(DisjuntorBanco.Estado.ABERTO, disjuntor.estado());
+        assertFalse(disjuntor.permitir());
+        assertEquals(10, disjuntor.segundosAteNovaTentativa());
+    }
+
+    /**
+     * Testa a consulta de teste após o tempo de abertura.
+     * Apenas uma consulta deve ser permitida, e o seu sucesso deve fechar o disjuntor.
+     */
+    @Test
+    void deveFecharQuandoConsultaDeTesteForBemSucedida() {
+        abrir();
+        relogio.addAndGet(10 * SEGUNDO);
+
+        assertTrue(disjuntor.permitir());
+        assertFalse(disjuntor.permitir());
+        assertEquals(DisjuntorBanco.Estado.MEIO_ABERTO, disjuntor.estado());
+
+        assertTrue(disjuntor.registrar(false, 10L));
+        assertEquals(DisjuntorBanco.Estado.FECHADO, disjuntor.estado());
+        assertTrue(disjuntor.permitir());
+    }
+
+    /**
+     * Testa a falha da consulta de teste.
+     * O disjuntor deve abrir novamente por mais um tempo de abertura.
+     */
+    @Test
+    void deveReabrirQuandoConsultaDeTesteFalhar() {
+        abrir();
+        relogio.addAndGet(10 * SEGUNDO);
+        assertTrue(disjuntor.permitir());
+
+        assertFalse(disjuntor.registrar(true, 10L));
+
+        assertEquals(DisjuntorBanco.Estado.ABERTO, disjuntor.estado());
+        assertFalse(disjuntor.permitir());
+    }
+
+    private void abrir() {
+        for (int i = 0; i < 4; i++) disjuntor.registrar(true, 10L);
+        assertEquals(DisjuntorBanco.Estado.ABERTO, disjuntor.estado());
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PontoSerieDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.SerieEstatisticasDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.IntervaloSerie;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.BadRequestException;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.PontoSerieProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o serviço de séries temporais ({@code EstatisticasService}).
+ * O repositório é mockado para simular as consultas agregadas por período.
+ */
+class EstatisticasServiceTest {
+
+    private IProdutoRepository repository;
+    private EstatisticasService service;
+    private ZonedDateTime inicioAtual;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * O repositório retorna apenas o período atual com produtos.
+     */
+    @BeforeEach
+    void setUp() {
+        repository = mock(IProdutoRepository.class);
+        service = new EstatisticasService(repository);
+        inicioAtual = IntervaloSerie.MES.inicioDoPeriodo(ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")));
+
+        when(repository.calcularSerie(eq("month"), any(), any())).thenReturn(List.of());
+        when(repository.calcularSerie("month", inicioAtual, inicioAtual.plusMonths(1)))
+                .thenReturn(List.of(ponto(inicioAtual, 3L, 1L, 2500)));
+    }
+
+    /**
+     * Testa a montagem da série com períodos sem produtos.
+     * Deve retornar um ponto por período, terminando no atual, com zero nos períodos sem produtos.
+     */
+    @Test
+    void deveCompletarPeriodosSemProdutosComZero() {
+        SerieEstatisticasDTO result = service.calcularSerie("mes", null, 3);
+
+        assertEquals("mes", result.intervalo());
+        assertNull(result.categoria());
+        assertEquals(List.of(
+                new PontoSerieDTO(inicioAtual.minusMonths(2), 0L, 0L, null),
+                new PontoSerieDTO(inicioAtual.minusMonths(1), 0L, 0L, null),
+                new PontoSerieDTO(inicioAtual, 3L, 1L, 2500)), result.pontos());
+    }
+
+    /**
+     * Testa o cache dos períodos encerrados.
+     * Na segunda chamada, apenas o período atual deve ser consultado novamente.
+     */
+    @Test
+    void deveConsultarApenasPeriodoAtualQuandoEncerradosEstiveremEmCache() {
+        service.calcularSerie("mes", null, 3);
+        service.calcularSerie("mes", null, 3);
+
+        verify(repository, times(1)).calcularSerie("month", inicioAtual.minusMonths(2), inicioAtual);
+        verify(repository, times(2)).calcularSerie("month", inicioAtual, inicioAtual.plusMonths(1));
+    }
+
+    /**
+     * Testa a ampliação da janela de uma série já em cache.
+     * Deve consultar apenas os períodos encerrados que ainda não foram calculados.
+     */
+    @Test
+    void deveConsultarApenasPeriodosQueFaltamQuandoJanelaAumentar() {
+        service.calcularSerie("mes", null, 3);
+        SerieEstatisticasDTO result = service.calcularSerie("mes", null, 5);
+
+        assertEquals(5, result.pontos().size());
+        verify(repository, times(1)).calcularSerie("month", inicioAtual.minusMonths(4), inicioAtual.minusMonths(2));
+        verify(repository, times(1)).calcularSerie("month", inicioAtual.minusMonths(2), inicioAtual);
+    }
+
+    /**
+     * Testa o descarte do cache quando um produto é atualizado.
+     * Os períodos encerrados devem ser consultados novamente; a criação de produtos não descarta o cache.
+     */
+    @Test
+    void deveDescartarPeriodosEncerradosQuandoProdutoForAtualizado() {
+        service.calcularSerie("mes", null, 3);
+        service.descartarEncerrados(new ProdutoAlteradoEvent(1L, TipoAlteracao.CRIADO, null, null));
+        service.calcularSerie("mes", null, 3);
+        service.descartarEncerrados(new ProdutoAlteradoEvent(2L, TipoAlteracao.ATUALIZADO, null, null));
+        service.calcularSerie("mes", null, 3);
+
+        verify(repository, times(2)).calcularSerie("month", inicioAtual.minusMonths(2), inicioAtual);
+    }
+
+    /**
+     * Testa a filtragem por categoria.
+     * Deve usar a consulta por categoria com o código da categoria.
+     */
+    @Test
+    void deveConsultarSeriePorCategoria() {
+        when(repository.calcularSeriePorCategoria(eq("month"), eq(Categorias.CLOTHES.getCodigo()), any(), any())).thenReturn(List.of());
+
+        SerieEstatisticasDTO result = service.calcularSerie("mes", "roupas", 1);
+
+        assertEquals("roupas", result.categoria());
+        assertEquals(List.of(new PontoSerieDTO(inicioAtual, 0L, 0L, null)), result.pontos());
+        verify(repository, never()).calcularSerie(any(), any(), any());
+    }
+
+    /**
+     * Testa a validação dos parâmetros.
+     * Deve lançar {@code BadRequestException} para intervalo, categoria ou quantidade de períodos inválidos.
+     */
+    @Test
+    void deveLancarBadRequestQuandoParametrosForemInvalidos() {
+        assertThrows(BadRequestException.class, () -> service.calcularSerie("ano", null, 3));
+        assertThrows(BadRequestException.class, () -> service.calcularSerie("dia", "inexistente", 3));
+        assertThrows(BadRequestException.class, () -> service.calcularSerie("dia", null, 0));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Método auxiliar para criar o resultado da consulta de um período.
+     */
+    private static PontoSerieProjection ponto(ZonedDateTime inicio, Long criados, Long apagados, Integer precoMedio) {
+        return new PontoSerieProjection() {
+            @Override
+            public Long getInicio() {
+                return inicio.toEpochSecond();
+            }
+
+            @Override
+            public Long getCriados() {
+                return criados;
+            }
+
+            @Override
+            public Long getApagados() {
+                return apagados;
+            }
+
+            @Override
+            public Integer getPrecoMedio() {
+                return precoMedio;
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.PrazoRequisicaoInterceptor;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.ProdutoExpurgadoProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o expurgo de produtos apagados ({@code ExpurgoProdutosService}).
+ * O repositório é mockado para simular os lotes expurgados pelo banco.
+ */
+class ExpurgoProdutosServiceTest {
+
+    private static final Instant APAGADO_EM = Instant.parse("2024-01-10T15:00:00Z");
+
+    private IProdutoRepository repository;
+    private CatalogoEmMemoria catalogo;
+    private InvalidacaoDistribuida invalidacao;
+    private SimpleMeterRegistry registry;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        repository = mock(IProdutoRepository.class);
+        catalogo = mock(CatalogoEmMemoria.class);
+        invalidacao = mock(InvalidacaoDistribuida.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Testa o expurgo em lotes.
+     * Cada lote deve partir do cursor do último produto do lote anterior, e a execução deve terminar
+     * no primeiro lote incompleto.
+     */
+    @Test
+    void deveExpurgarEmLotesAPartirDoCursor() {
+        ExpurgoProdutosService service = criar(true, 2, 100);
+        when(repository.contarApagadosAntesDe(any())).thenReturn(3L);
+        when(repository.expurgarLote(any(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(expurgado(1L, 0), expurgado(2L, 5)))
+                .thenReturn(List.of(expurgado(3L, 9)));
+
+        int total = service.expurgar();
+
+        assertEquals(3, total);
+        verify(repository).expurgarLote(any(), argThat(data -> data.toInstant().equals(Instant.EPOCH)), eq(0L), eq(2));
+        verify(repository).expurgarLote(any(), argThat(data -> data.toInstant().equals(APAGADO_EM.plusSeconds(5))), eq(2L), eq(2));
+        verify(catalogo).remover(List.of(1L, 2L));
+        verify(catalogo).remover(List.of(3L));
+        verify(invalidacao).publicarExpurgo(List.of(1L, 2L));
+        verify(invalidacao).publicarExpurgo(List.of(3L));
+        assertEquals(3.0, registry.get("produtos.expurgo.produtos").counter().count());
+        assertEquals(0.0, registry.get("produtos.expurgo.pendentes").gauge().value());
+    }
+
+    /**
+     * Testa o limite de produtos por execução.
+     * O último lote deve ser reduzido para não ultrapassar o limite.
+     */
+    @Test
+    void deveRespeitarMaximoPorExecucao() {
+        ExpurgoProdutosService service = criar(true, 2, 3);
+        when(repository.expurgarLote(any(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(expurgado(1L, 0), expurgado(2L, 1)))
+                .thenReturn(List.of(expurgado(3L, 2)));
+
+        int total = service.expurgar();
+
+        assertEquals(3, total);
+        verify(repository).expurgarLote(any(), any(), eq(2L), eq(1));
+        verify(repository, times(2)).expurgarLote(any(), any(), anyLong(), anyInt());
+    }
+
+    /**
+     * Testa a data limite do expurgo.
+     * Apenas produtos apagados antes do período de retenção devem ser considerados.
+     */
+    @Test
+    void deveUsarPeriodoDeRetencaoComoLimite() {
+        ExpurgoProdutosService service = criar(true, 2, 100);
+        when(repository.expurgarLote(any(), any(), anyLong(), anyInt())).thenReturn(List.of());
+        ZonedDateTime antes = ZonedDateTime.now().minusDays(30);
+
+        service.expurgar();
+
+        verify(repository).expurgarLote(argThat(limite -> !limite.isAfter(ZonedDateTime.now().minusDays(30))
+                && !limite.isBefore(antes)), any(), eq(0L), eq(2));
+        verifyNoInteractions(catalogo);
+    }
+
+    /**
+     * Testa o tempo máximo dos comandos do expurgo.
+     * A contagem e cada lote devem ser executados com o prazo de {@code app.expurgo.timeout-comando},
+     * e a thread do expurgo não deve manter o prazo ao final.
+     */
+    @Test
+    void deveExecutarCadaComandoComPrazoProprio() {
+        ExpurgoProdutosService service = criar(true, 2, 100);
+        List<Long> restantes = new ArrayList<>();
+        when(repository.contarApagadosAntesDe(any())).thenAnswer(invocacao -> {
+            restantes.add(PrazoRequisicaoInterceptor.restanteNanos());
+            return 1L;
+        });
+        when(repository.expurgarLote(any(), any(), anyLong(), anyInt())).thenAnswer(invocacao -> {
+            restantes.add(PrazoRequisicaoInterceptor.restanteNanos());
+            return List.of(expurgado(1L, 0));
+        });
+
+        service.expurgar();
+
+        assertEquals(2, restantes.size());
+        for (long restante : restantes) assertTrue(restante > 0 && restante <= Duration.ofSeconds(30).toNanos());
+        assertEquals(Long.MAX_VALUE, PrazoRequisicaoInterceptor.restanteNanos());
+    }
+
+    /**
+     * Testa o expurgo desabilitado.
+     * Não deve acessar o banco.
+     */
+    @Test
+    void deveIgnorarExpurgoQuandoDesabilitado() {
+        ExpurgoProdutosService service = criar(false, 2, 100);
+
+        assertEquals(0, service.expurgar());
+        verifyNoInteractions(repository, catalogo);
+    }
+
+    private ExpurgoProdutosService criar(boolean habilitado, int tamanhoLote, int maximoPorExecucao) {
+        return new ExpurgoProdutosService(repository, catalogo, invalidacao, registry, habilitado, Duration.ofDays(30),
+                tamanhoLote, 1_000_000, maximoPorExecucao, Duration.ofSeconds(30));
+    }
+
+    private static ProdutoExpurgadoProjection expurgado(Long id, long segundos) {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, APAGADO_EM.plusSeconds(segundos));
+        return new ProdutoExpurgadoProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getApagadoEm() {
+                return micros;
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para a invalidação de caches entre instâncias ({@code InvalidacaoDistribuida}).
+ * O repositório é mockado para capturar as notificações enviadas; a conexão de escuta não é aberta.
+ */
+class InvalidacaoDistribuidaTest {
+
+    private IProdutoRepository repository;
+    private SimpleMeterRegistry registry;
+    private InvalidacaoDistribuida invalidacao;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     */
+    @BeforeEach
+    void setUp() {
+        repository = mock(IProdutoRepository.class);
+        registry = new SimpleMeterRegistry();
+        invalidacao = new InvalidacaoDistribuida(repository, new DataSourceProperties(), mock(ApplicationEventPublisher.class),
+                registry, true, Duration.ofMillis(50), Duration.ofSeconds(10));
+    }
+
+    /**
+     * Testa a codificação das mensagens.
+     * A mensagem decodificada deve ser igual à original.
+     */
+    @Test
+    void deveCodificarEDecodificarMensagem() {
+        InvalidacaoDistribuida.Mensagem mensagem = new InvalidacaoDistribuida.Mensagem(
+                "a1b2c3d4", 1042L, true, Set.of(17L), EnumSet.of(Categorias.CLOTHES, Categorias.SHOES));
+
+        String codificada = mensagem.codificar();
+
+        assertTrue(codificada.startsWith("a1b2c3d4;1042;1;17;"));
+        assertEquals(mensagem, InvalidacaoDistribuida.Mensagem.decodificar(codificada));
+    }
+
+    /**
+     * Testa o envio da alteração de um produto.
+     * A mensagem deve conter a sequência, o ID e as categorias anterior e atual.
+     */
+    @Test
+    void devePublicarAlteracaoComCategoriaAnterior() {
+        ZonedDateTime time = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        ProdutoResponseDTO produto = new ProdutoResponseDTO(7L, "Camisa", 2000, Categorias.CLOTHES, time, time, null);
+
+        invalidacao.publicar(new ProdutoAlteradoEvent(55L, TipoAlteracao.ATUALIZADO, produto, Categorias.SHOES));
+
+        verify(repository).notificar(eq(InvalidacaoDistribuida.CANAL), argThat(conteudo -> {
+            InvalidacaoDistribuida.Mensagem mensagem = InvalidacaoDistribuida.Mensagem.decodificar(conteudo);
+            return mensagem.geracao() == 55L && mensagem.historico() && mensagem.ids().equals(Set.of(7L))
+                    && mensagem.categorias().equals(EnumSet.of(Categorias.CLOTHES, Categorias.SHOES));
+        }));
+        assertEquals(1.0, registry.get("produtos.invalidacao.mensagens").tag("direcao", "publicada").counter().count());
+    }
+
+    /**
+     * Testa o envio dos produtos expurgados.
+     * Os IDs devem ser divididos em mensagens de no máximo {@code IDS_POR_MENSAGEM} IDs.
+     */
+    @Test
+    void deveDividirExpurgoEmVariasMensagens() {
+        List<Long> ids = LongStream.rangeClosed(1, InvalidacaoDistribuida.IDS_POR_MENSAGEM + 1).boxed().toList();
+
+        invalidacao.publicarExpurgo(ids);
+
+        verify(repository, times(2)).notificar(eq(InvalidacaoDistribuida.CANAL), anyString());
+    }
+
+    /**
+     * Testa o agrupamento das mensagens recebidas.
+     * Deve unir os IDs e as categorias, ignorar as mensagens da própria instância e as inválidas.
+     */
+    @Test
+    void deveAgruparMensagensIgnorandoAsDaPropriaInstancia() {
+        InvalidacaoRecebidaEvent evento = InvalidacaoDistribuida.agrupar(List.of(
+                "outra;10;0;1;CLOTHES",
+                "local;11;1;2;SHOES",
+                "invalida",
+                "outra;12;0;3,4;",
+                "terceira;0;0;5;ACCESSORIES"), "local");
+
+        assertNotNull(evento);
+        assertEquals(Set.of(1L, 3L, 4L, 5L), evento.ids());
+        assertEquals(EnumSet.of(Categorias.CLOTHES, Categorias.ACCESSORIES), evento.categorias());
+        assertEquals(12L, evento.geracao());
+        assertFalse(evento.historico());
+        assertFalse(evento.completa());
+        assertNull(InvalidacaoDistribuida.agrupar(List.of("local;11;1;2;SHOES"), "local"));
+    }
+
+    /**
+     * Testa o início da escuta sem banco disponível.
+     * A subida deve aguardar a inscrição no canal no máximo pelo intervalo de verificação.
+     */
+    @Test
+    void deveLimitarEsperaPelaInscricaoAoIntervaloDeVerificacao() {
+        InvalidacaoDistribuida semBanco = new InvalidacaoDistribuida(repository, new DataSourceProperties(),
+                mock(ApplicationEventPublisher.class), registry, true, Duration.ofMillis(50), Duration.ofMillis(200));
+
+        long inicio = System.nanoTime();
+        semBanco.iniciar();
+        long decorrido = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        semBanco.encerrar();
+
+        assertFalse(semBanco.inscrita());
+        assertTrue(decorrido >= 200 && decorrido < 5_000);
+    }
+
+    /**
+     * Testa a invalidação desabilitada.
+     * Nenhuma notificação deve ser enviada.
+     */
+    @Test
+    void deveIgnorarPublicacaoQuandoDesabilitada() {
+        InvalidacaoDistribuida desabilitada = new InvalidacaoDistribuida(repository, new DataSourceProperties(),
+                mock(ApplicationEventPublisher.class), registry, false, Duration.ofMillis(50), Duration.ofSeconds(10));
+
+        desabilitada.publicarExpurgo(List.of(1L));
+
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,253 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.EntityNotFoundException;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes unitários para a camada de resiliência das leituras ({@code LeiturasResilientes}).
+ * As consultas são simuladas por {@code Supplier}s que falham com exceções de acesso ao banco.
+ */
+class LeiturasResilientesTest {
+
+    private SimpleMeterRegistry registry;
+    private MockHttpServletRequest request;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Associa uma requisição à thread para verificar a marcação de respostas desatualizadas.
+     */
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Testa o disjuntor aberto.
+     * A leitura deve ser atendida pelo último valor conhecido sem consultar o banco,
+     * e a requisição deve ser marcada como desatualizada.
+     */
+    @Test
+    void deveServirUltimoValorConhecidoComDisjuntorAberto() {
+        LeiturasResilientes leituras = criar(Duration.ofHours(1));
+        AtomicInteger consultas = new AtomicInteger();
+        Supplier<String> consulta = () -> consultas.incrementAndGet() == 1 ? "v1" : falhar();
+
+        assertEquals("v1", leituras.executar("findById", consulta, 1L));
+        assertEquals("v1", leituras.executar("findById", consulta, 1L));
+        assertEquals("v1", leituras.executar("findById", consulta, 1L));
+
+        assertEquals(2, consultas.get());
+        assertInstanceOf(Instant.class, request.getAttribute(LeiturasResilientes.ATRIBUTO_DESATUALIZADO_DESDE));
+        assertEquals(2.0, registry.get("produtos.disjuntor.respostas").tag("resultado", "desatualizada").counter().count());
+    }
+
+    /**
+     * Testa uma leitura desatualizada servida dentro de uma tarefa ({@code registrarDesatualizacao}).
+     * A data do valor deve ser devolvida no resultado da tarefa, sem marcar a requisição, até que a thread da
+     * requisição a aplique com {@code marcarDesatualizado}.
+     */
+    @Test
+    void deveGuardarDesatualizacaoNoResultadoDaTarefa() {
+        LeiturasResilientes leituras = criar(Duration.ofHours(1));
+        AtomicInteger consultas = new AtomicInteger();
+        Supplier<String> consulta = () -> consultas.incrementAndGet() == 1 ? "v1" : falhar();
+        leituras.executar("findById", consulta, 1L);
+        RequestContextHolder.resetRequestAttributes();
+        leituras.executar("findById", consulta, 1L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        LeiturasResilientes.LeituraMarcada<String> resultado = LeiturasResilientes.registrarDesatualizacao(
+                () -> leituras.executar("findById", consulta, 1L));
+
+        assertEquals("v1", resultado.valor());
+        assertNotNull(resultado.desatualizadoDesde());
+        assertNull(request.getAttribute(LeiturasResilientes.ATRIBUTO_DESATUALIZADO_DESDE));
+
+        LeiturasResilientes.marcarDesatualizado(resultado.desatualizadoDesde());
+        assertEquals(resultado.desatualizadoDesde(), request.getAttribute(LeiturasResilientes.ATRIBUTO_DESATUALIZADO_DESDE));
+    }
+
+    /**
+     * Testa o disjuntor aberto sem valor conhecido.
+     * Deve lançar {@code ServicoIndisponivelException} com o tempo até a próxima tentativa.
+     */
+    @Test
+    void deveRecusarLeituraSemValorConhecido() {
+        LeiturasResilientes leituras = criar(Duration.ofHours(1));
+        Supplier<String> consulta = this::falhar;
+
+        assertThrows(ServicoIndisponivelException.class, () -> leituras.executar("findById", consulta, 1L));
+        assertThrows(ServicoIndisponivelException.class, () -> leituras.executar("findById", consulta, 1L));
+        ServicoIndisponivelException ex = assertThrows(ServicoIndisponivelException.class,
+                () -> leituras.executar("findById", () -> "v1", 1L));
+
+        assertTrue(ex.getRetryAfterSegundos() > 1);
+        assertNull(request.getAttribute(LeiturasResilientes.ATRIBUTO_DESATUALIZADO_DESDE));
+    }
+
+    /**
+     * Testa a atualização em segundo plano quando o disjuntor fecha.
+     * O valor servido desatualizado deve ser consultado novamente após a consulta de teste bem-sucedida.
+     */
+    @Test
+    void deveAtualizarValoresDesatualizadosQuandoDisjuntorFechar() {
+        LeiturasResilientes leituras = criar(Duration.ZERO);
+        AtomicInteger consultas = new AtomicInteger();
+        Supplier<String> consulta = () -> switch (consultas.incrementAndGet()) {
+            case 1 -> "v1";
+            case 2 -> falhar();
+            default -> "v2";
+        };
+
+        leituras.executar("findById", consulta, 1L);
+        assertEquals("v1", leituras.executar("findById", consulta, 1L));
+        assertEquals("outro", leituras.executar("calcularTotal", () -> "outro"));
+
+        assertEquals(3, consultas.get());
+        assertEquals(DisjuntorBanco.Estado.FECHADO.ordinal(), registry.get("produtos.disjuntor.estado").gauge().value());
+    }
+
+    /**
+     * Testa os erros de negócio.
+     * Devem ser repassados sem abrir o disjuntor nem servir valores conhecidos.
+     */
+    @Test
+    void deveRepassarErrosQueNaoSaoDoBanco() {
+        LeiturasResilientes leituras = criar(Duration.ofHours(1));
+        leituras.executar("findById", () -> "v1", 1L);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(EntityNotFoundException.class, () -> leituras.executar("findById", () -> {
+                throw new EntityNotFoundException("Produto não encontrado com ID: 1");
+            }, 1L));
+        }
+        assertEquals(DisjuntorBanco.Estado.FECHADO.ordinal(), registry.get("produtos.disjuntor.estado").gauge().value());
+    }
+
+    /**
+     * Testa a falha de uma consulta compartilhada por chamadas coalescidas.
+     * A falha deve ser registrada no disjuntor uma única vez, pela chamada que consultou o banco.
+     */
+    @Test
+    void deveRegistrarNoDisjuntorApenasAConsultaExecutada() throws InterruptedException {
+        LeiturasResilientes leituras = criar(Duration.ofHours(1), Duration.ofSeconds(5));
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<String> consulta = () -> {
+            iniciou.countDown();
+            aguardar(liberar);
+            return falhar();
+        };
+
+        Thread primeira = iniciar(() -> leituras.executar("findById", consulta, 1L));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        List<Thread> seguintes = List.of(
+                iniciar(() -> leituras.executar("findById", consulta, 1L)),
+                iniciar(() -> leituras.executar("findById", consulta, 1L)));
+        aguardarBloqueio(seguintes);
+        liberar.countDown();
+        aguardarTermino(primeira, seguintes);
+
+        assertEquals(3.0, registry.get("produtos.disjuntor.respostas").tag("resultado", "recusada").counter().count());
+        assertEquals(DisjuntorBanco.Estado.FECHADO.ordinal(), registry.get("produtos.disjuntor.estado").gauge().value());
+    }
+
+    /**
+     * Testa as chamadas coalescidas que desistem de aguardar a consulta em andamento.
+     * O tempo esgotado na espera não deve contar como falha do banco nem abrir o disjuntor.
+     */
+    @Test
+    void deveIgnorarNoDisjuntorDesistenciaDasChamadasCoalescidas() throws InterruptedException {
+        LeiturasResilientes leituras = criar(Duration.ofHours(1), Duration.ofMillis(50));
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<String> consulta = () -> {
+            iniciou.countDown();
+            aguardar(liberar);
+            return "v1";
+        };
+
+        Thread primeira = iniciar(() -> leituras.executar("findById", consulta, 1L));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        List<Thread> seguintes = List.of(
+                iniciar(() -> leituras.executar("findById", consulta, 1L)),
+                iniciar(() -> leituras.executar("findById", consulta, 1L)));
+        for (Thread thread : seguintes) thread.join(5000);
+        liberar.countDown();
+        primeira.join(5000);
+
+        assertEquals(2.0, registry.get("produtos.disjuntor.respostas").tag("resultado", "recusada").counter().count());
+        assertEquals(DisjuntorBanco.Estado.FECHADO.ordinal(), registry.get("produtos.disjuntor.estado").gauge().value());
+        assertEquals("v2", leituras.executar("findById", () -> "v2", 1L));
+    }
+
+    private LeiturasResilientes criar(Duration tempoAberto) {
+        return criar(tempoAberto, Duration.ofSeconds(5));
+    }
+
+    private LeiturasResilientes criar(Duration tempoAberto, Duration timeoutCoalescencia) {
+        return new LeiturasResilientes(new CoalescedorDeConsultas(registry, timeoutCoalescencia), new SyncTaskExecutor(),
+                registry, true, 2, 2, 0.5, Duration.ofSeconds(2), tempoAberto, Duration.ofHours(1), 100);
+    }
+
+    private Thread iniciar(Runnable chamada) {
+        Thread thread = new Thread(() -> {
+            try {
+                chamada.run();
+            } catch (RuntimeException ignorada) {
+                // O desfecho de cada chamada é verificado pelas métricas
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private void aguardarBloqueio(List<Thread> threads) {
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.TIMED_WAITING) Thread.onSpinWait();
+        }
+    }
+
+    private void aguardarTermino(Thread primeira, List<Thread> seguintes) throws InterruptedException {
+        primeira.join(5000);
+        for (Thread thread : seguintes) thread.join(5000);
+    }
+
+    private void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String falhar() {
+        throw new DataAccessResourceFailureException("Conexão recusada");
+    }
+}
@@ -0,0 +1,243 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PainelDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.TotalProdutosDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o painel da tela inicial ({@code PainelService}).
+ * O {@code ProdutoService} é mockado e as partes são executadas em virtual threads reais.
+ */
+class PainelServiceTest {
+
+    private ProdutoService produtoService;
+    private ExecutorService executor;
+    private SimpleMeterRegistry registry;
+    private PainelService painelService;
+    private Page<ProdutoResponseDTO> pagina;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Todas as partes respondem imediatamente, a menos que o teste altere o mock.
+     */
+    @BeforeEach
+    void setUp() {
+        produtoService = mock(ProdutoService.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        registry = new SimpleMeterRegistry();
+        painelService = new PainelService(produtoService, executor, registry, Duration.ofMillis(300), 20, 10);
+
+        ZonedDateTime time = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        ProdutoResponseDTO produto = new ProdutoResponseDTO(1L, "Camisa", 2000, Categorias.CLOTHES, time, time, null);
+        pagina = new PageImpl<>(List.of(produto));
+
+        when(produtoService.findAllActive(isNull(), isNull(), isNull(), eq("id,asc"), any())).thenReturn(pagina);
+        when(produtoService.findAllDeleted(isNull(), isNull(), isNull(), eq("id,asc"), any())).thenReturn(Page.empty());
+        when(produtoService.calcularTotaisPorCategoria()).thenReturn(Map.of(Categorias.CLOTHES, new TotalProdutosDTO(1, 2000)));
+        when(produtoService.buscarAlteracoesRecentes(10)).thenReturn(List.of(produto));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Testa a montagem do painel com todas as partes disponíveis.
+     * Deve retornar as quatro partes e nenhuma parte indisponível.
+     */
+    @Test
+    void deveMontarPainelComTodasAsPartes() {
+        PainelDTO painel = painelService.montar();
+
+        assertSame(pagina, painel.ativos());
+        assertTrue(painel.apagados().isEmpty());
+        assertEquals(1, painel.totaisPorCategoria().get(Categorias.CLOTHES).qntProdutos());
+        assertEquals(1, painel.alteracoesRecentes().size());
+        assertTrue(painel.partesIndisponiveis().isEmpty());
+        assertEquals(1.0, registry.get("produtos.painel.partes").tag("parte", PainelService.ATIVOS)
+                .tag("resultado", "ok").counter().count());
+    }
+
+    /**
+     * Testa as partes consultadas em paralelo.
+     * As partes devem ser iniciadas ao mesmo tempo, e não uma após a outra.
+     */
+    @Test
+    void deveConsultarPartesEmParalelo() {
+        CountDownLatch iniciadas = new CountDownLatch(2);
+        when(produtoService.findAllActive(isNull(), isNull(), isNull(), eq("id,asc"), any())).thenAnswer(invocacao -> {
+            iniciadas.countDown();
+            assertTrue(iniciadas.await(250, TimeUnit.MILLISECONDS));
+            return pagina;
+        });
+        when(produtoService.findAllDeleted(isNull(), isNull(), isNull(), eq("id,asc"), any())).thenAnswer(invocacao -> {
+            iniciadas.countDown();
+            assertTrue(iniciadas.await(250, TimeUnit.MILLISECONDS));
+            return Page.empty();
+        });
+
+        PainelDTO painel = painelService.montar();
+
+        assertTrue(painel.partesIndisponiveis().isEmpty());
+    }
+
+    /**
+     * Testa uma parte que excede o tempo limite.
+     * O painel deve ser retornado sem essa parte, sem aguardar o fim da consulta lenta.
+     */
+    @Test
+    void deveRetornarResultadoParcialQuandoParteExcedeTempoLimite() {
+        when(produtoService.findAllDeleted(isNull(), isNull(), isNull(), eq("id,asc"), any())).thenAnswer(invocacao -> {
+            Thread.sleep(5_000);
+            return Page.empty();
+        });
+
+        long inicio = System.nanoTime();
+        PainelDTO painel = painelService.montar();
+        long duracaoMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertNull(painel.apagados());
+        assertSame(pagina, painel.ativos());
+        assertEquals(List.of(PainelService.APAGADOS), painel.partesIndisponiveis());
+        assertTrue(duracaoMillis < 2_000, "O painel aguardou a parte lenta: " + duracaoMillis + "ms");
+        assertEquals(1.0, registry.get("produtos.painel.partes").tag("parte", PainelService.APAGADOS)
+                .tag("resultado", "esgotada").counter().count());
+    }
+
+    /**
+     * Testa uma parte que falha.
+     * O painel deve ser retornado com as demais partes.
+     */
+    @Test
+    void deveRetornarResultadoParcialQuandoParteFalha() {
+        when(produtoService.calcularTotaisPorCategoria()).thenThrow(new DataAccessResourceFailureException("falha"));
+
+        PainelDTO painel = painelService.montar();
+
+        assertNull(painel.totaisPorCategoria());
+        assertNotNull(painel.ativos());
+        assertEquals(List.of(PainelService.TOTAIS_POR_CATEGORIA), painel.partesIndisponiveis());
+    }
+
+    /**
+     * Testa o painel com todas as partes falhando.
+     * Deve lançar {@code ServicoIndisponivelException}.
+     */
+    @Test
+    void deveLancarServicoIndisponivelQuandoTodasAsPartesFalham() {
+        DataAccessResourceFailureException falha = new DataAccessResourceFailureException("falha");
+        when(produtoService.findAllActive(any(), any(), any(), any(), any())).thenThrow(falha);
+        when(produtoService.findAllDeleted(any(), any(), any(), any(), any())).thenThrow(falha);
+        when(produtoService.calcularTotaisPorCategoria()).thenThrow(falha);
+        when(produtoService.buscarAlteracoesRecentes(anyInt())).thenThrow(falha);
+
+        assertThrows(ServicoIndisponivelException.class, () -> painelService.montar());
+    }
+
+    /**
+     * Testa uma parte atendida com um valor desatualizado.
+     * A requisição deve ser marcada como desatualizada pela thread da requisição.
+     */
+    @Test
+    void deveMarcarRequisicaoQuandoParteServeValorDesatualizado() {
+        MockHttpServletRequest request = iniciarRequisicao();
+        LeiturasResilientes leituras = leiturasComDisjuntorAberto();
+        when(produtoService.calcularTotaisPorCategoria()).thenAnswer(invocacao ->
+                leituras.executar("calcularTotaisPorCategoria", () -> Map.of(), 1L));
+
+        PainelDTO painel = painelService.montar();
+
+        assertEquals(Map.of(), painel.totaisPorCategoria());
+        assertInstanceOf(Instant.class, request.getAttribute(LeiturasResilientes.ATRIBUTO_DESATUALIZADO_DESDE));
+    }
+
+    /**
+     * Testa uma parte que serve um valor desatualizado depois de exceder o tempo limite.
+     * A parte não deve acessar a requisição, que já foi respondida sem ela.
+     */
+    @Test
+    void deveIgnorarDesatualizacaoDeParteQueExcedeuTempoLimite() throws InterruptedException {
+        MockHttpServletRequest request = iniciarRequisicao();
+        LeiturasResilientes leituras = leiturasComDisjuntorAberto();
+        CountDownLatch terminou = new CountDownLatch(1);
+        AtomicBoolean desatualizada = new AtomicBoolean();
+        when(produtoService.calcularTotaisPorCategoria()).thenAnswer(invocacao -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Map<Categorias, TotalProdutosDTO> totais = leituras.executar("calcularTotaisPorCategoria", Map::of, 1L);
+            desatualizada.set(true);
+            terminou.countDown();
+            return totais;
+        });
+
+        PainelDTO painel = painelService.montar();
+
+        assertEquals(List.of(PainelService.TOTAIS_POR_CATEGORIA), painel.partesIndisponiveis());
+        assertTrue(terminou.await(5, TimeUnit.SECONDS));
+        assertTrue(desatualizada.get());
+        assertNull(request.getAttribute(LeiturasResilientes.ATRIBUTO_DESATUALIZADO_DESDE));
+    }
+
+    private MockHttpServletRequest iniciarRequisicao() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+
+    /**
+     * Cria a camada de resiliência com um valor conhecido de {@code calcularTotaisPorCategoria} e o disjuntor
+     * aberto, fora da requisição.
+     */
+    private LeiturasResilientes leiturasComDisjuntorAberto() {
+        LeiturasResilientes leituras = new LeiturasResilientes(new CoalescedorDeConsultas(registry, Duration.ofSeconds(5)),
+                new SyncTaskExecutor(), registry, true, 2, 2, 0.5, Duration.ofSeconds(2), Duration.ofHours(1),
+                Duration.ofHours(1), 100);
+        LeiturasResilientes.registrarDesatualizacao(() -> {
+            leituras.executar("calcularTotaisPorCategoria", Map::of, 1L);
+            for (int i = 0; i < 2; i++) {
+                try {
+                    leituras.executar("calcularTotaisPorCategoria", () -> {
+                        throw new DataAccessResourceFailureException("falha");
+                    }, 1L);
+                } catch (RuntimeException ignorada) {
+                    // O valor conhecido é servido ou a leitura é recusada com o disjuntor aberto
+                }
+            }
+            return null;
+        });
+        return leituras;
+    }
+}
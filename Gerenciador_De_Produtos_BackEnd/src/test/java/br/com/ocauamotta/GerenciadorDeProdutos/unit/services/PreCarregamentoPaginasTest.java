@@ -0,0 +1,187 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.filters.ControleAdmissaoFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o pré-carregamento da próxima página ({@code PreCarregamentoPaginas}).
+ * As páginas são consultadas na própria thread do teste, a menos que o teste use um executor que as retenha.
+ */
+class PreCarregamentoPaginasTest {
+
+    private ControleAdmissaoFilter admissao;
+    private LeiturasResilientes leituras;
+    private SimpleMeterRegistry registry;
+    private PreCarregamentoPaginas preCarregamento;
+    private Pageable primeira;
+    private Page<ProdutoResponseDTO> servida;
+    private Page<ProdutoResponseDTO> segunda;
+    private List<Pageable> consultadas;
+    private Function<Pageable, Page<ProdutoResponseDTO>> consulta;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Há capacidade sobrando e o banco está disponível, a menos que o teste altere os mocks.
+     */
+    @BeforeEach
+    void setUp() {
+        admissao = mock(ControleAdmissaoFilter.class);
+        leituras = mock(LeiturasResilientes.class);
+        registry = new SimpleMeterRegistry();
+        when(admissao.ocupacao()).thenReturn(0.1);
+        when(leituras.bancoDisponivel()).thenReturn(true);
+        preCarregamento = novoPreCarregamento(Runnable::run, 4);
+
+        ZonedDateTime time = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        ProdutoResponseDTO produto = new ProdutoResponseDTO(1L, "Camisa", 2000, Categorias.CLOTHES, time, time, null);
+        primeira = PageRequest.of(0, 1);
+        servida = new PageImpl<>(List.of(produto), primeira, 3);
+        segunda = new PageImpl<>(List.of(produto), primeira.next(), 3);
+
+        consultadas = new ArrayList<>();
+        consulta = pageable -> {
+            consultadas.add(pageable);
+            return segunda;
+        };
+    }
+
+    /**
+     * Testa a página seguinte pré-carregada.
+     * Deve ser consultada logo após a página servida e retornada na leitura seguinte, sem nova consulta.
+     */
+    @Test
+    void deveServirProximaPaginaPreCarregada() {
+        preCarregamento.agendarProxima("roupas", null, null, "preco,asc", primeira, servida, consulta);
+
+        assertEquals(List.of(primeira.next()), consultadas);
+        assertSame(segunda, preCarregamento.buscar("roupas", null, null, "preco,asc", primeira.next()).orElseThrow());
+        assertTrue(preCarregamento.buscar("calcados", null, null, "preco,asc", primeira.next()).isEmpty());
+        assertEquals(1.0, registry.get("produtos.pre-carregamento.leituras").tag("resultado", "acerto").counter().count());
+        assertEquals(1.0, registry.get("produtos.pre-carregamento.leituras").tag("resultado", "falta").counter().count());
+        assertEquals(1.0, registry.get("produtos.pre-carregamento.paginas").tag("resultado", "carregada").counter().count());
+        assertEquals(1.0, registry.get("produtos.pre-carregamento.paginas").tag("resultado", "usada").counter().count());
+    }
+
+    /**
+     * Testa a última página da listagem.
+     * Não há página seguinte a ser pré-carregada.
+     */
+    @Test
+    void deveIgnorarUltimaPagina() {
+        preCarregamento.agendarProxima(null, null, null, "id,asc", primeira, new PageImpl<>(List.of(), primeira, 0), consulta);
+
+        assertTrue(consultadas.isEmpty());
+    }
+
+    /**
+     * Testa o pré-carregamento sob carga.
+     * Com a ocupação do limite de concorrência acima do máximo, a página seguinte não deve ser consultada.
+     */
+    @Test
+    void deveIgnorarPreCarregamentoSobCarga() {
+        when(admissao.ocupacao()).thenReturn(0.9);
+
+        preCarregamento.agendarProxima(null, null, null, "id,asc", primeira, servida, consulta);
+
+        assertTrue(consultadas.isEmpty());
+        assertEquals(1.0, registry.get("produtos.pre-carregamento.paginas").tag("resultado", "ignorada").counter().count());
+    }
+
+    /**
+     * Testa o pré-carregamento com o disjuntor do banco aberto.
+     * A página seguinte não deve ser consultada.
+     */
+    @Test
+    void deveIgnorarPreCarregamentoComBancoIndisponivel() {
+        when(leituras.bancoDisponivel()).thenReturn(false);
+
+        preCarregamento.agendarProxima(null, null, null, "id,asc", primeira, servida, consulta);
+
+        assertTrue(consultadas.isEmpty());
+    }
+
+    /**
+     * Testa o limite de páginas pré-carregadas ao mesmo tempo.
+     * Com a única vaga ocupada, uma segunda listagem não deve agendar o pré-carregamento.
+     */
+    @Test
+    void deveLimitarPreCarregamentosSimultaneos() {
+        List<Runnable> pendentes = new ArrayList<>();
+        preCarregamento = novoPreCarregamento(pendentes::add, 1);
+
+        preCarregamento.agendarProxima("roupas", null, null, "id,asc", primeira, servida, consulta);
+        preCarregamento.agendarProxima("calcados", null, null, "id,asc", primeira, servida, consulta);
+
+        assertEquals(1, pendentes.size());
+        pendentes.get(0).run();
+        preCarregamento.agendarProxima("calcados", null, null, "id,asc", primeira, servida, consulta);
+        assertEquals(2, pendentes.size());
+    }
+
+    /**
+     * Testa o descarte das páginas pré-carregadas após uma gravação.
+     * A página guardada não deve mais ser servida.
+     */
+    @Test
+    void deveDescartarPaginasAposGravacao() {
+        preCarregamento.agendarProxima(null, null, null, "id,asc", primeira, servida, consulta);
+
+        preCarregamento.descartar(InvalidacaoRecebidaEvent.todos());
+
+        assertTrue(preCarregamento.buscar(null, null, null, "id,asc", primeira.next()).isEmpty());
+    }
+
+    /**
+     * Testa uma gravação que ocorre enquanto a página seguinte está sendo consultada.
+     * A página consultada pode não refletir a gravação e não deve ser guardada.
+     */
+    @Test
+    void deveDescartarPaginaConsultadaDuranteGravacao() {
+        preCarregamento.agendarProxima(null, null, null, "id,asc", primeira, servida, pageable -> {
+            preCarregamento.descartar(InvalidacaoRecebidaEvent.todos());
+            return segunda;
+        });
+
+        assertTrue(preCarregamento.buscar(null, null, null, "id,asc", primeira.next()).isEmpty());
+    }
+
+    /**
+     * Testa uma falha na consulta da página seguinte.
+     * A falha não deve ser propagada e deve ser contada.
+     */
+    @Test
+    void deveContarFalhaSemPropagar() {
+        preCarregamento.agendarProxima(null, null, null, "id,asc", primeira, servida, pageable -> {
+            throw new DataAccessResourceFailureException("falha");
+        });
+
+        assertTrue(preCarregamento.buscar(null, null, null, "id,asc", primeira.next()).isEmpty());
+        assertEquals(1.0, registry.get("produtos.pre-carregamento.paginas").tag("resultado", "falha").counter().count());
+    }
+
+    private PreCarregamentoPaginas novoPreCarregamento(Executor executor, int maximoSimultaneos) {
+        return new PreCarregamentoPaginas(executor, admissao, leituras, registry, true, Duration.ofSeconds(10),
+                maximoSimultaneos, 0.5, 100);
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.ocauamotta.GerenciadorDeProdutos.services;
+
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para a classe de service ({@code ProdutoEventosService}).
+ * Utiliza um executor que nunca executa as tarefas de envio, simulando assinantes que não consomem
+ * os eventos, para verificar o registro de assinantes, o filtro por categoria e o limite das filas.
+ * O {@code ProdutoService}, que consulta no banco os eventos perdidos, é mockado.
+ */
+class ProdutoEventosServiceTest {
+
+    private ProdutoService produtoService;
+    private ProdutoEventosService service;
+
+    /**
+     * Configuração inicial executada antes de cada teste.
+     * Cria o serviço com um executor que descarta as tarefas de envio.
+     */
+    @BeforeEach
+    void setUp() {
+        produtoService = mock(ProdutoService.class);
+        service = new ProdutoEventosService(produtoService, tarefa -> { });
+    }
+
+    /**
+     * Testa o registro de um assinante sem filtro de categoria.
+     * Deve retornar o emitter da conexão e contabilizar o assinante.
+     */
+    @Test
+    void deveRegistrarAssinanteSemFiltro() {
+        assertNotNull(service.assinar(null, null));
+        assertEquals(1, service.quantidadeDeAssinantes());
+    }
+
+    /**
+     * Testa o cenário de falha ao assinar o stream com uma categoria inexistente.
+     * Deve lançar {@code BadRequestException} sem registrar o assinante.
+     */
+    @Test
+    void deveLancarExcecaoQuandoCategoriaDoStreamForInvalida() {
+        assertThrows(BadRequestException.class, () -> service.assinar("eletronicos", null));
+        assertEquals(0, service.quantidadeDeAssinantes());
+    }
+
+    /**
+     * Testa o limite da fila de um assinante que não consome os eventos.
+     * Deve desconectar o assinante quando a fila encher, sem afetar a publicação dos eventos.
+     */
+    @Test
+    void deveDesconectarAssinanteLentoQuandoFilaEncher() {
+        service.assinar(null, null);
+
+        for (long i = 1; i <= 300; i++) service.publicar(evento(i, Categorias.CLOTHES));
+
+        assertEquals(0, service.quantidadeDeAssinantes());
+    }
+
+    /**
+     * Testa o filtro por categoria do stream.
+     * Eventos de outras categorias não devem ocupar a fila do assinante.
+     */
+    @Test
+    void deveIgnorarEventosDeOutraCategoria() {
+        service.assinar("roupas", null);
+
+        for (long i = 1; i <= 300; i++) service.publicar(evento(i, Categorias.SHOES));
+
+        assertEquals(1, service.quantidadeDeAssinantes());
+    }
+
+    /**
+     * Testa a reconexão com o cabeçalho {@code Last-Event-ID}.
+     * Os eventos perdidos devem ser consultados no banco, e não em um histórico da instância.
+     */
+    @Test
+    void deveReenviarEventosPerdidosConsultadosNoBanco() {
+        when(produtoService.buscarAlteracoesAposSequencia(5L, 1001)).thenReturn(List.of(evento(6, Categorias.CLOTHES)));
+
+        assertNotNull(service.assinar(null, 5L));
+
+        verify(produtoService).buscarAlteracoesAposSequencia(5L, 1001);
+        assertEquals(1, service.quantidadeDeAssinantes());
+    }
+
+    /**
+     * Testa a reconexão quando os eventos perdidos não podem ser consultados.
+     * A exceção deve ser repassada sem manter o assinante registrado.
+     */
+    @Test
+    void deveRemoverAssinanteQuandoConsultaDosEventosPerdidosFalhar() {
+        when(produtoService.buscarAlteracoesAposSequencia(5L, 1001))
+                .thenThrow(new DataAccessResourceFailureException("falha"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> service.assinar(null, 5L));
+        assertEquals(0, service.quantidadeDeAssinantes());
+    }
+
+    /**
+     * Testa os eventos publicados enquanto os eventos perdidos são consultados.
+     * Os de produtos já reenviados com uma alteração igual ou mais recente devem ser descartados.
+     */
+    @Test
+    void deveDescartarEventosRetidosDeProdutosJaReenviados() {
+        when(produtoService.buscarAlteracoesAposSequencia(0L, 1001)).thenAnswer(invocacao -> {
+            LongStream.rangeClosed(101, 200).forEach(i -> service.publicar(evento(i - 100, i, Categorias.CLOTHES)));
+            return LongStream.rangeClosed(1, 200).mapToObj(i -> evento(i, 100 + i, Categorias.CLOTHES)).toList();
+        });
+
+        service.assinar(null, 0L);
+
+        assertEquals(1, service.quantidadeDeAssinantes());
+    }
+
+    /**
+     * Testa os eventos publicados enquanto os eventos perdidos são consultados.
+     * Os de alterações mais recentes que as reenviadas devem ser enfileirados após elas.
+     */
+    @Test
+    void deveEnfileirarEventosRetidosMaisRecentesQueOsReenviados() {
+        when(produtoService.buscarAlteracoesAposSequencia(0L, 1001)).thenAnswer(invocacao -> {
+            LongStream.rangeClosed(301, 400).forEach(i -> service.publicar(evento(i - 300, i, Categorias.CLOTHES)));
+            return LongStream.rangeClosed(1, 200).mapToObj(i -> evento(i, 100 + i, Categorias.CLOTHES)).toList();
+        });
+
+        service.assinar(null, 0L);
+
+        assertEquals(0, service.quantidadeDeAssinantes());
+    }
+
+    /**
+     * Método auxiliar para criar um evento de criação de produto da categoria informada.
+     *
+     * @param sequencia A sequência do evento.
+     * @param categoria A categoria do produto.
+     * @return O {@code ProdutoAlteradoEvent} criado.
+     */
+    private ProdutoAlteradoEvent evento(long sequencia, Categorias categoria) {
+        return evento(sequencia, sequencia, categoria);
+    }
+
+    /**
+     * Método auxiliar para criar um evento de criação do produto informado.
+     *
+     * @param id O ID do produto.
+     * @param sequencia A sequência do evento.
+     * @param categoria A categoria do produto.
+     * @return O {@code ProdutoAlteradoEvent} criado.
+     */
+    private ProdutoAlteradoEvent evento(long id, long sequencia, Categorias categoria) {
+        ZonedDateTime time = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo"));
+        ProdutoResponseDTO produto = new ProdutoResponseDTO(id, "Produto " + id, 1000, categoria, time, time, null);
+        return new ProdutoAlteradoEvent(sequencia, TipoAlteracao.CRIADO, produto, categoria);
+    }
+}
@@ -1,27 +1,54 @@
 package br.com.ocauamotta.GerenciadorDeProdutos.services;
 
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.AlteracoesDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.FaixaPrecoDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.HistogramaPrecoDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.PaginaCursorDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoPorIdDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoRequestDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutoResponseDTO;
+import br.com.ocauamotta.GerenciadorDeProdutos.dtos.ProdutosComFacetasDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.dtos.TotalProdutosDTO;
 import br.com.ocauamotta.GerenciadorDeProdutos.enums.Categorias;
+import br.com.ocauamotta.GerenciadorDeProdutos.enums.TipoAlteracao;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.InvalidacaoRecebidaEvent;
+import br.com.ocauamotta.GerenciadorDeProdutos.events.ProdutoAlteradoEvent;
 import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.BadRequestException;
 import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.EntityNotFoundException;
+import br.com.ocauamotta.GerenciadorDeProdutos.exceptions.ServicoIndisponivelException;
+import br.com.ocauamotta.GerenciadorDeProdutos.mappers.ProdutoMapper;
 import br.com.ocauamotta.GerenciadorDeProdutos.models.Produto;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.ContagemCategoriaProjection;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.FaixaPrecoProjection;
 import br.com.ocauamotta.GerenciadorDeProdutos.repositories.IProdutoRepository;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.MarcaAlteracaoProjection;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.ProdutoRelevanciaProjection;
+import br.com.ocauamotta.GerenciadorDeProdutos.repositories.TotalCategoriaProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.data.domain.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +64,24 @@ class ProdutoServiceTest {
     @Mock
     private IProdutoRepository repository;
 
+    @Spy
+    private SyncTaskExecutor consultasExecutor = new SyncTaskExecutor();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private LeiturasResilientes leituras = new LeiturasResilientes(
+            new CoalescedorDeConsultas(new SimpleMeterRegistry(), Duration.ofSeconds(5)), new SyncTaskExecutor(),
+            new SimpleMeterRegistry(), true, 20, 10, 0.5, Duration.ofSeconds(2), Duration.ofSeconds(10),
+            Duration.ofHours(1), 1000);
+
+    @Mock
+    private CatalogoEmMemoria catalogo;
+
+    @Mock
+    private PreCarregamentoPaginas preCarregamento;
+
     @InjectMocks
     private ProdutoService service;
 
@@ -74,6 +119,24 @@ class ProdutoServiceTest {
         verify(repository, times(1)).findById(1L);
     }
 
+    /**
+     * Testa a busca por ID de um produto lido do banco com as datas normalizadas em UTC.
+     * Deve retornar as mesmas datas no fuso {@code America/Sao_Paulo}.
+     */
+    @Test
+    void deveRetornarDatasNoFusoDeSaoPaulo() {
+        ZonedDateTime utc = ZonedDateTime.of(2025, 1, 10, 15, 0, 0, 0, ZoneId.of("UTC"));
+        produto.setCreatedAt(utc);
+        produto.setUpdatedAt(utc);
+        when(repository.findById(1L)).thenReturn(Optional.of(produto));
+
+        ProdutoResponseDTO result = service.findById(1L);
+
+        assertEquals(ZoneId.of("America/Sao_Paulo"), result.createdAt().getZone());
+        assertEquals(utc.toInstant(), result.createdAt().toInstant());
+        assertNull(result.deletedAt());
+    }
+
     /**
      * Testa o cenário de falha para busca por ID.
      * Deve lançar {@code EntityNotFoundException} quando o ID não for encontrado.
@@ -91,6 +154,26 @@ class ProdutoServiceTest {
         verify(repository, times(1)).findById(1L);
     }
 
+    /**
+     * Testa a busca por ID com o banco de dados indisponível.
+     * Deve retornar a última versão conhecida do produto e, sem versão conhecida, lançar
+     * {@code ServicoIndisponivelException}.
+     */
+    @Test
+    void deveRetornarUltimoProdutoConhecidoQuandoBancoFalhar() {
+        when(repository.findById(1L))
+                .thenReturn(Optional.of(produto))
+                .thenThrow(new DataAccessResourceFailureException("Conexão recusada"));
+        when(repository.findById(2L)).thenThrow(new DataAccessResourceFailureException("Conexão recusada"));
+
+        ProdutoResponseDTO atual = service.findById(1L);
+        ProdutoResponseDTO conhecido = service.findById(1L);
+
+        assertEquals(atual, conhecido);
+        assertThrows(ServicoIndisponivelException.class, () -> service.findById(2L));
+        verify(repository, times(2)).findById(1L);
+    }
+
     /**
      * Testa a criação de um novo produto.
      * Deve mapear o DTO de requisição para a entidade e salvar com sucesso no repositório.
@@ -98,6 +181,7 @@ class ProdutoServiceTest {
     @Test
     void deveSalvarProdutoComSucesso() {
         ProdutoRequestDTO request = new ProdutoRequestDTO("Calça Jeans", 1500, "roupas");
+        simularMarcaDeAlteracao(42L, 7L);
 
         when(repository.save(any(Produto.class))).thenAnswer(invocation -> {
             Produto saved = invocation.getArgument(0);
@@ -111,7 +195,8 @@ class ProdutoServiceTest {
         assertEquals("Calça Jeans", result.nome());
         assertEquals(1500, result.preco());
         assertEquals(Categorias.CLOTHES, result.categoria());
-        verify(repository, times(1)).save(any(Produto.class));
+        verify(repository, times(1)).save(argThat((Produto salvo) -> salvo.getSequencia() == 42L && salvo.getTransacao() == 7L));
+        verify(eventPublisher, times(1)).publishEvent(any(ProdutoAlteradoEvent.class));
     }
 
     /**
@@ -121,7 +206,8 @@ class ProdutoServiceTest {
     @Test
     void deveAtualizarProdutoComSucesso() {
         ProdutoRequestDTO request = new ProdutoRequestDTO("Calça Jeans", 1000, "roupas");
-        when(repository.findById(1L)).thenReturn(Optional.of(produto));
+        when(repository.buscarParaAlterar(1L)).thenReturn(Optional.of(produto));
+        simularMarcaDeAlteracao(42L, 7L);
         when(repository.save(any(Produto.class))).thenReturn(produto);
 
         ProdutoResponseDTO result = service.update(1L, request);
@@ -130,6 +216,26 @@ class ProdutoServiceTest {
         verify(repository).save(any(Produto.class));
     }
 
+    /**
+     * Testa a publicação do evento de alteração ao trocar a categoria de um produto.
+     * O evento deve conter o tipo, a sequência gravada, o novo estado do produto e a categoria anterior.
+     */
+    @Test
+    void devePublicarEventoComCategoriaAnteriorAoAtualizar() {
+        ProdutoRequestDTO request = new ProdutoRequestDTO(null, null, "calcados");
+        when(repository.buscarParaAlterar(1L)).thenReturn(Optional.of(produto));
+        simularMarcaDeAlteracao(42L, 7L);
+        when(repository.save(any(Produto.class))).thenReturn(produto);
+
+        service.update(1L, request);
+
+        verify(eventPublisher).publishEvent(argThat((Object evento) -> evento instanceof ProdutoAlteradoEvent e
+                && e.tipo() == TipoAlteracao.ATUALIZADO
+                && e.sequencia() == 42L
+                && e.produto().categoria() == Categorias.SHOES
+                && e.categoriaAnterior() == Categorias.CLOTHES));
+    }
+
     /**
      * Testa o cenário de falha na atualização quando o ID é nulo.
      * Deve lançar {@code BadRequestException}.
@@ -150,7 +256,7 @@ class ProdutoServiceTest {
     @Test
     void deveLancarExcecaoQuandoProdutoNaoExistirNoUpdate() {
         ProdutoRequestDTO request = new ProdutoRequestDTO("Calça Jeans", 1000, "roupas");
-        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(repository.buscarParaAlterar(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.update(1L, request));
     }
@@ -161,12 +267,17 @@ class ProdutoServiceTest {
      */
     @Test
     void deveRealizarSoftDeleteComSucesso() {
-        when(repository.findById(1L)).thenReturn(Optional.of(produto));
+        when(repository.buscarParaAlterar(1L)).thenReturn(Optional.of(produto));
+        simularMarcaDeAlteracao(42L, 7L);
 
         service.delete(1L);
 
         assertNotNull(produto.getDeletedAt());
+        assertEquals(produto.getDeletedAt(), produto.getUpdatedAt());
+        assertTrue(produto.getApagado());
         verify(repository, times(1)).save(produto);
+        verify(eventPublisher).publishEvent(argThat((Object evento) -> evento instanceof ProdutoAlteradoEvent e
+                && e.tipo() == TipoAlteracao.APAGADO && e.produto().deletedAt() != null));
     }
 
     /**
@@ -175,7 +286,7 @@ class ProdutoServiceTest {
      */
     @Test
     void deveLancarExcecaoAoDeletarProdutoInexistente() {
-        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(repository.buscarParaAlterar(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.delete(1L));
         verify(repository, never()).save(any());
@@ -191,7 +302,7 @@ class ProdutoServiceTest {
 
         when(repository.findAllByDeletedAtIsNull(pageable)).thenReturn(page);
 
-        Page<ProdutoResponseDTO> result = service.findAllActive(null, null, pageable);
+        Page<ProdutoResponseDTO> result = service.findAllActive(null, null, null, null, pageable);
 
         assertEquals(1, result.getContent().size());
         assertEquals("Camisa Vermelha", result.getContent().get(0).nome());
@@ -207,12 +318,30 @@ class ProdutoServiceTest {
 
         when(repository.findAllByDeletedAtIsNullAndCategoria(Categorias.CLOTHES, pageable)).thenReturn(page);
 
-        Page<ProdutoResponseDTO> result = service.findAllActive("roupas", null, pageable);
+        Page<ProdutoResponseDTO> result = service.findAllActive("roupas", null, null, null, pageable);
 
         assertEquals(1, result.getContent().size());
         assertEquals("Camisa Vermelha", result.getContent().get(0).nome());
     }
 
+    /**
+     * Testa a busca de uma página de produtos ativos já pré-carregada.
+     * A página deve ser servida sem consultar o banco, e a página seguinte deve ser agendada.
+     */
+    @Test
+    void deveServirPaginaPreCarregadaSemConsultarBanco() {
+        Pageable pageable = PageRequest.of(1, 10);
+        Page<ProdutoResponseDTO> preCarregada = new PageImpl<>(List.of(ProdutoMapper.toResponseDTO(produto)), pageable, 30);
+
+        when(preCarregamento.buscar(null, null, null, "id,asc", pageable)).thenReturn(Optional.of(preCarregada));
+
+        Page<ProdutoResponseDTO> result = service.findAllActive(null, null, null, "id,asc", pageable);
+
+        assertSame(preCarregada, result);
+        verifyNoInteractions(repository);
+        verify(preCarregamento).agendarProxima(isNull(), isNull(), isNull(), eq("id,asc"), eq(pageable), eq(preCarregada), any());
+    }
+
     /**
      * Testa a busca de todos os produtos logicamente apagados sem aplicar filtros de categoria.
      */
@@ -224,7 +353,7 @@ class ProdutoServiceTest {
 
         when(repository.findAllByDeletedAtIsNotNull(pageable)).thenReturn(page);
 
-        Page<ProdutoResponseDTO> result = service.findAllDeleted(null, null, pageable);
+        Page<ProdutoResponseDTO> result = service.findAllDeleted(null, null, null, null, pageable);
 
         assertEquals(1, result.getContent().size());
         assertEquals("Camisa Vermelha", result.getContent().get(0).nome());
@@ -241,7 +370,7 @@ class ProdutoServiceTest {
 
         when(repository.findAllByDeletedAtIsNotNullAndCategoria(Categorias.CLOTHES, pageable)).thenReturn(page);
 
-        Page<ProdutoResponseDTO> result = service.findAllDeleted("roupas", null, pageable);
+        Page<ProdutoResponseDTO> result = service.findAllDeleted("roupas", null, null, null, pageable);
 
         assertEquals(1, result.getContent().size());
         assertEquals("Camisa Vermelha", result.getContent().get(0).nome());
@@ -287,4 +416,557 @@ class ProdutoServiceTest {
         assertEquals(0, resultado.qntProdutos());
         assertEquals(0, resultado.precoMedio());
     }
+
+    /**
+     * Testa a busca de produtos por nome.
+     * Deve manter a ordem de relevância retornada pelo repositório e gerar o cursor
+     * da próxima página quando a página vier completa.
+     */
+    @Test
+    void deveBuscarProdutosPorNomeOrdenadosPorRelevancia() {
+        Produto outro = new Produto();
+        outro.setId(2L);
+        outro.setNome("Camisa Azul");
+        outro.setPreco(1200);
+        outro.setCategoria(Categorias.CLOTHES);
+
+        ProdutoRelevanciaProjection r1 = mock(ProdutoRelevanciaProjection.class);
+        when(r1.getId()).thenReturn(2L);
+        ProdutoRelevanciaProjection r2 = mock(ProdutoRelevanciaProjection.class);
+        when(r2.getId()).thenReturn(1L);
+        when(r2.getScore()).thenReturn(0.5f);
+
+        when(repository.buscarAtivosPorNome("camisa", "%camisa%", 2f, 0L, 2)).thenReturn(List.of(r1, r2));
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(produto, outro));
+
+        PaginaCursorDTO<ProdutoResponseDTO> result = service.buscarPorNome(" camisa ", null, null, 2);
+
+        assertEquals(2, result.conteudo().size());
+        assertEquals("Camisa Azul", result.conteudo().get(0).nome());
+        assertEquals("Camisa Vermelha", result.conteudo().get(1).nome());
+        assertNotNull(result.proximoCursor());
+    }
+
+    /**
+     * Testa a busca de produtos por nome a partir de um cursor com filtro de categoria.
+     * Deve repassar ao repositório a relevância e o ID contidos no cursor e não gerar
+     * um novo cursor quando a página vier incompleta.
+     */
+    @Test
+    void deveBuscarProdutosPorNomeAPartirDoCursor() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("0.5:1".getBytes(StandardCharsets.UTF_8));
+
+        when(repository.buscarAtivosPorNomeECategoria("camisa", "%camisa%", Categorias.CLOTHES.getCodigo(), 0.5f, 1L, 20))
+                .thenReturn(Collections.emptyList());
+        when(repository.findAllById(Collections.emptyList())).thenReturn(Collections.emptyList());
+
+        PaginaCursorDTO<ProdutoResponseDTO> result = service.buscarPorNome("camisa", "roupas", cursor, 20);
+
+        assertTrue(result.conteudo().isEmpty());
+        assertNull(result.proximoCursor());
+    }
+
+    /**
+     * Testa o cenário de falha na busca por nome com um termo muito curto.
+     * Deve lançar {@code BadRequestException} sem consultar o repositório.
+     */
+    @Test
+    void deveLancarExcecaoQuandoTermoDeBuscaForCurto() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> service.buscarPorNome("ab", null, null, 20));
+
+        assertEquals("O termo de busca deve possuir ao menos 3 caracteres.", ex.getMessage());
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa o cenário de falha na busca por nome com um cursor malformado.
+     * Deve lançar {@code BadRequestException}.
+     */
+    @Test
+    void deveLancarExcecaoQuandoCursorDeBuscaForInvalido() {
+        assertThrows(BadRequestException.class, () -> service.buscarPorNome("camisa", null, "???", 20));
+    }
+
+    /**
+     * Testa a busca de produtos ativos com filtro de categoria e faixa de preço.
+     * Quando apenas o preço mínimo é informado, o máximo deve ser ilimitado.
+     */
+    @Test
+    void deveBuscarProdutosAtivosPorCategoriaEFaixaDePreco() {
+        Page<Produto> page = new PageImpl<>(List.of(produto));
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(repository.findAllByDeletedAtIsNullAndCategoriaAndPrecoBetween(Categorias.CLOTHES, 500, Integer.MAX_VALUE, pageable))
+                .thenReturn(page);
+
+        Page<ProdutoResponseDTO> result = service.findAllActive("roupas", 500, null, null, pageable);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(1000, result.getContent().get(0).preco());
+    }
+
+    /**
+     * Testa a busca de produtos apagados com filtro de faixa de preço.
+     */
+    @Test
+    void deveBuscarProdutosApagadosPorFaixaDePreco() {
+        produto.setDeletedAt(ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")));
+        Page<Produto> page = new PageImpl<>(List.of(produto));
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(repository.findAllByDeletedAtIsNotNullAndPrecoBetween(0, 2000, pageable)).thenReturn(page);
+
+        Page<ProdutoResponseDTO> result = service.findAllDeleted(null, null, 2000, null, pageable);
+
+        assertEquals(1, result.getContent().size());
+    }
+
+    /**
+     * Testa o cenário de falha na listagem quando o preço mínimo é maior que o máximo.
+     * Deve lançar {@code BadRequestException} sem consultar o repositório.
+     */
+    @Test
+    void deveLancarExcecaoQuandoFaixaDePrecoForInvalida() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> service.findAllActive(null, 2000, 1000, null, pageable));
+
+        assertEquals("O preço mínimo não pode ser maior que o preço máximo.", ex.getMessage());
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa o cálculo do histograma de preços.
+     * Deve distribuir as faixas entre os limites retornados pelo banco e preencher
+     * com zero as faixas sem produtos.
+     */
+    @Test
+    void deveCalcularHistogramaDePrecos() {
+        FaixaPrecoProjection f1 = mock(FaixaPrecoProjection.class);
+        when(f1.getMinimo()).thenReturn(0);
+        when(f1.getMaximo()).thenReturn(999);
+        when(f1.getFaixa()).thenReturn(1);
+        when(f1.getQuantidade()).thenReturn(3L);
+        FaixaPrecoProjection f2 = mock(FaixaPrecoProjection.class);
+        when(f2.getFaixa()).thenReturn(4);
+        when(f2.getQuantidade()).thenReturn(1L);
+
+        when(repository.calcularHistogramaDePrecos("1,2,3,4", 0, Integer.MAX_VALUE, null, null, 4)).thenReturn(List.of(f1, f2));
+
+        HistogramaPrecoDTO result = service.calcularHistogramaDePrecos(null, null, null, 4);
+
+        assertEquals(0, result.precoMin());
+        assertEquals(999, result.precoMax());
+        assertEquals(4, result.faixas().size());
+        assertEquals(new FaixaPrecoDTO(0, 250, 3L), result.faixas().get(0));
+        assertEquals(new FaixaPrecoDTO(250, 500, 0L), result.faixas().get(1));
+        assertEquals(new FaixaPrecoDTO(750, 1000, 1L), result.faixas().get(3));
+    }
+
+    /**
+     * Testa o cenário de falha no histograma com uma quantidade de faixas inválida.
+     * Deve lançar {@code BadRequestException}.
+     */
+    @Test
+    void deveLancarExcecaoQuandoQuantidadeDeFaixasForInvalida() {
+        assertThrows(BadRequestException.class, () -> service.calcularHistogramaDePrecos(null, null, null, 0));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa o cenário de sucesso para os primeiros produtos de cada categoria.
+     * Deve consultar todas as categorias de uma vez e retornar as categorias sem produtos com a lista vazia.
+     */
+    @Test
+    void deveBuscarTopPorCategoria() {
+        Produto tenis = new Produto();
+        tenis.setId(2L);
+        tenis.setNome("Tênis Branco");
+        tenis.setPreco(500);
+        tenis.setCategoria(Categorias.SHOES);
+        tenis.setCreatedAt(produto.getCreatedAt());
+        tenis.setUpdatedAt(produto.getUpdatedAt());
+
+        when(repository.buscarMaisBaratosPorCategoria("1,2,3,4", 3))
+                .thenReturn(List.of(produto, tenis));
+
+        Map<Categorias, List<ProdutoResponseDTO>> result = service.buscarTopPorCategoria(3, "menor_preco");
+
+        assertEquals(List.of(Categorias.values()), List.copyOf(result.keySet()));
+        assertEquals(List.of(2L), result.get(Categorias.SHOES).stream().map(ProdutoResponseDTO::id).toList());
+        assertEquals(List.of(1L), result.get(Categorias.CLOTHES).stream().map(ProdutoResponseDTO::id).toList());
+        assertTrue(result.get(Categorias.UNDERWEAR).isEmpty());
+        verify(repository, never()).buscarMaisCarosPorCategoria(anyString(), anyInt());
+    }
+
+    /**
+     * Testa o cenário de falha nos primeiros produtos de cada categoria com parâmetros inválidos.
+     * Deve lançar {@code BadRequestException} sem consultar o banco.
+     */
+    @Test
+    void deveLancarExcecaoQuandoParametrosDoTopForemInvalidos() {
+        assertThrows(BadRequestException.class, () -> service.buscarTopPorCategoria(0, "menor_preco"));
+        assertThrows(BadRequestException.class, () -> service.buscarTopPorCategoria(51, "menor_preco"));
+        assertThrows(BadRequestException.class, () -> service.buscarTopPorCategoria(5, "aleatoria"));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa a versão do catálogo usada na chave do cache dos primeiros produtos de cada categoria.
+     * Deve avançar a cada alteração desta ou de outra instância.
+     */
+    @Test
+    void deveAvancarVersaoCatalogoAposAlteracoes() {
+        long inicial = service.versaoCatalogo();
+
+        service.avancarVersaoCatalogo(new ProdutoAlteradoEvent(1L, TipoAlteracao.ATUALIZADO, null, null));
+        service.avancarVersaoCatalogo(InvalidacaoRecebidaEvent.todos());
+
+        assertEquals(inicial + 2, service.versaoCatalogo());
+    }
+
+    /**
+     * Testa a listagem de produtos ativos com facetas por categoria.
+     * Deve retornar a página solicitada e a contagem de todas as categorias,
+     * preenchendo com zero as categorias sem produtos.
+     */
+    @Test
+    void deveBuscarProdutosAtivosComFacetasPorCategoria() {
+        Page<Produto> page = new PageImpl<>(List.of(produto));
+        Pageable pageable = PageRequest.of(0, 10);
+
+        ContagemCategoriaProjection roupas = mock(ContagemCategoriaProjection.class);
+        when(roupas.getCategoria()).thenReturn(Categorias.CLOTHES);
+        when(roupas.getQuantidade()).thenReturn(7L);
+
+        when(repository.findAllByDeletedAtIsNullAndCategoria(Categorias.CLOTHES, pageable)).thenReturn(page);
+        when(repository.contarAtivosPorCategoria(Integer.MIN_VALUE, Integer.MAX_VALUE)).thenReturn(List.of(roupas));
+
+        ProdutosComFacetasDTO result = service.findAllActiveComFacetas("roupas", "categoria", null, null, null, pageable);
+
+        assertEquals(1, result.pagina().getContent().size());
+        assertEquals(Categorias.values().length, result.facetas().size());
+        assertEquals(7L, result.facetas().get(Categorias.CLOTHES));
+        assertEquals(0L, result.facetas().get(Categorias.SHOES));
+    }
+
+    /**
+     * Testa o cálculo dos totais por categoria.
+     * Deve usar uma única consulta agrupada e preencher com zero as categorias sem produtos.
+     */
+    @Test
+    void deveCalcularTotaisPorCategoria() {
+        TotalCategoriaProjection roupas = mock(TotalCategoriaProjection.class);
+        when(roupas.getCategoria()).thenReturn(Categorias.CLOTHES);
+        when(roupas.getQuantidade()).thenReturn(3L);
+        when(roupas.getPrecoMedio()).thenReturn(1500.7);
+        when(repository.totalizarAtivosPorCategoria()).thenReturn(List.of(roupas));
+
+        Map<Categorias, TotalProdutosDTO> result = service.calcularTotaisPorCategoria();
+
+        assertEquals(Categorias.values().length, result.size());
+        assertEquals(new TotalProdutosDTO(3, 1500), result.get(Categorias.CLOTHES));
+        assertEquals(new TotalProdutosDTO(0, 0), result.get(Categorias.SHOES));
+        verify(repository, times(1)).totalizarAtivosPorCategoria();
+    }
+
+    /**
+     * Testa a listagem de produtos apagados com facetas aplicando a faixa de preço na contagem.
+     */
+    @Test
+    void deveBuscarProdutosApagadosComFacetasPorFaixaDePreco() {
+        Page<Produto> page = new PageImpl<>(List.of());
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(repository.findAllByDeletedAtIsNotNullAndPrecoBetween(0, 500, pageable)).thenReturn(page);
+        when(repository.contarApagadosPorCategoria(0, 500)).thenReturn(List.of());
+
+        ProdutosComFacetasDTO result = service.findAllDeletedComFacetas(null, "categoria", null, 500, null, pageable);
+
+        assertTrue(result.pagina().getContent().isEmpty());
+        assertTrue(result.facetas().values().stream().allMatch(quantidade -> quantidade == 0L));
+    }
+
+    /**
+     * Testa o cenário de falha quando uma faceta não suportada é solicitada.
+     * Deve lançar {@code BadRequestException} sem consultar o repositório.
+     */
+    @Test
+    void deveLancarExcecaoQuandoFacetaForInvalida() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThrows(BadRequestException.class,
+                () -> service.findAllActiveComFacetas(null, "preco", null, null, null, pageable));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa a listagem de produtos ativos com o catálogo em memória disponível.
+     * Deve montar a página a partir do catálogo, com a ordenação solicitada, sem consultar o repositório.
+     */
+    @Test
+    void deveBuscarProdutosAtivosNoCatalogoEmMemoria() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Pageable ordenado = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "preco"));
+        Page<ProdutoResponseDTO> pagina = new PageImpl<>(List.of());
+        when(catalogo.disponivel()).thenReturn(true);
+        when(catalogo.buscar(false, Categorias.SHOES, 100, null, ordenado)).thenReturn(Optional.of(pagina));
+
+        Page<ProdutoResponseDTO> result = service.findAllActive("calcados", 100, null, "preco,asc", pageable);
+
+        assertSame(pagina, result);
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa a listagem de produtos apagados quando o catálogo em memória não suporta a ordenação.
+     * Deve recorrer ao repositório.
+     */
+    @Test
+    void deveConsultarRepositorioQuandoCatalogoNaoAtenderOrdenacao() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(catalogo.disponivel()).thenReturn(true);
+        when(catalogo.buscar(eq(true), isNull(), isNull(), isNull(), any())).thenReturn(Optional.empty());
+        when(repository.findAllByDeletedAtIsNotNull(any())).thenReturn(new PageImpl<>(List.of(produto)));
+
+        Page<ProdutoResponseDTO> result = service.findAllDeleted(null, null, null, "sequencia,asc", pageable);
+
+        assertEquals(1, result.getContent().size());
+    }
+
+    /**
+     * Testa a listagem de produtos ativos com campos selecionados.
+     * Deve repassar ao repositório apenas os campos válidos, sem repetições e na ordem do DTO,
+     * junto com a categoria convertida e a ordenação solicitada.
+     */
+    @Test
+    void deveBuscarProdutosAtivosComCamposSelecionados() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Pageable ordenado = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "preco"));
+        Map<String, Object> linha = Map.of("id", 1L, "preco", 2000);
+        when(repository.findAllComCampos(List.of("id", "preco"), false, Categorias.CLOTHES, null, 5000, ordenado))
+                .thenReturn(new PageImpl<>(List.of(linha)));
+
+        Page<Map<String, Object>> result = service.findAllActiveComCampos(" preco,id,preco ", "roupas", null, 5000,
+                "preco,desc", pageable);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(2000, result.getContent().get(0).get("preco"));
+    }
+
+    /**
+     * Testa o cenário de falha quando a ordenação usa um campo inexistente, pelo parâmetro {@code sort}
+     * ou pela ordenação já presente no {@code Pageable}.
+     * Deve lançar {@code BadRequestException} sem consultar o repositório.
+     */
+    @Test
+    void deveLancarExcecaoQuandoOrdenacaoComCamposForInvalida() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Pageable ordenadoPorSenha = PageRequest.of(0, 10, Sort.by("id").and(Sort.by("senha")));
+
+        assertThrows(BadRequestException.class,
+                () -> service.findAllActiveComCampos("id,nome", null, null, null, "senha,desc", pageable));
+        assertThrows(BadRequestException.class,
+                () -> service.findAllDeletedComCampos("id,nome", null, null, null, null, ordenadoPorSenha));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa a busca por ID com campos selecionados de um produto inexistente.
+     * Deve lançar {@code EntityNotFoundException}.
+     */
+    @Test
+    void deveLancarExcecaoQuandoProdutoComCamposNaoExistir() {
+        when(repository.findByIdComCampos(99L, List.of("nome"))).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.findByIdComCampos(99L, "nome"));
+    }
+
+    /**
+     * Testa o cenário de falha quando um campo inexistente ou nenhum campo é solicitado.
+     * Deve lançar {@code BadRequestException} sem consultar o repositório.
+     */
+    @Test
+    void deveLancarExcecaoQuandoCampoForInvalido() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThrows(BadRequestException.class,
+                () -> service.findAllDeletedComCampos("nome,senha", null, null, null, null, pageable));
+        assertThrows(BadRequestException.class, () -> service.findByIdComCampos(1L, " , "));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa a restauração de um produto logicamente excluído.
+     * Deve limpar o campo {@code deletedAt}, marcar o produto como não apagado e salvar a entidade.
+     */
+    @Test
+    void deveRestaurarProdutoApagadoComSucesso() {
+        produto.setDeletedAt(ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")));
+        produto.setApagado(true);
+        when(repository.buscarParaAlterar(1L)).thenReturn(Optional.of(produto));
+        simularMarcaDeAlteracao(42L, 7L);
+        when(repository.save(produto)).thenReturn(produto);
+
+        ProdutoResponseDTO result = service.restaurar(1L);
+
+        assertNull(result.deletedAt());
+        assertFalse(produto.getApagado());
+        verify(repository, times(1)).save(produto);
+    }
+
+    /**
+     * Testa o cenário de falha na restauração de um produto que não está apagado.
+     * Deve lançar {@code BadRequestException} sem salvar a entidade.
+     */
+    @Test
+    void deveLancarExcecaoAoRestaurarProdutoNaoApagado() {
+        when(repository.buscarParaAlterar(1L)).thenReturn(Optional.of(produto));
+
+        assertThrows(BadRequestException.class, () -> service.restaurar(1L));
+        verify(repository, never()).save(any());
+    }
+
+    /**
+     * Testa o feed de alterações a partir de um cursor.
+     * Deve consultar a partir da transação e da sequência do cursor, parar no limite e devolver
+     * a transação e a sequência da última alteração como próximo cursor.
+     */
+    @Test
+    void deveBuscarAlteracoesAPartirDoCursor() {
+        ZonedDateTime antigo = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")).minusMinutes(1);
+        produto.setSequencia(11L);
+        produto.setTransacao(500L);
+        Produto produto2 = new Produto(2L, "Calça Azul", 2000, Categorias.CLOTHES, antigo, antigo, antigo, true, 9L, 501L);
+        Produto produto3 = new Produto(3L, "Boné Preto", 500, Categorias.CLOTHES, antigo, antigo, null, false, 13L, 502L);
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("499:10".getBytes(StandardCharsets.UTF_8));
+        when(repository.buscarAlteracoesConfirmadas(499L, 10L, 3)).thenReturn(List.of(produto, produto2, produto3));
+
+        AlteracoesDTO result = service.buscarAlteracoes(cursor, 2);
+
+        assertEquals(2, result.alteracoes().size());
+        assertEquals(1L, result.alteracoes().get(0).id());
+        assertNotNull(result.alteracoes().get(1).deletedAt());
+        assertEquals("501:9", new String(Base64.getUrlDecoder().decode(result.cursor()), StandardCharsets.UTF_8));
+        assertTrue(result.temMais());
+    }
+
+    /**
+     * Testa a busca das alterações posteriores a um evento do stream.
+     * Deve retornar os eventos na ordem do repositório, com o tipo deduzido do estado atual de cada produto.
+     */
+    @Test
+    void deveBuscarAlteracoesAposSequenciaComTipoDoEstadoAtual() {
+        ZonedDateTime criacao = ZonedDateTime.now(ZoneId.of("America/Sao_Paulo")).minusMinutes(1);
+        ZonedDateTime alteracao = criacao.plusSeconds(30);
+        produto.setSequencia(11L);
+        Produto atualizado = new Produto(2L, "Calça Azul", 2000, Categorias.CLOTHES, criacao, alteracao, null, false, 12L, 501L);
+        Produto apagado = new Produto(3L, "Boné Preto", 500, Categorias.ACCESSORIES, criacao, alteracao, alteracao, true, 13L, 502L);
+        when(repository.buscarAlteracoesAposSequencia(10L, 1001)).thenReturn(List.of(produto, atualizado, apagado));
+
+        List<ProdutoAlteradoEvent> result = service.buscarAlteracoesAposSequencia(10L, 1001);
+
+        assertEquals(List.of(11L, 12L, 13L), result.stream().map(ProdutoAlteradoEvent::sequencia).toList());
+        assertEquals(List.of(TipoAlteracao.CRIADO, TipoAlteracao.ATUALIZADO, TipoAlteracao.APAGADO),
+                result.stream().map(ProdutoAlteradoEvent::tipo).toList());
+        assertEquals(Categorias.ACCESSORIES, result.get(2).categoriaAnterior());
+    }
+
+    /**
+     * Testa a busca das alterações recentes.
+     * Deve limitar a quantidade solicitada e retornar os produtos na ordem do repositório.
+     */
+    @Test
+    void deveBuscarAlteracoesRecentesLimitandoQuantidade() {
+        when(repository.findAllByOrderBySequenciaDesc(Limit.of(100))).thenReturn(List.of(produto));
+
+        List<ProdutoResponseDTO> result = service.buscarAlteracoesRecentes(5000);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+        verify(repository, times(1)).findAllByOrderBySequenciaDesc(Limit.of(100));
+    }
+
+    /**
+     * Testa o feed de alterações sem novas alterações confirmadas.
+     * Deve manter o cursor recebido, para que a próxima chamada continue do mesmo ponto.
+     */
+    @Test
+    void deveManterCursorQuandoNaoHouverAlteracoesConfirmadas() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("499:10".getBytes(StandardCharsets.UTF_8));
+        when(repository.buscarAlteracoesConfirmadas(499L, 10L, 101)).thenReturn(List.of());
+
+        AlteracoesDTO result = service.buscarAlteracoes(cursor, 100);
+
+        assertTrue(result.alteracoes().isEmpty());
+        assertEquals(cursor, result.cursor());
+        assertFalse(result.temMais());
+    }
+
+    /**
+     * Testa o cenário de falha no feed de alterações com cursor inválido ou negativo.
+     * Deve lançar {@code BadRequestException} sem consultar o repositório.
+     */
+    @Test
+    void deveLancarExcecaoQuandoCursorDeAlteracoesForInvalido() {
+        String negativo = Base64.getUrlEncoder().withoutPadding().encodeToString("-1:10".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> service.buscarAlteracoes("10", 100));
+        assertThrows(BadRequestException.class, () -> service.buscarAlteracoes(negativo, 100));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Testa a busca de vários produtos por ID.
+     * Deve consultar o repositório uma única vez, sem IDs repetidos, e retornar os itens na ordem
+     * solicitada, marcando os IDs inexistentes como não encontrados.
+     */
+    @Test
+    void deveBuscarProdutosPorIdsNaOrdemSolicitada() {
+        Produto produto3 = new Produto();
+        produto3.setId(3L);
+        produto3.setNome("Boné Preto");
+        produto3.setPreco(500);
+        produto3.setCategoria(Categorias.ACCESSORIES);
+        when(repository.findAllById(new LinkedHashSet<>(List.of(3L, 99L, 1L)))).thenReturn(List.of(produto, produto3));
+
+        List<ProdutoPorIdDTO> result = service.findAllByIds(Arrays.asList(3L, 99L, 1L, 3L));
+
+        assertEquals(List.of(3L, 99L, 1L, 3L), result.stream().map(ProdutoPorIdDTO::id).toList());
+        assertEquals("Boné Preto", result.get(0).produto().nome());
+        assertFalse(result.get(1).encontrado());
+        assertNull(result.get(1).produto());
+        assertEquals("Camisa Vermelha", result.get(2).produto().nome());
+        assertTrue(result.get(3).encontrado());
+        verify(repository, times(1)).findAllById(any());
+    }
+
+    /**
+     * Testa o cenário de falha na busca por IDs quando a quantidade de IDs excede o limite.
+     * Deve lançar {@code BadRequestException} sem consultar o repositório.
+     */
+    @Test
+    void deveLancarExcecaoQuandoQuantidadeDeIdsExcederLimite() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> service.findAllByIds(ids));
+        assertThrows(BadRequestException.class, () -> service.findAllByIds(List.of()));
+        verifyNoInteractions(repository);
+    }
+
+    /**
+     * Método auxiliar que simula a marca de alteração obtida do banco ao gravar um produto.
+     *
+     * @param sequencia A sequência da alteração.
+     * @param transacao O ID da transação da alteração.
+     */
+    private void simularMarcaDeAlteracao(long sequencia, long transacao) {
+        MarcaAlteracaoProjection marca = mock(MarcaAlteracaoProjection.class);
+        when(marca.getSequencia()).thenReturn(sequencia);
+        when(marca.getTransacao()).thenReturn(transacao);
+        when(repository.marcarAlteracao()).thenReturn(marca);
+    }
 }
@@ -19,7 +19,8 @@ export async function apiRequest<T>(
       'Content-Type': 'application/json',
       ...headers
     },
-    body: body ? JSON.stringify(body) : undefined
+    body: body ? JSON.stringify(body) : undefined,
+    credentials: 'include'
   })
 
   if (!response.ok) {